@@ -4,10 +4,12 @@ import com.ayd.sie.admin.application.dto.*;
 import com.ayd.sie.admin.application.usecases.*;
 import com.ayd.sie.shared.domain.entities.ContractType;
 import com.ayd.sie.shared.domain.entities.Role;
+import com.ayd.sie.shared.infrastructure.cache.ReferenceDataCatalog;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -76,6 +78,9 @@ public class AdminApplicationService {
     private final DeleteBusinessUseCase deleteBusinessUseCase;
     private final ActivateBusinessUseCase activateBusinessUseCase;
 
+    // Reference data
+    private final ReferenceDataCatalog referenceDataCatalog;
+
     // Branch operations
     public BranchDto createBranch(CreateBranchRequestDto request) {
         return createBranchUseCase.execute(request);
@@ -195,10 +200,10 @@ public class AdminApplicationService {
     }
 
     // Audit log operations
-    public Page<AuditLogDto> getAuditLog(String tableName, Integer userId,
+    public Slice<AuditLogDto> getAuditLog(String tableName, Integer userId,
             LocalDateTime startDate, LocalDateTime endDate,
-            Pageable pageable) {
-        return getAuditLogUseCase.execute(tableName, userId, startDate, endDate, pageable);
+            Pageable pageable, boolean count) {
+        return getAuditLogUseCase.execute(tableName, userId, startDate, endDate, pageable, count);
     }
 
     // Role operations
@@ -262,6 +267,11 @@ public class AdminApplicationService {
         activateLoyaltyLevelUseCase.execute(levelId, active);
     }
 
+    // Reference data operations
+    public String getReferenceDataETag(Class<?> entityType) {
+        return referenceDataCatalog.getETag(entityType);
+    }
+
     // Branch operations
     public void deleteBranch(Integer branchId) {
         deleteBranchUseCase.execute(branchId);
@@ -1,10 +1,12 @@
 package com.ayd.sie.admin.application.usecases;
 
 import com.ayd.sie.shared.domain.entities.ContractType;
+import com.ayd.sie.shared.domain.events.ReferenceDataChangedEvent;
 import com.ayd.sie.shared.domain.exceptions.ResourceNotFoundException;
 import com.ayd.sie.shared.infrastructure.persistence.ContractTypeJpaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class ActivateContractTypeUseCase {
 
     private final ContractTypeJpaRepository contractTypeRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void execute(Integer contractTypeId, boolean active) {
@@ -22,6 +25,7 @@ public class ActivateContractTypeUseCase {
 
         contractType.setActive(active);
         contractTypeRepository.save(contractType);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ContractType.class));
 
         log.info("Contract type {} status changed to: {}", contractTypeId, active ? "ACTIVE" : "INACTIVE");
     }
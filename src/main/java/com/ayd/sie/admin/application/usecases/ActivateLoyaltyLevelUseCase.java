@@ -1,10 +1,12 @@
 package com.ayd.sie.admin.application.usecases;
 
 import com.ayd.sie.shared.domain.entities.LoyaltyLevel;
+import com.ayd.sie.shared.domain.events.ReferenceDataChangedEvent;
 import com.ayd.sie.shared.domain.exceptions.ResourceNotFoundException;
 import com.ayd.sie.shared.infrastructure.persistence.LoyaltyLevelJpaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class ActivateLoyaltyLevelUseCase {
 
     private final LoyaltyLevelJpaRepository loyaltyLevelRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void execute(Integer levelId, boolean active) {
@@ -22,6 +25,7 @@ public class ActivateLoyaltyLevelUseCase {
 
         loyaltyLevel.setActive(active);
         loyaltyLevelRepository.save(loyaltyLevel);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(LoyaltyLevel.class));
 
         log.info("Loyalty level {} status changed to: {}", levelId, active ? "ACTIVE" : "INACTIVE");
     }
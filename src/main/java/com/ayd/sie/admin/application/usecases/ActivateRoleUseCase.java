@@ -1,10 +1,12 @@
 package com.ayd.sie.admin.application.usecases;
 
 import com.ayd.sie.shared.domain.entities.Role;
+import com.ayd.sie.shared.domain.events.ReferenceDataChangedEvent;
 import com.ayd.sie.shared.domain.exceptions.ResourceNotFoundException;
 import com.ayd.sie.shared.infrastructure.persistence.RoleJpaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class ActivateRoleUseCase {
 
     private final RoleJpaRepository roleRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void execute(Integer roleId, boolean active) {
@@ -22,6 +25,7 @@ public class ActivateRoleUseCase {
 
         role.setActive(active);
         roleRepository.save(role);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Role.class));
 
         log.info("Role {} status changed to: {}", roleId, active ? "ACTIVE" : "INACTIVE");
     }
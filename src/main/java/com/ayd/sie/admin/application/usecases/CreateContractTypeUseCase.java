@@ -3,10 +3,12 @@ package com.ayd.sie.admin.application.usecases;
 import com.ayd.sie.admin.application.dto.CreateContractTypeRequestDto;
 import com.ayd.sie.admin.application.dto.ContractTypeDto;
 import com.ayd.sie.shared.domain.entities.ContractType;
+import com.ayd.sie.shared.domain.events.ReferenceDataChangedEvent;
 import com.ayd.sie.shared.domain.exceptions.ResourceNotFoundException;
 import com.ayd.sie.shared.infrastructure.persistence.ContractTypeJpaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,6 +18,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class CreateContractTypeUseCase {
 
     private final ContractTypeJpaRepository contractTypeRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ContractTypeDto execute(CreateContractTypeRequestDto request) {
@@ -30,6 +33,7 @@ public class CreateContractTypeUseCase {
                 .build();
 
         ContractType savedContractType = contractTypeRepository.save(contractType);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ContractType.class));
         log.info("Created new contract type: {}", savedContractType.getTypeName());
 
         return mapToDto(savedContractType);
@@ -6,8 +6,8 @@ import com.ayd.sie.shared.domain.entities.Contract;
 import com.ayd.sie.shared.domain.entities.ContractType;
 import com.ayd.sie.shared.domain.entities.User;
 import com.ayd.sie.shared.domain.exceptions.ResourceNotFoundException;
+import com.ayd.sie.shared.infrastructure.cache.ReferenceDataCatalog;
 import com.ayd.sie.shared.infrastructure.persistence.ContractJpaRepository;
-import com.ayd.sie.shared.infrastructure.persistence.ContractTypeJpaRepository;
 import com.ayd.sie.shared.infrastructure.persistence.UserJpaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,7 +20,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class CreateContractUseCase {
 
     private final ContractJpaRepository contractRepository;
-    private final ContractTypeJpaRepository contractTypeRepository;
+    private final ReferenceDataCatalog referenceDataCatalog;
     private final UserJpaRepository userRepository;
 
     @Transactional
@@ -39,7 +39,7 @@ public class CreateContractUseCase {
         User admin = userRepository.findById(adminId)
                 .orElseThrow(() -> new ResourceNotFoundException("Admin not found"));
 
-        ContractType contractType = contractTypeRepository.findById(request.getContractTypeId())
+        ContractType contractType = referenceDataCatalog.findContractType(request.getContractTypeId())
                 .orElseThrow(() -> new ResourceNotFoundException("Contract type not found"));
 
         if (request.getEndDate() != null && request.getEndDate().isBefore(request.getStartDate())) {
@@ -3,10 +3,12 @@ package com.ayd.sie.admin.application.usecases;
 import com.ayd.sie.admin.application.dto.CreateRoleRequestDto;
 import com.ayd.sie.admin.application.dto.RoleDto;
 import com.ayd.sie.shared.domain.entities.Role;
+import com.ayd.sie.shared.domain.events.ReferenceDataChangedEvent;
 import com.ayd.sie.shared.domain.exceptions.ResourceNotFoundException;
 import com.ayd.sie.shared.infrastructure.persistence.RoleJpaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,6 +18,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class CreateRoleUseCase {
 
     private final RoleJpaRepository roleRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public RoleDto execute(CreateRoleRequestDto request) {
@@ -30,6 +33,7 @@ public class CreateRoleUseCase {
                 .build();
 
         Role savedRole = roleRepository.save(role);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Role.class));
         log.info("Created new role: {}", savedRole.getRoleName());
 
         return mapToDto(savedRole);
@@ -1,12 +1,14 @@
 package com.ayd.sie.admin.application.usecases;
 
 import com.ayd.sie.shared.domain.entities.ContractType;
+import com.ayd.sie.shared.domain.events.ReferenceDataChangedEvent;
 import com.ayd.sie.shared.domain.exceptions.ResourceNotFoundException;
 import com.ayd.sie.shared.domain.exceptions.ResourceHasDependenciesException;
 import com.ayd.sie.shared.infrastructure.persistence.ContractJpaRepository;
 import com.ayd.sie.shared.infrastructure.persistence.ContractTypeJpaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,6 +19,7 @@ public class DeleteContractTypeUseCase {
 
         private final ContractTypeJpaRepository contractTypeRepository;
         private final ContractJpaRepository contractRepository;
+        private final ApplicationEventPublisher eventPublisher;
 
         @Transactional
         public void execute(Integer contractTypeId) {
@@ -47,6 +50,7 @@ public class DeleteContractTypeUseCase {
 
                 // Safe to delete - no contracts reference this type
                 contractTypeRepository.delete(contractType);
+                eventPublisher.publishEvent(new ReferenceDataChangedEvent(ContractType.class));
                 log.info("Contract type '{}' permanently deleted with ID: {}", contractType.getTypeName(),
                                 contractTypeId);
         }
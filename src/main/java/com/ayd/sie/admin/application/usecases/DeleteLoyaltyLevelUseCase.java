@@ -1,12 +1,14 @@
 package com.ayd.sie.admin.application.usecases;
 
 import com.ayd.sie.shared.domain.entities.LoyaltyLevel;
+import com.ayd.sie.shared.domain.events.ReferenceDataChangedEvent;
 import com.ayd.sie.shared.domain.exceptions.ResourceNotFoundException;
 import com.ayd.sie.shared.domain.exceptions.ResourceHasDependenciesException;
 import com.ayd.sie.shared.infrastructure.persistence.BusinessJpaRepository;
 import com.ayd.sie.shared.infrastructure.persistence.LoyaltyLevelJpaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,6 +19,7 @@ public class DeleteLoyaltyLevelUseCase {
 
     private final LoyaltyLevelJpaRepository loyaltyLevelRepository;
     private final BusinessJpaRepository businessRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void execute(Integer levelId) {
@@ -38,6 +41,7 @@ public class DeleteLoyaltyLevelUseCase {
         }
 
         loyaltyLevelRepository.delete(loyaltyLevel);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(LoyaltyLevel.class));
         log.info("Loyalty level '{}' permanently deleted with ID: {}", loyaltyLevel.getLevelName(), levelId);
     }
 }
\ No newline at end of file
@@ -1,12 +1,14 @@
 package com.ayd.sie.admin.application.usecases;
 
 import com.ayd.sie.shared.domain.entities.Role;
+import com.ayd.sie.shared.domain.events.ReferenceDataChangedEvent;
 import com.ayd.sie.shared.domain.exceptions.ResourceNotFoundException;
 import com.ayd.sie.shared.domain.exceptions.ResourceHasDependenciesException;
 import com.ayd.sie.shared.infrastructure.persistence.RoleJpaRepository;
 import com.ayd.sie.shared.infrastructure.persistence.UserJpaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,6 +19,7 @@ public class DeleteRoleUseCase {
 
     private final RoleJpaRepository roleRepository;
     private final UserJpaRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void execute(Integer roleId) {
@@ -30,6 +33,7 @@ public class DeleteRoleUseCase {
         }
 
         roleRepository.delete(role);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Role.class));
         log.info("Role permanently deleted with ID: {}", roleId);
     }
 }
\ No newline at end of file
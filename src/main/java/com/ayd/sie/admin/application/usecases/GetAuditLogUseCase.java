@@ -5,8 +5,11 @@ import com.ayd.sie.shared.domain.entities.AuditLog;
 import com.ayd.sie.shared.infrastructure.persistence.AuditLogJpaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,21 +22,31 @@ public class GetAuditLogUseCase {
 
     private final AuditLogJpaRepository auditLogRepository;
 
+    /**
+     * @param count Whether to count the total; without it a slice that only
+     *              knows if a next page exists is returned
+     */
     @Transactional(readOnly = true)
-    public Page<AuditLogDto> execute(String tableName, Integer userId,
+    public Slice<AuditLogDto> execute(String tableName, Integer userId,
             LocalDateTime startDate, LocalDateTime endDate,
-            Pageable pageable) {
-        Page<AuditLog> auditLogs;
+            Pageable pageable, boolean count) {
+        // One filter applies, in this order of precedence
+        Specification<AuditLog> spec = (root, query, criteriaBuilder) -> {
+            if (startDate != null && endDate != null) {
+                return criteriaBuilder.between(root.get("createdAt"), startDate, endDate);
+            } else if (tableName != null && !tableName.trim().isEmpty()) {
+                return criteriaBuilder.equal(root.get("tableName"), tableName);
+            } else if (userId != null) {
+                return criteriaBuilder.equal(root.get("user").get("userId"), userId);
+            }
+            return criteriaBuilder.conjunction();
+        };
+        Pageable newestFirst = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                pageable.getSortOr(Sort.by(Sort.Direction.DESC, "createdAt")));
 
-        if (startDate != null && endDate != null) {
-            auditLogs = auditLogRepository.findByDateRange(startDate, endDate, pageable);
-        } else if (tableName != null && !tableName.trim().isEmpty()) {
-            auditLogs = auditLogRepository.findByTableName(tableName, pageable);
-        } else if (userId != null) {
-            auditLogs = auditLogRepository.findByUserId(userId, pageable);
-        } else {
-            auditLogs = auditLogRepository.findAllByOrderByCreatedAtDesc(pageable);
-        }
+        // Without the count a slice reads one row past the page to tell whether more follow
+        Slice<AuditLog> auditLogs = auditLogRepository.findBy(spec,
+                query -> count ? query.page(newestFirst) : query.slice(newestFirst));
 
         return auditLogs.map(this::mapToDto);
     }
@@ -2,11 +2,10 @@ package com.ayd.sie.admin.application.usecases;
 
 import com.ayd.sie.shared.domain.entities.ContractType;
 import com.ayd.sie.shared.domain.exceptions.ResourceNotFoundException;
-import com.ayd.sie.shared.infrastructure.persistence.ContractTypeJpaRepository;
+import com.ayd.sie.shared.infrastructure.cache.ReferenceDataCatalog;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -15,16 +14,16 @@ import java.util.List;
 @Slf4j
 public class GetContractTypesUseCase {
 
-    private final ContractTypeJpaRepository contractTypeRepository;
+    private final ReferenceDataCatalog referenceDataCatalog;
 
-    @Transactional(readOnly = true)
     public List<ContractType> execute() {
-        return contractTypeRepository.findByActiveTrueOrderByTypeName();
+        return referenceDataCatalog.getContractTypes().stream()
+                .filter(ContractType::getActive)
+                .toList();
     }
 
-    @Transactional(readOnly = true)
     public ContractType findById(Integer contractTypeId) {
-        return contractTypeRepository.findById(contractTypeId)
+        return referenceDataCatalog.findContractType(contractTypeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Contract type not found with id: " + contractTypeId));
     }
 }
\ No newline at end of file
@@ -3,11 +3,10 @@ package com.ayd.sie.admin.application.usecases;
 import com.ayd.sie.admin.application.dto.LoyaltyLevelDto;
 import com.ayd.sie.shared.domain.entities.LoyaltyLevel;
 import com.ayd.sie.shared.domain.exceptions.ResourceNotFoundException;
-import com.ayd.sie.shared.infrastructure.persistence.LoyaltyLevelJpaRepository;
+import com.ayd.sie.shared.infrastructure.cache.ReferenceDataCatalog;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -17,19 +16,17 @@ import java.util.stream.Collectors;
 @Slf4j
 public class GetLoyaltyLevelsUseCase {
 
-    private final LoyaltyLevelJpaRepository loyaltyLevelRepository;
+    private final ReferenceDataCatalog referenceDataCatalog;
 
-    @Transactional(readOnly = true)
     public List<LoyaltyLevelDto> execute() {
-        List<LoyaltyLevel> levels = loyaltyLevelRepository.findAllByOrderByMinDeliveries();
+        List<LoyaltyLevel> levels = referenceDataCatalog.getLoyaltyLevels();
         return levels.stream()
                 .map(this::mapToDto)
                 .collect(Collectors.toList());
     }
 
-    @Transactional(readOnly = true)
     public LoyaltyLevelDto findById(Integer levelId) {
-        LoyaltyLevel level = loyaltyLevelRepository.findById(levelId)
+        LoyaltyLevel level = referenceDataCatalog.findLoyaltyLevel(levelId)
                 .orElseThrow(() -> new ResourceNotFoundException("Loyalty level not found with id: " + levelId));
         return mapToDto(level);
     }
@@ -2,11 +2,10 @@ package com.ayd.sie.admin.application.usecases;
 
 import com.ayd.sie.shared.domain.entities.Role;
 import com.ayd.sie.shared.domain.exceptions.ResourceNotFoundException;
-import com.ayd.sie.shared.infrastructure.persistence.RoleJpaRepository;
+import com.ayd.sie.shared.infrastructure.cache.ReferenceDataCatalog;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -15,16 +14,16 @@ import java.util.List;
 @Slf4j
 public class GetRolesUseCase {
 
-    private final RoleJpaRepository roleRepository;
+    private final ReferenceDataCatalog referenceDataCatalog;
 
-    @Transactional(readOnly = true)
     public List<Role> execute() {
-        return roleRepository.findByActiveTrue();
+        return referenceDataCatalog.getRoles().stream()
+                .filter(Role::getActive)
+                .toList();
     }
 
-    @Transactional(readOnly = true)
     public Role findById(Integer roleId) {
-        return roleRepository.findById(roleId)
+        return referenceDataCatalog.findRole(roleId)
                 .orElseThrow(() -> new ResourceNotFoundException("Role not found with id: " + roleId));
     }
 }
\ No newline at end of file
@@ -6,12 +6,15 @@ import com.ayd.sie.shared.domain.entities.Business;
 import com.ayd.sie.shared.domain.entities.LoyaltyLevel;
 import com.ayd.sie.shared.domain.entities.Role;
 import com.ayd.sie.shared.domain.entities.User;
+import com.ayd.sie.shared.domain.events.BusinessChangedEvent;
 import com.ayd.sie.shared.domain.exceptions.ResourceNotFoundException;
 import org.springframework.security.access.AccessDeniedException;
 import com.ayd.sie.shared.domain.services.NotificationService;
+import com.ayd.sie.shared.infrastructure.cache.ReferenceDataCatalog;
 import com.ayd.sie.shared.infrastructure.persistence.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,9 +26,9 @@ import java.security.SecureRandom;
 public class RegisterBusinessUseCase {
 
     private final UserJpaRepository userRepository;
-    private final RoleJpaRepository roleRepository;
     private final BusinessJpaRepository businessRepository;
-    private final LoyaltyLevelJpaRepository loyaltyLevelRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReferenceDataCatalog referenceDataCatalog;
     private final PasswordEncoder passwordEncoder;
     private final NotificationService notificationService;
     private final SecureRandom secureRandom = new SecureRandom();
@@ -44,10 +47,11 @@ public class RegisterBusinessUseCase {
             throw new ResourceNotFoundException("National ID already exists");
         }
 
-        Role businessRole = roleRepository.findByRoleNameAndActiveTrue("Comercio")
+        Role businessRole = referenceDataCatalog.findRole("Comercio")
+                .filter(Role::getActive)
                 .orElseThrow(() -> new AccessDeniedException("Business role not found"));
 
-        LoyaltyLevel initialLevel = loyaltyLevelRepository.findById(request.getInitialLevelId())
+        LoyaltyLevel initialLevel = referenceDataCatalog.findLoyaltyLevel(request.getInitialLevelId())
                 .orElseThrow(() -> new ResourceNotFoundException("Invalid loyalty level"));
 
         String temporaryPassword = generateTemporaryPassword();
@@ -84,6 +88,7 @@ public class RegisterBusinessUseCase {
                 .build();
 
         Business savedBusiness = businessRepository.save(business);
+        eventPublisher.publishEvent(new BusinessChangedEvent(savedBusiness.getBusinessId()));
 
         notificationService.sendWelcomeEmail(savedUser, temporaryPassword);
 
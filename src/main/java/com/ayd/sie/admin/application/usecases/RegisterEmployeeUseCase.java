@@ -6,8 +6,8 @@ import com.ayd.sie.shared.domain.entities.Role;
 import com.ayd.sie.shared.domain.entities.User;
 import com.ayd.sie.shared.domain.exceptions.ResourceNotFoundException;
 import com.ayd.sie.shared.domain.services.NotificationService;
+import com.ayd.sie.shared.infrastructure.cache.ReferenceDataCatalog;
 import com.ayd.sie.shared.infrastructure.persistence.ContractJpaRepository;
-import com.ayd.sie.shared.infrastructure.persistence.RoleJpaRepository;
 import com.ayd.sie.shared.infrastructure.persistence.UserJpaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,7 +25,7 @@ import java.security.SecureRandom;
 public class RegisterEmployeeUseCase {
 
     private final UserJpaRepository userRepository;
-    private final RoleJpaRepository roleRepository;
+    private final ReferenceDataCatalog referenceDataCatalog;
     private final ContractJpaRepository contractRepository;
     private final PasswordEncoder passwordEncoder;
     private final NotificationService notificationService;
@@ -41,7 +41,7 @@ public class RegisterEmployeeUseCase {
             throw new ResourceNotFoundException("National ID already exists");
         }
 
-        Role role = roleRepository.findById(request.getRoleId())
+        Role role = referenceDataCatalog.findRole(request.getRoleId())
                 .orElseThrow(() -> new AccessDeniedException("Invalid role"));
 
         if (!role.getRoleName().equals("Coordinador") && !role.getRoleName().equals("Repartidor")) {
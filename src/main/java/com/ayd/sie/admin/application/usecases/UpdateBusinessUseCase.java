@@ -3,10 +3,12 @@ package com.ayd.sie.admin.application.usecases;
 import com.ayd.sie.admin.application.dto.BusinessDto;
 import com.ayd.sie.admin.application.dto.UpdateBusinessRequestDto;
 import com.ayd.sie.shared.domain.entities.Business;
+import com.ayd.sie.shared.domain.events.BusinessChangedEvent;
 import com.ayd.sie.shared.domain.exceptions.ResourceNotFoundException;
 import com.ayd.sie.shared.infrastructure.persistence.BusinessJpaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,6 +18,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class UpdateBusinessUseCase {
 
     private final BusinessJpaRepository businessRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public BusinessDto execute(Integer businessId, UpdateBusinessRequestDto request) {
@@ -39,6 +42,7 @@ public class UpdateBusinessUseCase {
         }
 
         Business savedBusiness = businessRepository.save(business);
+        eventPublisher.publishEvent(new BusinessChangedEvent(savedBusiness.getBusinessId()));
 
         log.info("Business updated successfully with ID: {}", businessId);
 
@@ -3,10 +3,12 @@ package com.ayd.sie.admin.application.usecases;
 import com.ayd.sie.admin.application.dto.UpdateContractTypeRequestDto;
 import com.ayd.sie.admin.application.dto.ContractTypeDto;
 import com.ayd.sie.shared.domain.entities.ContractType;
+import com.ayd.sie.shared.domain.events.ReferenceDataChangedEvent;
 import com.ayd.sie.shared.domain.exceptions.ResourceNotFoundException;
 import com.ayd.sie.shared.infrastructure.persistence.ContractTypeJpaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,6 +18,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class UpdateContractTypeUseCase {
 
     private final ContractTypeJpaRepository contractTypeRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ContractTypeDto execute(Integer contractTypeId, UpdateContractTypeRequestDto request) {
@@ -40,6 +43,7 @@ public class UpdateContractTypeUseCase {
         }
 
         ContractType savedContractType = contractTypeRepository.save(contractType);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ContractType.class));
         log.info("Updated contract type: {}", savedContractType.getTypeName());
 
         return mapToDto(savedContractType);
@@ -5,8 +5,8 @@ import com.ayd.sie.admin.application.dto.UpdateContractRequestDto;
 import com.ayd.sie.shared.domain.entities.Contract;
 import com.ayd.sie.shared.domain.entities.ContractType;
 import com.ayd.sie.shared.domain.exceptions.ResourceNotFoundException;
+import com.ayd.sie.shared.infrastructure.cache.ReferenceDataCatalog;
 import com.ayd.sie.shared.infrastructure.persistence.ContractJpaRepository;
-import com.ayd.sie.shared.infrastructure.persistence.ContractTypeJpaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -18,7 +18,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class UpdateContractUseCase {
 
     private final ContractJpaRepository contractRepository;
-    private final ContractTypeJpaRepository contractTypeRepository;
+    private final ReferenceDataCatalog referenceDataCatalog;
 
     @Transactional
     public ContractDto execute(Integer contractId, UpdateContractRequestDto request) {
@@ -27,7 +27,7 @@ public class UpdateContractUseCase {
 
         // Update contract type if provided
         if (request.getContractTypeId() != null) {
-            ContractType contractType = contractTypeRepository.findById(request.getContractTypeId())
+            ContractType contractType = referenceDataCatalog.findContractType(request.getContractTypeId())
                     .orElseThrow(() -> new ResourceNotFoundException("Contract type not found"));
 
             if (!Boolean.TRUE.equals(contractType.getActive())) {
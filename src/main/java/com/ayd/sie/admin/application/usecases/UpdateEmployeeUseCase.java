@@ -5,8 +5,8 @@ import com.ayd.sie.admin.application.dto.UpdateEmployeeRequestDto;
 import com.ayd.sie.shared.domain.entities.Role;
 import com.ayd.sie.shared.domain.entities.User;
 import com.ayd.sie.shared.domain.exceptions.ResourceNotFoundException;
+import com.ayd.sie.shared.infrastructure.cache.ReferenceDataCatalog;
 import com.ayd.sie.shared.infrastructure.persistence.ContractJpaRepository;
-import com.ayd.sie.shared.infrastructure.persistence.RoleJpaRepository;
 import com.ayd.sie.shared.infrastructure.persistence.UserJpaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,7 +20,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class UpdateEmployeeUseCase {
 
     private final UserJpaRepository userRepository;
-    private final RoleJpaRepository roleRepository;
+    private final ReferenceDataCatalog referenceDataCatalog;
     private final ContractJpaRepository contractRepository;
 
     @Transactional
@@ -46,7 +46,7 @@ public class UpdateEmployeeUseCase {
 
         // Update role if provided
         if (request.getRoleId() != null && !request.getRoleId().equals(user.getRole().getRoleId())) {
-            Role role = roleRepository.findById(request.getRoleId())
+            Role role = referenceDataCatalog.findRole(request.getRoleId())
                     .orElseThrow(() -> new AccessDeniedException("Invalid role"));
             user.setRole(role);
         }
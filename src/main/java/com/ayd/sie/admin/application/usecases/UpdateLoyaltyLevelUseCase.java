@@ -3,10 +3,12 @@ package com.ayd.sie.admin.application.usecases;
 import com.ayd.sie.admin.application.dto.UpdateLoyaltyLevelRequestDto;
 import com.ayd.sie.admin.application.dto.LoyaltyLevelDto;
 import com.ayd.sie.shared.domain.entities.LoyaltyLevel;
+import com.ayd.sie.shared.domain.events.ReferenceDataChangedEvent;
 import com.ayd.sie.shared.domain.exceptions.ResourceNotFoundException;
 import com.ayd.sie.shared.infrastructure.persistence.LoyaltyLevelJpaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,6 +18,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class UpdateLoyaltyLevelUseCase {
 
     private final LoyaltyLevelJpaRepository loyaltyLevelRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public LoyaltyLevelDto execute(Integer levelId, UpdateLoyaltyLevelRequestDto request) {
@@ -43,6 +46,7 @@ public class UpdateLoyaltyLevelUseCase {
         existingLevel.setPenaltyPercentage(request.getPenaltyPercentage());
 
         LoyaltyLevel updatedLevel = loyaltyLevelRepository.save(existingLevel);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(LoyaltyLevel.class));
 
         log.info("Loyalty level updated successfully: {} (ID: {})", updatedLevel.getLevelName(),
                 updatedLevel.getLevelId());
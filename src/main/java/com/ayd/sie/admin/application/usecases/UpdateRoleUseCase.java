@@ -3,10 +3,12 @@ package com.ayd.sie.admin.application.usecases;
 import com.ayd.sie.admin.application.dto.UpdateRoleRequestDto;
 import com.ayd.sie.admin.application.dto.RoleDto;
 import com.ayd.sie.shared.domain.entities.Role;
+import com.ayd.sie.shared.domain.events.ReferenceDataChangedEvent;
 import com.ayd.sie.shared.domain.exceptions.ResourceNotFoundException;
 import com.ayd.sie.shared.infrastructure.persistence.RoleJpaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,6 +18,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class UpdateRoleUseCase {
 
     private final RoleJpaRepository roleRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public RoleDto execute(Integer roleId, UpdateRoleRequestDto request) {
@@ -40,6 +43,7 @@ public class UpdateRoleUseCase {
         }
 
         Role savedRole = roleRepository.save(role);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Role.class));
         log.info("Updated role: {}", savedRole.getRoleName());
 
         return mapToDto(savedRole);
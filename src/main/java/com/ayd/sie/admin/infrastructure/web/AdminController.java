@@ -3,6 +3,7 @@ package com.ayd.sie.admin.infrastructure.web;
 import com.ayd.sie.admin.application.dto.*;
 import com.ayd.sie.admin.application.services.AdminApplicationService;
 import com.ayd.sie.shared.domain.entities.ContractType;
+import com.ayd.sie.shared.domain.entities.LoyaltyLevel;
 import com.ayd.sie.shared.domain.entities.Role;
 import com.ayd.sie.shared.infrastructure.security.CustomUserDetails;
 
@@ -19,7 +20,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
@@ -28,6 +31,7 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/admin")
@@ -427,8 +431,7 @@ public class AdminController {
     @GetMapping("/roles")
     @Operation(summary = "Get roles", description = "Retrieve all available roles")
     public ResponseEntity<List<Role>> getRoles() {
-        List<Role> roles = adminApplicationService.getRoles();
-        return ResponseEntity.ok(roles);
+        return referenceData(Role.class, adminApplicationService::getRoles);
     }
 
     @GetMapping("/roles/{roleId}")
@@ -438,8 +441,7 @@ public class AdminController {
             @ApiResponse(responseCode = "404", description = "Role not found")
     })
     public ResponseEntity<Role> getRoleById(@PathVariable Integer roleId) {
-        Role role = adminApplicationService.getRoleById(roleId);
-        return ResponseEntity.ok(role);
+        return referenceData(Role.class, () -> adminApplicationService.getRoleById(roleId));
     }
 
     @PostMapping("/roles")
@@ -509,8 +511,7 @@ public class AdminController {
     @GetMapping("/contract-types")
     @Operation(summary = "Get contract types", description = "Retrieve all available contract types")
     public ResponseEntity<List<ContractType>> getContractTypes() {
-        List<ContractType> contractTypes = adminApplicationService.getContractTypes();
-        return ResponseEntity.ok(contractTypes);
+        return referenceData(ContractType.class, adminApplicationService::getContractTypes);
     }
 
     @GetMapping("/contract-types/{contractTypeId}")
@@ -520,8 +521,7 @@ public class AdminController {
             @ApiResponse(responseCode = "404", description = "Contract type not found")
     })
     public ResponseEntity<ContractType> getContractTypeById(@PathVariable Integer contractTypeId) {
-        ContractType contractType = adminApplicationService.getContractTypeById(contractTypeId);
-        return ResponseEntity.ok(contractType);
+        return referenceData(ContractType.class, () -> adminApplicationService.getContractTypeById(contractTypeId));
     }
 
     @PostMapping("/contract-types")
@@ -605,8 +605,7 @@ public class AdminController {
     @GetMapping("/loyalty-levels")
     @Operation(summary = "Get loyalty levels", description = "Retrieve all available loyalty levels")
     public ResponseEntity<List<LoyaltyLevelDto>> getLoyaltyLevels() {
-        List<LoyaltyLevelDto> loyaltyLevels = adminApplicationService.getLoyaltyLevels();
-        return ResponseEntity.ok(loyaltyLevels);
+        return referenceData(LoyaltyLevel.class, adminApplicationService::getLoyaltyLevels);
     }
 
     @GetMapping("/loyalty-levels/{levelId}")
@@ -616,8 +615,7 @@ public class AdminController {
             @ApiResponse(responseCode = "404", description = "Loyalty level not found")
     })
     public ResponseEntity<LoyaltyLevelDto> getLoyaltyLevelById(@PathVariable Integer levelId) {
-        LoyaltyLevelDto loyaltyLevel = adminApplicationService.getLoyaltyLevelById(levelId);
-        return ResponseEntity.ok(loyaltyLevel);
+        return referenceData(LoyaltyLevel.class, () -> adminApplicationService.getLoyaltyLevelById(levelId));
     }
 
     @PutMapping("/loyalty-levels/{levelId}")
@@ -693,22 +691,37 @@ public class AdminController {
     // ==============================================
 
     @GetMapping("/audit-log")
-    @Operation(summary = "Get audit log", description = "Retrieve system audit log with optional filters")
-    public ResponseEntity<Page<AuditLogDto>> getAuditLog(
+    @Operation(summary = "Get audit log", description = "Retrieve system audit log with optional filters. With count=false the total is not counted and the page only tells whether a next one exists.")
+    public ResponseEntity<Slice<AuditLogDto>> getAuditLog(
             @RequestParam(required = false) String tableName,
             @RequestParam(required = false) Integer userId,
             @RequestParam(required = false) String startDate,
             @RequestParam(required = false) String endDate,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "true") boolean count) {
 
         Pageable pageable = PageRequest.of(page, size);
 
         LocalDateTime startDateTime = startDate != null ? LocalDateTime.parse(startDate) : null;
         LocalDateTime endDateTime = endDate != null ? LocalDateTime.parse(endDate) : null;
 
-        Page<AuditLogDto> auditLog = adminApplicationService.getAuditLog(
-                tableName, userId, startDateTime, endDateTime, pageable);
+        Slice<AuditLogDto> auditLog = adminApplicationService.getAuditLog(
+                tableName, userId, startDateTime, endDateTime, pageable, count);
         return ResponseEntity.ok(auditLog);
     }
+
+    /**
+     * Reference data responses carry the catalog's ETag. A request whose
+     * If-None-Match still matches gets an empty 304, and clients revalidate
+     * instead of trusting their copy.
+     */
+    private <T> ResponseEntity<T> referenceData(Class<?> entityType, Supplier<T> body) {
+        // Tag taken before the body, so a reload in between can only make the tag older
+        String eTag = adminApplicationService.getReferenceDataETag(entityType);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(eTag)
+                .body(body.get());
+    }
 }
\ No newline at end of file
@@ -3,11 +3,15 @@ package com.ayd.sie.business.application.usecases;
 import com.ayd.sie.business.application.dto.CancelGuideDto;
 import com.ayd.sie.business.application.dto.CancellationResponseDto;
 import com.ayd.sie.shared.domain.entities.*;
+import com.ayd.sie.shared.domain.events.GuideSnapshot;
+import com.ayd.sie.shared.domain.events.TrackingGuideChangedEvent;
 import com.ayd.sie.shared.domain.exceptions.BusinessConstraintViolationException;
 import com.ayd.sie.shared.domain.exceptions.ResourceNotFoundException;
+import com.ayd.sie.shared.infrastructure.cache.ReferenceDataCatalog;
 import com.ayd.sie.shared.infrastructure.persistence.*;
 import com.ayd.sie.shared.domain.services.NotificationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,12 +24,12 @@ public class CancelDeliveryUseCase {
 
     private final TrackingGuideJpaRepository trackingGuideRepository;
     private final BusinessJpaRepository businessRepository;
-    private final TrackingStateJpaRepository trackingStateRepository;
-    private final CancellationTypeJpaRepository cancellationTypeRepository;
+    private final ReferenceDataCatalog referenceDataCatalog;
     private final CancellationJpaRepository cancellationRepository;
     private final UserJpaRepository userRepository;
     private final StateHistoryJpaRepository stateHistoryRepository;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public CancellationResponseDto execute(Integer guideId, CancelGuideDto dto, Integer userId) {
@@ -57,21 +61,27 @@ public class CancelDeliveryUseCase {
         }
 
         // Get cancelled state
-        TrackingState cancelledState = trackingStateRepository.findByStateName("Cancelada")
+        TrackingState cancelledState = referenceDataCatalog.findTrackingState("Cancelada")
                 .orElseThrow(() -> new ResourceNotFoundException("Cancelled state not found"));
 
         // Get cancellation type (business cancellation)
-        CancellationType cancellationType = cancellationTypeRepository
-                .findByTypeNameAndActiveTrue("Cancelación por Comercio")
-                .orElse(cancellationTypeRepository.findByActiveTrueOrderByTypeName().get(0));
+        CancellationType cancellationType = referenceDataCatalog
+                .findCancellationType("Cancelación por Comercio")
+                .filter(CancellationType::getActive)
+                .orElseGet(() -> referenceDataCatalog.getCancellationTypes().stream()
+                        .filter(CancellationType::getActive)
+                        .findFirst()
+                        .orElseThrow());
 
         // Calculate penalty based on loyalty level
         BigDecimal penaltyAmount = calculatePenaltyAmount(guide, business);
 
         // Update guide state
+        GuideSnapshot previous = GuideSnapshot.of(guide);
         guide.setCurrentState(cancelledState);
         guide.setCancellationDate(LocalDateTime.now());
         TrackingGuide updatedGuide = trackingGuideRepository.save(guide);
+        eventPublisher.publishEvent(new TrackingGuideChangedEvent(previous, GuideSnapshot.of(updatedGuide)));
 
         // Log state history for the cancellation
         StateHistory stateHistory = StateHistory.builder()
@@ -3,10 +3,14 @@ package com.ayd.sie.business.application.usecases;
 import com.ayd.sie.business.application.dto.CreateGuideDto;
 import com.ayd.sie.business.application.dto.GuideResponseDto;
 import com.ayd.sie.shared.domain.entities.*;
+import com.ayd.sie.shared.domain.events.GuideSnapshot;
+import com.ayd.sie.shared.domain.events.TrackingGuideChangedEvent;
 import com.ayd.sie.shared.domain.exceptions.ResourceNotFoundException;
+import com.ayd.sie.shared.infrastructure.cache.ReferenceDataCatalog;
 import com.ayd.sie.shared.infrastructure.persistence.*;
 import com.ayd.sie.shared.domain.services.NotificationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,8 +23,9 @@ public class CreateTrackingGuideUseCase {
     private final TrackingGuideJpaRepository trackingGuideRepository;
     private final BusinessJpaRepository businessRepository;
     private final BranchJpaRepository branchRepository;
-    private final TrackingStateJpaRepository trackingStateRepository;
+    private final ReferenceDataCatalog referenceDataCatalog;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public GuideResponseDto execute(CreateGuideDto dto, Integer businessId) {
@@ -33,7 +38,7 @@ public class CreateTrackingGuideUseCase {
                 .orElseThrow(() -> new ResourceNotFoundException("Branch not found"));
 
         // Get initial state (Creada)
-        TrackingState initialState = trackingStateRepository.findByStateName("Creada")
+        TrackingState initialState = referenceDataCatalog.findTrackingState("Creada")
                 .orElseThrow(() -> new ResourceNotFoundException("Initial tracking state not found"));
 
         // Apply loyalty discount if applicable
@@ -54,6 +59,7 @@ public class CreateTrackingGuideUseCase {
                 .build();
 
         TrackingGuide savedGuide = trackingGuideRepository.save(guide);
+        eventPublisher.publishEvent(new TrackingGuideChangedEvent(null, GuideSnapshot.of(savedGuide)));
 
         // Send notification to business
         try {
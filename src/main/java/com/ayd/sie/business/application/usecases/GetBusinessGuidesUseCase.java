@@ -2,13 +2,16 @@ package com.ayd.sie.business.application.usecases;
 
 import com.ayd.sie.business.application.dto.GuideListResponseDto;
 import com.ayd.sie.business.application.dto.GuideResponseDto;
+import com.ayd.sie.shared.application.dto.CursorPageDto;
 import com.ayd.sie.shared.domain.entities.Business;
 import com.ayd.sie.shared.domain.entities.TrackingGuide;
 import com.ayd.sie.shared.domain.exceptions.ResourceNotFoundException;
 import com.ayd.sie.shared.infrastructure.persistence.BusinessJpaRepository;
+import com.ayd.sie.shared.infrastructure.persistence.GuideKeyset;
 import com.ayd.sie.shared.infrastructure.persistence.TrackingGuideJpaRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -83,6 +86,27 @@ public class GetBusinessGuidesUseCase {
                                 .build();
         }
 
+        /**
+         * Guides of the business newest first, read with a cursor instead of
+         * loading every guide of the business.
+         */
+        public CursorPageDto<GuideResponseDto> executeWithCursor(Integer businessId, boolean activeOnly, String cursor,
+                        int size, boolean withTotal) {
+                // Validate business exists and is active
+                Business business = businessRepository.findByUserUserIdAndActiveTrue(businessId)
+                                .orElseThrow(() -> new ResourceNotFoundException("Business not found"));
+
+                Specification<TrackingGuide> filter = (root, query, criteriaBuilder) -> criteriaBuilder.equal(
+                                root.get("business").get("businessId"), business.getBusinessId());
+                if (activeOnly) {
+                        filter = filter.and((root, query, criteriaBuilder) -> criteriaBuilder.isFalse(
+                                        root.get("currentState").get("isFinal")));
+                }
+
+                return GuideKeyset.CREATED_AT.page(trackingGuideRepository, filter, cursor, size, withTotal,
+                                this::mapToResponseDto);
+        }
+
         private GuideResponseDto mapToResponseDto(TrackingGuide guide) {
                 return GuideResponseDto.builder()
                                 .guide_id(guide.getGuideId())
@@ -4,11 +4,14 @@ import com.ayd.sie.business.application.dto.GuideResponseDto;
 import com.ayd.sie.business.application.dto.UpdateGuideDto;
 import com.ayd.sie.shared.domain.entities.Business;
 import com.ayd.sie.shared.domain.entities.TrackingGuide;
+import com.ayd.sie.shared.domain.events.GuideSnapshot;
+import com.ayd.sie.shared.domain.events.TrackingGuideChangedEvent;
 import com.ayd.sie.shared.domain.exceptions.BusinessConstraintViolationException;
 import com.ayd.sie.shared.domain.exceptions.ResourceNotFoundException;
 import com.ayd.sie.shared.infrastructure.persistence.BusinessJpaRepository;
 import com.ayd.sie.shared.infrastructure.persistence.TrackingGuideJpaRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,6 +23,7 @@ public class UpdateTrackingGuideUseCase {
 
     private final TrackingGuideJpaRepository trackingGuideRepository;
     private final BusinessJpaRepository businessRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public GuideResponseDto execute(Integer guideId, UpdateGuideDto dto, Integer businessId) {
@@ -45,6 +49,7 @@ public class UpdateTrackingGuideUseCase {
         BigDecimal finalPrice = applyLoyaltyDiscount(dto.getBase_price(), business);
 
         // Update guide fields
+        GuideSnapshot previous = GuideSnapshot.of(guide);
         guide.setBasePrice(finalPrice);
         guide.setRecipientName(dto.getRecipient_name());
         guide.setRecipientPhone(dto.getRecipient_phone());
@@ -54,6 +59,7 @@ public class UpdateTrackingGuideUseCase {
         guide.setObservations(dto.getObservations());
 
         TrackingGuide updatedGuide = trackingGuideRepository.save(guide);
+        eventPublisher.publishEvent(new TrackingGuideChangedEvent(previous, GuideSnapshot.of(updatedGuide)));
 
         return mapToResponseDto(updatedGuide);
     }
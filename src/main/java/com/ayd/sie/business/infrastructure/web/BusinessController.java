@@ -2,6 +2,7 @@ package com.ayd.sie.business.infrastructure.web;
 
 import com.ayd.sie.business.application.dto.*;
 import com.ayd.sie.business.application.usecases.*;
+import com.ayd.sie.shared.application.dto.CursorPageDto;
 import com.ayd.sie.shared.infrastructure.security.SecurityUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -82,6 +83,25 @@ public class BusinessController {
                 return ResponseEntity.ok(response);
         }
 
+        @GetMapping("/guides/cursor")
+        @Operation(summary = "Get business guides with a cursor", description = "Tracking guides of the business, newest first, paged with the next_cursor of the previous page. The total is only counted with withTotal.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Guides retrieved successfully"),
+                        @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+                        @ApiResponse(responseCode = "404", description = "Business not found")
+        })
+        public ResponseEntity<CursorPageDto<GuideResponseDto>> getGuidesWithCursor(
+                        @Parameter(description = "Filter only active guides") @RequestParam(required = false, defaultValue = "false") Boolean activeOnly,
+                        @Parameter(description = "Cursor from the previous page, empty for the first page") @RequestParam(required = false) String cursor,
+                        @Parameter(description = "Page size, at most 100") @RequestParam(defaultValue = "20") int size,
+                        @Parameter(description = "Also count the guides") @RequestParam(defaultValue = "false") boolean withTotal) {
+
+                Integer userId = getCurrentUserId();
+                return ResponseEntity.ok(getBusinessGuidesUseCase.executeWithCursor(userId, activeOnly, cursor, size,
+                                withTotal));
+        }
+
         @GetMapping("/guides/{guideId}")
         @Operation(summary = "Get guide status by ID", description = "Retrieves the current status of a specific tracking guide.")
         @ApiResponses(value = {
@@ -2,6 +2,7 @@ package com.ayd.sie.config;
 
 import com.ayd.sie.shared.infrastructure.security.JwtAuthenticationEntryPoint;
 import com.ayd.sie.shared.infrastructure.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -43,6 +44,10 @@ public class SecurityConfig {
                         // Allow preflight OPTIONS requests for CORS
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
 
+                        // Async dispatches of streamed responses were already authorized on the
+                        // original request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // Public authentication endpoints
                         .requestMatchers("/auth/login").permitAll()
                         .requestMatchers("/auth/verify-2fa").permitAll()
@@ -90,4 +90,12 @@ public class AssignmentDto {
     @Schema(description = "Assignment observations", example = "Priority delivery - fragile package")
     @JsonProperty("observations")
     private String observations;
+
+    @Schema(description = "Coordinator holding the lease on a pending guide", example = "3")
+    @JsonProperty("claimed_by_id")
+    private Integer claimedById;
+
+    @Schema(description = "When the lease on a pending guide ends", example = "2024-09-27T10:40:00")
+    @JsonProperty("claim_expires_at")
+    private LocalDateTime claimExpiresAt;
 }
\ No newline at end of file
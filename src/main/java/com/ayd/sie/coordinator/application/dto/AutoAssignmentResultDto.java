@@ -0,0 +1,80 @@
+package com.ayd.sie.coordinator.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Result of an automatic assignment run")
+public class AutoAssignmentResultDto {
+
+    @Schema(description = "Whether the run only planned assignments without saving them", example = "false")
+    @JsonProperty("dry_run")
+    private Boolean dryRun;
+
+    @Schema(description = "Couriers eligible at the start of the run", example = "12")
+    @JsonProperty("eligible_couriers")
+    private Integer eligibleCouriers;
+
+    @Schema(description = "Pending guides considered", example = "250")
+    @JsonProperty("guides_considered")
+    private Integer guidesConsidered;
+
+    @Schema(description = "Guides assigned, or planned in a dry run", example = "240")
+    @JsonProperty("guides_assigned")
+    private Integer guidesAssigned;
+
+    @Schema(description = "Guides skipped because they changed during the run", example = "2")
+    @JsonProperty("guides_skipped")
+    private Integer guidesSkipped;
+
+    @Schema(description = "Whether the run stopped because every courier reached the pending limit", example = "false")
+    @JsonProperty("couriers_exhausted")
+    private Boolean couriersExhausted;
+
+    @Schema(description = "Batches processed", example = "3")
+    @JsonProperty("batches")
+    private Integer batches;
+
+    @Schema(description = "Run duration in milliseconds", example = "850")
+    @JsonProperty("elapsed_ms")
+    private Long elapsedMs;
+
+    @Schema(description = "Assignments per second over the whole run", example = "282.4")
+    @JsonProperty("assignments_per_second")
+    private Double assignmentsPerSecond;
+
+    @Schema(description = "Assignments made or planned")
+    @JsonProperty("assignments")
+    private List<AutoAssignmentDto> assignments;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Automatic assignment of one guide")
+    public static class AutoAssignmentDto {
+        @JsonProperty("guide_id")
+        private Integer guideId;
+
+        @JsonProperty("recipient_city")
+        private String recipientCity;
+
+        @JsonProperty("courier_id")
+        private Integer courierId;
+
+        @JsonProperty("courier_name")
+        private String courierName;
+
+        @JsonProperty("score")
+        private Double score;
+    }
+}
@@ -0,0 +1,28 @@
+package com.ayd.sie.coordinator.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request to assign many deliveries at once")
+public class BulkAssignmentRequestDto {
+
+    @Schema(description = "Guide to courier assignments", required = true)
+    @JsonProperty("assignments")
+    @NotEmpty(message = "At least one assignment is required")
+    @Size(max = 500, message = "Cannot assign more than 500 guides at once")
+    @Valid
+    private List<AssignDeliveryRequestDto> assignments;
+}
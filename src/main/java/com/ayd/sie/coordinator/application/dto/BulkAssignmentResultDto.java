@@ -0,0 +1,56 @@
+package com.ayd.sie.coordinator.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Result of a bulk assignment")
+public class BulkAssignmentResultDto {
+
+    @Schema(description = "Assignments requested", example = "120")
+    @JsonProperty("requested")
+    private Integer requested;
+
+    @Schema(description = "Assignments made", example = "118")
+    @JsonProperty("assigned")
+    private Integer assigned;
+
+    @Schema(description = "Assignments rejected", example = "2")
+    @JsonProperty("failed")
+    private Integer failed;
+
+    @Schema(description = "Outcome of every requested assignment, in request order")
+    @JsonProperty("results")
+    private List<ItemResultDto> results;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Outcome of one requested assignment")
+    public static class ItemResultDto {
+        @JsonProperty("guide_id")
+        private Integer guideId;
+
+        @JsonProperty("courier_id")
+        private Integer courierId;
+
+        @JsonProperty("success")
+        private Boolean success;
+
+        @JsonProperty("error")
+        private String error;
+
+        @JsonProperty("assignment")
+        private AssignmentDto assignment;
+    }
+}
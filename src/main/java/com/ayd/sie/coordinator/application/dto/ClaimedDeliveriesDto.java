@@ -0,0 +1,35 @@
+package com.ayd.sie.coordinator.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Pending deliveries leased to a coordinator")
+public class ClaimedDeliveriesDto {
+
+    @Schema(description = "Guides requested", example = "20")
+    @JsonProperty("requested")
+    private Integer requested;
+
+    @Schema(description = "Guides leased, fewer than requested when the free backlog ran out", example = "20")
+    @JsonProperty("claimed")
+    private Integer claimed;
+
+    @Schema(description = "When the lease ends and the guides become free to other coordinators", example = "2024-09-27T10:40:00")
+    @JsonProperty("claimed_until")
+    private LocalDateTime claimedUntil;
+
+    @Schema(description = "Leased guides, oldest first")
+    @JsonProperty("guides")
+    private List<AssignmentDto> guides;
+}
@@ -0,0 +1,96 @@
+package com.ayd.sie.coordinator.application.services;
+
+import com.ayd.sie.shared.domain.services.NotificationService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Sends the notifications of many assignments at once: one email per courier
+ * listing all of its new guides and one per business listing its assigned
+ * guides, instead of two emails per guide. Emails go out on a background
+ * thread once the assigning transaction has committed, so a slow mail server
+ * never holds database locks and rolled back assignments are never announced.
+ */
+@Service
+@Slf4j
+public class AssignmentNotificationDispatcher {
+
+    private final NotificationService notificationService;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public AssignmentNotificationDispatcher(NotificationService notificationService) {
+        this.notificationService = notificationService;
+    }
+
+    public void dispatchAfterCommit(List<Notice> notices) {
+        if (notices.isEmpty()) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    executor.execute(() -> send(notices));
+                }
+            });
+        } else {
+            executor.execute(() -> send(notices));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void send(List<Notice> notices) {
+        Map<String, List<Notice>> byCourier = notices.stream()
+                .collect(Collectors.groupingBy(Notice::courierEmail, LinkedHashMap::new, Collectors.toList()));
+        Map<String, List<Notice>> byBusiness = notices.stream()
+                .collect(Collectors.groupingBy(Notice::businessEmail, LinkedHashMap::new, Collectors.toList()));
+
+        byCourier.forEach((email, courierNotices) -> {
+            try {
+                notificationService.sendCourierNotification(email,
+                        courierNotices.size() == 1 ? "Nueva Entrega Asignada" : "Nuevas Entregas Asignadas",
+                        "Se le han asignado las siguientes guías:\n" + courierNotices.stream()
+                                .map(notice -> String.format("- %s para entrega a %s", notice.guideNumber(),
+                                        notice.recipientName()))
+                                .collect(Collectors.joining("\n")));
+            } catch (Exception e) {
+                log.warn("Failed to send assignment notification to courier {}: {}", email, e.getMessage());
+            }
+        });
+
+        byBusiness.forEach((email, businessNotices) -> {
+            try {
+                notificationService.sendBusinessNotification(email,
+                        businessNotices.size() == 1 ? "Entrega Asignada" : "Entregas Asignadas",
+                        "Las siguientes guías han sido asignadas:\n" + businessNotices.stream()
+                                .map(notice -> String.format("- %s al repartidor %s", notice.guideNumber(),
+                                        notice.courierName()))
+                                .collect(Collectors.joining("\n")));
+            } catch (Exception e) {
+                log.warn("Failed to send assignment notification to business {}: {}", email, e.getMessage());
+            }
+        });
+
+        log.info("Assignment notifications sent: {} guides, {} couriers, {} businesses",
+                notices.size(), byCourier.size(), byBusiness.size());
+    }
+
+    public record Notice(String guideNumber, String recipientName, String courierEmail, String courierName,
+            String businessEmail) {
+    }
+}
@@ -2,13 +2,17 @@ package com.ayd.sie.coordinator.application.services;
 
 import com.ayd.sie.coordinator.application.dto.*;
 import com.ayd.sie.coordinator.application.usecases.*;
+import com.ayd.sie.shared.application.dto.CursorPageDto;
+import com.ayd.sie.shared.infrastructure.cache.ReferenceDataCatalog;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -16,7 +20,10 @@ public class CoordinatorApplicationService {
 
     // Delivery assignment use cases
     private final AssignDeliveryUseCase assignDeliveryUseCase;
+    private final AssignDeliveryBatchUseCase assignDeliveryBatchUseCase;
+    private final AutoAssignDeliveriesUseCase autoAssignDeliveriesUseCase;
     private final GetPendingDeliveriesUseCase getPendingDeliveriesUseCase;
+    private final ClaimPendingDeliveriesUseCase claimPendingDeliveriesUseCase;
     private final GetAvailableCouriersUseCase getAvailableCouriersUseCase;
     private final ReassignDeliveryUseCase reassignDeliveryUseCase;
 
@@ -26,15 +33,17 @@ public class CoordinatorApplicationService {
     private final GetIncidentsUseCase getIncidentsUseCase;
     private final GetIncidentTypesUseCase getIncidentTypesUseCase;
     private final GetCancellationTypesUseCase getCancellationTypesUseCase;
+    private final ReferenceDataCatalog referenceDataCatalog;
 
     // Cancellation processing use cases
     private final ProcessCancellationUseCase processCancellationUseCase;
     private final ValidateCancellationUseCase validateCancellationUseCase;
 
     // Monitoring and dashboard use cases
-    private final GetDeliveryDashboardUseCase getDeliveryDashboardUseCase;
     private final GetDeliveryHistoryUseCase getDeliveryHistoryUseCase;
     private final GetCourierWorkloadUseCase getCourierWorkloadUseCase;
+    private final LiveDeliveryCounters liveDeliveryCounters;
+    private final DashboardSnapshotService dashboardSnapshotService;
 
     // Reschedule use cases
     private final RescheduleDeliveryUseCase rescheduleDeliveryUseCase;
@@ -49,8 +58,25 @@ public class CoordinatorApplicationService {
         return assignDeliveryUseCase.execute(request, coordinatorId);
     }
 
-    public Page<AssignmentDto> getPendingDeliveries(String search, Pageable pageable) {
-        return getPendingDeliveriesUseCase.execute(search, pageable);
+    public BulkAssignmentResultDto bulkAssignDeliveries(BulkAssignmentRequestDto request, Integer coordinatorId) {
+        return assignDeliveryBatchUseCase.execute(request.getAssignments(), coordinatorId);
+    }
+
+    public AutoAssignmentResultDto autoAssignDeliveries(boolean dryRun, Integer maxGuides, Integer coordinatorId) {
+        return autoAssignDeliveriesUseCase.execute(dryRun, maxGuides, coordinatorId);
+    }
+
+    public Slice<AssignmentDto> getPendingDeliveries(String search, Integer branchId, Pageable pageable,
+            boolean count, Integer coordinatorId) {
+        return getPendingDeliveriesUseCase.execute(search, branchId, pageable, count, coordinatorId);
+    }
+
+    public ClaimedDeliveriesDto claimPendingDeliveries(int size, Integer leaseMinutes, Integer coordinatorId) {
+        return claimPendingDeliveriesUseCase.claim(size, leaseMinutes, coordinatorId);
+    }
+
+    public int releaseClaimedDeliveries(List<Integer> guideIds, Integer coordinatorId) {
+        return claimPendingDeliveriesUseCase.release(guideIds, coordinatorId);
     }
 
     public List<DeliveryDashboardDto.CourierWorkloadDto> getAvailableCouriers() {
@@ -71,8 +97,12 @@ public class CoordinatorApplicationService {
         return resolveIncidentUseCase.execute(incidentId, request, coordinatorId);
     }
 
-    public Page<IncidentDto> getIncidents(Boolean resolved, String search, Pageable pageable) {
-        return getIncidentsUseCase.execute(resolved, search, pageable);
+    public Slice<IncidentDto> getIncidents(Boolean resolved, String search, Pageable pageable, boolean count) {
+        return getIncidentsUseCase.execute(resolved, search, pageable, count);
+    }
+
+    public long countUnresolvedIncidents() {
+        return getIncidentsUseCase.countUnresolved();
     }
 
     public List<IncidentTypeDto> getIncidentTypes() {
@@ -83,6 +113,10 @@ public class CoordinatorApplicationService {
         return getCancellationTypesUseCase.execute();
     }
 
+    public String getReferenceDataETag(Class<?> entityType) {
+        return referenceDataCatalog.getETag(entityType);
+    }
+
     // === CANCELLATION PROCESSING OPERATIONS ===
 
     public CancellationDto processCancellation(ProcessCancellationRequestDto request, Integer coordinatorId) {
@@ -96,7 +130,7 @@ public class CoordinatorApplicationService {
     // === MONITORING AND DASHBOARD OPERATIONS ===
 
     public DeliveryDashboardDto getDeliveryDashboard(LocalDate date) {
-        return getDeliveryDashboardUseCase.execute(date);
+        return dashboardSnapshotService.getDashboard(date);
     }
 
     public Page<AssignmentDto> getDeliveryHistory(String status, String search, LocalDate startDate, LocalDate endDate,
@@ -104,10 +138,24 @@ public class CoordinatorApplicationService {
         return getDeliveryHistoryUseCase.execute(status, search, startDate, endDate, pageable);
     }
 
+    public CursorPageDto<AssignmentDto> getDeliveryHistoryWithCursor(String status, String search,
+            LocalDate startDate, LocalDate endDate, String cursor, int size, boolean withTotal) {
+        return getDeliveryHistoryUseCase.executeWithCursor(status, search, startDate, endDate, cursor, size,
+                withTotal);
+    }
+
     public List<DeliveryDashboardDto.CourierWorkloadDto> getCourierWorkload() {
         return getCourierWorkloadUseCase.execute();
     }
 
+    public Map<String, Long> getLiveDeliveryCounts() {
+        return liveDeliveryCounters.getStateCounts();
+    }
+
+    public long getLivePendingAssignments() {
+        return liveDeliveryCounters.getStateCount("Creada");
+    }
+
     // === RESCHEDULE OPERATIONS ===
 
     public RescheduleDto rescheduleDelivery(Integer guideId, RescheduleDto request, Integer coordinatorId) {
@@ -120,6 +168,10 @@ public class CoordinatorApplicationService {
         return getAllDeliveriesUseCase.execute(pageable);
     }
 
+    public CursorPageDto<AssignmentDto> getAllDeliveriesWithCursor(String cursor, int size, boolean withTotal) {
+        return getAllDeliveriesUseCase.executeWithCursor(cursor, size, withTotal);
+    }
+
     public Page<AllCommissionsDto> getAllCommissions(LocalDate startDate, LocalDate endDate, Pageable pageable) {
         return getAllCommissionsUseCase.execute(startDate, endDate, pageable);
     }
@@ -0,0 +1,162 @@
+package com.ayd.sie.coordinator.application.services;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * Priority queue of eligible couriers for one automatic assignment run.
+ * <p>
+ * A courier's base score rewards a high completion rate and penalizes pending
+ * load. Couriers that recently delivered to a city get a bonus for guides
+ * going there, so besides the global queue ordered by base score every city
+ * has its own queue ordered by base score plus bonus. The best courier for a
+ * guide is the better of the two heads. Picking a courier raises its pending
+ * load and re-queues it with the new score; outdated entries are skipped when
+ * they reach the head. Couriers reaching the pending limit leave the queues.
+ * <p>
+ * Not thread-safe, a queue belongs to a single run.
+ */
+public class CourierAssignmentQueue {
+
+    private static final Comparator<Entry> BEST_FIRST = Comparator.comparingDouble(Entry::key).reversed()
+            .thenComparing(entry -> entry.courier().courierId);
+
+    private final double loadWeight;
+    private final double completionWeight;
+    private final double cityWeight;
+    private final int maxPending;
+
+    private final Map<Integer, Courier> couriers = new HashMap<>();
+    private final PriorityQueue<Entry> global = new PriorityQueue<>(BEST_FIRST);
+    private final Map<String, PriorityQueue<Entry>> byCity = new HashMap<>();
+
+    public CourierAssignmentQueue(double loadWeight, double completionWeight, double cityWeight, int maxPending) {
+        this.loadWeight = loadWeight;
+        this.completionWeight = completionWeight;
+        this.cityWeight = cityWeight;
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * @param cityAffinity Share of the courier's recent assignments per city,
+     *                     between 0 and 1
+     */
+    public void addCourier(Integer courierId, String courierName, long assigned, long completed, long pending,
+            Map<String, Double> cityAffinity) {
+        Courier courier = new Courier(courierId, courierName, assigned, completed, pending);
+        cityAffinity.forEach((city, affinity) -> courier.cityAffinity.put(normalize(city), affinity));
+        couriers.put(courierId, courier);
+        enqueue(courier);
+    }
+
+    public int size() {
+        return (int) couriers.values().stream().filter(courier -> courier.pending < maxPending).count();
+    }
+
+    /**
+     * Take the best courier for a guide going to the given city and count the
+     * guide as pending for it.
+     *
+     * @return Empty when every courier reached the pending limit
+     */
+    public Optional<Pick> poll(String recipientCity) {
+        String city = normalize(recipientCity);
+        Entry cityHead = head(city != null ? byCity.get(city) : null);
+        Entry globalHead = head(global);
+
+        Entry best;
+        if (cityHead == null) {
+            best = globalHead;
+        } else if (globalHead == null) {
+            best = cityHead;
+        } else {
+            best = BEST_FIRST.compare(cityHead, globalHead) <= 0 ? cityHead : globalHead;
+        }
+        if (best == null) {
+            return Optional.empty();
+        }
+
+        Courier courier = best.courier();
+        double score = score(courier, city);
+        courier.pending++;
+        enqueue(courier);
+        return Optional.of(new Pick(courier.courierId, courier.courierName, score));
+    }
+
+    /**
+     * Undo a pick whose assignment did not go through.
+     */
+    public void release(Integer courierId) {
+        Courier courier = couriers.get(courierId);
+        if (courier != null && courier.pending > 0) {
+            courier.pending--;
+            enqueue(courier);
+        }
+    }
+
+    private void enqueue(Courier courier) {
+        // Entries holding an older version are dropped once they reach a head
+        courier.version++;
+        if (courier.pending >= maxPending) {
+            return;
+        }
+
+        double base = baseScore(courier);
+        global.add(new Entry(courier, base, courier.version));
+        courier.cityAffinity.forEach((city, affinity) -> byCity
+                .computeIfAbsent(city, key -> new PriorityQueue<>(BEST_FIRST))
+                .add(new Entry(courier, base + cityWeight * affinity, courier.version)));
+    }
+
+    private Entry head(PriorityQueue<Entry> queue) {
+        if (queue == null) {
+            return null;
+        }
+        while (!queue.isEmpty() && queue.peek().version() != queue.peek().courier().version) {
+            queue.poll();
+        }
+        return queue.peek();
+    }
+
+    private double score(Courier courier, String city) {
+        return baseScore(courier) + cityWeight * courier.cityAffinity.getOrDefault(city, 0.0);
+    }
+
+    private double baseScore(Courier courier) {
+        // Smoothed so couriers without history start at an even rate instead of zero
+        double completionRate = (courier.completed + 1.0) / (courier.assigned + 2.0);
+        return completionWeight * completionRate - loadWeight * courier.pending;
+    }
+
+    private static String normalize(String city) {
+        return city != null && !city.isBlank() ? city.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+    public record Pick(Integer courierId, String courierName, double score) {
+    }
+
+    private record Entry(Courier courier, double key, long version) {
+    }
+
+    private static final class Courier {
+        private final Integer courierId;
+        private final String courierName;
+        private final long assigned;
+        private final long completed;
+        private final Map<String, Double> cityAffinity = new HashMap<>();
+        private long pending;
+        private long version;
+
+        private Courier(Integer courierId, String courierName, long assigned, long completed, long pending) {
+            this.courierId = courierId;
+            this.courierName = courierName;
+            this.assigned = assigned;
+            this.completed = completed;
+            this.pending = pending;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.ayd.sie.coordinator.application.services;
+
+import com.ayd.sie.coordinator.application.dto.DeliveryDashboardDto;
+import com.ayd.sie.coordinator.application.usecases.GetDeliveryDashboardUseCase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shares one dashboard computation between all coordinators. Today's dashboard
+ * is rebuilt on the scheduler thread every {@code refresh-interval} and
+ * published through a volatile reference, so readers never wait for the
+ * aggregation; {@code last_updated} in the DTO tells them how old it is. Past
+ * dates are computed on first request and cached for {@code past-ttl}; future
+ * dates are computed on every request. Whatever has to be computed while a
+ * request waits is computed once, concurrent requests for the same date wait
+ * for that computation instead of starting their own.
+ */
+@Service
+@Slf4j
+public class DashboardSnapshotService {
+
+    private final GetDeliveryDashboardUseCase getDeliveryDashboardUseCase;
+    private final Duration pastTtl;
+    private final Map<LocalDate, DeliveryDashboardDto> pastDashboards;
+    // Computations of other dates in progress, joined by concurrent requests
+    private final Map<LocalDate, CompletableFuture<DeliveryDashboardDto>> inFlight = new ConcurrentHashMap<>();
+    private final Object todayLock = new Object();
+
+    private volatile DeliveryDashboardDto todaySnapshot;
+
+    public DashboardSnapshotService(GetDeliveryDashboardUseCase getDeliveryDashboardUseCase,
+            @Value("${app.coordinator.dashboard-snapshot.past-ttl:PT10M}") Duration pastTtl,
+            @Value("${app.coordinator.dashboard-snapshot.past-max-entries:60}") int pastMaxEntries) {
+        this.getDeliveryDashboardUseCase = getDeliveryDashboardUseCase;
+        this.pastTtl = pastTtl;
+        this.pastDashboards = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<LocalDate, DeliveryDashboardDto> eldest) {
+                return size() > pastMaxEntries;
+            }
+        };
+    }
+
+    public DeliveryDashboardDto getDashboard(LocalDate date) {
+        LocalDate today = LocalDate.now();
+        if (date == null || date.equals(today)) {
+            DeliveryDashboardDto snapshot = todaySnapshot;
+            if (isCurrent(snapshot, today)) {
+                return snapshot;
+            }
+            // First request of the day, or the scheduler has not run yet
+            synchronized (todayLock) {
+                snapshot = todaySnapshot;
+                return isCurrent(snapshot, today) ? snapshot : refreshToday();
+            }
+        }
+
+        synchronized (pastDashboards) {
+            DeliveryDashboardDto cached = pastDashboards.get(date);
+            if (cached != null && cached.getLastUpdated().plus(pastTtl).isAfter(LocalDateTime.now())) {
+                return cached;
+            }
+        }
+
+        CompletableFuture<DeliveryDashboardDto> flight = new CompletableFuture<>();
+        CompletableFuture<DeliveryDashboardDto> existing = inFlight.putIfAbsent(date, flight);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            DeliveryDashboardDto dashboard = getDeliveryDashboardUseCase.execute(date);
+            if (date.isBefore(today)) {
+                synchronized (pastDashboards) {
+                    pastDashboards.put(date, dashboard);
+                }
+            }
+            flight.complete(dashboard);
+            return dashboard;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            // After the put, so later requests find the cached dashboard
+            inFlight.remove(date, flight);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.coordinator.dashboard-snapshot.refresh-interval:10000}")
+    public void refreshSnapshot() {
+        try {
+            refreshToday();
+        } catch (Exception e) {
+            // Keep serving the previous snapshot, its last_updated shows it is stale
+            log.error("Error refreshing dashboard snapshot: {}", e.getMessage(), e);
+        }
+    }
+
+    private DeliveryDashboardDto refreshToday() {
+        synchronized (todayLock) {
+            DeliveryDashboardDto snapshot = getDeliveryDashboardUseCase.execute(LocalDate.now());
+            todaySnapshot = snapshot;
+            return snapshot;
+        }
+    }
+
+    private boolean isCurrent(DeliveryDashboardDto snapshot, LocalDate today) {
+        return snapshot != null && today.equals(snapshot.getDashboardDate());
+    }
+
+    private DeliveryDashboardDto await(CompletableFuture<DeliveryDashboardDto> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.ayd.sie.coordinator.application.services;
+
+import com.ayd.sie.coordinator.application.dto.DeliveryDashboardDto;
+import com.ayd.sie.coordinator.application.usecases.GetDeliveryDashboardUseCase;
+import com.ayd.sie.shared.domain.events.DeliveryIncidentReportedEvent;
+import com.ayd.sie.shared.domain.events.GuideSnapshot;
+import com.ayd.sie.shared.domain.events.TrackingGuideChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes coordinator dashboard changes over Server-Sent Events. A new
+ * connection receives a full {@code snapshot} of today's dashboard, then only
+ * deltas: {@code state_counts} (per-state count changes of today's guides),
+ * {@code pending_guides} (guides entering or leaving the pending queue) and
+ * {@code incidents}.
+ * <p>
+ * Each connection buffers its own deltas. Count deltas for the same state are
+ * summed and pending guide changes for the same guide replace each other, so a
+ * slow client receives fewer, larger events instead of a growing backlog. If a
+ * buffer still exceeds its bound the deltas are dropped and a fresh snapshot is
+ * sent instead.
+ * <p>
+ * The counts are approximate. A guide change committing between the moment a
+ * connection's buffer is cleared and the moment the snapshot query takes its
+ * read view is counted in the snapshot and sent again as a delta, and nothing
+ * orders commits against that read view to tell such changes apart. Every
+ * connection therefore gets a fresh snapshot each
+ * {@code resnapshot-interval}, which bounds how long such an error lasts.
+ */
+@Service
+@Slf4j
+public class DashboardStreamService {
+
+    private static final String PENDING_STATE = "Creada";
+
+    private final GetDeliveryDashboardUseCase getDeliveryDashboardUseCase;
+    private final Duration timeout;
+    private final int bufferSize;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService dispatcher = Executors.newVirtualThreadPerTaskExecutor();
+
+    public DashboardStreamService(GetDeliveryDashboardUseCase getDeliveryDashboardUseCase,
+            @Value("${app.coordinator.dashboard-stream.timeout:PT30M}") Duration timeout,
+            @Value("${app.coordinator.dashboard-stream.buffer-size:200}") int bufferSize) {
+        this.getDeliveryDashboardUseCase = getDeliveryDashboardUseCase;
+        this.timeout = timeout;
+        this.bufferSize = bufferSize;
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        subscribers.add(subscriber);
+        subscriber.requestSnapshot();
+        schedule(subscriber);
+
+        log.debug("Dashboard stream opened, {} open streams", subscribers.size());
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        dispatcher.shutdownNow();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTrackingGuideChanged(TrackingGuideChangedEvent event) {
+        GuideSnapshot previous = event.getPrevious();
+        GuideSnapshot current = event.getCurrent();
+
+        if (subscribers.isEmpty() || !event.isStateChange()) {
+            return;
+        }
+
+        // The dashboard counts the guides created today by their current state
+        boolean createdToday = current.getCreatedAt() != null
+                && current.getCreatedAt().toLocalDate().equals(LocalDate.now());
+        boolean wasPending = previous != null && PENDING_STATE.equals(previous.getStateName());
+        boolean isPending = PENDING_STATE.equals(current.getStateName());
+
+        for (Subscriber subscriber : subscribers) {
+            synchronized (subscriber) {
+                if (createdToday) {
+                    if (previous != null) {
+                        subscriber.stateDeltas.merge(previous.getStateName(), -1L, Long::sum);
+                    }
+                    subscriber.stateDeltas.merge(current.getStateName(), 1L, Long::sum);
+                }
+
+                if (isPending && !wasPending) {
+                    subscriber.pendingChanges.put(current.getGuideId(), pendingGuide(current, "added"));
+                } else if (wasPending && !isPending) {
+                    subscriber.pendingChanges.put(current.getGuideId(), pendingGuide(current, "removed"));
+                }
+                subscriber.checkBounds(bufferSize);
+            }
+            schedule(subscriber);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDeliveryIncidentReported(DeliveryIncidentReportedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        Map<String, Object> incident = new LinkedHashMap<>();
+        incident.put("incident_id", event.getIncidentId());
+        incident.put("guide_id", event.getGuideId());
+        incident.put("guide_number", event.getGuideNumber());
+        incident.put("incident_type_id", event.getIncidentTypeId());
+        incident.put("reported_by", event.getReportedByName());
+        incident.put("created_at", event.getCreatedAt());
+
+        for (Subscriber subscriber : subscribers) {
+            synchronized (subscriber) {
+                subscriber.incidents.add(incident);
+                subscriber.checkBounds(bufferSize);
+            }
+            schedule(subscriber);
+        }
+    }
+
+    /**
+     * Replace what every connection has accumulated from deltas with a fresh
+     * snapshot.
+     */
+    @Scheduled(initialDelayString = "${app.coordinator.dashboard-stream.resnapshot-interval:300000}", fixedDelayString = "${app.coordinator.dashboard-stream.resnapshot-interval:300000}")
+    public void resendSnapshots() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.requestSnapshot();
+            schedule(subscriber);
+        }
+    }
+
+    /**
+     * Keep idle connections alive and detect clients that went away.
+     */
+    @Scheduled(fixedDelayString = "${app.coordinator.dashboard-stream.heartbeat-interval:25000}")
+    public void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            dispatcher.execute(() -> send(subscriber, SseEmitter.event().comment("heartbeat")));
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            dispatcher.execute(() -> flush(subscriber));
+        }
+    }
+
+    /**
+     * Drain the subscriber's buffer until it stays empty. Runs on at most one
+     * dispatcher thread per subscriber; updates arriving while a send blocks
+     * are coalesced into the next round.
+     */
+    private void flush(Subscriber subscriber) {
+        while (true) {
+            boolean snapshot;
+            Map<String, Long> stateDeltas;
+            List<Map<String, Object>> pendingChanges;
+            List<Map<String, Object>> incidents;
+
+            synchronized (subscriber) {
+                snapshot = subscriber.snapshotRequested;
+                stateDeltas = new LinkedHashMap<>(subscriber.stateDeltas);
+                pendingChanges = new ArrayList<>(subscriber.pendingChanges.values());
+                incidents = new ArrayList<>(subscriber.incidents);
+                subscriber.clear();
+
+                if (!snapshot && stateDeltas.isEmpty() && pendingChanges.isEmpty() && incidents.isEmpty()) {
+                    subscriber.scheduled.set(false);
+                    return;
+                }
+            }
+
+            boolean sent = snapshot
+                    ? send(subscriber, SseEmitter.event().name("snapshot").data(snapshot()))
+                    : sendDeltas(subscriber, stateDeltas, pendingChanges, incidents);
+
+            if (!sent) {
+                subscriber.scheduled.set(false);
+                return;
+            }
+        }
+    }
+
+    private boolean sendDeltas(Subscriber subscriber, Map<String, Long> stateDeltas,
+            List<Map<String, Object>> pendingChanges, List<Map<String, Object>> incidents) {
+        stateDeltas.values().removeIf(delta -> delta == 0);
+
+        if (!stateDeltas.isEmpty()
+                && !send(subscriber, SseEmitter.event().name("state_counts").data(stateDeltas))) {
+            return false;
+        }
+        if (!pendingChanges.isEmpty()
+                && !send(subscriber, SseEmitter.event().name("pending_guides").data(pendingChanges))) {
+            return false;
+        }
+        return incidents.isEmpty()
+                || send(subscriber, SseEmitter.event().name("incidents").data(incidents));
+    }
+
+    private boolean send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        try {
+            subscriber.emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dashboard stream closed: {}", e.getMessage());
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private DeliveryDashboardDto snapshot() {
+        return getDeliveryDashboardUseCase.execute(LocalDate.now());
+    }
+
+    private Map<String, Object> pendingGuide(GuideSnapshot guide, String change) {
+        Map<String, Object> pending = new LinkedHashMap<>();
+        pending.put("change", change);
+        pending.put("guide_id", guide.getGuideId());
+        pending.put("guide_number", guide.getGuideNumber());
+        pending.put("business_id", guide.getBusinessId());
+        pending.put("created_at", guide.getCreatedAt());
+        return pending;
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        // Guarded by this
+        private final Map<String, Long> stateDeltas = new LinkedHashMap<>();
+        private final Map<Integer, Map<String, Object>> pendingChanges = new LinkedHashMap<>();
+        private final List<Map<String, Object>> incidents = new ArrayList<>();
+        private boolean snapshotRequested;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        synchronized void requestSnapshot() {
+            clear();
+            snapshotRequested = true;
+        }
+
+        void checkBounds(int bufferSize) {
+            if (pendingChanges.size() + incidents.size() > bufferSize) {
+                // Too far behind to catch up with deltas, send the whole picture again
+                clear();
+                snapshotRequested = true;
+            }
+        }
+
+        void clear() {
+            stateDeltas.clear();
+            pendingChanges.clear();
+            incidents.clear();
+            snapshotRequested = false;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.ayd.sie.coordinator.application.services;
+
+import com.ayd.sie.shared.domain.events.GuideSnapshot;
+import com.ayd.sie.shared.domain.events.TrackingGuideChangedEvent;
+import com.ayd.sie.shared.infrastructure.persistence.TrackingGuideJpaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * In-memory count of guides per current state, per courier and state, and per
+ * business and state. Counters move on every committed guide change, so reads
+ * never touch the database. The database stays the source of truth: counters
+ * are loaded from it on startup and then periodically compared with it.
+ *
+ * <p>
+ * A guide change committing while the database is read shows up as drift
+ * that is gone on the next read, since its event is applied on its own. A
+ * counter is therefore only corrected, and the drift counted, when it is off
+ * by the same amount on two reconciliations in a row.
+ */
+@Service
+@Slf4j
+public class LiveDeliveryCounters {
+
+    private final TrackingGuideJpaRepository trackingGuideRepository;
+    private final Counter driftCorrections;
+
+    private final Map<Integer, String> stateNames = new ConcurrentHashMap<>();
+    private final Map<Integer, LongAdder> byState = new ConcurrentHashMap<>();
+    private final Map<Integer, Map<Integer, LongAdder>> byCourierAndState = new ConcurrentHashMap<>();
+    private final Map<Integer, Map<Integer, LongAdder>> byBusinessAndState = new ConcurrentHashMap<>();
+
+    // Drift seen by the last reconciliation, by counter, awaiting confirmation
+    private Map<Bucket, Long> pendingDrift = new HashMap<>();
+
+    private volatile boolean initialized;
+
+    public LiveDeliveryCounters(TrackingGuideJpaRepository trackingGuideRepository, MeterRegistry meterRegistry) {
+        this.trackingGuideRepository = trackingGuideRepository;
+        this.driftCorrections = meterRegistry.counter("delivery.counters.drift");
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTrackingGuideChanged(TrackingGuideChangedEvent event) {
+        GuideSnapshot previous = event.getPrevious();
+        GuideSnapshot current = event.getCurrent();
+
+        if (previous != null
+                && Objects.equals(previous.getStateId(), current.getStateId())
+                && Objects.equals(previous.getCourierId(), current.getCourierId())
+                && Objects.equals(previous.getBusinessId(), current.getBusinessId())) {
+            return;
+        }
+
+        if (previous != null) {
+            apply(previous, -1);
+        }
+        apply(current, 1);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reconcile();
+        initialized = true;
+    }
+
+    /**
+     * Compare every counter with the database and correct the ones that
+     * drifted by the same amount on the previous comparison. Every counter is
+     * corrected on the first run, which loads them.
+     *
+     * @return Number of counters that had to be corrected
+     */
+    @Scheduled(initialDelayString = "${app.coordinator.live-counters.reconcile-interval:300000}", fixedDelayString = "${app.coordinator.live-counters.reconcile-interval:300000}")
+    @Transactional(readOnly = true)
+    public synchronized int reconcile() {
+        Map<Bucket, Long> drift = new HashMap<>();
+        Map<Integer, Long> stateTotals = new HashMap<>();
+        for (Object[] row : trackingGuideRepository.countGuidesByState()) {
+            Integer stateId = (Integer) row[0];
+            stateNames.put(stateId, (String) row[1]);
+            stateTotals.put(stateId, ((Number) row[2]).longValue());
+        }
+
+        int corrected = correct(byState, stateTotals, stateId -> new Bucket("state", null, stateId), drift);
+        corrected += correctOwners("courier", byCourierAndState,
+                ownerTotals(trackingGuideRepository.countGuidesByCourierAndState()), drift);
+        corrected += correctOwners("business", byBusinessAndState,
+                ownerTotals(trackingGuideRepository.countGuidesByBusinessAndState()), drift);
+        pendingDrift = drift;
+
+        if (corrected > 0) {
+            if (initialized) {
+                log.warn("Live delivery counters drifted from the database, {} counters corrected", corrected);
+                driftCorrections.increment(corrected);
+            } else {
+                log.info("Live delivery counters loaded: {} counters", corrected);
+            }
+        }
+        return corrected;
+    }
+
+    public long getStateCount(String stateName) {
+        return stateNames.entrySet().stream()
+                .filter(entry -> entry.getValue().equals(stateName))
+                .mapToLong(entry -> sum(byState.get(entry.getKey())))
+                .sum();
+    }
+
+    public Map<String, Long> getStateCounts() {
+        Map<String, Long> counts = new HashMap<>();
+        byState.forEach((stateId, adder) -> counts.merge(stateName(stateId), adder.sum(), Long::sum));
+        return counts;
+    }
+
+    public Map<String, Long> getCourierStateCounts(Integer courierId) {
+        return ownerStateCounts(byCourierAndState, courierId);
+    }
+
+    public Map<String, Long> getBusinessStateCounts(Integer businessId) {
+        return ownerStateCounts(byBusinessAndState, businessId);
+    }
+
+    private void apply(GuideSnapshot guide, int delta) {
+        if (guide.getStateName() != null) {
+            stateNames.putIfAbsent(guide.getStateId(), guide.getStateName());
+        }
+
+        byState.computeIfAbsent(guide.getStateId(), key -> new LongAdder()).add(delta);
+        if (guide.getCourierId() != null) {
+            ownerCounters(byCourierAndState, guide.getCourierId())
+                    .computeIfAbsent(guide.getStateId(), key -> new LongAdder()).add(delta);
+        }
+        ownerCounters(byBusinessAndState, guide.getBusinessId())
+                .computeIfAbsent(guide.getStateId(), key -> new LongAdder()).add(delta);
+    }
+
+    private Map<Integer, LongAdder> ownerCounters(Map<Integer, Map<Integer, LongAdder>> counters, Integer ownerId) {
+        return counters.computeIfAbsent(ownerId, key -> new ConcurrentHashMap<>());
+    }
+
+    private Map<Integer, Map<Integer, Long>> ownerTotals(Iterable<Object[]> rows) {
+        Map<Integer, Map<Integer, Long>> totals = new HashMap<>();
+        for (Object[] row : rows) {
+            totals.computeIfAbsent((Integer) row[0], key -> new HashMap<>())
+                    .put((Integer) row[1], ((Number) row[2]).longValue());
+        }
+        return totals;
+    }
+
+    private int correctOwners(String kind, Map<Integer, Map<Integer, LongAdder>> counters,
+            Map<Integer, Map<Integer, Long>> expected, Map<Bucket, Long> drift) {
+        int corrected = 0;
+        for (Map.Entry<Integer, Map<Integer, Long>> entry : expected.entrySet()) {
+            Integer ownerId = entry.getKey();
+            corrected += correct(ownerCounters(counters, ownerId), entry.getValue(),
+                    stateId -> new Bucket(kind, ownerId, stateId), drift);
+        }
+        for (Map.Entry<Integer, Map<Integer, LongAdder>> entry : counters.entrySet()) {
+            Integer ownerId = entry.getKey();
+            if (!expected.containsKey(ownerId)) {
+                corrected += correct(entry.getValue(), Map.of(), stateId -> new Bucket(kind, ownerId, stateId),
+                        drift);
+            }
+        }
+        return corrected;
+    }
+
+    private int correct(Map<Integer, LongAdder> counters, Map<Integer, Long> expected,
+            Function<Integer, Bucket> bucket, Map<Bucket, Long> drift) {
+        int corrected = 0;
+
+        for (Map.Entry<Integer, Long> entry : expected.entrySet()) {
+            LongAdder adder = counters.computeIfAbsent(entry.getKey(), key -> new LongAdder());
+            if (correct(adder, entry.getValue() - adder.sum(), bucket.apply(entry.getKey()), drift)) {
+                corrected++;
+            }
+        }
+
+        // Keys the database no longer has should read zero
+        for (Map.Entry<Integer, LongAdder> entry : counters.entrySet()) {
+            if (!expected.containsKey(entry.getKey())
+                    && correct(entry.getValue(), -entry.getValue().sum(), bucket.apply(entry.getKey()), drift)) {
+                corrected++;
+            }
+        }
+        return corrected;
+    }
+
+    /**
+     * Apply the difference with the database when it is confirmed, otherwise
+     * keep it for the next reconciliation to confirm.
+     */
+    private boolean correct(LongAdder adder, long difference, Bucket bucket, Map<Bucket, Long> drift) {
+        if (difference == 0) {
+            return false;
+        }
+        Long previous = pendingDrift.get(bucket);
+        if (initialized && (previous == null || previous != difference)) {
+            drift.put(bucket, difference);
+            return false;
+        }
+        adder.add(difference);
+        return true;
+    }
+
+    private Map<String, Long> ownerStateCounts(Map<Integer, Map<Integer, LongAdder>> counters, Integer ownerId) {
+        Map<String, Long> counts = new HashMap<>();
+        counters.getOrDefault(ownerId, Map.of())
+                .forEach((stateId, adder) -> counts.merge(stateName(stateId), adder.sum(), Long::sum));
+        return counts;
+    }
+
+    private String stateName(Integer stateId) {
+        return stateNames.getOrDefault(stateId, String.valueOf(stateId));
+    }
+
+    private long sum(LongAdder adder) {
+        return adder != null ? adder.sum() : 0L;
+    }
+
+    /**
+     * One counter: a state, or a state of a courier or business.
+     */
+    private record Bucket(String kind, Integer ownerId, Integer stateId) {
+    }
+}
@@ -0,0 +1,232 @@
+package com.ayd.sie.coordinator.application.services;
+
+import com.ayd.sie.shared.domain.events.GuideClaimsChangedEvent;
+import com.ayd.sie.shared.domain.events.GuideSnapshot;
+import com.ayd.sie.shared.domain.events.TrackingGuideChangedEvent;
+import com.ayd.sie.shared.infrastructure.persistence.TrackingGuideJpaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory queues of the guides waiting for assignment, one per origin
+ * branch, oldest first. The pending deliveries listing pages through them and
+ * then loads only the guides of the page by primary key, instead of having the
+ * database filter and sort every pending guide on each refresh.
+ *
+ * <p>
+ * Guides join when they are created or return to the backlog and leave when
+ * they are assigned or cancelled, following every committed guide change.
+ * Coordinator claims are followed too, so each coordinator pages only through
+ * the guides it may see. The queues are loaded from the database at startup;
+ * until then, and for listings sorted on anything but the creation date,
+ * callers query the database. An entry left behind by a change that raced
+ * with the load is evicted the first time its guide is read and found no
+ * longer pending.
+ */
+@Service
+@Slf4j
+public class PendingGuideQueues {
+
+    private static final String PENDING_STATE = "Creada";
+    private static final Comparator<Entry> ORDER = Comparator.comparing(Entry::createdAt)
+            .thenComparingInt(Entry::guideId);
+    private static final NavigableSet<Entry> EMPTY = Collections.unmodifiableNavigableSet(new TreeSet<>(ORDER));
+
+    private final TrackingGuideJpaRepository trackingGuideRepository;
+    private final int rebuildBatchSize;
+
+    private final NavigableSet<Entry> all = new ConcurrentSkipListSet<>(ORDER);
+    private final Map<Integer, NavigableSet<Entry>> byBranch = new ConcurrentHashMap<>();
+    private final Map<Integer, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Integer, Claim> claims = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+
+    public PendingGuideQueues(TrackingGuideJpaRepository trackingGuideRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.coordinator.pending-queues.rebuild-batch-size:5000}") int rebuildBatchSize) {
+        this.trackingGuideRepository = trackingGuideRepository;
+        this.rebuildBatchSize = rebuildBatchSize;
+        meterRegistry.gaugeMapSize("coordinator.pending.queue.size", Tags.empty(), entries);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        long started = System.currentTimeMillis();
+        try {
+            int loaded = 0;
+            Integer afterId = 0;
+            List<Object[]> rows;
+            do {
+                rows = trackingGuideRepository.findPendingQueueRowsAfter(afterId,
+                        PageRequest.of(0, rebuildBatchSize));
+                for (Object[] row : rows) {
+                    afterId = (Integer) row[0];
+                    add(afterId, (Integer) row[1], (LocalDateTime) row[2]);
+                    if (row[3] != null && row[4] != null) {
+                        claims.put(afterId, new Claim((Integer) row[3], (LocalDateTime) row[4]));
+                    }
+                }
+                loaded += rows.size();
+            } while (rows.size() == rebuildBatchSize);
+
+            ready = true;
+            log.info("Pending guide queues loaded: {} guides in {} branches in {} ms", loaded, byBranch.size(),
+                    System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            log.error("Could not load the pending guide queues, pending listings will query the database: {}",
+                    e.getMessage(), e);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTrackingGuideChanged(TrackingGuideChangedEvent event) {
+        GuideSnapshot current = event.getCurrent();
+        if (PENDING_STATE.equals(current.getStateName())) {
+            add(current.getGuideId(), current.getBranchId(), current.getCreatedAt());
+        } else {
+            remove(current.getGuideId());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onGuideClaimsChanged(GuideClaimsChangedEvent event) {
+        Integer coordinatorId = event.getCoordinatorId();
+
+        if (event.getExpiresAt() != null) {
+            Claim claim = new Claim(coordinatorId, event.getExpiresAt());
+            for (Integer guideId : event.getGuideIds()) {
+                if (entries.containsKey(guideId)) {
+                    claims.put(guideId, claim);
+                }
+            }
+        } else if (event.getGuideIds() == null) {
+            claims.values().removeIf(claim -> claim.coordinatorId().equals(coordinatorId));
+        } else {
+            for (Integer guideId : event.getGuideIds()) {
+                claims.computeIfPresent(guideId,
+                        (key, claim) -> claim.coordinatorId().equals(coordinatorId) ? null : claim);
+            }
+        }
+    }
+
+    /**
+     * Page of the ids of the pending guides a coordinator sees: unclaimed,
+     * claimed by the coordinator or with an expired claim.
+     *
+     * @param branchId Origin branch, every branch when null
+     * @param count    Whether to count every visible guide for the total
+     * @return Empty when the queues cannot serve the page: not loaded yet or
+     *         sorted on anything but the creation date
+     */
+    public Optional<Slice<Integer>> page(Integer branchId, Integer coordinatorId, Pageable pageable, boolean count) {
+        Sort sort = pageable.getSort();
+        Sort.Order order = sort.getOrderFor("createdAt");
+        if (!ready || pageable.isUnpaged() || (sort.isSorted() && (order == null || sort.stream().count() > 1))) {
+            return Optional.empty();
+        }
+
+        NavigableSet<Entry> queue = branchId == null ? all : byBranch.getOrDefault(branchId, EMPTY);
+        Iterator<Entry> iterator = order != null && order.isDescending()
+                ? queue.descendingIterator()
+                : queue.iterator();
+
+        LocalDateTime now = LocalDateTime.now();
+        long offset = pageable.getOffset();
+        int size = pageable.getPageSize();
+        List<Integer> guideIds = new ArrayList<>(size);
+        long visible = 0;
+        boolean hasNext = false;
+
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            Claim claim = claims.get(entry.guideId());
+            if (claim != null && !claim.coordinatorId().equals(coordinatorId) && claim.expiresAt().isAfter(now)) {
+                continue;
+            }
+            if (visible >= offset) {
+                if (guideIds.size() < size) {
+                    guideIds.add(entry.guideId());
+                } else {
+                    hasNext = true;
+                    if (!count) {
+                        break;
+                    }
+                }
+            }
+            visible++;
+        }
+
+        return Optional.of(count
+                ? new PageImpl<>(guideIds, pageable, visible)
+                : new SliceImpl<>(guideIds, pageable, hasNext));
+    }
+
+    /**
+     * Drop a guide that was found no longer pending when read.
+     */
+    public void evict(Integer guideId) {
+        remove(guideId);
+    }
+
+    private synchronized void add(Integer guideId, Integer branchId, LocalDateTime createdAt) {
+        Entry entry = new Entry(createdAt != null ? createdAt : LocalDateTime.now(), guideId, branchId);
+        Entry previous = entries.put(guideId, entry);
+        if (entry.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            unlink(previous);
+        }
+        all.add(entry);
+        byBranch.computeIfAbsent(branchId, key -> new ConcurrentSkipListSet<>(ORDER)).add(entry);
+    }
+
+    private synchronized void remove(Integer guideId) {
+        claims.remove(guideId);
+        Entry entry = entries.remove(guideId);
+        if (entry != null) {
+            unlink(entry);
+        }
+    }
+
+    private void unlink(Entry entry) {
+        all.remove(entry);
+        NavigableSet<Entry> branch = byBranch.get(entry.branchId());
+        if (branch != null) {
+            branch.remove(entry);
+        }
+    }
+
+    private record Entry(LocalDateTime createdAt, int guideId, Integer branchId) {
+    }
+
+    private record Claim(Integer coordinatorId, LocalDateTime expiresAt) {
+    }
+}
@@ -0,0 +1,217 @@
+package com.ayd.sie.coordinator.application.usecases;
+
+import com.ayd.sie.coordinator.application.dto.AssignDeliveryRequestDto;
+import com.ayd.sie.coordinator.application.dto.AssignmentDto;
+import com.ayd.sie.coordinator.application.dto.BulkAssignmentResultDto;
+import com.ayd.sie.coordinator.application.services.AssignmentNotificationDispatcher;
+import com.ayd.sie.shared.domain.entities.TrackingGuide;
+import com.ayd.sie.shared.domain.entities.TrackingState;
+import com.ayd.sie.shared.domain.entities.User;
+import com.ayd.sie.shared.domain.events.GuideSnapshot;
+import com.ayd.sie.shared.domain.events.TrackingGuideChangedEvent;
+import com.ayd.sie.shared.domain.exceptions.BusinessConstraintViolationException;
+import com.ayd.sie.shared.domain.exceptions.ResourceNotFoundException;
+import com.ayd.sie.shared.infrastructure.cache.ReferenceDataCatalog;
+import com.ayd.sie.shared.infrastructure.persistence.ContractJpaRepository;
+import com.ayd.sie.shared.infrastructure.persistence.GuideAssignmentJdbcRepository;
+import com.ayd.sie.shared.infrastructure.persistence.TrackingGuideJpaRepository;
+import com.ayd.sie.shared.infrastructure.persistence.UserJpaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Assigns many guides in one transaction with the same rules as
+ * {@link AssignDeliveryUseCase}. Guides, couriers and contracts are validated
+ * with one query each, guides are updated and their state history inserted
+ * with batched JDBC statements, and notifications are grouped per courier and
+ * per business and sent after commit. Requests that break a rule are reported
+ * as failed items without affecting the rest.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AssignDeliveryBatchUseCase {
+
+    private static final BigDecimal COMMISSION_RATE = new BigDecimal("30");
+
+    private final TrackingGuideJpaRepository trackingGuideRepository;
+    private final UserJpaRepository userRepository;
+    private final ContractJpaRepository contractRepository;
+    private final GuideAssignmentJdbcRepository guideAssignmentJdbcRepository;
+    private final ReferenceDataCatalog referenceDataCatalog;
+    private final AssignmentNotificationDispatcher assignmentNotificationDispatcher;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public BulkAssignmentResultDto execute(List<AssignDeliveryRequestDto> requests, Integer coordinatorId) {
+        User coordinator = userRepository.findById(coordinatorId)
+                .orElseThrow(() -> new ResourceNotFoundException("Coordinator not found"));
+
+        if (!coordinator.getRole().getRoleName().equals("Coordinador")) {
+            throw new BusinessConstraintViolationException("Only coordinators can assign deliveries");
+        }
+
+        TrackingState createdState = referenceDataCatalog.findTrackingState("Creada")
+                .orElseThrow(() -> new ResourceNotFoundException("Created state not found"));
+        TrackingState assignedState = referenceDataCatalog.findTrackingState("Asignada")
+                .orElseThrow(() -> new ResourceNotFoundException("Assigned state not found"));
+
+        Set<Integer> guideIds = requests.stream().map(AssignDeliveryRequestDto::getGuideId).collect(Collectors.toSet());
+        Set<Integer> courierIds = requests.stream().map(AssignDeliveryRequestDto::getCourierId)
+                .collect(Collectors.toSet());
+
+        // Lock the guides that are still pending so nobody else assigns them until commit
+        Set<Integer> pendingIds = new HashSet<>(trackingGuideRepository.lockGuideIdsInState(guideIds,
+                createdState.getStateId()));
+        Map<Integer, TrackingGuide> guides = trackingGuideRepository.findAllForAssignment(guideIds).stream()
+                .collect(Collectors.toMap(TrackingGuide::getGuideId, Function.identity()));
+        Map<Integer, User> couriers = userRepository.findAllById(courierIds).stream()
+                .filter(courier -> courier.getRole().getRoleName().equals("Repartidor"))
+                .collect(Collectors.toMap(User::getUserId, Function.identity()));
+        Set<Integer> contracted = couriers.isEmpty() ? Set.of()
+                : new HashSet<>(contractRepository.findUserIdsWithActiveContractOnDate(couriers.keySet(),
+                        LocalDate.now()));
+
+        LocalDateTime now = LocalDateTime.now();
+        String coordinatorName = coordinator.getFirstName() + " " + coordinator.getLastName();
+        Set<Integer> requestedGuides = new HashSet<>();
+        List<BulkAssignmentResultDto.ItemResultDto> results = new ArrayList<>();
+        List<AcceptedAssignment> accepted = new ArrayList<>();
+
+        for (AssignDeliveryRequestDto request : requests) {
+            TrackingGuide guide = guides.get(request.getGuideId());
+            User courier = couriers.get(request.getCourierId());
+
+            String error = null;
+            if (!requestedGuides.add(request.getGuideId())) {
+                error = "Guide appears more than once in the request";
+            } else if (guide == null) {
+                error = "Tracking guide not found";
+            } else if (!pendingIds.contains(guide.getGuideId())) {
+                error = "Guide can only be assigned if it's in 'Creada' state. Current state: "
+                        + guide.getCurrentState().getStateName();
+            } else if (guide.isClaimActive(now) && !guide.getClaimedById().equals(coordinatorId)) {
+                error = "Guide is claimed by another coordinator until " + guide.getClaimExpiresAt();
+            } else if (courier == null) {
+                error = "Courier not found";
+            } else if (!Boolean.TRUE.equals(courier.getActive())) {
+                error = "Cannot assign to inactive courier";
+            } else if (!contracted.contains(courier.getUserId())) {
+                error = "Courier does not have an active contract";
+            }
+
+            BulkAssignmentResultDto.ItemResultDto result = BulkAssignmentResultDto.ItemResultDto.builder()
+                    .guideId(request.getGuideId())
+                    .courierId(request.getCourierId())
+                    .success(error == null)
+                    .error(error)
+                    .build();
+            results.add(result);
+
+            if (error == null) {
+                BigDecimal courierCommission = guide.getBasePrice()
+                        .multiply(COMMISSION_RATE)
+                        .divide(new BigDecimal("100"), 2, RoundingMode.HALF_UP);
+                accepted.add(new AcceptedAssignment(request, guide, courier, courierCommission, result));
+            }
+        }
+
+        int[] updateCounts = guideAssignmentJdbcRepository.assignGuides(
+                accepted.stream()
+                        .map(assignment -> new GuideAssignmentJdbcRepository.GuideAssignment(
+                                assignment.guide().getGuideId(), assignment.courier().getUserId(),
+                                assignment.courierCommission()))
+                        .toList(),
+                coordinatorId, createdState.getStateId(), assignedState.getStateId(), now);
+
+        List<GuideAssignmentJdbcRepository.StateHistoryRow> histories = new ArrayList<>();
+        List<AssignmentNotificationDispatcher.Notice> notices = new ArrayList<>();
+
+        for (int i = 0; i < accepted.size(); i++) {
+            AcceptedAssignment assignment = accepted.get(i);
+            TrackingGuide guide = assignment.guide();
+            User courier = assignment.courier();
+            AssignDeliveryRequestDto request = assignment.request();
+
+            if (updateCounts[i] == 0) {
+                // Cannot happen while the row lock is held, kept as a safety net
+                assignment.result().setSuccess(false);
+                assignment.result().setError("Guide was modified concurrently");
+                continue;
+            }
+
+            GuideSnapshot previous = GuideSnapshot.of(guide);
+            eventPublisher.publishEvent(new TrackingGuideChangedEvent(previous, previous.toBuilder()
+                    .stateId(assignedState.getStateId())
+                    .stateName(assignedState.getStateName())
+                    .courierId(courier.getUserId())
+                    .courierCommission(assignment.courierCommission())
+                    .assignmentAccepted(false)
+                    .assignmentDate(now)
+                    .build()));
+
+            String courierName = courier.getFirstName() + " " + courier.getLastName();
+            String criteria = request.getAssignmentCriteria() != null ? request.getAssignmentCriteria() : "MANUAL";
+            histories.add(new GuideAssignmentJdbcRepository.StateHistoryRow(guide.getGuideId(),
+                    assignedState.getStateId(), coordinatorId,
+                    request.getObservations() != null ? request.getObservations()
+                            : String.format("Asignado por %s usando criterio: %s", coordinatorName, criteria),
+                    now));
+
+            notices.add(new AssignmentNotificationDispatcher.Notice(guide.getGuideNumber(), guide.getRecipientName(),
+                    courier.getEmail(), courierName, guide.getBusiness().getEmail()));
+
+            assignment.result().setAssignment(AssignmentDto.builder()
+                    .guideId(guide.getGuideId())
+                    .guideNumber(guide.getGuideNumber())
+                    .courierId(courier.getUserId())
+                    .courierName(courierName)
+                    .coordinatorId(coordinatorId)
+                    .coordinatorName(coordinatorName)
+                    .assignmentCriteria(criteria)
+                    .basePrice(guide.getBasePrice())
+                    .courierCommission(assignment.courierCommission())
+                    .assignedAt(now)
+                    .assignmentAccepted(false)
+                    .businessName(guide.getBusiness().getBusinessName())
+                    .recipientName(guide.getRecipientName())
+                    .recipientAddress(guide.getRecipientAddress())
+                    .currentState(assignedState.getStateName())
+                    .observations(request.getObservations())
+                    .build());
+        }
+
+        guideAssignmentJdbcRepository.insertStateHistory(histories);
+        assignmentNotificationDispatcher.dispatchAfterCommit(notices);
+
+        int assigned = histories.size();
+        log.info("Bulk assignment by coordinator {}: {} of {} guides assigned", coordinatorId, assigned,
+                requests.size());
+
+        return BulkAssignmentResultDto.builder()
+                .requested(requests.size())
+                .assigned(assigned)
+                .failed(requests.size() - assigned)
+                .results(results)
+                .build();
+    }
+
+    private record AcceptedAssignment(AssignDeliveryRequestDto request, TrackingGuide guide, User courier,
+            BigDecimal courierCommission, BulkAssignmentResultDto.ItemResultDto result) {
+    }
+}
@@ -3,19 +3,23 @@ package com.ayd.sie.coordinator.application.usecases;
 import com.ayd.sie.coordinator.application.dto.AssignDeliveryRequestDto;
 import com.ayd.sie.coordinator.application.dto.AssignmentDto;
 import com.ayd.sie.shared.domain.entities.*;
+import com.ayd.sie.shared.domain.events.GuideSnapshot;
+import com.ayd.sie.shared.domain.events.TrackingGuideChangedEvent;
 import com.ayd.sie.shared.domain.exceptions.BusinessConstraintViolationException;
 import com.ayd.sie.shared.domain.exceptions.ResourceNotFoundException;
 import com.ayd.sie.shared.domain.services.NotificationService;
+import com.ayd.sie.shared.infrastructure.cache.ReferenceDataCatalog;
 import com.ayd.sie.shared.infrastructure.persistence.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -25,12 +29,18 @@ public class AssignDeliveryUseCase {
         private final TrackingGuideJpaRepository trackingGuideRepository;
         private final UserJpaRepository userRepository;
         private final ContractJpaRepository contractRepository;
-        private final TrackingStateJpaRepository trackingStateRepository;
+        private final ReferenceDataCatalog referenceDataCatalog;
         private final StateHistoryJpaRepository stateHistoryRepository;
         private final NotificationService notificationService;
+        private final ApplicationEventPublisher eventPublisher;
+        private final RetryingTransactionTemplate retryingTransactionTemplate;
 
-        @Transactional
         public AssignmentDto execute(AssignDeliveryRequestDto request, Integer coordinatorId) {
+                return retryingTransactionTemplate.execute("Assignment of guide " + request.getGuideId(),
+                                () -> assign(request, coordinatorId));
+        }
+
+        private AssignmentDto assign(AssignDeliveryRequestDto request, Integer coordinatorId) {
                 // 1. Validate coordinator
                 User coordinator = userRepository.findById(coordinatorId)
                                 .orElseThrow(() -> new ResourceNotFoundException("Coordinator not found"));
@@ -50,6 +60,12 @@ public class AssignDeliveryUseCase {
                                                         guide.getCurrentState().getStateName());
                 }
 
+                // A guide leased to another coordinator is theirs until the lease ends
+                if (guide.isClaimActive(LocalDateTime.now()) && !guide.getClaimedById().equals(coordinatorId)) {
+                        throw new BusinessConstraintViolationException(
+                                        "Guide is claimed by another coordinator until " + guide.getClaimExpiresAt());
+                }
+
                 // 4. Validate and get courier
                 User courier = userRepository.findById(request.getCourierId())
                                 .orElseThrow(() -> new ResourceNotFoundException("Courier not found"));
@@ -77,10 +93,11 @@ public class AssignDeliveryUseCase {
                                 .divide(new BigDecimal("100"), 2, RoundingMode.HALF_UP);
 
                 // 7. Get assigned state
-                TrackingState assignedState = trackingStateRepository.findByStateName("Asignada")
+                TrackingState assignedState = referenceDataCatalog.findTrackingState("Asignada")
                                 .orElseThrow(() -> new ResourceNotFoundException("Assigned state not found"));
 
                 // 8. Update guide
+                GuideSnapshot previous = GuideSnapshot.of(guide);
                 guide.setCourier(courier);
                 guide.setCoordinator(coordinator);
                 guide.setCurrentState(assignedState);
@@ -88,7 +105,12 @@ public class AssignDeliveryUseCase {
                 guide.setAssignmentDate(LocalDateTime.now());
                 guide.setAssignmentAccepted(false);
 
-                TrackingGuide savedGuide = trackingGuideRepository.save(guide);
+                // Fails here if the guide changed since it was read
+                TrackingGuide savedGuide = trackingGuideRepository.saveAndFlush(guide);
+                eventPublisher.publishEvent(new TrackingGuideChangedEvent(previous, GuideSnapshot.of(savedGuide)));
+                if (guide.getClaimedById() != null) {
+                        trackingGuideRepository.releaseClaims(List.of(guide.getGuideId()), guide.getClaimedById());
+                }
 
                 // 9. Record state history
                 StateHistory stateHistory = StateHistory.builder()
@@ -107,28 +129,31 @@ public class AssignDeliveryUseCase {
 
                 stateHistoryRepository.save(stateHistory);
 
-                // 10. Send notifications
-                try {
-                        // Notify courier about new assignment
-                        notificationService.sendAssignmentNotification(
-                                        courier.getEmail(),
-                                        "Nueva Entrega Asignada",
-                                        String.format("Se le ha asignado la guía %s para entrega a %s",
-                                                        savedGuide.getGuideNumber(),
-                                                        savedGuide.getRecipientName()),
-                                        savedGuide.getGuideNumber());
-
-                        // Notify business about assignment
-                        notificationService.sendBusinessNotification(
-                                        savedGuide.getBusiness().getEmail(),
-                                        "Entrega Asignada",
-                                        String.format("Su guía %s ha sido asignada al repartidor %s %s",
-                                                        savedGuide.getGuideNumber(),
-                                                        courier.getFirstName(),
-                                                        courier.getLastName()));
-                } catch (Exception e) {
-                        log.warn("Failed to send assignment notifications: {}", e.getMessage());
-                }
+                // 10. Send notifications once committed
+                String businessEmail = savedGuide.getBusiness().getEmail();
+                retryingTransactionTemplate.afterCommit(() -> {
+                        try {
+                                // Notify courier about new assignment
+                                notificationService.sendAssignmentNotification(
+                                                courier.getEmail(),
+                                                "Nueva Entrega Asignada",
+                                                String.format("Se le ha asignado la guía %s para entrega a %s",
+                                                                savedGuide.getGuideNumber(),
+                                                                savedGuide.getRecipientName()),
+                                                savedGuide.getGuideNumber());
+
+                                // Notify business about assignment
+                                notificationService.sendBusinessNotification(
+                                                businessEmail,
+                                                "Entrega Asignada",
+                                                String.format("Su guía %s ha sido asignada al repartidor %s %s",
+                                                                savedGuide.getGuideNumber(),
+                                                                courier.getFirstName(),
+                                                                courier.getLastName()));
+                        } catch (Exception e) {
+                                log.warn("Failed to send assignment notifications: {}", e.getMessage());
+                        }
+                });
 
                 log.info("Delivery assigned - Guide: {}, Courier: {}, Commission: {}",
                                 savedGuide.getGuideNumber(),
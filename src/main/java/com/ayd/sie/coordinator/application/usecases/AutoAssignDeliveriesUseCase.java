@@ -0,0 +1,213 @@
+package com.ayd.sie.coordinator.application.usecases;
+
+import com.ayd.sie.coordinator.application.dto.AssignDeliveryRequestDto;
+import com.ayd.sie.coordinator.application.dto.AutoAssignmentResultDto;
+import com.ayd.sie.coordinator.application.dto.BulkAssignmentResultDto;
+import com.ayd.sie.coordinator.application.services.CourierAssignmentQueue;
+import com.ayd.sie.shared.domain.exceptions.BusinessConstraintViolationException;
+import com.ayd.sie.shared.infrastructure.persistence.TrackingGuideJpaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the backlog of guides in state {@code Creada}, oldest first, by
+ * picking the best scored courier for every guide from a
+ * {@link CourierAssignmentQueue}. Only couriers with an active contract are
+ * eligible. Each batch is saved in its own transaction through
+ * {@link AssignDeliveryBatchUseCase}; a dry run only plans the assignments.
+ * One run at a time, so two runs never plan against the same courier loads.
+ */
+@Service
+@Slf4j
+public class AutoAssignDeliveriesUseCase {
+
+    private static final int MAX_CITIES_PER_COURIER = 3;
+
+    private final TrackingGuideJpaRepository trackingGuideRepository;
+    private final AssignDeliveryBatchUseCase assignDeliveryBatchUseCase;
+    private final int batchSize;
+    private final int maxPendingPerCourier;
+    private final Duration cityHistory;
+    private final double loadWeight;
+    private final double completionWeight;
+    private final double cityWeight;
+
+    private final ReentrantLock running = new ReentrantLock();
+
+    public AutoAssignDeliveriesUseCase(TrackingGuideJpaRepository trackingGuideRepository,
+            AssignDeliveryBatchUseCase assignDeliveryBatchUseCase,
+            @Value("${app.coordinator.auto-assignment.batch-size:100}") int batchSize,
+            @Value("${app.coordinator.auto-assignment.max-pending-per-courier:20}") int maxPendingPerCourier,
+            @Value("${app.coordinator.auto-assignment.city-history:P30D}") Duration cityHistory,
+            @Value("${app.coordinator.auto-assignment.weight.load:1.0}") double loadWeight,
+            @Value("${app.coordinator.auto-assignment.weight.completion:5.0}") double completionWeight,
+            @Value("${app.coordinator.auto-assignment.weight.city:3.0}") double cityWeight) {
+        this.trackingGuideRepository = trackingGuideRepository;
+        this.assignDeliveryBatchUseCase = assignDeliveryBatchUseCase;
+        this.batchSize = batchSize;
+        this.maxPendingPerCourier = maxPendingPerCourier;
+        this.cityHistory = cityHistory;
+        this.loadWeight = loadWeight;
+        this.completionWeight = completionWeight;
+        this.cityWeight = cityWeight;
+    }
+
+    /**
+     * @param maxGuides Stop after this many guides, null for the whole backlog
+     */
+    public AutoAssignmentResultDto execute(boolean dryRun, Integer maxGuides, Integer coordinatorId) {
+        if (!running.tryLock()) {
+            throw new BusinessConstraintViolationException("An automatic assignment run is already in progress");
+        }
+
+        try {
+            return run(dryRun, maxGuides != null ? maxGuides : Integer.MAX_VALUE, coordinatorId);
+        } finally {
+            running.unlock();
+        }
+    }
+
+    private AutoAssignmentResultDto run(boolean dryRun, int maxGuides, Integer coordinatorId) {
+        long started = System.nanoTime();
+        CourierAssignmentQueue queue = buildQueue();
+        int eligibleCouriers = queue.size();
+
+        List<AutoAssignmentResultDto.AutoAssignmentDto> assignments = new ArrayList<>();
+        int considered = 0;
+        int skipped = 0;
+        int batches = 0;
+        int page = 0;
+        boolean exhausted = false;
+
+        while (considered < maxGuides && !exhausted) {
+            // Saved assignments leave the backlog, so a real run always reads the first page
+            List<Object[]> rows = trackingGuideRepository.findPendingAssignmentRows(coordinatorId,
+                    LocalDateTime.now(), PageRequest.of(dryRun ? page++ : 0, batchSize));
+            if (rows.isEmpty()) {
+                break;
+            }
+
+            List<AutoAssignmentResultDto.AutoAssignmentDto> planned = new ArrayList<>();
+            for (Object[] row : rows) {
+                if (considered >= maxGuides) {
+                    break;
+                }
+                String recipientCity = (String) row[1];
+                Optional<CourierAssignmentQueue.Pick> pick = queue.poll(recipientCity);
+                if (pick.isEmpty()) {
+                    exhausted = true;
+                    break;
+                }
+                considered++;
+                planned.add(AutoAssignmentResultDto.AutoAssignmentDto.builder()
+                        .guideId((Integer) row[0])
+                        .recipientCity(recipientCity)
+                        .courierId(pick.get().courierId())
+                        .courierName(pick.get().courierName())
+                        .score(pick.get().score())
+                        .build());
+            }
+            if (planned.isEmpty()) {
+                break;
+            }
+            batches++;
+
+            if (dryRun) {
+                assignments.addAll(planned);
+                continue;
+            }
+
+            Set<Integer> assignedIds = assignDeliveryBatchUseCase.execute(toRequests(planned), coordinatorId)
+                    .getResults().stream()
+                    .filter(BulkAssignmentResultDto.ItemResultDto::getSuccess)
+                    .map(BulkAssignmentResultDto.ItemResultDto::getGuideId)
+                    .collect(Collectors.toSet());
+
+            for (AutoAssignmentResultDto.AutoAssignmentDto assignment : planned) {
+                if (assignedIds.contains(assignment.getGuideId())) {
+                    assignments.add(assignment);
+                } else {
+                    // Changed by someone else since it was read, give the courier its slot back
+                    queue.release(assignment.getCourierId());
+                    skipped++;
+                }
+            }
+            if (assignedIds.isEmpty()) {
+                break;
+            }
+        }
+
+        long elapsedMs = Duration.ofNanos(System.nanoTime() - started).toMillis();
+        log.info("Automatic assignment {}: {} of {} guides assigned in {} batches, {} ms",
+                dryRun ? "planned" : "finished", assignments.size(), considered, batches, elapsedMs);
+
+        return AutoAssignmentResultDto.builder()
+                .dryRun(dryRun)
+                .eligibleCouriers(eligibleCouriers)
+                .guidesConsidered(considered)
+                .guidesAssigned(assignments.size())
+                .guidesSkipped(skipped)
+                .couriersExhausted(exhausted)
+                .batches(batches)
+                .elapsedMs(elapsedMs)
+                .assignmentsPerSecond(elapsedMs > 0 ? assignments.size() * 1000.0 / elapsedMs : null)
+                .assignments(assignments)
+                .build();
+    }
+
+    private CourierAssignmentQueue buildQueue() {
+        Map<Integer, Map<String, Long>> cityCounts = new HashMap<>();
+        for (Object[] row : trackingGuideRepository
+                .countCourierAssignmentsByCity(LocalDateTime.now().minus(cityHistory))) {
+            cityCounts.computeIfAbsent((Integer) row[0], key -> new HashMap<>())
+                    .put((String) row[1], ((Number) row[2]).longValue());
+        }
+
+        CourierAssignmentQueue queue = new CourierAssignmentQueue(loadWeight, completionWeight, cityWeight,
+                maxPendingPerCourier);
+        for (Object[] row : trackingGuideRepository.findCourierWorkloads(true)) {
+            Integer courierId = (Integer) row[0];
+            queue.addCourier(courierId, row[1] + " " + row[2],
+                    ((Number) row[3]).longValue(),
+                    ((Number) row[4]).longValue(),
+                    ((Number) row[5]).longValue(),
+                    cityAffinity(cityCounts.getOrDefault(courierId, Map.of())));
+        }
+        return queue;
+    }
+
+    private Map<String, Double> cityAffinity(Map<String, Long> counts) {
+        long total = counts.values().stream().mapToLong(Long::longValue).sum();
+        if (total == 0) {
+            return Map.of();
+        }
+
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(MAX_CITIES_PER_COURIER)
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue() / (double) total));
+    }
+
+    private List<AssignDeliveryRequestDto> toRequests(List<AutoAssignmentResultDto.AutoAssignmentDto> planned) {
+        return planned.stream()
+                .map(assignment -> AssignDeliveryRequestDto.builder()
+                        .guideId(assignment.getGuideId())
+                        .courierId(assignment.getCourierId())
+                        .assignmentCriteria("AUTOMATICO")
+                        .build())
+                .collect(Collectors.toList());
+    }
+}
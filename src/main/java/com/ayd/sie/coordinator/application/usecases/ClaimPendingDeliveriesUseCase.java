@@ -0,0 +1,134 @@
+package com.ayd.sie.coordinator.application.usecases;
+
+import com.ayd.sie.coordinator.application.dto.AssignmentDto;
+import com.ayd.sie.coordinator.application.dto.ClaimedDeliveriesDto;
+import com.ayd.sie.shared.domain.entities.TrackingGuide;
+import com.ayd.sie.shared.domain.entities.TrackingState;
+import com.ayd.sie.shared.domain.events.GuideClaimsChangedEvent;
+import com.ayd.sie.shared.domain.exceptions.BusinessConstraintViolationException;
+import com.ayd.sie.shared.domain.exceptions.ResourceNotFoundException;
+import com.ayd.sie.shared.infrastructure.cache.ReferenceDataCatalog;
+import com.ayd.sie.shared.infrastructure.persistence.TrackingGuideJpaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Leases batches of pending guides to coordinators so several of them can
+ * dispatch the same backlog in parallel without opening the same guide. A
+ * claim takes the oldest guides that are free, already leased to the same
+ * coordinator or whose lease expired, locking them with
+ * {@code FOR UPDATE SKIP LOCKED} so concurrent claims split the backlog
+ * instead of waiting on each other. Leases end on their own; assigning a
+ * guide or releasing it ends them early.
+ */
+@Service
+@Slf4j
+public class ClaimPendingDeliveriesUseCase {
+
+    public static final int MAX_CLAIM_SIZE = 100;
+
+    private final TrackingGuideJpaRepository trackingGuideRepository;
+    private final ReferenceDataCatalog referenceDataCatalog;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration defaultLease;
+    private final Duration maxLease;
+
+    public ClaimPendingDeliveriesUseCase(TrackingGuideJpaRepository trackingGuideRepository,
+            ReferenceDataCatalog referenceDataCatalog,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${app.coordinator.guide-claims.lease:PT10M}") Duration defaultLease,
+            @Value("${app.coordinator.guide-claims.max-lease:PT1H}") Duration maxLease) {
+        this.trackingGuideRepository = trackingGuideRepository;
+        this.referenceDataCatalog = referenceDataCatalog;
+        this.eventPublisher = eventPublisher;
+        this.defaultLease = defaultLease;
+        this.maxLease = maxLease;
+    }
+
+    /**
+     * @param leaseMinutes Length of the lease, the configured default when null
+     */
+    @Transactional
+    public ClaimedDeliveriesDto claim(int size, Integer leaseMinutes, Integer coordinatorId) {
+        if (size < 1 || size > MAX_CLAIM_SIZE) {
+            throw new BusinessConstraintViolationException(
+                    "Claim size must be between 1 and " + MAX_CLAIM_SIZE);
+        }
+        Duration lease = leaseMinutes != null ? Duration.ofMinutes(leaseMinutes) : defaultLease;
+        if (lease.isNegative() || lease.isZero() || lease.compareTo(maxLease) > 0) {
+            throw new BusinessConstraintViolationException(
+                    "Lease must be between 1 and " + maxLease.toMinutes() + " minutes");
+        }
+
+        TrackingState createdState = referenceDataCatalog.findTrackingState("Creada")
+                .orElseThrow(() -> new ResourceNotFoundException("Created state not found"));
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime claimedUntil = now.plus(lease);
+
+        List<Integer> guideIds = trackingGuideRepository.lockClaimableGuideIds(createdState.getStateId(),
+                coordinatorId, now, size);
+        List<AssignmentDto> guides = List.of();
+        if (!guideIds.isEmpty()) {
+            trackingGuideRepository.claimGuides(guideIds, coordinatorId, claimedUntil);
+            eventPublisher.publishEvent(new GuideClaimsChangedEvent(guideIds, coordinatorId, claimedUntil));
+            guides = trackingGuideRepository.findAllForAssignment(guideIds).stream()
+                    .sorted(Comparator.comparing(TrackingGuide::getCreatedAt).thenComparing(TrackingGuide::getGuideId))
+                    .map(guide -> mapToAssignmentDto(guide, coordinatorId, claimedUntil))
+                    .toList();
+        }
+
+        log.info("Coordinator {} claimed {} of {} requested pending guides until {}", coordinatorId,
+                guides.size(), size, claimedUntil);
+
+        return ClaimedDeliveriesDto.builder()
+                .requested(size)
+                .claimed(guides.size())
+                .claimedUntil(claimedUntil)
+                .guides(guides)
+                .build();
+    }
+
+    /**
+     * Give back guides leased to the coordinator before their lease ends.
+     *
+     * @param guideIds Guides to release, every guide of the coordinator when
+     *                 null or empty
+     * @return Guides released
+     */
+    @Transactional
+    public int release(List<Integer> guideIds, Integer coordinatorId) {
+        boolean all = guideIds == null || guideIds.isEmpty();
+        int released = all
+                ? trackingGuideRepository.releaseAllClaims(coordinatorId)
+                : trackingGuideRepository.releaseClaims(guideIds, coordinatorId);
+        eventPublisher.publishEvent(new GuideClaimsChangedEvent(all ? null : guideIds, coordinatorId, null));
+
+        log.info("Coordinator {} released {} claimed guides", coordinatorId, released);
+        return released;
+    }
+
+    private AssignmentDto mapToAssignmentDto(TrackingGuide guide, Integer coordinatorId,
+            LocalDateTime claimedUntil) {
+        return AssignmentDto.builder()
+                .guideId(guide.getGuideId())
+                .guideNumber(guide.getGuideNumber())
+                .basePrice(guide.getBasePrice())
+                .businessName(guide.getBusiness().getBusinessName())
+                .recipientName(guide.getRecipientName())
+                .recipientAddress(guide.getRecipientAddress())
+                .currentState(guide.getCurrentState().getStateName())
+                .observations(guide.getObservations())
+                .claimedById(coordinatorId)
+                .claimExpiresAt(claimedUntil)
+                .build();
+    }
+}
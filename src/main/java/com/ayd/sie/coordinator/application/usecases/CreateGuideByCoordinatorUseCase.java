@@ -3,11 +3,15 @@ package com.ayd.sie.coordinator.application.usecases;
 import com.ayd.sie.coordinator.application.dto.CreateGuideByCoordinatorDto;
 import com.ayd.sie.business.application.dto.GuideResponseDto;
 import com.ayd.sie.shared.domain.entities.*;
+import com.ayd.sie.shared.domain.events.GuideSnapshot;
+import com.ayd.sie.shared.domain.events.TrackingGuideChangedEvent;
 import com.ayd.sie.shared.domain.exceptions.ResourceNotFoundException;
 import com.ayd.sie.shared.domain.exceptions.ValidationException;
+import com.ayd.sie.shared.infrastructure.cache.ReferenceDataCatalog;
 import com.ayd.sie.shared.infrastructure.persistence.*;
 import com.ayd.sie.shared.domain.services.NotificationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,9 +24,10 @@ public class CreateGuideByCoordinatorUseCase {
     private final TrackingGuideJpaRepository trackingGuideRepository;
     private final BusinessJpaRepository businessRepository;
     private final BranchJpaRepository branchRepository;
-    private final TrackingStateJpaRepository trackingStateRepository;
+    private final ReferenceDataCatalog referenceDataCatalog;
     private final UserJpaRepository userRepository;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public GuideResponseDto execute(CreateGuideByCoordinatorDto dto, Integer coordinatorId) {
@@ -43,7 +48,7 @@ public class CreateGuideByCoordinatorUseCase {
                 .orElseThrow(() -> new ResourceNotFoundException("Branch not found"));
 
         // Get initial state (Creada)
-        TrackingState initialState = trackingStateRepository.findByStateName("Creada")
+        TrackingState initialState = referenceDataCatalog.findTrackingState("Creada")
                 .orElseThrow(() -> new ResourceNotFoundException("Initial tracking state not found"));
 
         // Apply loyalty discount if applicable
@@ -65,6 +70,7 @@ public class CreateGuideByCoordinatorUseCase {
                 .build();
 
         TrackingGuide savedGuide = trackingGuideRepository.save(guide);
+        eventPublisher.publishEvent(new TrackingGuideChangedEvent(null, GuideSnapshot.of(savedGuide)));
 
         // Send notification to business
         try {
@@ -1,7 +1,9 @@
 package com.ayd.sie.coordinator.application.usecases;
 
 import com.ayd.sie.coordinator.application.dto.AssignmentDto;
+import com.ayd.sie.shared.application.dto.CursorPageDto;
 import com.ayd.sie.shared.domain.entities.TrackingGuide;
+import com.ayd.sie.shared.infrastructure.persistence.GuideKeyset;
 import com.ayd.sie.shared.infrastructure.persistence.TrackingGuideJpaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,6 +31,14 @@ public class GetAllDeliveriesUseCase {
         return guides.map(this::mapToAssignmentDto);
     }
 
+    public CursorPageDto<AssignmentDto> executeWithCursor(String cursor, int size, boolean withTotal) {
+        log.info("Getting all deliveries with cursor: size={}, withTotal={}", size, withTotal);
+
+        return GuideKeyset.ASSIGNMENT_DATE.page(trackingGuideRepository,
+                (root, query, criteriaBuilder) -> criteriaBuilder.conjunction(),
+                cursor, size, withTotal, this::mapToAssignmentDto);
+    }
+
     private AssignmentDto mapToAssignmentDto(TrackingGuide guide) {
         return AssignmentDto.builder()
                 .guideId(guide.getGuideId())
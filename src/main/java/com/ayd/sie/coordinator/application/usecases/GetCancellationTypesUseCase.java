@@ -1,11 +1,11 @@
 package com.ayd.sie.coordinator.application.usecases;
 
 import com.ayd.sie.coordinator.application.dto.CancellationTypeDto;
-import com.ayd.sie.shared.infrastructure.persistence.CancellationTypeJpaRepository;
+import com.ayd.sie.shared.domain.entities.CancellationType;
+import com.ayd.sie.shared.infrastructure.cache.ReferenceDataCatalog;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -15,12 +15,12 @@ import java.util.stream.Collectors;
 @Slf4j
 public class GetCancellationTypesUseCase {
 
-    private final CancellationTypeJpaRepository cancellationTypeRepository;
+    private final ReferenceDataCatalog referenceDataCatalog;
 
-    @Transactional(readOnly = true)
     public List<CancellationTypeDto> execute() {
-        return cancellationTypeRepository.findByActiveTrueOrderByTypeName()
+        return referenceDataCatalog.getCancellationTypes()
                 .stream()
+                .filter(CancellationType::getActive)
                 .map(cancellationType -> CancellationTypeDto.builder()
                         .cancellationTypeId(cancellationType.getCancellationTypeId())
                         .typeName(cancellationType.getTypeName())
@@ -1,18 +1,12 @@
 package com.ayd.sie.coordinator.application.usecases;
 
 import com.ayd.sie.coordinator.application.dto.DeliveryDashboardDto;
-import com.ayd.sie.shared.domain.entities.User;
-import com.ayd.sie.shared.infrastructure.persistence.ContractJpaRepository;
 import com.ayd.sie.shared.infrastructure.persistence.TrackingGuideJpaRepository;
-import com.ayd.sie.shared.infrastructure.persistence.UserJpaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import jakarta.persistence.criteria.Predicate;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -21,46 +15,32 @@ import java.util.stream.Collectors;
 @Slf4j
 public class GetCourierWorkloadUseCase {
 
-    private final UserJpaRepository userRepository;
-    private final ContractJpaRepository contractRepository;
     private final TrackingGuideJpaRepository trackingGuideRepository;
 
     @Transactional(readOnly = true)
     public List<DeliveryDashboardDto.CourierWorkloadDto> execute() {
+        return execute(false);
+    }
 
-        // Get all active couriers with role "Repartidor"
-        Specification<User> spec = (root, query, criteriaBuilder) -> {
-            List<Predicate> predicates = new ArrayList<>();
-
-            predicates.add(criteriaBuilder.equal(root.get("role").get("roleName"), "Repartidor"));
-            predicates.add(criteriaBuilder.equal(root.get("active"), true));
-
-            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
-        };
-
-        List<User> couriers = userRepository.findAll(spec);
-
-        return couriers.stream()
+    /**
+     * Workload of all active couriers, already sorted by contract status first
+     * and then by pending count.
+     *
+     * @param contractedOnly Only include couriers with an active contract
+     */
+    @Transactional(readOnly = true)
+    public List<DeliveryDashboardDto.CourierWorkloadDto> execute(boolean contractedOnly) {
+        return trackingGuideRepository.findCourierWorkloads(contractedOnly).stream()
                 .map(this::mapToCourierWorkloadDto)
-                .sorted((a, b) -> {
-                    // Sort by contract status first, then by pending count
-                    if (!a.getHasActiveContract().equals(b.getHasActiveContract())) {
-                        return b.getHasActiveContract().compareTo(a.getHasActiveContract());
-                    }
-                    return a.getPendingCount().compareTo(b.getPendingCount());
-                })
                 .collect(Collectors.toList());
     }
 
-    private DeliveryDashboardDto.CourierWorkloadDto mapToCourierWorkloadDto(User courier) {
-        // Check if courier has active contract
-        boolean hasActiveContract = contractRepository.findActiveContractByUserId(courier.getUserId()).isPresent();
-
-        // Get comprehensive workload statistics
-        long assignedCount = trackingGuideRepository.countAssignedToCourier(courier.getUserId());
-        long completedCount = trackingGuideRepository.countCompletedByCourier(courier.getUserId());
-        long pendingCount = trackingGuideRepository.countPendingByCourier(courier.getUserId());
-        long incidentsCount = trackingGuideRepository.countIncidentsByCourier(courier.getUserId());
+    private DeliveryDashboardDto.CourierWorkloadDto mapToCourierWorkloadDto(Object[] workload) {
+        long assignedCount = ((Number) workload[3]).longValue();
+        long completedCount = ((Number) workload[4]).longValue();
+        long pendingCount = ((Number) workload[5]).longValue();
+        long incidentsCount = ((Number) workload[6]).longValue();
+        boolean hasActiveContract = ((Number) workload[7]).intValue() == 1;
 
         // Calculate completion rate
         Double completionRate = 0.0;
@@ -69,8 +49,8 @@ public class GetCourierWorkloadUseCase {
         }
 
         return DeliveryDashboardDto.CourierWorkloadDto.builder()
-                .courierId(courier.getUserId())
-                .courierName(courier.getFirstName() + " " + courier.getLastName())
+                .courierId((Integer) workload[0])
+                .courierName(workload[1] + " " + workload[2])
                 .assignedCount(assignedCount)
                 .completedCount(completedCount)
                 .pendingCount(pendingCount)
@@ -79,4 +59,4 @@ public class GetCourierWorkloadUseCase {
                 .completionRate(Math.round(completionRate * 100.0) / 100.0)
                 .build();
     }
-}
\ No newline at end of file
+}
@@ -2,8 +2,10 @@ package com.ayd.sie.coordinator.application.usecases;
 
 import com.ayd.sie.coordinator.application.dto.DeliveryDashboardDto;
 import com.ayd.sie.shared.domain.entities.DeliveryIncident;
+import com.ayd.sie.shared.domain.entities.IncidentType;
 import com.ayd.sie.shared.domain.entities.TrackingGuide;
 import com.ayd.sie.shared.domain.entities.User;
+import com.ayd.sie.shared.infrastructure.cache.ReferenceDataCatalog;
 import com.ayd.sie.shared.infrastructure.persistence.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,7 +20,9 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,7 +34,8 @@ public class GetDeliveryDashboardUseCase {
     private final UserJpaRepository userRepository;
     private final ContractJpaRepository contractRepository;
     private final DeliveryIncidentJpaRepository deliveryIncidentRepository;
-    private final IncidentTypeJpaRepository incidentTypeRepository;
+    private final ReferenceDataCatalog referenceDataCatalog;
+    private final GetCourierWorkloadUseCase getCourierWorkloadUseCase;
 
     @Transactional(readOnly = true)
     public DeliveryDashboardDto execute(LocalDate date) {
@@ -41,15 +46,17 @@ public class GetDeliveryDashboardUseCase {
         LocalDateTime startOfDay = date.atStartOfDay();
         LocalDateTime endOfDay = date.atTime(LocalTime.MAX);
 
-        // Get delivery counts by state for the specified date
-        Long totalCreated = countDeliveriesByStateAndDate("Creada", startOfDay, endOfDay);
-        Long totalAssigned = countDeliveriesByStateAndDate("Asignada", startOfDay, endOfDay);
-        Long totalPickedUp = countDeliveriesByStateAndDate("Recogida", startOfDay, endOfDay);
-        Long totalInRoute = countDeliveriesByStateAndDate("En Ruta", startOfDay, endOfDay);
-        Long totalCompleted = countDeliveriesByStateAndDate("Entregada", startOfDay, endOfDay);
-        Long totalCancelled = countDeliveriesByStateAndDate("Cancelada", startOfDay, endOfDay);
-        Long totalRejected = countDeliveriesByStateAndDate("Rechazada", startOfDay, endOfDay);
-        Long totalIncidents = countDeliveriesByStateAndDate("Incidencia", startOfDay, endOfDay);
+        // Get delivery counts by state for the specified date in a single grouped query
+        Map<String, Long> countsByState = countDeliveriesByState(startOfDay, endOfDay);
+
+        Long totalCreated = countsByState.getOrDefault("Creada", 0L);
+        Long totalAssigned = countsByState.getOrDefault("Asignada", 0L);
+        Long totalPickedUp = countsByState.getOrDefault("Recogida", 0L);
+        Long totalInRoute = countsByState.getOrDefault("En Ruta", 0L);
+        Long totalCompleted = countsByState.getOrDefault("Entregada", 0L);
+        Long totalCancelled = countsByState.getOrDefault("Cancelada", 0L);
+        Long totalRejected = countsByState.getOrDefault("Rechazada", 0L);
+        Long totalIncidents = countsByState.getOrDefault("Incidencia", 0L);
 
         // Calculate pending assignments (created but not assigned)
         Long pendingAssignments = totalCreated;
@@ -104,17 +111,12 @@ public class GetDeliveryDashboardUseCase {
                 .build();
     }
 
-    private Long countDeliveriesByStateAndDate(String stateName, LocalDateTime startOfDay, LocalDateTime endOfDay) {
-        Specification<TrackingGuide> spec = (root, query, criteriaBuilder) -> {
-            List<Predicate> predicates = new ArrayList<>();
-
-            predicates.add(criteriaBuilder.equal(root.get("currentState").get("stateName"), stateName));
-            predicates.add(criteriaBuilder.between(root.get("createdAt"), startOfDay, endOfDay));
-
-            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
-        };
-
-        return trackingGuideRepository.count(spec);
+    private Map<String, Long> countDeliveriesByState(LocalDateTime startOfDay, LocalDateTime endOfDay) {
+        Map<String, Long> countsByState = new HashMap<>();
+        for (Object[] row : trackingGuideRepository.countByStateCreatedBetween(startOfDay, endOfDay)) {
+            countsByState.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        return countsByState;
     }
 
     private Long countActiveCouriers() {
@@ -168,9 +170,8 @@ public class GetDeliveryDashboardUseCase {
         List<DeliveryIncident> incidents = deliveryIncidentRepository.findAll(pageRequest).getContent();
 
         return incidents.stream().map(incident -> {
-            // Get the actual incident type name from the repository
-            String incidentTypeName = incidentTypeRepository.findById(incident.getIncidentTypeId())
-                    .map(incidentType -> incidentType.getTypeName())
+            String incidentTypeName = referenceDataCatalog.findIncidentType(incident.getIncidentTypeId())
+                    .map(IncidentType::getTypeName)
                     .orElse("Tipo de Incidente Desconocido");
 
             return DeliveryDashboardDto.IncidentSummaryDto.builder()
@@ -186,37 +187,6 @@ public class GetDeliveryDashboardUseCase {
     }
 
     private List<DeliveryDashboardDto.CourierWorkloadDto> getCourierWorkload() {
-        Specification<User> spec = (root, query, criteriaBuilder) -> {
-            List<Predicate> predicates = new ArrayList<>();
-
-            predicates.add(criteriaBuilder.equal(root.get("role").get("roleName"), "Repartidor"));
-            predicates.add(criteriaBuilder.equal(root.get("active"), true));
-
-            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
-        };
-
-        List<User> couriers = userRepository.findAll(spec);
-
-        return couriers.stream().map(courier -> {
-            boolean hasActiveContract = contractRepository.findActiveContractByUserId(courier.getUserId()).isPresent();
-
-            long assignedCount = trackingGuideRepository.countAssignedToCourier(courier.getUserId());
-            long completedCount = trackingGuideRepository.countCompletedByCourier(courier.getUserId());
-            long pendingCount = trackingGuideRepository.countPendingByCourier(courier.getUserId());
-            long incidentsCount = trackingGuideRepository.countIncidentsByCourier(courier.getUserId());
-
-            Double completionRate = assignedCount > 0 ? (completedCount * 100.0) / assignedCount : 0.0;
-
-            return DeliveryDashboardDto.CourierWorkloadDto.builder()
-                    .courierId(courier.getUserId())
-                    .courierName(courier.getFirstName() + " " + courier.getLastName())
-                    .assignedCount(assignedCount)
-                    .completedCount(completedCount)
-                    .pendingCount(pendingCount)
-                    .incidentsCount(incidentsCount)
-                    .hasActiveContract(hasActiveContract)
-                    .completionRate(Math.round(completionRate * 100.0) / 100.0)
-                    .build();
-        }).collect(Collectors.toList());
+        return getCourierWorkloadUseCase.execute();
     }
-}
\ No newline at end of file
+}
@@ -1,8 +1,11 @@
 package com.ayd.sie.coordinator.application.usecases;
 
 import com.ayd.sie.coordinator.application.dto.AssignmentDto;
+import com.ayd.sie.shared.application.dto.CursorPageDto;
 import com.ayd.sie.shared.domain.entities.TrackingGuide;
+import com.ayd.sie.shared.infrastructure.persistence.GuideKeyset;
 import com.ayd.sie.shared.infrastructure.persistence.TrackingGuideJpaRepository;
+import com.ayd.sie.shared.infrastructure.search.GuideSearchIndex;
 import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,6 +27,7 @@ import java.util.List;
 public class GetDeliveryHistoryUseCase {
 
         private final TrackingGuideJpaRepository trackingGuideRepository;
+        private final GuideSearchIndex guideSearchIndex;
 
         public Page<AssignmentDto> execute(
                         String status,
@@ -41,6 +45,23 @@ public class GetDeliveryHistoryUseCase {
                 return guides.map(this::mapToAssignmentDto);
         }
 
+        /**
+         * Same listing read with a cursor, newest assignment first.
+         */
+        public CursorPageDto<AssignmentDto> executeWithCursor(
+                        String status,
+                        String search,
+                        LocalDate startDate,
+                        LocalDate endDate,
+                        String cursor,
+                        int size,
+                        boolean withTotal) {
+
+                return GuideKeyset.ASSIGNMENT_DATE.page(trackingGuideRepository,
+                                buildSpecification(status, search, startDate, endDate),
+                                cursor, size, withTotal, this::mapToAssignmentDto);
+        }
+
         private Specification<TrackingGuide> buildSpecification(
                         String status,
                         String search,
@@ -67,10 +88,13 @@ public class GetDeliveryHistoryUseCase {
                                                 root.get("currentState").get("stateName"), status));
                         }
 
-                        // Search filter
+                        // Search filter, narrowed to the candidates of the search index when it can
                         if (search != null && !search.trim().isEmpty()) {
                                 String searchPattern = "%" + search.toLowerCase() + "%";
 
+                                guideSearchIndex.findCandidates(search).ifPresent(candidates -> predicates
+                                                .add(candidates.toPredicate(root, criteriaBuilder)));
+
                                 Predicate guidePredicate = criteriaBuilder.like(
                                                 criteriaBuilder.lower(root.get("guideNumber")), searchPattern);
 
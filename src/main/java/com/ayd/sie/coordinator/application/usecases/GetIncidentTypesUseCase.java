@@ -1,11 +1,11 @@
 package com.ayd.sie.coordinator.application.usecases;
 
 import com.ayd.sie.coordinator.application.dto.IncidentTypeDto;
-import com.ayd.sie.shared.infrastructure.persistence.IncidentTypeJpaRepository;
+import com.ayd.sie.shared.domain.entities.IncidentType;
+import com.ayd.sie.shared.infrastructure.cache.ReferenceDataCatalog;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -15,12 +15,12 @@ import java.util.stream.Collectors;
 @Slf4j
 public class GetIncidentTypesUseCase {
 
-    private final IncidentTypeJpaRepository incidentTypeRepository;
+    private final ReferenceDataCatalog referenceDataCatalog;
 
-    @Transactional(readOnly = true)
     public List<IncidentTypeDto> execute() {
-        return incidentTypeRepository.findAllActive()
+        return referenceDataCatalog.getIncidentTypes()
                 .stream()
+                .filter(IncidentType::getActive)
                 .map(incidentType -> IncidentTypeDto.builder()
                         .incidentTypeId(incidentType.getIncidentTypeId())
                         .typeName(incidentType.getTypeName())
@@ -2,12 +2,13 @@ package com.ayd.sie.coordinator.application.usecases;
 
 import com.ayd.sie.coordinator.application.dto.IncidentDto;
 import com.ayd.sie.shared.domain.entities.DeliveryIncident;
+import com.ayd.sie.shared.infrastructure.cache.ReferenceDataCatalog;
 import com.ayd.sie.shared.infrastructure.persistence.DeliveryIncidentJpaRepository;
-import com.ayd.sie.shared.infrastructure.persistence.IncidentTypeJpaRepository;
+import com.ayd.sie.shared.infrastructure.search.GuideSearchIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 import jakarta.persistence.criteria.Predicate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -22,10 +24,11 @@ import java.util.List;
 public class GetIncidentsUseCase {
 
         private final DeliveryIncidentJpaRepository deliveryIncidentRepository;
-        private final IncidentTypeJpaRepository incidentTypeRepository;
+        private final ReferenceDataCatalog referenceDataCatalog;
+        private final GuideSearchIndex guideSearchIndex;
 
         @Transactional(readOnly = true)
-        public Page<IncidentDto> execute(Boolean resolved, String search, Pageable pageable) {
+        public Slice<IncidentDto> execute(Boolean resolved, String search, Pageable pageable, boolean count) {
 
                 Specification<DeliveryIncident> spec = (root, query, criteriaBuilder) -> {
                         List<Predicate> predicates = new ArrayList<>();
@@ -52,6 +55,18 @@ public class GetIncidentsUseCase {
                                                 criteriaBuilder.lower(root.get("guide").get("recipientName")),
                                                 searchPattern);
 
+                                // Only candidate guides of the search index need the guide side LIKEs
+                                Predicate guideMatch = criteriaBuilder.or(
+                                                guidePredicate, businessPredicate, recipientPredicate);
+                                Optional<GuideSearchIndex.Candidates> candidates = guideSearchIndex
+                                                .findCandidates(search);
+                                if (candidates.isPresent()) {
+                                        guideMatch = criteriaBuilder.and(
+                                                        candidates.get().toPredicate(root.get("guide"),
+                                                                        criteriaBuilder),
+                                                        guideMatch);
+                                }
+
                                 Predicate descriptionPredicate = criteriaBuilder.like(
                                                 criteriaBuilder.lower(root.get("description")), searchPattern);
 
@@ -66,21 +81,28 @@ public class GetIncidentsUseCase {
                                                 searchPattern);
 
                                 predicates.add(criteriaBuilder.or(
-                                                guidePredicate, businessPredicate, recipientPredicate,
-                                                descriptionPredicate, reporterPredicate));
+                                                guideMatch, descriptionPredicate, reporterPredicate));
                         }
 
                         return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
                 };
 
-                Page<DeliveryIncident> incidents = deliveryIncidentRepository.findAll(spec, pageable);
+                // Without the count a slice reads one row past the page to tell whether more follow
+                Slice<DeliveryIncident> incidents = count
+                                ? deliveryIncidentRepository.findAll(spec, pageable)
+                                : deliveryIncidentRepository.findBy(spec, query -> query.slice(pageable));
 
                 return incidents.map(this::mapToIncidentDto);
         }
 
+        @Transactional(readOnly = true)
+        public long countUnresolved() {
+                return deliveryIncidentRepository.countByResolved(false);
+        }
+
         private IncidentDto mapToIncidentDto(DeliveryIncident incident) {
                 // Get the actual incident type name from the repository
-                String incidentTypeName = incidentTypeRepository.findById(incident.getIncidentTypeId())
+                String incidentTypeName = referenceDataCatalog.findIncidentType(incident.getIncidentTypeId())
                                 .map(incidentType -> incidentType.getTypeName())
                                 .orElse("Tipo de Incidente Desconocido");
 
@@ -1,19 +1,28 @@
 package com.ayd.sie.coordinator.application.usecases;
 
 import com.ayd.sie.coordinator.application.dto.AssignmentDto;
+import com.ayd.sie.coordinator.application.services.PendingGuideQueues;
 import com.ayd.sie.shared.domain.entities.TrackingGuide;
 import com.ayd.sie.shared.infrastructure.persistence.TrackingGuideJpaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.persistence.criteria.Predicate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -21,9 +30,24 @@ import java.util.List;
 public class GetPendingDeliveriesUseCase {
 
         private final TrackingGuideJpaRepository trackingGuideRepository;
+        private final PendingGuideQueues pendingGuideQueues;
 
+        /**
+         * @param branchId Origin branch of the guides, every branch when null
+         */
         @Transactional(readOnly = true)
-        public Page<AssignmentDto> execute(String search, Pageable pageable) {
+        public Slice<AssignmentDto> execute(String search, Integer branchId, Pageable pageable, boolean count,
+                        Integer coordinatorId) {
+                // Without a search the page comes from the in-memory queues
+                if (search == null || search.trim().isEmpty()) {
+                        Optional<Slice<Integer>> queued = pendingGuideQueues.page(branchId, coordinatorId, pageable,
+                                        count);
+                        if (queued.isPresent()) {
+                                return hydrate(queued.get());
+                        }
+                }
+
+                LocalDateTime now = LocalDateTime.now();
 
                 Specification<TrackingGuide> spec = (root, query, criteriaBuilder) -> {
                         List<Predicate> predicates = new ArrayList<>();
@@ -31,6 +55,16 @@ public class GetPendingDeliveriesUseCase {
                         // Only get guides in "Creada" state (pending assignment)
                         predicates.add(criteriaBuilder.equal(root.get("currentState").get("stateName"), "Creada"));
 
+                        if (branchId != null) {
+                                predicates.add(criteriaBuilder.equal(root.get("originBranch").get("branchId"), branchId));
+                        }
+
+                        // Leave out guides leased to other coordinators
+                        predicates.add(criteriaBuilder.or(
+                                        criteriaBuilder.isNull(root.get("claimedById")),
+                                        criteriaBuilder.equal(root.get("claimedById"), coordinatorId),
+                                        criteriaBuilder.lessThanOrEqualTo(root.get("claimExpiresAt"), now)));
+
                         // Add search functionality
                         if (search != null && !search.trim().isEmpty()) {
                                 String searchPattern = "%" + search.toLowerCase() + "%";
@@ -56,12 +90,37 @@ public class GetPendingDeliveriesUseCase {
                         return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
                 };
 
-                Page<TrackingGuide> guides = trackingGuideRepository.findAll(spec, pageable);
+                // Without the count a slice reads one row past the page to tell whether more follow
+                Slice<TrackingGuide> guides = count
+                                ? trackingGuideRepository.findAll(spec, pageable)
+                                : trackingGuideRepository.findBy(spec, query -> query.slice(pageable));
 
                 return guides.map(this::mapToAssignmentDto);
         }
 
+        // Load the guides of a queue page by primary key, keeping the queue order
+        private Slice<AssignmentDto> hydrate(Slice<Integer> page) {
+                Map<Integer, TrackingGuide> guides = page.isEmpty() ? Map.of()
+                                : trackingGuideRepository.findAllForAssignment(page.getContent()).stream()
+                                                .collect(Collectors.toMap(TrackingGuide::getGuideId, Function.identity()));
+
+                List<AssignmentDto> content = new ArrayList<>(page.getNumberOfElements());
+                for (Integer guideId : page.getContent()) {
+                        TrackingGuide guide = guides.get(guideId);
+                        if (guide == null || !guide.getCurrentState().getStateName().equals("Creada")) {
+                                pendingGuideQueues.evict(guideId);
+                                continue;
+                        }
+                        content.add(mapToAssignmentDto(guide));
+                }
+
+                return page instanceof Page<Integer> counted
+                                ? new PageImpl<>(content, page.getPageable(), counted.getTotalElements())
+                                : new SliceImpl<>(content, page.getPageable(), page.hasNext());
+        }
+
         private AssignmentDto mapToAssignmentDto(TrackingGuide guide) {
+                boolean claimed = guide.isClaimActive(LocalDateTime.now());
                 return AssignmentDto.builder()
                                 .guideId(guide.getGuideId())
                                 .guideNumber(guide.getGuideNumber())
@@ -86,6 +145,8 @@ public class GetPendingDeliveriesUseCase {
                                 .recipientAddress(guide.getRecipientAddress())
                                 .currentState(guide.getCurrentState().getStateName())
                                 .observations(guide.getObservations())
+                                .claimedById(claimed ? guide.getClaimedById() : null)
+                                .claimExpiresAt(claimed ? guide.getClaimExpiresAt() : null)
                                 .build();
         }
 }
\ No newline at end of file
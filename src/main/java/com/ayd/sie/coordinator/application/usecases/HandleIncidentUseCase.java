@@ -3,12 +3,17 @@ package com.ayd.sie.coordinator.application.usecases;
 import com.ayd.sie.coordinator.application.dto.IncidentDto;
 import com.ayd.sie.coordinator.application.dto.ReportIncidentRequestDto;
 import com.ayd.sie.shared.domain.entities.*;
+import com.ayd.sie.shared.domain.events.DeliveryIncidentReportedEvent;
+import com.ayd.sie.shared.domain.events.GuideSnapshot;
+import com.ayd.sie.shared.domain.events.TrackingGuideChangedEvent;
 import com.ayd.sie.shared.domain.exceptions.BusinessConstraintViolationException;
 import com.ayd.sie.shared.domain.exceptions.ResourceNotFoundException;
 import com.ayd.sie.shared.domain.services.NotificationService;
+import com.ayd.sie.shared.infrastructure.cache.ReferenceDataCatalog;
 import com.ayd.sie.shared.infrastructure.persistence.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,10 +27,10 @@ public class HandleIncidentUseCase {
     private final TrackingGuideJpaRepository trackingGuideRepository;
     private final UserJpaRepository userRepository;
     private final DeliveryIncidentJpaRepository deliveryIncidentRepository;
-    private final TrackingStateJpaRepository trackingStateRepository;
+    private final ReferenceDataCatalog referenceDataCatalog;
     private final StateHistoryJpaRepository stateHistoryRepository;
-    private final IncidentTypeJpaRepository incidentTypeRepository;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public IncidentDto execute(ReportIncidentRequestDto request, Integer coordinatorId) {
@@ -51,11 +56,11 @@ public class HandleIncidentUseCase {
         }
 
         // 4. Validate incident type
-        IncidentType incidentType = incidentTypeRepository.findById(request.getIncidentTypeId())
+        IncidentType incidentType = referenceDataCatalog.findIncidentType(request.getIncidentTypeId())
                 .orElseThrow(() -> new ResourceNotFoundException("Incident type not found"));
 
         // 5. Get incident state
-        TrackingState incidentState = trackingStateRepository.findByStateName("Incidencia")
+        TrackingState incidentState = referenceDataCatalog.findTrackingState("Incidencia")
                 .orElseThrow(() -> new ResourceNotFoundException("Incident state not found"));
 
         // 6. Create the incident record
@@ -69,10 +74,13 @@ public class HandleIncidentUseCase {
                 .build();
 
         DeliveryIncident savedIncident = deliveryIncidentRepository.save(incident);
+        eventPublisher.publishEvent(new DeliveryIncidentReportedEvent(savedIncident));
 
         // 7. Update guide state to "Incidencia"
+        GuideSnapshot previous = GuideSnapshot.of(guide);
         guide.setCurrentState(incidentState);
         TrackingGuide savedGuide = trackingGuideRepository.save(guide);
+        eventPublisher.publishEvent(new TrackingGuideChangedEvent(previous, GuideSnapshot.of(savedGuide)));
 
         // 8. Create state history record
         StateHistory stateHistory = StateHistory.builder()
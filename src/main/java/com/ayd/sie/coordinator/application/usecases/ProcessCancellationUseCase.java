@@ -3,14 +3,17 @@ package com.ayd.sie.coordinator.application.usecases;
 import com.ayd.sie.coordinator.application.dto.CancellationDto;
 import com.ayd.sie.coordinator.application.dto.ProcessCancellationRequestDto;
 import com.ayd.sie.shared.domain.entities.*;
+import com.ayd.sie.shared.domain.events.GuideSnapshot;
+import com.ayd.sie.shared.domain.events.TrackingGuideChangedEvent;
 import com.ayd.sie.shared.domain.exceptions.ResourceNotFoundException;
 import com.ayd.sie.shared.domain.exceptions.ValidationException;
 import com.ayd.sie.shared.domain.services.NotificationService;
+import com.ayd.sie.shared.infrastructure.cache.ReferenceDataCatalog;
 import com.ayd.sie.shared.infrastructure.persistence.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -22,14 +25,19 @@ public class ProcessCancellationUseCase {
 
         private final TrackingGuideJpaRepository trackingGuideRepository;
         private final CancellationJpaRepository cancellationRepository;
-        private final CancellationTypeJpaRepository cancellationTypeRepository;
         private final UserJpaRepository userRepository;
         private final NotificationService notificationService;
         private final StateHistoryJpaRepository stateHistoryRepository;
-        private final TrackingStateJpaRepository trackingStateRepository;
+        private final ReferenceDataCatalog referenceDataCatalog;
+        private final ApplicationEventPublisher eventPublisher;
+        private final RetryingTransactionTemplate retryingTransactionTemplate;
 
-        @Transactional
         public CancellationDto execute(ProcessCancellationRequestDto request, Integer coordinatorId) {
+                return retryingTransactionTemplate.execute("Cancellation of guide " + request.getGuideId(),
+                                () -> cancel(request, coordinatorId));
+        }
+
+        private CancellationDto cancel(ProcessCancellationRequestDto request, Integer coordinatorId) {
 
                 TrackingGuide guide = trackingGuideRepository.findById(request.getGuideId())
                                 .orElseThrow(() -> new ResourceNotFoundException(
@@ -41,7 +49,7 @@ public class ProcessCancellationUseCase {
                 User coordinator = userRepository.findById(coordinatorId)
                                 .orElseThrow(() -> new ResourceNotFoundException("Coordinator not found"));
 
-                CancellationType cancellationType = cancellationTypeRepository.findById(request.getCancellationTypeId())
+                CancellationType cancellationType = referenceDataCatalog.findCancellationType(request.getCancellationTypeId())
                                 .orElseThrow(() -> new ResourceNotFoundException("Cancellation type not found"));
 
                 // Calculate penalty and commission based on business loyalty level
@@ -76,8 +84,10 @@ public class ProcessCancellationUseCase {
                 // Update guide state to cancelled
                 updateGuideStateToCancelled(guide);
 
-                // Send notifications
-                sendCancellationNotifications(guide, cancellation, cancellationType.getTypeName());
+                // Send notifications once committed
+                Cancellation processed = cancellation;
+                retryingTransactionTemplate.afterCommit(() -> sendCancellationNotifications(guide, processed,
+                                cancellationType.getTypeName()));
 
                 log.info("Cancellation processed successfully for guide {} by coordinator {}",
                                 guide.getGuideNumber(), coordinatorId);
@@ -146,14 +156,18 @@ public class ProcessCancellationUseCase {
 
         private void updateGuideStateToCancelled(TrackingGuide guide) {
                 String newStateName = "Cancelada";
-                TrackingState cancelledState = trackingStateRepository.findByStateName(newStateName)
+                TrackingState cancelledState = referenceDataCatalog.findTrackingState(newStateName)
                                 .orElseThrow(() -> new ResourceNotFoundException("State not found: " + newStateName));
 
+                GuideSnapshot previous = GuideSnapshot.of(guide);
+
                 guide.setCurrentState(cancelledState);
                 guide.setCancellationDate(LocalDateTime.now());
                 guide.setUpdatedAt(LocalDateTime.now());
 
-                trackingGuideRepository.save(guide);
+                // Fails here if the guide changed since it was read
+                trackingGuideRepository.saveAndFlush(guide);
+                eventPublisher.publishEvent(new TrackingGuideChangedEvent(previous, GuideSnapshot.of(guide)));
 
                 // Log state history
                 StateHistory history = StateHistory.builder()
@@ -2,14 +2,16 @@ package com.ayd.sie.coordinator.application.usecases;
 
 import com.ayd.sie.coordinator.application.dto.AssignmentDto;
 import com.ayd.sie.shared.domain.entities.*;
+import com.ayd.sie.shared.domain.events.GuideSnapshot;
+import com.ayd.sie.shared.domain.events.TrackingGuideChangedEvent;
 import com.ayd.sie.shared.domain.exceptions.BusinessConstraintViolationException;
 import com.ayd.sie.shared.domain.exceptions.ResourceNotFoundException;
 import com.ayd.sie.shared.domain.services.NotificationService;
 import com.ayd.sie.shared.infrastructure.persistence.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -25,9 +27,15 @@ public class ReassignDeliveryUseCase {
         private final ContractJpaRepository contractRepository;
         private final StateHistoryJpaRepository stateHistoryRepository;
         private final NotificationService notificationService;
+        private final ApplicationEventPublisher eventPublisher;
+        private final RetryingTransactionTemplate retryingTransactionTemplate;
 
-        @Transactional
         public AssignmentDto execute(Integer guideId, Integer newCourierId, String reason, Integer coordinatorId) {
+                return retryingTransactionTemplate.execute("Reassignment of guide " + guideId,
+                                () -> reassign(guideId, newCourierId, reason, coordinatorId));
+        }
+
+        private AssignmentDto reassign(Integer guideId, Integer newCourierId, String reason, Integer coordinatorId) {
                 // 1. Validate coordinator
                 User coordinator = userRepository.findById(coordinatorId)
                                 .orElseThrow(() -> new ResourceNotFoundException("Coordinator not found"));
@@ -78,13 +86,16 @@ public class ReassignDeliveryUseCase {
                                 .divide(new BigDecimal("100"), 2, RoundingMode.HALF_UP);
 
                 // 8. Update guide
+                GuideSnapshot previous = GuideSnapshot.of(guide);
                 guide.setCourier(newCourier);
                 guide.setCoordinator(coordinator);
                 guide.setCourierCommission(courierCommission);
                 guide.setAssignmentDate(LocalDateTime.now());
                 guide.setAssignmentAccepted(false);
 
-                TrackingGuide savedGuide = trackingGuideRepository.save(guide);
+                // Fails here if the guide changed since it was read
+                TrackingGuide savedGuide = trackingGuideRepository.saveAndFlush(guide);
+                eventPublisher.publishEvent(new TrackingGuideChangedEvent(previous, GuideSnapshot.of(savedGuide)));
 
                 // 9. Record state history
                 StateHistory stateHistory = StateHistory.builder()
@@ -100,37 +111,41 @@ public class ReassignDeliveryUseCase {
 
                 stateHistoryRepository.save(stateHistory);
 
-                // 10. Send notifications
-                try {
-                        // Notify previous courier about reassignment
-                        if (previousCourier != null) {
-                                notificationService.sendCourierNotification(
-                                                previousCourier.getEmail(),
+                // 10. Send notifications once committed
+                String previousCourierEmail = previousCourier != null ? previousCourier.getEmail() : null;
+                String businessEmail = savedGuide.getBusiness().getEmail();
+                retryingTransactionTemplate.afterCommit(() -> {
+                        try {
+                                // Notify previous courier about reassignment
+                                if (previousCourierEmail != null) {
+                                        notificationService.sendCourierNotification(
+                                                        previousCourierEmail,
+                                                        "Entrega Reasignada",
+                                                        String.format("La guía %s ha sido reasignada a otro repartidor",
+                                                                        savedGuide.getGuideNumber()));
+                                }
+
+                                // Notify new courier about assignment
+                                notificationService.sendAssignmentNotification(
+                                                newCourier.getEmail(),
+                                                "Nueva Entrega Asignada",
+                                                String.format("Se le ha asignado la guía %s para entrega a %s",
+                                                                savedGuide.getGuideNumber(),
+                                                                savedGuide.getRecipientName()),
+                                                savedGuide.getGuideNumber());
+
+                                // Notify business about reassignment
+                                notificationService.sendBusinessNotification(
+                                                businessEmail,
                                                 "Entrega Reasignada",
-                                                String.format("La guía %s ha sido reasignada a otro repartidor",
-                                                                savedGuide.getGuideNumber()));
+                                                String.format("Su guía %s ha sido reasignada al repartidor %s %s",
+                                                                savedGuide.getGuideNumber(),
+                                                                newCourier.getFirstName(),
+                                                                newCourier.getLastName()));
+                        } catch (Exception e) {
+                                log.warn("Failed to send reassignment notifications: {}", e.getMessage());
                         }
-
-                        // Notify new courier about assignment
-                        notificationService.sendAssignmentNotification(
-                                        newCourier.getEmail(),
-                                        "Nueva Entrega Asignada",
-                                        String.format("Se le ha asignado la guía %s para entrega a %s",
-                                                        savedGuide.getGuideNumber(),
-                                                        savedGuide.getRecipientName()),
-                                        savedGuide.getGuideNumber());
-
-                        // Notify business about reassignment
-                        notificationService.sendBusinessNotification(
-                                        savedGuide.getBusiness().getEmail(),
-                                        "Entrega Reasignada",
-                                        String.format("Su guía %s ha sido reasignada al repartidor %s %s",
-                                                        savedGuide.getGuideNumber(),
-                                                        newCourier.getFirstName(),
-                                                        newCourier.getLastName()));
-                } catch (Exception e) {
-                        log.warn("Failed to send reassignment notifications: {}", e.getMessage());
-                }
+                });
 
                 log.info("Delivery reassigned - Guide: {}, New Courier: {}, Previous Courier: {}",
                                 savedGuide.getGuideNumber(),
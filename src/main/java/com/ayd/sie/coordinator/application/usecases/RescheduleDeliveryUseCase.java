@@ -2,12 +2,16 @@ package com.ayd.sie.coordinator.application.usecases;
 
 import com.ayd.sie.coordinator.application.dto.RescheduleDto;
 import com.ayd.sie.shared.domain.entities.*;
+import com.ayd.sie.shared.domain.events.GuideSnapshot;
+import com.ayd.sie.shared.domain.events.TrackingGuideChangedEvent;
 import com.ayd.sie.shared.domain.exceptions.BusinessConstraintViolationException;
 import com.ayd.sie.shared.domain.exceptions.ResourceNotFoundException;
 import com.ayd.sie.shared.domain.services.NotificationService;
+import com.ayd.sie.shared.infrastructure.cache.ReferenceDataCatalog;
 import com.ayd.sie.shared.infrastructure.persistence.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,8 +26,9 @@ public class RescheduleDeliveryUseCase {
     private final UserJpaRepository userRepository;
     private final ContractJpaRepository contractRepository;
     private final StateHistoryJpaRepository stateHistoryRepository;
-    private final TrackingStateJpaRepository trackingStateRepository;
+    private final ReferenceDataCatalog referenceDataCatalog;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public RescheduleDto execute(Integer guideId, RescheduleDto request, Integer coordinatorId) {
@@ -51,6 +56,7 @@ public class RescheduleDeliveryUseCase {
         // 4. Store previous values for tracking
         User previousCourier = guide.getCourier();
         LocalDateTime previousDeliveryDate = guide.getDeliveryDate();
+        GuideSnapshot previous = GuideSnapshot.of(guide);
 
         // 5. Handle courier change if requested
         User newCourier = null;
@@ -83,12 +89,13 @@ public class RescheduleDeliveryUseCase {
 
         // 7. Ensure guide is in appropriate state after reschedule
         if (currentState.equals("Incidencia")) {
-            TrackingState assignedState = trackingStateRepository.findByStateName("Asignada")
+            TrackingState assignedState = referenceDataCatalog.findTrackingState("Asignada")
                     .orElseThrow(() -> new ResourceNotFoundException("Assigned state not found"));
             guide.setCurrentState(assignedState);
         }
 
         TrackingGuide savedGuide = trackingGuideRepository.save(guide);
+        eventPublisher.publishEvent(new TrackingGuideChangedEvent(previous, GuideSnapshot.of(savedGuide)));
 
         // 8. Create state history record
         StringBuilder observations = new StringBuilder("Delivery rescheduled. ");
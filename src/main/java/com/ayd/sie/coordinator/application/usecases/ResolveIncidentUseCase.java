@@ -3,12 +3,16 @@ package com.ayd.sie.coordinator.application.usecases;
 import com.ayd.sie.coordinator.application.dto.IncidentDto;
 import com.ayd.sie.coordinator.application.dto.ResolveIncidentRequestDto;
 import com.ayd.sie.shared.domain.entities.*;
+import com.ayd.sie.shared.domain.events.GuideSnapshot;
+import com.ayd.sie.shared.domain.events.TrackingGuideChangedEvent;
 import com.ayd.sie.shared.domain.exceptions.BusinessConstraintViolationException;
 import com.ayd.sie.shared.domain.exceptions.ResourceNotFoundException;
 import com.ayd.sie.shared.domain.services.NotificationService;
+import com.ayd.sie.shared.infrastructure.cache.ReferenceDataCatalog;
 import com.ayd.sie.shared.infrastructure.persistence.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,9 +26,10 @@ public class ResolveIncidentUseCase {
     private final DeliveryIncidentJpaRepository deliveryIncidentRepository;
     private final UserJpaRepository userRepository;
     private final TrackingGuideJpaRepository trackingGuideRepository;
-    private final TrackingStateJpaRepository trackingStateRepository;
+    private final ReferenceDataCatalog referenceDataCatalog;
     private final StateHistoryJpaRepository stateHistoryRepository;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public IncidentDto execute(Integer incidentId, ResolveIncidentRequestDto request, Integer coordinatorId) {
@@ -74,7 +79,7 @@ public class ResolveIncidentUseCase {
 
         if (request.getRescheduleDelivery()) {
             // If rescheduled, move back to assigned state
-            newState = trackingStateRepository.findByStateName("Asignada")
+            newState = referenceDataCatalog.findTrackingState("Asignada")
                     .orElseThrow(() -> new ResourceNotFoundException("Assigned state not found"));
             stateChangeReason = "Incident resolved - delivery rescheduled";
         } else {
@@ -83,7 +88,7 @@ public class ResolveIncidentUseCase {
             if (currentState.equals("Incidencia")) {
                 // Return to previous logical state (usually assigned or picked up)
                 if (guide.getCourier() != null) {
-                    newState = trackingStateRepository.findByStateName("Asignada")
+                    newState = referenceDataCatalog.findTrackingState("Asignada")
                             .orElseThrow(() -> new ResourceNotFoundException("Assigned state not found"));
                     stateChangeReason = "Incident resolved - returned to assigned state";
                 }
@@ -92,8 +97,10 @@ public class ResolveIncidentUseCase {
 
         // 7. Update guide if state change is needed
         if (newState != null) {
+            GuideSnapshot previous = GuideSnapshot.of(guide);
             guide.setCurrentState(newState);
             guide = trackingGuideRepository.save(guide);
+            eventPublisher.publishEvent(new TrackingGuideChangedEvent(previous, GuideSnapshot.of(guide)));
 
             // Create state history record
             StateHistory stateHistory = StateHistory.builder()
@@ -3,7 +3,11 @@ package com.ayd.sie.coordinator.infrastructure.web;
 import com.ayd.sie.coordinator.application.dto.*;
 import com.ayd.sie.coordinator.application.usecases.CreateGuideByCoordinatorUseCase;
 import com.ayd.sie.coordinator.application.services.CoordinatorApplicationService;
+import com.ayd.sie.coordinator.application.services.DashboardStreamService;
 import com.ayd.sie.business.application.dto.GuideResponseDto;
+import com.ayd.sie.shared.application.dto.CursorPageDto;
+import com.ayd.sie.shared.domain.entities.CancellationType;
+import com.ayd.sie.shared.domain.entities.IncidentType;
 import com.ayd.sie.shared.infrastructure.security.SecurityUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -17,12 +21,16 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -38,6 +46,7 @@ public class CoordinatorController {
 
     private final CoordinatorApplicationService coordinatorApplicationService;
     private final CreateGuideByCoordinatorUseCase createGuideByCoordinatorUseCase;
+    private final DashboardStreamService dashboardStreamService;
 
     // ===== GUIDE CREATION ENDPOINTS =====
 
@@ -80,17 +89,80 @@ public class CoordinatorController {
         return ResponseEntity.ok(assignment);
     }
 
+    @PostMapping("/assignments/bulk")
+    @Operation(summary = "Assign many deliveries at once", description = "Assigns up to 500 delivery guides in one request. Every assignment is validated on its own; rejected ones are reported with their reason and do not affect the rest.")
+    @ApiResponse(responseCode = "200", description = "Bulk assignment processed, see the per-item results")
+    @ApiResponse(responseCode = "400", description = "Invalid bulk assignment request")
+    public ResponseEntity<BulkAssignmentResultDto> bulkAssignDeliveries(
+            @Valid @RequestBody BulkAssignmentRequestDto request) {
+
+        Integer coordinatorId = SecurityUtils.getCurrentUserId();
+        BulkAssignmentResultDto result = coordinatorApplicationService.bulkAssignDeliveries(request, coordinatorId);
+
+        log.info("Bulk assignment by coordinator {} - requested: {}, assigned: {}",
+                coordinatorId, result.getRequested(), result.getAssigned());
+
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping("/assignments/auto")
+    @Operation(summary = "Assign pending deliveries automatically", description = "Assigns pending deliveries, oldest first, to the best scored couriers by pending load, completion rate and recipient city. With dryRun the assignments are only planned.")
+    @ApiResponse(responseCode = "200", description = "Automatic assignment finished")
+    @ApiResponse(responseCode = "400", description = "Another automatic assignment run is in progress")
+    public ResponseEntity<AutoAssignmentResultDto> autoAssignDeliveries(
+            @Parameter(description = "Only plan the assignments without saving them") @RequestParam(defaultValue = "false") boolean dryRun,
+            @Parameter(description = "Maximum number of guides to assign") @RequestParam(required = false) Integer maxGuides) {
+
+        Integer coordinatorId = SecurityUtils.getCurrentUserId();
+        AutoAssignmentResultDto result = coordinatorApplicationService.autoAssignDeliveries(dryRun, maxGuides,
+                coordinatorId);
+
+        log.info("Automatic assignment by coordinator {} - dry run: {}, assigned: {}",
+                coordinatorId, dryRun, result.getGuidesAssigned());
+
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping("/deliveries/pending")
-    @Operation(summary = "Get pending deliveries", description = "Retrieves paginated list of pending deliveries that need assignment")
+    @Operation(summary = "Get pending deliveries", description = "Retrieves paginated list of pending deliveries that need assignment, leaving out the ones claimed by other coordinators. With count=false the total is not counted and the page only tells whether a next one exists.")
     @ApiResponse(responseCode = "200", description = "Pending deliveries retrieved successfully")
-    public ResponseEntity<Page<AssignmentDto>> getPendingDeliveries(
+    public ResponseEntity<Slice<AssignmentDto>> getPendingDeliveries(
             @Parameter(description = "Search term for filtering") @RequestParam(required = false) String search,
+            @Parameter(description = "Origin branch ID") @RequestParam(required = false) Integer branchId,
+            @Parameter(description = "Count the total pending deliveries") @RequestParam(defaultValue = "true") boolean count,
             @PageableDefault(size = 20, sort = "createdAt") Pageable pageable) {
 
-        Page<AssignmentDto> pendingDeliveries = coordinatorApplicationService.getPendingDeliveries(search, pageable);
+        Integer coordinatorId = SecurityUtils.getCurrentUserId();
+        Slice<AssignmentDto> pendingDeliveries = coordinatorApplicationService.getPendingDeliveries(search, branchId,
+                pageable, count, coordinatorId);
         return ResponseEntity.ok(pendingDeliveries);
     }
 
+    @PostMapping("/deliveries/pending/claim")
+    @Operation(summary = "Claim pending deliveries", description = "Leases the oldest pending deliveries that no other coordinator holds to the current coordinator. Other coordinators do not see or assign them until the lease ends, the guides are assigned or they are released. Claiming again renews the coordinator's own leases.")
+    @ApiResponse(responseCode = "200", description = "Pending deliveries claimed")
+    @ApiResponse(responseCode = "400", description = "Invalid claim size or lease")
+    public ResponseEntity<ClaimedDeliveriesDto> claimPendingDeliveries(
+            @Parameter(description = "Number of guides to claim, up to 100") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Lease length in minutes, the configured default when omitted") @RequestParam(required = false) Integer leaseMinutes) {
+
+        Integer coordinatorId = SecurityUtils.getCurrentUserId();
+        ClaimedDeliveriesDto claimed = coordinatorApplicationService.claimPendingDeliveries(size, leaseMinutes,
+                coordinatorId);
+        return ResponseEntity.ok(claimed);
+    }
+
+    @DeleteMapping("/deliveries/pending/claim")
+    @Operation(summary = "Release claimed deliveries", description = "Ends the current coordinator's leases on the given guides, or on all of its guides when none are given")
+    @ApiResponse(responseCode = "200", description = "Claims released")
+    public ResponseEntity<Map<String, Object>> releaseClaimedDeliveries(
+            @Parameter(description = "Guides to release") @RequestParam(required = false) List<Integer> guideIds) {
+
+        Integer coordinatorId = SecurityUtils.getCurrentUserId();
+        int released = coordinatorApplicationService.releaseClaimedDeliveries(guideIds, coordinatorId);
+        return ResponseEntity.ok(Map.of("released", released));
+    }
+
     @GetMapping("/couriers/available")
     @Operation(summary = "Get available couriers", description = "Retrieves all active couriers with their workload and contract status")
     @ApiResponse(responseCode = "200", description = "Available couriers retrieved successfully")
@@ -105,8 +177,13 @@ public class CoordinatorController {
     @ApiResponse(responseCode = "200", description = "Incident types retrieved successfully")
     public ResponseEntity<List<IncidentTypeDto>> getIncidentTypes() {
 
+        // Tag taken before the body, so a reload in between can only make the tag older
+        String eTag = coordinatorApplicationService.getReferenceDataETag(IncidentType.class);
         List<IncidentTypeDto> incidentTypes = coordinatorApplicationService.getIncidentTypes();
-        return ResponseEntity.ok(incidentTypes);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(eTag)
+                .body(incidentTypes);
     }
 
     @GetMapping("/cancellation-types")
@@ -114,8 +191,12 @@ public class CoordinatorController {
     @ApiResponse(responseCode = "200", description = "Cancellation types retrieved successfully")
     public ResponseEntity<List<CancellationTypeDto>> getCancellationTypes() {
 
+        String eTag = coordinatorApplicationService.getReferenceDataETag(CancellationType.class);
         List<CancellationTypeDto> cancellationTypes = coordinatorApplicationService.getCancellationTypes();
-        return ResponseEntity.ok(cancellationTypes);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(eTag)
+                .body(cancellationTypes);
     }
 
     @PutMapping("/assignments/{guideId}/reassign")
@@ -173,14 +254,15 @@ public class CoordinatorController {
     }
 
     @GetMapping("/incidents")
-    @Operation(summary = "Get delivery incidents", description = "Retrieves paginated list of delivery incidents with optional filtering")
+    @Operation(summary = "Get delivery incidents", description = "Retrieves paginated list of delivery incidents with optional filtering. With count=false the total is not counted and the page only tells whether a next one exists.")
     @ApiResponse(responseCode = "200", description = "Incidents retrieved successfully")
-    public ResponseEntity<Page<IncidentDto>> getIncidents(
+    public ResponseEntity<Slice<IncidentDto>> getIncidents(
             @Parameter(description = "Filter by resolution status") @RequestParam(required = false) Boolean resolved,
             @Parameter(description = "Search term for filtering") @RequestParam(required = false) String search,
+            @Parameter(description = "Count the total incidents") @RequestParam(defaultValue = "true") boolean count,
             @PageableDefault(size = 20, sort = "createdAt") Pageable pageable) {
 
-        Page<IncidentDto> incidents = coordinatorApplicationService.getIncidents(resolved, search, pageable);
+        Slice<IncidentDto> incidents = coordinatorApplicationService.getIncidents(resolved, search, pageable, count);
         return ResponseEntity.ok(incidents);
     }
 
@@ -232,6 +314,13 @@ public class CoordinatorController {
         return ResponseEntity.ok(dashboard);
     }
 
+    @GetMapping(value = "/dashboard/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream delivery dashboard", description = "Server-Sent Events stream with a snapshot of today's dashboard followed by state count, pending guide and incident deltas")
+    @ApiResponse(responseCode = "200", description = "Dashboard stream opened")
+    public SseEmitter streamDeliveryDashboard() {
+        return dashboardStreamService.subscribe();
+    }
+
     @GetMapping("/deliveries/history")
     @Operation(summary = "Get delivery history", description = "Get paginated delivery history with filters")
     @ApiResponse(responseCode = "200", description = "History retrieved successfully")
@@ -265,6 +354,23 @@ public class CoordinatorController {
         return ResponseEntity.ok(history);
     }
 
+    @GetMapping("/deliveries/history/cursor")
+    @Operation(summary = "Get delivery history with a cursor", description = "Delivery history newest assignment first, paged with the next_cursor of the previous page. Deep pages cost the same as the first one; the total is only counted with withTotal.")
+    @ApiResponse(responseCode = "200", description = "History retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    public ResponseEntity<CursorPageDto<AssignmentDto>> getDeliveryHistoryWithCursor(
+            @Parameter(description = "Filter by status") @RequestParam(required = false) String status,
+            @Parameter(description = "Search term") @RequestParam(required = false) String search,
+            @Parameter(description = "Start date (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "End date (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @Parameter(description = "Cursor from the previous page, empty for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most 100") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Also count the matching deliveries") @RequestParam(defaultValue = "false") boolean withTotal) {
+
+        return ResponseEntity.ok(coordinatorApplicationService.getDeliveryHistoryWithCursor(
+                status, search, startDate, endDate, cursor, size, withTotal));
+    }
+
     @GetMapping("/couriers/workload")
     @Operation(summary = "Get courier workload", description = "Retrieves detailed workload information for all couriers")
     @ApiResponse(responseCode = "200", description = "Courier workload retrieved successfully")
@@ -312,9 +418,11 @@ public class CoordinatorController {
 
         Integer coordinatorId = SecurityUtils.getCurrentUserId();
 
-        // Get basic metrics
-        Page<AssignmentDto> pendingPage = coordinatorApplicationService.getPendingDeliveries(null, Pageable.ofSize(1));
-        Page<IncidentDto> incidentsPage = coordinatorApplicationService.getIncidents(false, null, Pageable.ofSize(1));
+        // Guide counts come from the live counters, no query needed
+        long pendingDeliveries = coordinatorApplicationService.getLivePendingAssignments();
+        Map<String, Long> deliveriesByState = coordinatorApplicationService.getLiveDeliveryCounts();
+
+        long unresolvedIncidents = coordinatorApplicationService.countUnresolvedIncidents();
         List<DeliveryDashboardDto.CourierWorkloadDto> couriers = coordinatorApplicationService.getAvailableCouriers();
 
         long activeCouriers = couriers.stream()
@@ -323,8 +431,9 @@ public class CoordinatorController {
 
         return ResponseEntity.ok(Map.of(
                 "coordinator_id", coordinatorId,
-                "pending_deliveries", pendingPage.getTotalElements(),
-                "unresolved_incidents", incidentsPage.getTotalElements(),
+                "pending_deliveries", pendingDeliveries,
+                "deliveries_by_state", deliveriesByState,
+                "unresolved_incidents", unresolvedIncidents,
                 "active_couriers", activeCouriers,
                 "total_couriers", couriers.size()));
     }
@@ -341,6 +450,18 @@ public class CoordinatorController {
         return ResponseEntity.ok(allDeliveries);
     }
 
+    @GetMapping("/deliveries/all/cursor")
+    @Operation(summary = "Get all deliveries with a cursor", description = "All deliveries newest assignment first, paged with the next_cursor of the previous page. The total is only counted with withTotal.")
+    @ApiResponse(responseCode = "200", description = "All deliveries retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    public ResponseEntity<CursorPageDto<AssignmentDto>> getAllDeliveriesWithCursor(
+            @Parameter(description = "Cursor from the previous page, empty for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most 100") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Also count all deliveries") @RequestParam(defaultValue = "false") boolean withTotal) {
+
+        return ResponseEntity.ok(coordinatorApplicationService.getAllDeliveriesWithCursor(cursor, size, withTotal));
+    }
+
     @GetMapping("/commissions/all")
     @Operation(summary = "Get all commissions", description = "Retrieves paginated list of all commissions in the system")
     @ApiResponse(responseCode = "200", description = "All commissions retrieved successfully")
@@ -2,9 +2,10 @@ package com.ayd.sie.courier.application;
 
 import com.ayd.sie.courier.application.dto.*;
 import com.ayd.sie.courier.application.usecases.*;
+import com.ayd.sie.shared.application.dto.CursorPageDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -61,10 +62,16 @@ public class CourierApplicationService {
     }
 
     // Delivery Management
-    public Page<CourierDeliveryDto> getCourierDeliveries(Integer courierId, int page, int size, String sortBy,
-            String sortDir) {
+    public Slice<CourierDeliveryDto> getCourierDeliveries(Integer courierId, int page, int size, String sortBy,
+            String sortDir, boolean count) {
         log.info("Retrieving deliveries for courier {} - page: {}, size: {}", courierId, page, size);
-        return getCourierDeliveriesUseCase.execute(courierId, page, size, sortBy, sortDir);
+        return getCourierDeliveriesUseCase.execute(courierId, page, size, sortBy, sortDir, count);
+    }
+
+    public CursorPageDto<CourierDeliveryDto> getCourierDeliveriesWithCursor(Integer courierId, String cursor,
+            int size, boolean withTotal) {
+        log.info("Retrieving deliveries for courier {} with cursor - size: {}", courierId, size);
+        return getCourierDeliveriesUseCase.executeWithCursor(courierId, cursor, size, withTotal);
     }
 
     public List<CourierDeliveryDto> getActiveDeliveries(Integer courierId) {
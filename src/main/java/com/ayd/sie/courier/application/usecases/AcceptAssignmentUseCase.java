@@ -4,6 +4,9 @@ import com.ayd.sie.courier.application.dto.AcceptAssignmentDto;
 import com.ayd.sie.shared.domain.entities.StateHistory;
 import com.ayd.sie.shared.domain.entities.TrackingGuide;
 import com.ayd.sie.shared.domain.entities.User;
+import com.ayd.sie.shared.domain.events.GuideSnapshot;
+import com.ayd.sie.shared.domain.events.TrackingGuideChangedEvent;
+import com.ayd.sie.shared.infrastructure.persistence.RetryingTransactionTemplate;
 import com.ayd.sie.shared.infrastructure.persistence.StateHistoryJpaRepository;
 import com.ayd.sie.shared.infrastructure.persistence.TrackingGuideJpaRepository;
 import com.ayd.sie.shared.infrastructure.persistence.UserJpaRepository;
@@ -12,8 +15,8 @@ import com.ayd.sie.shared.domain.exceptions.BusinessConstraintViolationException
 import com.ayd.sie.shared.domain.exceptions.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 
@@ -26,11 +29,17 @@ public class AcceptAssignmentUseCase {
     private final UserJpaRepository userRepository;
     private final StateHistoryJpaRepository stateHistoryRepository;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RetryingTransactionTemplate retryingTransactionTemplate;
 
-    @Transactional
     public AcceptAssignmentDto execute(AcceptAssignmentDto request, Integer courierId) {
         log.info("Courier {} accepting assignment for guide {}", courierId, request.getGuideId());
 
+        return retryingTransactionTemplate.execute("Acceptance of guide " + request.getGuideId(),
+                () -> accept(request, courierId));
+    }
+
+    private AcceptAssignmentDto accept(AcceptAssignmentDto request, Integer courierId) {
         // 1. Validate courier
         User courier = userRepository.findById(courierId)
                 .orElseThrow(() -> new ResourceNotFoundException("Courier not found"));
@@ -65,10 +74,13 @@ public class AcceptAssignmentUseCase {
         }
 
         // 6. Update guide acceptance
+        GuideSnapshot previous = GuideSnapshot.of(guide);
         guide.setAssignmentAccepted(true);
         guide.setAssignmentAcceptedAt(LocalDateTime.now());
 
-        TrackingGuide savedGuide = trackingGuideRepository.save(guide);
+        // Fails here if the guide changed since it was read
+        TrackingGuide savedGuide = trackingGuideRepository.saveAndFlush(guide);
+        eventPublisher.publishEvent(new TrackingGuideChangedEvent(previous, GuideSnapshot.of(savedGuide)));
 
         // 7. Record state history for acceptance
         StateHistory stateHistory = StateHistory.builder()
@@ -83,27 +95,32 @@ public class AcceptAssignmentUseCase {
 
         stateHistoryRepository.save(stateHistory);
 
-        // 8. Send notifications
-        try {
-            // Notify coordinator about acceptance
-            if (guide.getCoordinator() != null) {
-                notificationService.sendAssignmentNotification(
-                        guide.getCoordinator().getEmail(),
-                        "Assignment Accepted",
-                        String.format("Courier %s %s has accepted assignment for guide %s",
-                                courier.getFirstName(), courier.getLastName(), guide.getGuideNumber()),
-                        guide.getGuideNumber());
+        // 8. Send notifications once committed
+        String coordinatorEmail = guide.getCoordinator() != null ? guide.getCoordinator().getEmail() : null;
+        String businessEmail = guide.getBusiness().getEmail();
+        retryingTransactionTemplate.afterCommit(() -> {
+            try {
+                // Notify coordinator about acceptance
+                if (coordinatorEmail != null) {
+                    notificationService.sendAssignmentNotification(
+                            coordinatorEmail,
+                            "Assignment Accepted",
+                            String.format("Courier %s %s has accepted assignment for guide %s",
+                                    courier.getFirstName(), courier.getLastName(), guide.getGuideNumber()),
+                            guide.getGuideNumber());
+                }
+
+                // Notify business about acceptance
+                notificationService.sendBusinessNotification(
+                        businessEmail,
+                        "Delivery Assignment Accepted",
+                        String.format("Your package %s has been accepted by our courier and will be picked up shortly",
+                                guide.getGuideNumber()));
+            } catch (Exception e) {
+                log.warn("Failed to send acceptance notifications for guide {}: {}", guide.getGuideId(),
+                        e.getMessage());
             }
-
-            // Notify business about acceptance
-            notificationService.sendBusinessNotification(
-                    guide.getBusiness().getEmail(),
-                    "Delivery Assignment Accepted",
-                    String.format("Your package %s has been accepted by our courier and will be picked up shortly",
-                            guide.getGuideNumber()));
-        } catch (Exception e) {
-            log.warn("Failed to send acceptance notifications for guide {}: {}", guide.getGuideId(), e.getMessage());
-        }
+        });
 
         log.info("Assignment accepted successfully for guide {} by courier {}", guide.getGuideId(), courierId);
 
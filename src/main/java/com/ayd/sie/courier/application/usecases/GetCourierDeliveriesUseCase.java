@@ -1,17 +1,19 @@
 package com.ayd.sie.courier.application.usecases;
 
 import com.ayd.sie.courier.application.dto.CourierDeliveryDto;
+import com.ayd.sie.shared.application.dto.CursorPageDto;
 import com.ayd.sie.shared.domain.entities.TrackingGuide;
 import com.ayd.sie.shared.domain.entities.User;
+import com.ayd.sie.shared.infrastructure.persistence.GuideKeyset;
 import com.ayd.sie.shared.infrastructure.persistence.TrackingGuideJpaRepository;
 import com.ayd.sie.shared.infrastructure.persistence.UserJpaRepository;
 import com.ayd.sie.shared.domain.exceptions.BusinessConstraintViolationException;
 import com.ayd.sie.shared.domain.exceptions.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -28,7 +30,8 @@ public class GetCourierDeliveriesUseCase {
     private final UserJpaRepository userRepository;
 
     @Transactional(readOnly = true)
-    public Page<CourierDeliveryDto> execute(Integer courierId, int page, int size, String sortBy, String sortDir) {
+    public Slice<CourierDeliveryDto> execute(Integer courierId, int page, int size, String sortBy, String sortDir,
+            boolean count) {
         log.info("Getting deliveries for courier {} - page: {}, size: {}", courierId, page, size);
 
         // 1. Validate courier
@@ -43,13 +46,34 @@ public class GetCourierDeliveriesUseCase {
         Sort sort = Sort.by(sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC, sortBy);
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        // 3. Get deliveries assigned to the courier
-        Page<TrackingGuide> guidePage = trackingGuideRepository.findByCourierUserId(courierId, pageable);
+        // 3. Get deliveries assigned to the courier, counting them only when asked
+        Slice<TrackingGuide> guidePage = count
+                ? trackingGuideRepository.findByCourierUserId(courierId, pageable)
+                : trackingGuideRepository.findSliceByCourierUserId(courierId, pageable);
 
         // 4. Map to DTOs
         return guidePage.map(this::mapToCourierDeliveryDto);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageDto<CourierDeliveryDto> executeWithCursor(Integer courierId, String cursor, int size,
+            boolean withTotal) {
+        log.info("Getting deliveries for courier {} with cursor - size: {}", courierId, size);
+
+        // 1. Validate courier
+        User courier = userRepository.findById(courierId)
+                .orElseThrow(() -> new ResourceNotFoundException("Courier not found"));
+
+        if (!courier.getRole().getRoleName().equals("Repartidor")) {
+            throw new BusinessConstraintViolationException("Only couriers can access delivery information");
+        }
+
+        // 2. Seek through the courier's deliveries, newest assignment first
+        return GuideKeyset.ASSIGNMENT_DATE.page(trackingGuideRepository,
+                (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("courier").get("userId"), courierId),
+                cursor, size, withTotal, this::mapToCourierDeliveryDto);
+    }
+
     @Transactional(readOnly = true)
     public List<CourierDeliveryDto> getActiveDeliveries(Integer courierId) {
         log.info("Getting active deliveries for courier {}", courierId);
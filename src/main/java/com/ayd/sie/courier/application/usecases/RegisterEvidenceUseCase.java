@@ -5,8 +5,8 @@ import com.ayd.sie.shared.domain.entities.DeliveryEvidence;
 import com.ayd.sie.shared.domain.entities.EvidenceType;
 import com.ayd.sie.shared.domain.entities.TrackingGuide;
 import com.ayd.sie.shared.domain.entities.User;
+import com.ayd.sie.shared.infrastructure.cache.ReferenceDataCatalog;
 import com.ayd.sie.shared.infrastructure.persistence.DeliveryEvidenceJpaRepository;
-import com.ayd.sie.shared.infrastructure.persistence.EvidenceTypeJpaRepository;
 import com.ayd.sie.shared.infrastructure.persistence.TrackingGuideJpaRepository;
 import com.ayd.sie.shared.infrastructure.persistence.UserJpaRepository;
 import com.ayd.sie.shared.domain.exceptions.BusinessConstraintViolationException;
@@ -26,7 +26,7 @@ public class RegisterEvidenceUseCase {
     private final TrackingGuideJpaRepository trackingGuideRepository;
     private final UserJpaRepository userRepository;
     private final DeliveryEvidenceJpaRepository deliveryEvidenceRepository;
-    private final EvidenceTypeJpaRepository evidenceTypeRepository;
+    private final ReferenceDataCatalog referenceDataCatalog;
 
     @Transactional
     public EvidenceDto execute(EvidenceDto request, Integer courierId) {
@@ -59,7 +59,8 @@ public class RegisterEvidenceUseCase {
         }
 
         // 5. Validate evidence type
-        EvidenceType evidenceType = evidenceTypeRepository.findByIdAndActiveTrue(request.getEvidenceTypeId())
+        EvidenceType evidenceType = referenceDataCatalog.findEvidenceType(request.getEvidenceTypeId())
+                .filter(EvidenceType::getActive)
                 .orElseThrow(() -> new ResourceNotFoundException("Evidence type not found or inactive"));
 
         // 6. Validate evidence requirements
@@ -113,7 +114,7 @@ public class RegisterEvidenceUseCase {
 
         return evidenceList.stream()
                 .map(evidence -> {
-                    EvidenceType type = evidenceTypeRepository.findById(evidence.getEvidenceTypeId())
+                    EvidenceType type = referenceDataCatalog.findEvidenceType(evidence.getEvidenceTypeId())
                             .orElse(null);
                     return mapToEvidenceDto(evidence, type);
                 })
@@ -5,17 +5,20 @@ import com.ayd.sie.shared.domain.entities.StateHistory;
 import com.ayd.sie.shared.domain.entities.TrackingGuide;
 import com.ayd.sie.shared.domain.entities.TrackingState;
 import com.ayd.sie.shared.domain.entities.User;
+import com.ayd.sie.shared.domain.events.GuideSnapshot;
+import com.ayd.sie.shared.domain.events.TrackingGuideChangedEvent;
+import com.ayd.sie.shared.infrastructure.cache.ReferenceDataCatalog;
+import com.ayd.sie.shared.infrastructure.persistence.RetryingTransactionTemplate;
 import com.ayd.sie.shared.infrastructure.persistence.StateHistoryJpaRepository;
 import com.ayd.sie.shared.infrastructure.persistence.TrackingGuideJpaRepository;
-import com.ayd.sie.shared.infrastructure.persistence.TrackingStateJpaRepository;
 import com.ayd.sie.shared.infrastructure.persistence.UserJpaRepository;
 import com.ayd.sie.shared.domain.services.NotificationService;
 import com.ayd.sie.shared.domain.exceptions.BusinessConstraintViolationException;
 import com.ayd.sie.shared.domain.exceptions.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 
@@ -26,14 +29,20 @@ public class RejectAssignmentUseCase {
 
     private final TrackingGuideJpaRepository trackingGuideRepository;
     private final UserJpaRepository userRepository;
-    private final TrackingStateJpaRepository trackingStateRepository;
+    private final ReferenceDataCatalog referenceDataCatalog;
     private final StateHistoryJpaRepository stateHistoryRepository;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RetryingTransactionTemplate retryingTransactionTemplate;
 
-    @Transactional
     public RejectAssignmentDto execute(RejectAssignmentDto request, Integer courierId) {
         log.info("Courier {} rejecting assignment for guide {}", courierId, request.getGuideId());
 
+        return retryingTransactionTemplate.execute("Rejection of guide " + request.getGuideId(),
+                () -> reject(request, courierId));
+    }
+
+    private RejectAssignmentDto reject(RejectAssignmentDto request, Integer courierId) {
         // 1. Validate courier
         User courier = userRepository.findById(courierId)
                 .orElseThrow(() -> new ResourceNotFoundException("Courier not found"));
@@ -69,7 +78,7 @@ public class RejectAssignmentUseCase {
         }
 
         // 6. Get "Creada" state to reset the guide
-        TrackingState createdState = trackingStateRepository.findByStateName("Creada")
+        TrackingState createdState = referenceDataCatalog.findTrackingState("Creada")
                 .orElseThrow(() -> new ResourceNotFoundException("Created state not found"));
 
         // 7. Store courier reference before removing from guide (to use in state
@@ -77,6 +86,7 @@ public class RejectAssignmentUseCase {
         User rejectedByCourier = courier;
 
         // 8. Update guide - remove courier assignment and reset to created state
+        GuideSnapshot previous = GuideSnapshot.of(guide);
         guide.setCourier(null);
         // NOTE: We keep the coordinator assigned to maintain referential integrity
         // for the database trigger that requires either courier_id or coordinator_id
@@ -85,7 +95,9 @@ public class RejectAssignmentUseCase {
         guide.setAssignmentAccepted(null);
         guide.setAssignmentAcceptedAt(null);
 
-        TrackingGuide savedGuide = trackingGuideRepository.save(guide);
+        // Fails here if the guide changed since it was read
+        TrackingGuide savedGuide = trackingGuideRepository.saveAndFlush(guide);
+        eventPublisher.publishEvent(new TrackingGuideChangedEvent(previous, GuideSnapshot.of(savedGuide)));
 
         // 9. Record state history for rejection
         StateHistory stateHistory = StateHistory.builder()
@@ -100,35 +112,40 @@ public class RejectAssignmentUseCase {
 
         stateHistoryRepository.save(stateHistory);
 
-        // 10. Send notifications
-        try {
-            // Notify coordinator about rejection (if there was one assigned)
-            if (guide.getCoordinator() != null) {
-                notificationService.sendAssignmentNotification(
-                        guide.getCoordinator().getEmail(),
-                        "Assignment Rejected",
-                        String.format("Courier %s %s has rejected assignment for guide %s. Reason: %s",
-                                courier.getFirstName(), courier.getLastName(),
-                                guide.getGuideNumber(), request.getRejectionReason()),
-                        guide.getGuideNumber());
+        // 10. Send notifications once committed
+        String coordinatorEmail = guide.getCoordinator() != null ? guide.getCoordinator().getEmail() : null;
+        String businessEmail = guide.getBusiness().getEmail();
+        retryingTransactionTemplate.afterCommit(() -> {
+            try {
+                // Notify coordinator about rejection (if there was one assigned)
+                if (coordinatorEmail != null) {
+                    notificationService.sendAssignmentNotification(
+                            coordinatorEmail,
+                            "Assignment Rejected",
+                            String.format("Courier %s %s has rejected assignment for guide %s. Reason: %s",
+                                    courier.getFirstName(), courier.getLastName(),
+                                    guide.getGuideNumber(), request.getRejectionReason()),
+                            guide.getGuideNumber());
+                }
+
+                // Notify business about rejection
+                notificationService.sendBusinessNotification(
+                        businessEmail,
+                        "Delivery Assignment Rejected",
+                        String.format(
+                                "The assignment for your package %s was rejected and will be reassigned to another courier",
+                                guide.getGuideNumber()));
+            } catch (Exception e) {
+                log.warn("Failed to send rejection notifications for guide {}: {}", guide.getGuideId(),
+                        e.getMessage());
             }
+        });
 
-            // Notify business about rejection
-            notificationService.sendBusinessNotification(
-                    guide.getBusiness().getEmail(),
-                    "Delivery Assignment Rejected",
-                    String.format(
-                            "The assignment for your package %s was rejected and will be reassigned to another courier",
-                            guide.getGuideNumber()));
-
-            // If courier is unavailable for reassignment, notify coordinators
-            if (Boolean.TRUE.equals(request.getUnavailableForReassignment())) {
-                log.info("Courier {} marked as unavailable for reassignment", courierId);
-                // Additional logic could be added here to mark courier as temporarily
-                // unavailable
-            }
-        } catch (Exception e) {
-            log.warn("Failed to send rejection notifications for guide {}: {}", guide.getGuideId(), e.getMessage());
+        // If courier is unavailable for reassignment, notify coordinators
+        if (Boolean.TRUE.equals(request.getUnavailableForReassignment())) {
+            log.info("Courier {} marked as unavailable for reassignment", courierId);
+            // Additional logic could be added here to mark courier as temporarily
+            // unavailable
         }
 
         log.info("Assignment rejected successfully for guide {} by courier {}", guide.getGuideId(), courierId);
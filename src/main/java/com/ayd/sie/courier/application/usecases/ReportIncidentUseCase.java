@@ -6,9 +6,12 @@ import com.ayd.sie.shared.domain.entities.TrackingGuide;
 import com.ayd.sie.shared.domain.entities.TrackingState;
 import com.ayd.sie.shared.domain.entities.StateHistory;
 import com.ayd.sie.shared.domain.entities.User;
+import com.ayd.sie.shared.domain.events.DeliveryIncidentReportedEvent;
+import com.ayd.sie.shared.domain.events.GuideSnapshot;
+import com.ayd.sie.shared.domain.events.TrackingGuideChangedEvent;
+import com.ayd.sie.shared.infrastructure.cache.ReferenceDataCatalog;
 import com.ayd.sie.shared.infrastructure.persistence.DeliveryIncidentJpaRepository;
 import com.ayd.sie.shared.infrastructure.persistence.TrackingGuideJpaRepository;
-import com.ayd.sie.shared.infrastructure.persistence.TrackingStateJpaRepository;
 import com.ayd.sie.shared.infrastructure.persistence.StateHistoryJpaRepository;
 import com.ayd.sie.shared.infrastructure.persistence.UserJpaRepository;
 import com.ayd.sie.shared.infrastructure.notifications.EmailService;
@@ -16,6 +19,7 @@ import com.ayd.sie.shared.domain.exceptions.BusinessConstraintViolationException
 import com.ayd.sie.shared.domain.exceptions.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,9 +33,10 @@ public class ReportIncidentUseCase {
     private final TrackingGuideJpaRepository trackingGuideRepository;
     private final UserJpaRepository userRepository;
     private final DeliveryIncidentJpaRepository deliveryIncidentRepository;
-    private final TrackingStateJpaRepository trackingStateRepository;
+    private final ReferenceDataCatalog referenceDataCatalog;
     private final StateHistoryJpaRepository stateHistoryRepository;
     private final EmailService emailService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ReportIncidentDto execute(ReportIncidentDto request, Integer courierId) {
@@ -82,6 +87,9 @@ public class ReportIncidentUseCase {
         }
 
         DeliveryIncident savedIncident = deliveryIncidentRepository.save(incident);
+        if (request.getIncidentId() == null) {
+            eventPublisher.publishEvent(new DeliveryIncidentReportedEvent(savedIncident));
+        }
 
         // 6. Update guide state to "Incidencia" if it's a new incident
         if (request.getIncidentId() == null && !currentStateName.equals("Incidencia")) {
@@ -99,12 +107,14 @@ public class ReportIncidentUseCase {
 
     private void updateGuideStateToIncident(TrackingGuide guide) {
         // Get "Incidencia" state
-        TrackingState incidentState = trackingStateRepository.findByStateName("Incidencia")
+        TrackingState incidentState = referenceDataCatalog.findTrackingState("Incidencia")
                 .orElseThrow(() -> new ResourceNotFoundException("Incident state not found"));
 
         // Update guide state
+        GuideSnapshot previous = GuideSnapshot.of(guide);
         guide.setCurrentState(incidentState);
         trackingGuideRepository.save(guide);
+        eventPublisher.publishEvent(new TrackingGuideChangedEvent(previous, GuideSnapshot.of(guide)));
 
         // Record state history
         StateHistory stateHistory = StateHistory.builder()
@@ -6,14 +6,17 @@ import com.ayd.sie.shared.domain.entities.StateHistory;
 import com.ayd.sie.shared.domain.entities.TrackingGuide;
 import com.ayd.sie.shared.domain.entities.TrackingState;
 import com.ayd.sie.shared.domain.entities.User;
+import com.ayd.sie.shared.domain.events.GuideSnapshot;
+import com.ayd.sie.shared.domain.events.TrackingGuideChangedEvent;
+import com.ayd.sie.shared.infrastructure.cache.ReferenceDataCatalog;
 import com.ayd.sie.shared.infrastructure.persistence.StateHistoryJpaRepository;
 import com.ayd.sie.shared.infrastructure.persistence.TrackingGuideJpaRepository;
-import com.ayd.sie.shared.infrastructure.persistence.TrackingStateJpaRepository;
 import com.ayd.sie.shared.infrastructure.persistence.UserJpaRepository;
 import com.ayd.sie.shared.domain.exceptions.BusinessConstraintViolationException;
 import com.ayd.sie.shared.domain.exceptions.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,9 +28,10 @@ import java.time.LocalDateTime;
 public class UpdateDeliveryStateOnlyUseCase {
 
     private final TrackingGuideJpaRepository trackingGuideRepository;
-    private final TrackingStateJpaRepository trackingStateRepository;
+    private final ReferenceDataCatalog referenceDataCatalog;
     private final StateHistoryJpaRepository stateHistoryRepository;
     private final UserJpaRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public CourierDeliveryDto execute(Integer guideId, UpdateDeliveryStateDto request, Integer courierId) {
@@ -57,10 +61,11 @@ public class UpdateDeliveryStateOnlyUseCase {
         validateStateTransition(currentState, newState);
 
         // 5. Find new state
-        TrackingState newTrackingState = trackingStateRepository.findByStateName(newState)
+        TrackingState newTrackingState = referenceDataCatalog.findTrackingState(newState)
                 .orElseThrow(() -> new ResourceNotFoundException("State not found: " + newState));
 
         // 6. Update guide state
+        GuideSnapshot previous = GuideSnapshot.of(guide);
         guide.setCurrentState(newTrackingState);
 
         // Update specific timestamps based on state
@@ -76,6 +81,7 @@ public class UpdateDeliveryStateOnlyUseCase {
         }
 
         trackingGuideRepository.save(guide);
+        eventPublisher.publishEvent(new TrackingGuideChangedEvent(previous, GuideSnapshot.of(guide)));
 
         // 7. Create state history record
         StateHistory history = StateHistory.builder()
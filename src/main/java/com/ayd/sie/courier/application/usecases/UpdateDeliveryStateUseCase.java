@@ -3,14 +3,18 @@ package com.ayd.sie.courier.application.usecases;
 import com.ayd.sie.courier.application.dto.UpdateStateDto;
 import com.ayd.sie.courier.application.dto.CourierDeliveryDto;
 import com.ayd.sie.shared.domain.entities.*;
+import com.ayd.sie.shared.domain.events.DeliveryIncidentReportedEvent;
+import com.ayd.sie.shared.domain.events.GuideSnapshot;
+import com.ayd.sie.shared.domain.events.TrackingGuideChangedEvent;
+import com.ayd.sie.shared.infrastructure.cache.ReferenceDataCatalog;
 import com.ayd.sie.shared.infrastructure.persistence.*;
 import com.ayd.sie.shared.domain.services.NotificationService;
 import com.ayd.sie.shared.domain.exceptions.BusinessConstraintViolationException;
 import com.ayd.sie.shared.domain.exceptions.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 
@@ -21,16 +25,22 @@ public class UpdateDeliveryStateUseCase {
 
     private final TrackingGuideJpaRepository trackingGuideRepository;
     private final UserJpaRepository userRepository;
-    private final TrackingStateJpaRepository trackingStateRepository;
+    private final ReferenceDataCatalog referenceDataCatalog;
     private final StateHistoryJpaRepository stateHistoryRepository;
     private final DeliveryIncidentJpaRepository deliveryIncidentRepository;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RetryingTransactionTemplate retryingTransactionTemplate;
 
-    @Transactional
     public CourierDeliveryDto execute(UpdateStateDto request, Integer courierId) {
         log.info("Courier {} updating state to {} for guide {}", courierId, request.getNewState(),
                 request.getGuideId());
 
+        return retryingTransactionTemplate.execute("State update of guide " + request.getGuideId(),
+                () -> updateState(request, courierId));
+    }
+
+    private CourierDeliveryDto updateState(UpdateStateDto request, Integer courierId) {
         // 1. Validate courier
         User courier = userRepository.findById(courierId)
                 .orElseThrow(() -> new ResourceNotFoundException("Courier not found"));
@@ -67,17 +77,20 @@ public class UpdateDeliveryStateUseCase {
         validateStateTransition(currentStateName, request.getNewState());
 
         // 7. Get new state
-        TrackingState newState = trackingStateRepository.findByStateName(request.getNewState())
+        TrackingState newState = referenceDataCatalog.findTrackingState(request.getNewState())
                 .orElseThrow(() -> new ResourceNotFoundException("State not found: " + request.getNewState()));
 
         // 8. Update guide state and timestamps
+        GuideSnapshot previous = GuideSnapshot.of(guide);
         guide.setCurrentState(newState);
         LocalDateTime actionTime = request.getActionTimestamp() != null ? request.getActionTimestamp()
                 : LocalDateTime.now();
 
         updateTimestamps(guide, request.getNewState(), actionTime);
 
-        TrackingGuide savedGuide = trackingGuideRepository.save(guide);
+        // Fails here if the guide changed since it was read
+        TrackingGuide savedGuide = trackingGuideRepository.saveAndFlush(guide);
+        eventPublisher.publishEvent(new TrackingGuideChangedEvent(previous, GuideSnapshot.of(savedGuide)));
 
         // 9. Record state history
         StateHistory stateHistory = StateHistory.builder()
@@ -96,8 +109,9 @@ public class UpdateDeliveryStateUseCase {
             createIncident(savedGuide, request, courier);
         }
 
-        // 11. Send notifications
-        sendStateChangeNotifications(savedGuide, request.getNewState(), courier);
+        // 11. Send notifications once committed
+        retryingTransactionTemplate.afterCommit(
+                () -> sendStateChangeNotifications(savedGuide, request.getNewState(), courier));
 
         log.info("State updated successfully to {} for guide {} by courier {}",
                 request.getNewState(), guide.getGuideId(), courierId);
@@ -162,7 +176,8 @@ public class UpdateDeliveryStateUseCase {
                 .resolved(false)
                 .build();
 
-        deliveryIncidentRepository.save(incident);
+        DeliveryIncident savedIncident = deliveryIncidentRepository.save(incident);
+        eventPublisher.publishEvent(new DeliveryIncidentReportedEvent(savedIncident));
         log.info("Incident created for guide {} by courier {}", guide.getGuideId(), courier.getUserId());
     }
 
@@ -2,6 +2,7 @@ package com.ayd.sie.courier.infrastructure.web;
 
 import com.ayd.sie.courier.application.CourierApplicationService;
 import com.ayd.sie.courier.application.dto.*;
+import com.ayd.sie.shared.application.dto.CursorPageDto;
 import com.ayd.sie.shared.infrastructure.security.SecurityUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,7 +12,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -141,25 +142,43 @@ public class CourierController {
         }
 
         @GetMapping("/deliveries/my")
-        @Operation(summary = "Get my deliveries", description = "Retrieves paginated list of deliveries assigned to the authenticated courier")
+        @Operation(summary = "Get my deliveries", description = "Retrieves paginated list of deliveries assigned to the authenticated courier. With count=false the total is not counted and the page only tells whether a next one exists.")
         @ApiResponses(value = {
                         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "My deliveries retrieved successfully"),
                         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Access denied - not a courier")
         })
-        public ResponseEntity<Page<CourierDeliveryDto>> getMyCourierDeliveries(
+        public ResponseEntity<Slice<CourierDeliveryDto>> getMyCourierDeliveries(
                         @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
                         @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
                         @Parameter(description = "Sort field") @RequestParam(defaultValue = "createdAt") String sortBy,
                         @Parameter(description = "Sort direction") @RequestParam(defaultValue = "desc") String sortDir,
+                        @Parameter(description = "Count the total deliveries") @RequestParam(defaultValue = "true") boolean count,
                         Authentication authentication) {
 
                 Integer courierId = SecurityUtils.getCurrentUserId();
-                Page<CourierDeliveryDto> result = courierApplicationService.getCourierDeliveries(
-                                courierId, page, size, sortBy, sortDir);
+                Slice<CourierDeliveryDto> result = courierApplicationService.getCourierDeliveries(
+                                courierId, page, size, sortBy, sortDir, count);
 
                 return ResponseEntity.ok(result);
         }
 
+        @GetMapping("/deliveries/my/cursor")
+        @Operation(summary = "Get my deliveries with a cursor", description = "Deliveries assigned to the authenticated courier, newest assignment first, paged with the next_cursor of the previous page. The total is only counted with withTotal.")
+        @ApiResponses(value = {
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "My deliveries retrieved successfully"),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid cursor"),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Access denied - not a courier")
+        })
+        public ResponseEntity<CursorPageDto<CourierDeliveryDto>> getMyCourierDeliveriesWithCursor(
+                        @Parameter(description = "Cursor from the previous page, empty for the first page") @RequestParam(required = false) String cursor,
+                        @Parameter(description = "Page size, at most 100") @RequestParam(defaultValue = "10") int size,
+                        @Parameter(description = "Also count my deliveries") @RequestParam(defaultValue = "false") boolean withTotal) {
+
+                Integer courierId = SecurityUtils.getCurrentUserId();
+                return ResponseEntity.ok(courierApplicationService.getCourierDeliveriesWithCursor(
+                                courierId, cursor, size, withTotal));
+        }
+
         @GetMapping("/deliveries/active")
         @Operation(summary = "Get active deliveries", description = "Retrieves all active deliveries for the courier")
         @ApiResponses(value = {
@@ -22,6 +22,10 @@ public class RankingReportDto {
     @Schema(description = "Position in the ranking", example = "1")
     private Integer rankPosition;
 
+    @JsonProperty("dense_rank_position")
+    @Schema(description = "Position in the ranking without gaps after ties", example = "1")
+    private Integer denseRankPosition;
+
     @JsonProperty("business_id")
     @Schema(description = "Business unique identifier", example = "456")
     private Integer businessId;
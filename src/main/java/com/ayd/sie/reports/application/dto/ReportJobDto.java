@@ -0,0 +1,72 @@
+package com.ayd.sie.reports.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Status of a background report job")
+public class ReportJobDto {
+
+    @JsonProperty("job_id")
+    @Schema(description = "Job identifier", example = "3f1c2a9e-7d7b-4a53-9c55-2b4f0f5d8c11")
+    private String jobId;
+
+    @JsonProperty("report_type")
+    @Schema(description = "Report being generated", example = "business-ranking")
+    private String reportType;
+
+    @JsonProperty("format")
+    @Schema(description = "Artifact format", example = "pdf")
+    private String format;
+
+    @JsonProperty("start_date")
+    @Schema(description = "Start date of the reporting period", example = "2025-01-01")
+    private LocalDate startDate;
+
+    @JsonProperty("end_date")
+    @Schema(description = "End date of the reporting period", example = "2025-12-31")
+    private LocalDate endDate;
+
+    @JsonProperty("status")
+    @Schema(description = "Job status", example = "COMPLETED", allowableValues = { "QUEUED", "RUNNING", "COMPLETED",
+            "FAILED" })
+    private String status;
+
+    @JsonProperty("created_at")
+    @Schema(description = "When the job was submitted")
+    private LocalDateTime createdAt;
+
+    @JsonProperty("started_at")
+    @Schema(description = "When generation started")
+    private LocalDateTime startedAt;
+
+    @JsonProperty("completed_at")
+    @Schema(description = "When generation finished, successfully or not")
+    private LocalDateTime completedAt;
+
+    @JsonProperty("expires_at")
+    @Schema(description = "When the artifact will be deleted")
+    private LocalDateTime expiresAt;
+
+    @JsonProperty("file_name")
+    @Schema(description = "Download file name", example = "business-ranking-report.pdf")
+    private String fileName;
+
+    @JsonProperty("size_bytes")
+    @Schema(description = "Artifact size in bytes", example = "48213")
+    private Long sizeBytes;
+
+    @JsonProperty("error_message")
+    @Schema(description = "Failure reason when status is FAILED")
+    private String errorMessage;
+}
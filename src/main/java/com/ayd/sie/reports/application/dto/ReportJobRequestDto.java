@@ -0,0 +1,44 @@
+package com.ayd.sie.reports.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Specification of a report to generate in the background")
+public class ReportJobRequestDto {
+
+    @JsonProperty("report_type")
+    @NotBlank(message = "Report type is required")
+    @Pattern(regexp = "deliveries|commissions|business-ranking|discounts|cancellations", message = "Report type must be one of deliveries, commissions, business-ranking, discounts, cancellations")
+    @Schema(description = "Report to generate", example = "business-ranking", allowableValues = { "deliveries",
+            "commissions", "business-ranking", "discounts", "cancellations" })
+    private String reportType;
+
+    @JsonProperty("format")
+    @NotBlank(message = "Format is required")
+    @Pattern(regexp = "(?i)pdf|excel|xlsx|png|jpg|jpeg", message = "Format must be one of pdf, excel, png, jpg")
+    @Schema(description = "Artifact format", example = "pdf", allowableValues = { "pdf", "excel", "png", "jpg" })
+    private String format;
+
+    @JsonProperty("start_date")
+    @NotNull(message = "Start date is required")
+    @Schema(description = "Start date of the reporting period", example = "2025-01-01")
+    private LocalDate startDate;
+
+    @JsonProperty("end_date")
+    @NotNull(message = "End date is required")
+    @Schema(description = "End date of the reporting period", example = "2025-12-31")
+    private LocalDate endDate;
+}
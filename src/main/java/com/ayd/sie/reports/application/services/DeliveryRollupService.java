@@ -0,0 +1,193 @@
+package com.ayd.sie.reports.application.services;
+
+import com.ayd.sie.shared.domain.entities.DailyDeliveryRollup;
+import com.ayd.sie.shared.domain.events.GuideSnapshot;
+import com.ayd.sie.shared.domain.events.TrackingGuideChangedEvent;
+import com.ayd.sie.shared.infrastructure.persistence.DailyDeliveryRollupJpaRepository;
+import com.ayd.sie.shared.infrastructure.persistence.RetryingTransactionTemplate;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Keeps the daily_delivery_rollups table in sync with tracking_guides. Every
+ * guide change retracts the buckets the guide was counted in and adds it to its
+ * new buckets, in the same transaction as the change itself, so report queries
+ * only need to read the rollup rows of the requested days.
+ * <p>
+ * Each rollup day has a lock row. Guide changes hold the days they touch in
+ * share mode and a rebuild holds the one day it recomputes exclusively, so a
+ * rebuild never overwrites a change it did not see and never stalls changes
+ * on other days.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DeliveryRollupService {
+
+    private final DailyDeliveryRollupJpaRepository rollupRepository;
+    private final RetryingTransactionTemplate retryingTransactionTemplate;
+
+    @EventListener
+    @Transactional
+    public void onTrackingGuideChanged(TrackingGuideChangedEvent event) {
+        List<Bucket> previous = event.getPrevious() != null ? buckets(event.getPrevious()) : List.of();
+        List<Bucket> current = buckets(event.getCurrent());
+
+        if (previous.equals(current)) {
+            return;
+        }
+
+        // Sorted, so changes and rebuilds always queue for days in the same order
+        TreeSet<LocalDate> days = new TreeSet<>();
+        previous.forEach(bucket -> days.add(bucket.getStatDate()));
+        current.forEach(bucket -> days.add(bucket.getStatDate()));
+        for (LocalDate day : days) {
+            rollupRepository.insertDateLock(day);
+            rollupRepository.lockDateShared(day);
+        }
+
+        for (Bucket bucket : previous) {
+            apply(bucket, -1);
+        }
+        for (Bucket bucket : current) {
+            apply(bucket, 1);
+        }
+    }
+
+    /**
+     * Seed the rollups on first start against an existing database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (rollupRepository.count() == 0) {
+            log.info("Delivery rollups are empty, building them from tracking guides");
+            rebuild();
+        }
+    }
+
+    /**
+     * Recompute every rollup row from tracking_guides, from the first guide or
+     * rollup day up to today.
+     *
+     * @return Number of rollup rows written
+     */
+    public int rebuild() {
+        LocalDateTime firstGuide = rollupRepository.findFirstGuideCreatedAt();
+        LocalDate firstRollup = rollupRepository.findFirstStatDate();
+        LocalDate today = LocalDate.now();
+
+        LocalDate startDate = today;
+        if (firstGuide != null && firstGuide.toLocalDate().isBefore(startDate)) {
+            startDate = firstGuide.toLocalDate();
+        }
+        if (firstRollup != null && firstRollup.isBefore(startDate)) {
+            startDate = firstRollup;
+        }
+        return rebuild(startDate, today);
+    }
+
+    /**
+     * Recompute the rollup rows of the given days from tracking_guides, each day
+     * in its own transaction holding that day's lock exclusively.
+     *
+     * @return Number of rollup rows written
+     */
+    public int rebuild(LocalDate startDate, LocalDate endDate) {
+        int rows = 0;
+        for (LocalDate day = startDate; !day.isAfter(endDate); day = day.plusDays(1)) {
+            LocalDate statDate = day;
+            rows += retryingTransactionTemplate.execute("Delivery rollup rebuild of " + statDate,
+                    () -> rebuildDay(statDate));
+        }
+
+        log.info("Delivery rollups rebuilt from {} to {}: {} rows", startDate, endDate, rows);
+        return rows;
+    }
+
+    private int rebuildDay(LocalDate statDate) {
+        rollupRepository.insertDateLock(statDate);
+        rollupRepository.lockDateExclusive(statDate);
+        rollupRepository.deleteRollupsOn(statDate);
+
+        // Plain reads taken after the lock: changes committed before it are
+        // counted, later ones wait and then apply their delta on top
+        LocalDateTime from = statDate.atStartOfDay();
+        LocalDateTime to = from.plusDays(1);
+        List<Object[]> created = rollupRepository.sumGuidesCreatedBetween(from, to);
+        List<Object[]> closed = rollupRepository.sumGuidesClosedBetween(from, to);
+
+        for (Object[] row : created) {
+            insert(statDate, DailyDeliveryRollup.BASIS_CREATED, row);
+        }
+        for (Object[] row : closed) {
+            insert(statDate, DailyDeliveryRollup.BASIS_CLOSED, row);
+        }
+        return created.size() + closed.size();
+    }
+
+    private void insert(LocalDate statDate, String dateBasis, Object[] row) {
+        rollupRepository.applyDelta(statDate, dateBasis, ((Number) row[0]).intValue(),
+                ((Number) row[1]).intValue(), ((Number) row[2]).intValue(), ((Number) row[3]).intValue(),
+                ((Number) row[4]).longValue(), (BigDecimal) row[5], (BigDecimal) row[6]);
+    }
+
+    private void apply(Bucket bucket, int sign) {
+        rollupRepository.applyDelta(bucket.getStatDate(), bucket.getDateBasis(), bucket.getStateId(),
+                bucket.getBusinessId(), bucket.getCourierId(), bucket.getBranchId(), sign,
+                sign < 0 ? bucket.getCommission().negate() : bucket.getCommission(),
+                sign < 0 ? bucket.getRevenue().negate() : bucket.getRevenue());
+    }
+
+    private List<Bucket> buckets(GuideSnapshot guide) {
+        List<Bucket> buckets = new ArrayList<>(2);
+
+        if (guide.getCreatedAt() != null) {
+            buckets.add(bucket(guide, guide.getCreatedAt(), DailyDeliveryRollup.BASIS_CREATED));
+        }
+
+        LocalDateTime closedAt = "Entregada".equals(guide.getStateName())
+                ? guide.getDeliveryDate()
+                : guide.getCancellationDate();
+        if (guide.isFinalState() && closedAt != null) {
+            buckets.add(bucket(guide, closedAt, DailyDeliveryRollup.BASIS_CLOSED));
+        }
+
+        return buckets;
+    }
+
+    private Bucket bucket(GuideSnapshot guide, LocalDateTime date, String dateBasis) {
+        return new Bucket(
+                date.toLocalDate(),
+                dateBasis,
+                guide.getStateId(),
+                guide.getBusinessId(),
+                guide.getCourierId() != null ? guide.getCourierId() : DailyDeliveryRollup.NO_COURIER,
+                guide.getBranchId(),
+                guide.getCourierCommission() != null ? guide.getCourierCommission() : BigDecimal.ZERO,
+                guide.getBasePrice() != null ? guide.getBasePrice() : BigDecimal.ZERO);
+    }
+
+    @Value
+    private static class Bucket {
+        LocalDate statDate;
+        String dateBasis;
+        Integer stateId;
+        Integer businessId;
+        Integer courierId;
+        Integer branchId;
+        BigDecimal commission;
+        BigDecimal revenue;
+    }
+}
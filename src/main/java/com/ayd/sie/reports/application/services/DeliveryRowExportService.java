@@ -0,0 +1,65 @@
+package com.ayd.sie.reports.application.services;
+
+import com.ayd.sie.reports.infrastructure.export.DeliveryRowWriter;
+import com.ayd.sie.shared.infrastructure.persistence.TrackingGuideJpaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Streams row-level guide data straight from a database cursor to the client.
+ * Accepts the same filters as the coordinator delivery history.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DeliveryRowExportService {
+
+    public static final Set<String> SUPPORTED_FORMATS = Set.of("csv", "ndjson");
+
+    private final TrackingGuideJpaRepository trackingGuideRepository;
+    private final DeliveryRowWriter deliveryRowWriter;
+
+    public boolean isSupportedFormat(String format) {
+        return format != null && SUPPORTED_FORMATS.contains(format.toLowerCase());
+    }
+
+    public String getContentType(String format) {
+        return "ndjson".equalsIgnoreCase(format) ? "application/x-ndjson" : "text/csv;charset=UTF-8";
+    }
+
+    /**
+     * Write every matching guide to the output stream. The cursor and its
+     * transaction stay open until the last row has been written.
+     *
+     * @return Number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long writeRows(String status, String search, LocalDate startDate, LocalDate endDate, String format,
+            OutputStream outputStream) throws IOException {
+
+        String stateName = status != null && !status.trim().isEmpty() ? status : null;
+        String searchPattern = search != null && !search.trim().isEmpty() ? "%" + search.toLowerCase() + "%" : null;
+
+        // Same assignment date window as the delivery history, only applied when both ends are given
+        LocalDateTime from = startDate != null && endDate != null ? startDate.atStartOfDay() : null;
+        LocalDateTime to = startDate != null && endDate != null ? endDate.plusDays(1).atStartOfDay() : null;
+
+        try (Stream<Object[]> rows = trackingGuideRepository.streamDeliveryRows(stateName, searchPattern, from, to)) {
+            long count = "ndjson".equalsIgnoreCase(format)
+                    ? deliveryRowWriter.writeNdjson(rows.iterator(), outputStream)
+                    : deliveryRowWriter.writeCsv(rows.iterator(), outputStream);
+
+            log.info("Delivery rows exported as {}: {} rows", format, count);
+            return count;
+        }
+    }
+}
@@ -1,88 +1,114 @@
 package com.ayd.sie.reports.application.services;
 
-import com.ayd.sie.reports.infrastructure.export.ExcelExporter;
+import com.ayd.sie.reports.application.dto.CommissionReportDto;
+import com.ayd.sie.reports.application.dto.DeliveryReportDto;
+import com.ayd.sie.reports.application.dto.DiscountReportDto;
+import com.ayd.sie.reports.application.dto.RankingReportDto;
+import com.ayd.sie.reports.infrastructure.cache.ReportImageCache;
 import com.ayd.sie.reports.infrastructure.export.ImageExporter;
-import com.ayd.sie.reports.infrastructure.export.PdfExporter;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
+import java.util.function.Function;
 
 /**
- * Generic export service for all report types.
- * Provides unified export functionality for PDF, Excel, and Image formats.
+ * Chart rendering and export naming shared by all report types. PDF and
+ * Excel exports are streamed by {@code PdfExporter} and {@code ExcelExporter}.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ReportExportService {
 
-    private final PdfExporter pdfExporter;
-    private final ExcelExporter excelExporter;
     private final ImageExporter imageExporter;
-    private final ObjectMapper objectMapper;
+    private final ReportImageCache reportImageCache;
+
+    // Charts only show the largest entries; the full data is available in PDF/Excel
+    private static final int MAX_CHART_BARS = 25;
 
     /**
-     * Export report data to PDF format.
-     *
-     * @param title Report title
-     * @param data  Report data object
-     * @return PDF as byte array
-     * @throws IOException if export fails
+     * Render the delivery report as a bar chart of completed, cancelled and
+     * rejected deliveries.
      */
-    public byte[] exportToPdf(String title, Object data) throws IOException {
-        log.info("Exporting report '{}' to PDF", title);
-        try {
-            String content = objectMapper.writeValueAsString(data);
-            return pdfExporter.exportToPdf(title, content);
-        } catch (Exception e) {
-            log.error("Error exporting '{}' to PDF: {}", title, e.getMessage(), e);
-            throw new IOException("Failed to export report to PDF", e);
-        }
+    public byte[] exportDeliveryChart(DeliveryReportDto report, String format) throws IOException {
+        return reportImageCache.getOrRender("deliveries", report.getPeriodStart(), report.getPeriodEnd(), format,
+                report,
+                () -> imageExporter.renderBarChart("Delivery Report",
+                        period(report.getPeriodStart(), report.getPeriodEnd()),
+                        List.of("Completed", "Cancelled", "Rejected"),
+                        List.of(report.getCompletedDeliveries(), report.getCancelledDeliveries(),
+                                report.getRejectedDeliveries()),
+                        "Deliveries", format));
     }
 
     /**
-     * Export report data to Excel format.
-     *
-     * @param sheetName Excel sheet name
-     * @param headers   Column headers
-     * @param data      Report data as list of maps
-     * @return Excel file as byte array
-     * @throws IOException if export fails
+     * Render the commission report as a bar chart of commission per courier.
+     */
+    public byte[] exportCommissionChart(List<CommissionReportDto> reports, LocalDate startDate, LocalDate endDate,
+            String format) throws IOException {
+        List<CommissionReportDto> top = topEntries(reports, CommissionReportDto::getTotalCommission);
+        return reportImageCache.getOrRender("commissions", startDate, endDate, format, reports,
+                () -> imageExporter.renderBarChart("Commission Report", period(startDate, endDate),
+                        top.stream().map(CommissionReportDto::getCourierName).toList(),
+                        top.stream().map(CommissionReportDto::getTotalCommission).toList(),
+                        "Commission (Q)", format));
+    }
+
+    /**
+     * Render the business ranking report as a bar chart of deliveries per business.
+     */
+    public byte[] exportRankingChart(List<RankingReportDto> reports, LocalDate startDate, LocalDate endDate,
+            String format) throws IOException {
+        List<RankingReportDto> top = topEntries(reports, RankingReportDto::getTotalDeliveries);
+        return reportImageCache.getOrRender("business-ranking", startDate, endDate, format, reports,
+                () -> imageExporter.renderBarChart("Business Ranking Report", period(startDate, endDate),
+                        top.stream().map(RankingReportDto::getBusinessName).toList(),
+                        top.stream().map(RankingReportDto::getTotalDeliveries).toList(),
+                        "Deliveries", format));
+    }
+
+    /**
+     * Render the cancellations report as a bar chart of cancellations per business.
      */
-    public byte[] exportToExcel(String sheetName, List<String> headers, List<Map<String, Object>> data)
-            throws IOException {
-        log.info("Exporting report '{}' to Excel", sheetName);
-        try {
-            return excelExporter.exportToExcel(sheetName, headers, data);
-        } catch (Exception e) {
-            log.error("Error exporting '{}' to Excel: {}", sheetName, e.getMessage(), e);
-            throw new IOException("Failed to export report to Excel", e);
-        }
+    public byte[] exportCancellationChart(List<RankingReportDto> reports, LocalDate startDate, LocalDate endDate,
+            String format) throws IOException {
+        List<RankingReportDto> top = topEntries(reports, RankingReportDto::getCancelledDeliveries);
+        return reportImageCache.getOrRender("cancellations", startDate, endDate, format, reports,
+                () -> imageExporter.renderBarChart("Cancellations Report", period(startDate, endDate),
+                        top.stream().map(RankingReportDto::getBusinessName).toList(),
+                        top.stream().map(RankingReportDto::getCancelledDeliveries).toList(),
+                        "Cancelled deliveries", format));
     }
 
     /**
-     * Export report data to Image format.
+     * Render the discount report as a bar chart of discount amount per business.
+     */
+    public byte[] exportDiscountChart(List<DiscountReportDto> reports, LocalDate startDate, LocalDate endDate,
+            String format) throws IOException {
+        List<DiscountReportDto> top = topEntries(reports, DiscountReportDto::getDiscountAmount);
+        return reportImageCache.getOrRender("discounts", startDate, endDate, format, reports,
+                () -> imageExporter.renderBarChart("Discount Report", period(startDate, endDate),
+                        top.stream().map(DiscountReportDto::getBusinessName).toList(),
+                        top.stream().map(DiscountReportDto::getDiscountAmount).toList(),
+                        "Discount (Q)", format));
+    }
+
+    /**
+     * Check whether the given format can be rendered as an image.
      *
-     * @param title  Report title
-     * @param data   Report data object
-     * @param format Image format (png, jpg, etc.)
-     * @return Image as byte array
-     * @throws IOException if export fails
+     * @param format Requested image format
+     * @return true for png, jpg and jpeg
      */
-    public byte[] exportToImage(String title, Object data, String format) throws IOException {
-        log.info("Exporting report '{}' to Image ({})", title, format);
-        try {
-            String content = objectMapper.writeValueAsString(data);
-            return imageExporter.exportToImage(title, content, format);
-        } catch (Exception e) {
-            log.error("Error exporting '{}' to Image: {}", title, e.getMessage(), e);
-            throw new IOException("Failed to export report to Image", e);
-        }
+    public boolean isSupportedImageFormat(String format) {
+        return switch (format.toLowerCase()) {
+            case "png", "jpg", "jpeg" -> true;
+            default -> false;
+        };
     }
 
     /**
@@ -121,4 +147,15 @@ public class ReportExportService {
             default -> "application/octet-stream";
         };
     }
-}
\ No newline at end of file
+
+    private <T, V extends Comparable<V>> List<T> topEntries(List<T> reports, Function<T, V> value) {
+        return reports.stream()
+                .sorted(Comparator.comparing(value, Comparator.nullsLast(Comparator.reverseOrder())))
+                .limit(MAX_CHART_BARS)
+                .toList();
+    }
+
+    private String period(LocalDate startDate, LocalDate endDate) {
+        return "Period: " + startDate + " to " + endDate;
+    }
+}
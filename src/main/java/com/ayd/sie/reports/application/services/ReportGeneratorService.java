@@ -12,7 +12,9 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -22,28 +24,21 @@ import java.util.stream.IntStream;
 @Transactional(readOnly = true)
 public class ReportGeneratorService {
 
-        private final TrackingGuideJpaRepository trackingGuideRepository;
-        private final UserJpaRepository userRepository;
-        private final BusinessJpaRepository businessRepository;
         private final MonthlyDiscountJpaRepository monthlyDiscountRepository;
+        private final DailyDeliveryRollupJpaRepository rollupRepository;
 
         public DeliveryReportDto generateDeliveryReport(LocalDate startDate, LocalDate endDate) {
                 log.info("Generating delivery report for period: {} to {}", startDate, endDate);
 
-                LocalDateTime startDateTime = startDate.atStartOfDay();
-                LocalDateTime endDateTime = endDate.atTime(LocalTime.MAX);
-
-                // Get delivery statistics using repository queries
-                long completedDeliveries = trackingGuideRepository.countByCurrentStateStateNameAndDeliveryDateBetween(
-                                "Entregada", startDateTime, endDateTime);
-
-                long cancelledDeliveries = trackingGuideRepository
-                                .countByCurrentStateStateNameAndCancellationDateBetween(
-                                                "Cancelada", startDateTime, endDateTime);
+                // Final-state counts per day are kept in the rollup table
+                Map<String, Long> countsByState = new HashMap<>();
+                for (Object[] row : rollupRepository.sumClosedByState(startDate, endDate)) {
+                        countsByState.put((String) row[0], ((Number) row[1]).longValue());
+                }
 
-                long rejectedDeliveries = trackingGuideRepository
-                                .countByCurrentStateStateNameAndCancellationDateBetween(
-                                                "Rechazada", startDateTime, endDateTime);
+                long completedDeliveries = countsByState.getOrDefault("Entregada", 0L);
+                long cancelledDeliveries = countsByState.getOrDefault("Cancelada", 0L);
+                long rejectedDeliveries = countsByState.getOrDefault("Rechazada", 0L);
 
                 long totalDeliveries = completedDeliveries + cancelledDeliveries + rejectedDeliveries;
 
@@ -66,16 +61,12 @@ public class ReportGeneratorService {
         public List<CommissionReportDto> generateCommissionReport(LocalDate startDate, LocalDate endDate) {
                 log.info("Generating commission report for period: {} to {}", startDate, endDate);
 
-                LocalDateTime startDateTime = startDate.atStartOfDay();
-                LocalDateTime endDateTime = endDate.atTime(LocalTime.MAX);
-
-                // Get all couriers who have deliveries in the period
-                List<User> couriers = userRepository.findCouriersWithDeliveriesInPeriod(startDateTime, endDateTime);
+                // Counts and commission for every courier in a single grouped query
+                List<Object[]> commissionStats = rollupRepository.findCommissionStatisticsByCourier(startDate,
+                                endDate);
 
-                List<CommissionReportDto> reports = couriers.stream()
-                                .map(courier -> generateCourierCommissionReport(courier, startDate, endDate,
-                                                startDateTime,
-                                                endDateTime))
+                List<CommissionReportDto> reports = commissionStats.stream()
+                                .map(stats -> mapToCommissionReportDto(stats, startDate, endDate))
                                 .collect(Collectors.toList());
 
                 log.info("Commission report generated for {} couriers", reports.size());
@@ -102,12 +93,8 @@ public class ReportGeneratorService {
         public List<RankingReportDto> generateBusinessRankingReport(LocalDate startDate, LocalDate endDate) {
                 log.info("Generating business ranking report for period: {} to {}", startDate, endDate);
 
-                LocalDateTime startDateTime = startDate.atStartOfDay();
-                LocalDateTime endDateTime = endDate.atTime(LocalTime.MAX);
-
                 // Get business statistics for the period
-                List<Object[]> businessStats = businessRepository.findBusinessStatisticsForPeriod(
-                                startDateTime, endDateTime);
+                List<Object[]> businessStats = rollupRepository.findBusinessStatisticsForPeriod(startDate, endDate);
 
                 List<RankingReportDto> reports = IntStream.range(0, businessStats.size())
                                 .mapToObj(index -> {
@@ -123,14 +110,35 @@ public class ReportGeneratorService {
                 return reports;
         }
 
+        /**
+         * Only the requested slice of the business ranking. Positions come from
+         * RANK()/DENSE_RANK() in the database, so tied businesses share a position.
+         */
+        public List<RankingReportDto> generateBusinessRankingSlice(LocalDate startDate, LocalDate endDate, int limit,
+                        int offset) {
+                log.info("Generating business ranking slice for period: {} to {} (limit {}, offset {})",
+                                startDate, endDate, limit, offset);
+
+                List<RankingReportDto> reports = rollupRepository
+                                .findBusinessRankingSlice(startDate, endDate, limit, offset).stream()
+                                .map(stats -> {
+                                        RankingReportDto report = mapToRankingReportDto(stats, startDate, endDate);
+                                        report.setRankPosition(((Number) stats[8]).intValue());
+                                        report.setDenseRankPosition(((Number) stats[9]).intValue());
+                                        report.calculateDerivedFields();
+                                        return report;
+                                })
+                                .collect(Collectors.toList());
+
+                log.info("Business ranking slice generated with {} businesses", reports.size());
+                return reports;
+        }
+
         public List<RankingReportDto> generateCancellationsByBusinessReport(LocalDate startDate, LocalDate endDate) {
                 log.info("Generating cancellations by business report for period: {} to {}", startDate, endDate);
 
-                LocalDateTime startDateTime = startDate.atStartOfDay();
-                LocalDateTime endDateTime = endDate.atTime(LocalTime.MAX);
-
-                List<Object[]> cancellationStats = businessRepository.findCancellationStatisticsByBusiness(
-                                startDateTime, endDateTime);
+                List<Object[]> cancellationStats = rollupRepository.findCancellationStatisticsByBusiness(startDate,
+                                endDate);
 
                 List<RankingReportDto> reports = cancellationStats.stream()
                                 .map(stats -> mapToCancellationReportDto(stats, startDate, endDate))
@@ -140,38 +148,18 @@ public class ReportGeneratorService {
                 return reports;
         }
 
-        private CommissionReportDto generateCourierCommissionReport(User courier, LocalDate startDate,
-                        LocalDate endDate,
-                        LocalDateTime startDateTime, LocalDateTime endDateTime) {
-
-                long totalDeliveries = trackingGuideRepository.countByCourierUserIdAndCreatedAtBetween(
-                                courier.getUserId(), startDateTime, endDateTime);
-
-                long completedDeliveries = trackingGuideRepository
-                                .countByCourierUserIdAndCurrentStateStateNameAndDeliveryDateBetween(
-                                                courier.getUserId(), "Entregada", startDateTime, endDateTime);
-
-                long cancelledDeliveries = trackingGuideRepository
-                                .countByCourierUserIdAndCurrentStateStateNameAndCancellationDateBetween(
-                                                courier.getUserId(), "Cancelada", startDateTime, endDateTime);
-
-                BigDecimal totalCommission = trackingGuideRepository.sumCommissionByCourierIdAndPeriod(
-                                courier.getUserId(), startDateTime, endDateTime);
-
-                if (totalCommission == null) {
-                        totalCommission = BigDecimal.ZERO;
-                }
-
+        private CommissionReportDto mapToCommissionReportDto(Object[] stats, LocalDate startDate,
+                        LocalDate endDate) {
                 CommissionReportDto report = CommissionReportDto.builder()
-                                .courierId(courier.getUserId())
-                                .courierName(courier.getFirstName() + " " + courier.getLastName())
-                                .courierEmail(courier.getEmail())
+                                .courierId((Integer) stats[0])
+                                .courierName(stats[1] + " " + stats[2])
+                                .courierEmail((String) stats[3])
                                 .periodStart(startDate)
                                 .periodEnd(endDate)
-                                .totalDeliveries(totalDeliveries)
-                                .completedDeliveries(completedDeliveries)
-                                .cancelledDeliveries(cancelledDeliveries)
-                                .totalCommission(totalCommission)
+                                .totalDeliveries(((Number) stats[4]).longValue())
+                                .completedDeliveries(((Number) stats[5]).longValue())
+                                .cancelledDeliveries(((Number) stats[6]).longValue())
+                                .totalCommission((BigDecimal) stats[7])
                                 .build();
 
                 report.calculateDerivedFields();
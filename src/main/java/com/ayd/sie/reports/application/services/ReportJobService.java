@@ -0,0 +1,372 @@
+package com.ayd.sie.reports.application.services;
+
+import com.ayd.sie.reports.application.dto.*;
+import com.ayd.sie.reports.infrastructure.export.ExcelExporter;
+import com.ayd.sie.reports.infrastructure.export.PdfExporter;
+import com.ayd.sie.shared.domain.exceptions.BusinessConstraintViolationException;
+import com.ayd.sie.shared.domain.exceptions.ResourceNotFoundException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Runs report exports in the background. Jobs are executed on virtual threads,
+ * at most {@code max-concurrent} at a time, and each user can only have a few
+ * jobs queued or running. Finished artifacts are written to the artifact
+ * directory and removed by the sweeper once their TTL has passed.
+ */
+@Service
+@Slf4j
+public class ReportJobService {
+
+    private final ReportQueryService reportQueryService;
+    private final ReportExportService reportExportService;
+    private final PdfExporter pdfExporter;
+    private final ExcelExporter excelExporter;
+
+    private final Path artifactDirectory;
+    private final Duration artifactTtl;
+    private final int maxJobsPerUser;
+    private final Semaphore runningJobs;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Map<Integer, AtomicInteger> activeJobsByUser = new ConcurrentHashMap<>();
+
+    public ReportJobService(ReportQueryService reportQueryService,
+            ReportExportService reportExportService,
+            PdfExporter pdfExporter,
+            ExcelExporter excelExporter,
+            @Value("${app.reports.jobs.artifact-dir:./report-artifacts}") String artifactDirectory,
+            @Value("${app.reports.jobs.artifact-ttl:PT1H}") Duration artifactTtl,
+            @Value("${app.reports.jobs.max-concurrent:4}") int maxConcurrentJobs,
+            @Value("${app.reports.jobs.max-per-user:2}") int maxJobsPerUser) {
+        this.reportQueryService = reportQueryService;
+        this.reportExportService = reportExportService;
+        this.pdfExporter = pdfExporter;
+        this.excelExporter = excelExporter;
+        this.artifactDirectory = Paths.get(artifactDirectory);
+        this.artifactTtl = artifactTtl;
+        this.maxJobsPerUser = maxJobsPerUser;
+        this.runningJobs = new Semaphore(maxConcurrentJobs, true);
+    }
+
+    @PostConstruct
+    public void initializeArtifactDirectory() {
+        try {
+            Files.createDirectories(artifactDirectory);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not initialize report artifact directory: " + artifactDirectory, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public ReportJobDto submit(ReportJobRequestDto request, Integer userId) {
+        if (request.getStartDate().isAfter(request.getEndDate())) {
+            throw new BusinessConstraintViolationException("Start date must not be after end date");
+        }
+
+        AtomicInteger activeJobs = activeJobsByUser.computeIfAbsent(userId, id -> new AtomicInteger());
+        if (activeJobs.incrementAndGet() > maxJobsPerUser) {
+            activeJobs.decrementAndGet();
+            throw new BusinessConstraintViolationException(
+                    "Maximum of " + maxJobsPerUser + " report jobs in progress per user reached");
+        }
+
+        Job job = new Job(UUID.randomUUID().toString(), userId, request);
+        jobs.put(job.id, job);
+
+        executor.submit(() -> run(job, activeJobs));
+
+        log.info("Report job {} queued by user {}: {} {} ({} to {})", job.id, userId, request.getReportType(),
+                request.getFormat(), request.getStartDate(), request.getEndDate());
+        return toDto(job);
+    }
+
+    public ReportJobDto getJob(String jobId, Integer userId) {
+        return toDto(findJob(jobId, userId));
+    }
+
+    public List<ReportJobDto> getJobs(Integer userId) {
+        return jobs.values().stream()
+                .filter(job -> job.userId.equals(userId))
+                .sorted(Comparator.comparing((Job job) -> job.createdAt).reversed())
+                .map(this::toDto)
+                .toList();
+    }
+
+    /**
+     * Resolve the artifact of a completed job.
+     *
+     * @return Path of the artifact file
+     * @throws BusinessConstraintViolationException if the job has not completed
+     */
+    public Path getArtifact(String jobId, Integer userId) {
+        Job job = findJob(jobId, userId);
+
+        if (job.status != JobStatus.COMPLETED) {
+            throw new BusinessConstraintViolationException("Report job is " + job.status + ", artifact not available");
+        }
+        if (!Files.exists(job.artifact)) {
+            throw new ResourceNotFoundException("Report artifact has expired");
+        }
+        return job.artifact;
+    }
+
+    public String getFileName(String jobId, Integer userId) {
+        return fileName(findJob(jobId, userId));
+    }
+
+    public String getContentType(String jobId, Integer userId) {
+        return reportExportService.getContentType(findJob(jobId, userId).request.getFormat());
+    }
+
+    /**
+     * Delete expired artifacts and forget their jobs. Files left behind by a
+     * previous run are removed by age.
+     */
+    @Scheduled(fixedDelayString = "${app.reports.jobs.sweep-interval:300000}")
+    public void sweepExpiredArtifacts() {
+        LocalDateTime now = LocalDateTime.now();
+
+        jobs.values().removeIf(job -> {
+            if (job.expiresAt == null || job.expiresAt.isAfter(now)) {
+                return false;
+            }
+            deleteQuietly(job.artifact);
+            return true;
+        });
+
+        Instant cutoff = Instant.now().minus(artifactTtl);
+        try (Stream<Path> files = Files.list(artifactDirectory)) {
+            files.filter(file -> isOlderThan(file, cutoff)).forEach(this::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("Could not sweep report artifact directory {}: {}", artifactDirectory, e.getMessage());
+        }
+    }
+
+    private void run(Job job, AtomicInteger activeJobs) {
+        try {
+            runningJobs.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(job, "Report job was cancelled");
+            activeJobs.decrementAndGet();
+            return;
+        }
+
+        job.status = JobStatus.RUNNING;
+        job.startedAt = LocalDateTime.now();
+        Path partial = artifactDirectory.resolve(job.id + ".part");
+
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(partial)) {
+                render(job.request, outputStream);
+            }
+
+            Path artifact = artifactDirectory.resolve(job.id + "." + extension(job.request.getFormat()));
+            Files.move(partial, artifact, StandardCopyOption.REPLACE_EXISTING);
+
+            job.artifact = artifact;
+            job.sizeBytes = Files.size(artifact);
+            job.completedAt = LocalDateTime.now();
+            job.expiresAt = job.completedAt.plus(artifactTtl);
+            job.status = JobStatus.COMPLETED;
+
+            log.info("Report job {} completed: {} bytes", job.id, job.sizeBytes);
+        } catch (Exception e) {
+            log.error("Report job {} failed: {}", job.id, e.getMessage(), e);
+            deleteQuietly(partial);
+            fail(job, e.getMessage());
+        } finally {
+            runningJobs.release();
+            activeJobs.decrementAndGet();
+        }
+    }
+
+    private void render(ReportJobRequestDto request, OutputStream outputStream) throws IOException {
+        String format = request.getFormat().toLowerCase();
+        var startDate = request.getStartDate();
+        var endDate = request.getEndDate();
+
+        switch (request.getReportType()) {
+            case "deliveries" -> {
+                DeliveryReportDto report = reportQueryService.generateDeliveryReport(startDate, endDate);
+                switch (format) {
+                    case "pdf" -> pdfExporter.writeDeliveryReport(report, outputStream);
+                    case "excel", "xlsx" -> excelExporter.writeDeliveryReport(report, outputStream);
+                    default -> outputStream.write(reportExportService.exportDeliveryChart(report, format));
+                }
+            }
+            case "commissions" -> {
+                List<CommissionReportDto> reports = reportQueryService.generateCommissionReport(startDate,
+                        endDate);
+                switch (format) {
+                    case "pdf" -> pdfExporter.writeCommissionReport(reports, startDate, endDate, outputStream);
+                    case "excel", "xlsx" -> excelExporter.writeCommissionReport(reports, outputStream);
+                    default -> outputStream.write(
+                            reportExportService.exportCommissionChart(reports, startDate, endDate, format));
+                }
+            }
+            case "business-ranking" -> {
+                List<RankingReportDto> reports = reportQueryService.generateBusinessRankingReport(startDate,
+                        endDate);
+                switch (format) {
+                    case "pdf" -> pdfExporter.writeRankingReport("Business Ranking Report", reports, startDate,
+                            endDate, outputStream);
+                    case "excel", "xlsx" -> excelExporter.writeRankingReport("Business Ranking Report", reports,
+                            outputStream);
+                    default -> outputStream.write(
+                            reportExportService.exportRankingChart(reports, startDate, endDate, format));
+                }
+            }
+            case "discounts" -> {
+                List<DiscountReportDto> reports = reportQueryService.generateDiscountReport(startDate, endDate);
+                switch (format) {
+                    case "pdf" -> pdfExporter.writeDiscountReport(reports, startDate, endDate, outputStream);
+                    case "excel", "xlsx" -> excelExporter.writeDiscountReport(reports, outputStream);
+                    default -> outputStream.write(
+                            reportExportService.exportDiscountChart(reports, startDate, endDate, format));
+                }
+            }
+            case "cancellations" -> {
+                List<RankingReportDto> reports = reportQueryService
+                        .generateCancellationsByBusinessReport(startDate, endDate);
+                switch (format) {
+                    case "pdf" -> pdfExporter.writeRankingReport("Cancellations Report", reports, startDate,
+                            endDate, outputStream);
+                    case "excel", "xlsx" -> excelExporter.writeRankingReport("Cancellations Report", reports,
+                            outputStream);
+                    default -> outputStream.write(
+                            reportExportService.exportCancellationChart(reports, startDate, endDate, format));
+                }
+            }
+            default -> throw new BusinessConstraintViolationException(
+                    "Unsupported report type: " + request.getReportType());
+        }
+    }
+
+    private Job findJob(String jobId, Integer userId) {
+        Job job = jobs.get(jobId);
+        // Other users' jobs are reported as missing rather than forbidden
+        if (job == null || !job.userId.equals(userId)) {
+            throw new ResourceNotFoundException("Report job not found");
+        }
+        return job;
+    }
+
+    private void fail(Job job, String errorMessage) {
+        job.errorMessage = errorMessage;
+        job.completedAt = LocalDateTime.now();
+        job.expiresAt = job.completedAt.plus(artifactTtl);
+        job.status = JobStatus.FAILED;
+    }
+
+    private String fileName(Job job) {
+        String reportName = switch (job.request.getReportType()) {
+            case "deliveries" -> "delivery-report";
+            case "commissions" -> "commission-report";
+            case "business-ranking" -> "business-ranking-report";
+            case "discounts" -> "discount-report";
+            default -> "cancellations-report";
+        };
+        return reportExportService.getExportFilename(reportName, job.request.getFormat());
+    }
+
+    private String extension(String format) {
+        return switch (format.toLowerCase()) {
+            case "excel", "xlsx" -> "xlsx";
+            case "jpg", "jpeg" -> "jpg";
+            default -> format.toLowerCase();
+        };
+    }
+
+    private boolean isOlderThan(Path file, Instant cutoff) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant().isBefore(cutoff);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete report artifact {}: {}", file, e.getMessage());
+        }
+    }
+
+    private ReportJobDto toDto(Job job) {
+        return ReportJobDto.builder()
+                .jobId(job.id)
+                .reportType(job.request.getReportType())
+                .format(job.request.getFormat())
+                .startDate(job.request.getStartDate())
+                .endDate(job.request.getEndDate())
+                .status(job.status.name())
+                .createdAt(job.createdAt)
+                .startedAt(job.startedAt)
+                .completedAt(job.completedAt)
+                .expiresAt(job.expiresAt)
+                .fileName(job.status == JobStatus.COMPLETED ? fileName(job) : null)
+                .sizeBytes(job.sizeBytes)
+                .errorMessage(job.errorMessage)
+                .build();
+    }
+
+    private enum JobStatus {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private static class Job {
+        final String id;
+        final Integer userId;
+        final ReportJobRequestDto request;
+        final LocalDateTime createdAt = LocalDateTime.now();
+
+        volatile JobStatus status = JobStatus.QUEUED;
+        volatile LocalDateTime startedAt;
+        volatile LocalDateTime completedAt;
+        volatile LocalDateTime expiresAt;
+        volatile Path artifact;
+        volatile Long sizeBytes;
+        volatile String errorMessage;
+
+        Job(String id, Integer userId, ReportJobRequestDto request) {
+            this.id = id;
+            this.userId = userId;
+            this.request = request;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.ayd.sie.reports.application.services;
+
+import com.ayd.sie.reports.application.dto.*;
+import com.ayd.sie.reports.infrastructure.cache.ReportRequestCoalescer;
+import com.ayd.sie.reports.infrastructure.cache.ReportResultCache;
+import com.ayd.sie.shared.domain.events.GuideSnapshot;
+import com.ayd.sie.shared.domain.events.TrackingGuideChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Entry point for report data used by the web layer and the report jobs.
+ * Results come from {@link ReportResultCache} and are only generated by
+ * {@link ReportGeneratorService} on a miss; identical misses arriving together
+ * share one generation through {@link ReportRequestCoalescer}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReportQueryService {
+
+    private final ReportGeneratorService reportGeneratorService;
+    private final ReportResultCache reportResultCache;
+    private final ReportRequestCoalescer reportRequestCoalescer;
+
+    public DeliveryReportDto generateDeliveryReport(LocalDate startDate, LocalDate endDate) {
+        return load("deliveries", startDate, endDate,
+                () -> reportGeneratorService.generateDeliveryReport(startDate, endDate));
+    }
+
+    public List<CommissionReportDto> generateCommissionReport(LocalDate startDate, LocalDate endDate) {
+        return load("commissions", startDate, endDate,
+                () -> reportGeneratorService.generateCommissionReport(startDate, endDate));
+    }
+
+    public List<DiscountReportDto> generateDiscountReport(LocalDate startDate, LocalDate endDate) {
+        return load("discounts", startDate, endDate,
+                () -> reportGeneratorService.generateDiscountReport(startDate, endDate));
+    }
+
+    public List<RankingReportDto> generateBusinessRankingReport(LocalDate startDate, LocalDate endDate) {
+        return load("business-ranking", startDate, endDate,
+                () -> reportGeneratorService.generateBusinessRankingReport(startDate, endDate));
+    }
+
+    public List<RankingReportDto> generateBusinessRankingSlice(LocalDate startDate, LocalDate endDate, int limit,
+            int offset) {
+        return load("business-ranking:" + limit + ":" + offset, startDate, endDate,
+                () -> reportGeneratorService.generateBusinessRankingSlice(startDate, endDate, limit, offset));
+    }
+
+    public List<RankingReportDto> generateCancellationsByBusinessReport(LocalDate startDate, LocalDate endDate) {
+        return load("cancellations", startDate, endDate,
+                () -> reportGeneratorService.generateCancellationsByBusinessReport(startDate, endDate));
+    }
+
+    private <T> T load(String reportType, LocalDate startDate, LocalDate endDate, Supplier<T> generator) {
+        return reportResultCache.getOrCompute(reportType, startDate, endDate,
+                () -> reportRequestCoalescer.execute(reportType, startDate, endDate, generator));
+    }
+
+    public void invalidateAll() {
+        reportRequestCoalescer.retire((startDate, endDate) -> true);
+        reportResultCache.invalidateAll();
+    }
+
+    /**
+     * A guide change always touches today's figures. Reports grouped by creation
+     * date also count guides by their current state, so the periods containing
+     * the guide's creation and closing dates are dropped as well.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTrackingGuideChanged(TrackingGuideChangedEvent event) {
+        GuideSnapshot previous = event.getPrevious();
+        GuideSnapshot current = event.getCurrent();
+
+        LocalDate[] affectedDates = {
+                toDate(current.getCreatedAt()),
+                toDate(current.getDeliveryDate()),
+                toDate(current.getCancellationDate()),
+                previous != null ? toDate(previous.getDeliveryDate()) : null,
+                previous != null ? toDate(previous.getCancellationDate()) : null };
+
+        LocalDate today = LocalDate.now();
+        reportRequestCoalescer.retire((startDate, endDate) -> ReportResultCache.isAffected(startDate, endDate,
+                today, affectedDates));
+        reportResultCache.invalidateOpenPeriods(affectedDates);
+    }
+
+    private LocalDate toDate(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toLocalDate() : null;
+    }
+}
@@ -0,0 +1,97 @@
+package com.ayd.sie.reports.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of rendered report images. Entries are keyed by report
+ * type, period, image format and a fingerprint of the report data, so the same
+ * chart embedded many times is rendered once, and a chart is re-rendered as
+ * soon as its underlying data changes.
+ */
+@Component
+@Slf4j
+public class ReportImageCache {
+
+    private final ObjectMapper objectMapper;
+    private final Map<CacheKey, byte[]> entries;
+
+    public ReportImageCache(ObjectMapper objectMapper,
+            @Value("${app.reports.image-cache.max-entries:200}") int maxEntries) {
+        this.objectMapper = objectMapper;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, byte[]> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @FunctionalInterface
+    public interface ImageRenderer {
+        byte[] render() throws IOException;
+    }
+
+    /**
+     * Return the cached image for the given report data, rendering and caching it
+     * on a miss.
+     */
+    public byte[] getOrRender(String reportType, LocalDate startDate, LocalDate endDate, String format,
+            Object data, ImageRenderer renderer) throws IOException {
+        CacheKey key = new CacheKey(reportType, startDate, endDate, format.toLowerCase(), fingerprint(data));
+
+        byte[] cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+        }
+        if (cached != null) {
+            log.debug("Image cache hit for {} {} - {} ({})", reportType, startDate, endDate, format);
+            return cached;
+        }
+
+        log.debug("Image cache miss for {} {} - {} ({})", reportType, startDate, endDate, format);
+        byte[] image = renderer.render();
+
+        synchronized (entries) {
+            entries.put(key, image);
+        }
+        return image;
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private String fingerprint(Object data) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(data)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static final class CacheKey {
+        private final String reportType;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final String format;
+        private final String fingerprint;
+    }
+}
@@ -0,0 +1,125 @@
+package com.ayd.sie.reports.infrastructure.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution of report generation. Concurrent callers asking for
+ * the same report and period share one in-flight computation instead of
+ * running the same aggregation in parallel. The computation runs on its own
+ * thread, so every caller waits with its own timeout and a caller giving up
+ * does not cancel the result for the others. Once the computation finishes, or
+ * is retired because the data it reads changed, the next caller starts a fresh
+ * one.
+ */
+@Component
+@Slf4j
+public class ReportRequestCoalescer {
+
+    private final Duration timeout;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<FlightKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter leaders;
+    private final Counter followers;
+    private final Counter timeouts;
+
+    public ReportRequestCoalescer(MeterRegistry meterRegistry,
+            @Value("${app.reports.coalescing.timeout:PT60S}") Duration timeout) {
+        this.timeout = timeout;
+        this.leaders = meterRegistry.counter("reports.coalescing.requests", "role", "leader");
+        this.followers = meterRegistry.counter("reports.coalescing.requests", "role", "follower");
+        this.timeouts = meterRegistry.counter("reports.coalescing.timeouts");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Run the loader, or join the identical computation already in flight.
+     *
+     * @throws IllegalStateException if the result is not ready within the
+     *                               caller's timeout
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String reportType, LocalDate startDate, LocalDate endDate, Supplier<T> loader) {
+        FlightKey key = new FlightKey(reportType, startDate, endDate);
+
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+
+        if (existing != null) {
+            followers.increment();
+            log.debug("Joining in-flight {} report for {} - {}", reportType, startDate, endDate);
+            flight = existing;
+        } else {
+            leaders.increment();
+            CompletableFuture<Object> leaderFlight = flight;
+            executor.execute(() -> {
+                try {
+                    leaderFlight.complete(loader.get());
+                } catch (Throwable e) {
+                    leaderFlight.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(key, leaderFlight);
+                }
+            });
+        }
+
+        return (T) await(flight, reportType);
+    }
+
+    /**
+     * Stop sharing the computations in flight for the matching periods, so
+     * callers arriving after a change start a fresh one instead of joining a
+     * computation that may have read the data before it. Callers already
+     * waiting still get the retired computation's result.
+     *
+     * @param period Tested with the start and end date of each computation
+     */
+    public void retire(BiPredicate<LocalDate, LocalDate> period) {
+        inFlight.keySet().removeIf(key -> period.test(key.startDate(), key.endDate()));
+    }
+
+    private Object await(CompletableFuture<Object> flight, String reportType) {
+        try {
+            return flight.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            throw new IllegalStateException("Timed out waiting for " + reportType + " report", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + reportType + " report", e);
+        } catch (CancellationException e) {
+            throw new IllegalStateException("Generation of " + reportType + " report was cancelled", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Failed to generate " + reportType + " report", e.getCause());
+        }
+    }
+
+    private record FlightKey(String reportType, LocalDate startDate, LocalDate endDate) {
+    }
+}
@@ -0,0 +1,205 @@
+package com.ayd.sie.reports.infrastructure.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Cache of generated report results keyed by report type and period.
+ * <p>
+ * A period that ended before today can no longer receive new deliveries, so
+ * its entry is kept until it is invalidated explicitly or pushed out by the
+ * size bound. A period that includes today is only kept for a short TTL and is
+ * also dropped whenever a guide changes. Hits, misses and evictions are
+ * published as {@code reports.cache.*} meters.
+ */
+@Component
+@Slf4j
+public class ReportResultCache {
+
+    private final Duration openPeriodTtl;
+    private final Map<CacheKey, Entry> entries;
+    // Computations in progress; the ones an invalidation matches are not cached
+    private final Set<Load> loads = new HashSet<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter expiredEvictions;
+    private final Counter sizeEvictions;
+    private final Counter invalidatedEvictions;
+
+    public ReportResultCache(MeterRegistry meterRegistry,
+            @Value("${app.reports.cache.open-period-ttl:PT2M}") Duration openPeriodTtl,
+            @Value("${app.reports.cache.max-entries:500}") int maxEntries) {
+        this.openPeriodTtl = openPeriodTtl;
+
+        this.hits = meterRegistry.counter("reports.cache.gets", "result", "hit");
+        this.misses = meterRegistry.counter("reports.cache.gets", "result", "miss");
+        this.expiredEvictions = meterRegistry.counter("reports.cache.evictions", "cause", "expired");
+        this.sizeEvictions = meterRegistry.counter("reports.cache.evictions", "cause", "size");
+        this.invalidatedEvictions = meterRegistry.counter("reports.cache.evictions", "cause", "invalidated");
+
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, Entry> eldest) {
+                if (size() > maxEntries) {
+                    sizeEvictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        Gauge.builder("reports.cache.size", this, ReportResultCache::size)
+                .description("Number of cached report results")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Return the cached result for the report and period, computing and caching
+     * it on a miss.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getOrCompute(String reportType, LocalDate startDate, LocalDate endDate, Supplier<T> loader) {
+        CacheKey key = new CacheKey(reportType, startDate, endDate);
+        Instant now = Instant.now();
+        Load load = new Load(key);
+
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (!entry.isExpired(now)) {
+                    hits.increment();
+                    return (T) entry.value;
+                }
+                entries.remove(key);
+                expiredEvictions.increment();
+            }
+            loads.add(load);
+        }
+
+        misses.increment();
+        log.debug("Report cache miss for {} {} - {}", reportType, startDate, endDate);
+        Instant expiresAt = isClosedPeriod(endDate) ? null : now.plus(openPeriodTtl);
+        T value = null;
+        boolean loaded = false;
+        try {
+            value = loader.get();
+            loaded = true;
+        } finally {
+            synchronized (entries) {
+                loads.remove(load);
+                if (loaded && !load.invalidated) {
+                    entries.put(key, new Entry(value, expiresAt));
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Drop every entry whose period includes today or any of the given dates.
+     */
+    public void invalidateOpenPeriods(LocalDate... affectedDates) {
+        LocalDate today = LocalDate.now();
+        int removed = removeIf(key -> isAffected(key.startDate, key.endDate, today, affectedDates));
+        if (removed > 0) {
+            log.debug("Invalidated {} report cache entries", removed);
+        }
+    }
+
+    public void invalidateAll() {
+        int removed = removeIf(key -> true);
+        log.info("Report cache cleared: {} entries", removed);
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Whether a change touching the given dates can alter the report of a
+     * period: the period includes today or any of the dates.
+     */
+    public static boolean isAffected(LocalDate startDate, LocalDate endDate, LocalDate today,
+            LocalDate... affectedDates) {
+        if (!endDate.isBefore(today)) {
+            return true;
+        }
+        for (LocalDate date : affectedDates) {
+            if (date != null && !date.isBefore(startDate) && !date.isAfter(endDate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isClosedPeriod(LocalDate endDate) {
+        return endDate.isBefore(LocalDate.now());
+    }
+
+    private int removeIf(Predicate<CacheKey> predicate) {
+        int removed = 0;
+        synchronized (entries) {
+            for (Load load : loads) {
+                if (predicate.test(load.key)) {
+                    load.invalidated = true;
+                }
+            }
+            Iterator<CacheKey> iterator = entries.keySet().iterator();
+            while (iterator.hasNext()) {
+                if (predicate.test(iterator.next())) {
+                    iterator.remove();
+                    removed++;
+                }
+            }
+        }
+        invalidatedEvictions.increment(removed);
+        return removed;
+    }
+
+    @AllArgsConstructor
+    private static final class Entry {
+        private final Object value;
+        private final Instant expiresAt;
+
+        boolean isExpired(Instant now) {
+            return expiresAt != null && !expiresAt.isAfter(now);
+        }
+    }
+
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static final class CacheKey {
+        private final String reportType;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+    }
+
+    private static final class Load {
+        private final CacheKey key;
+        private boolean invalidated;
+
+        Load(CacheKey key) {
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.ayd.sie.reports.infrastructure.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.temporal.TemporalAccessor;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Writes flat guide rows as CSV or newline-delimited JSON, one row at a time,
+ * so an export of any size only holds the current row in memory.
+ */
+@Component
+@RequiredArgsConstructor
+public class DeliveryRowWriter {
+
+    public static final List<String> COLUMNS = List.of(
+            "guide_id", "guide_number", "state", "business_id", "business_name", "branch_id",
+            "courier_id", "courier_first_name", "courier_last_name", "recipient_name", "recipient_address",
+            "recipient_city", "base_price", "courier_commission", "created_at", "assignment_date",
+            "assignment_accepted", "delivery_date", "cancellation_date");
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @return Number of rows written
+     */
+    public long writeCsv(Iterator<Object[]> rows, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 64 * 1024);
+
+        writer.write(String.join(",", COLUMNS));
+        writer.write("\r\n");
+
+        long count = 0;
+        while (rows.hasNext()) {
+            Object[] row = rows.next();
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(csvValue(row[i]));
+            }
+            writer.write("\r\n");
+            count++;
+        }
+
+        writer.flush();
+        return count;
+    }
+
+    /**
+     * @return Number of rows written
+     */
+    public long writeNdjson(Iterator<Object[]> rows, OutputStream outputStream) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        long count = 0;
+        while (rows.hasNext()) {
+            Object[] row = rows.next();
+            generator.writeStartObject();
+            for (int i = 0; i < row.length; i++) {
+                generator.writeFieldName(COLUMNS.get(i));
+                writeJsonValue(generator, row[i]);
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+            count++;
+        }
+
+        generator.flush();
+        return count;
+    }
+
+    private void writeJsonValue(JsonGenerator generator, Object value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof BigDecimal decimal) {
+            generator.writeNumber(decimal);
+        } else if (value instanceof Number number) {
+            generator.writeNumber(number.longValue());
+        } else if (value instanceof Boolean bool) {
+            generator.writeBoolean(bool);
+        } else {
+            generator.writeString(value.toString());
+        }
+    }
+
+    private String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof TemporalAccessor) {
+            return value.toString();
+        }
+
+        String text = value.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0
+                || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
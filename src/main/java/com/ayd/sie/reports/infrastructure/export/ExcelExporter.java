@@ -1,61 +1,231 @@
 package com.ayd.sie.reports.infrastructure.export;
 
+import com.ayd.sie.reports.application.dto.CommissionReportDto;
+import com.ayd.sie.reports.application.dto.DeliveryReportDto;
+import com.ayd.sie.reports.application.dto.DiscountReportDto;
+import com.ayd.sie.reports.application.dto.RankingReportDto;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
+import java.util.function.Function;
 
+/**
+ * XLSX writer backed by POI's streaming workbook. Only a fixed window of rows
+ * is kept in memory; older rows are flushed to a compressed temp file and the
+ * final workbook is written straight into the target stream.
+ */
 @Service
 @Slf4j
 public class ExcelExporter {
 
-    public byte[] exportToExcel(String sheetName, List<String> headers, List<Map<String, Object>> data)
+    @Value("${app.reports.excel.row-access-window:100}")
+    private int rowAccessWindow;
+
+    public void writeDeliveryReport(DeliveryReportDto report, OutputStream outputStream) throws IOException {
+        writeExcel("Delivery Report",
+                List.of("report_date", "period_start", "period_end", "completed_deliveries",
+                        "cancelled_deliveries", "rejected_deliveries", "total_deliveries", "completion_rate"),
+                List.of(report),
+                row -> new Object[] {
+                        row.getReportDate(),
+                        row.getPeriodStart(),
+                        row.getPeriodEnd(),
+                        row.getCompletedDeliveries(),
+                        row.getCancelledDeliveries(),
+                        row.getRejectedDeliveries(),
+                        row.getTotalDeliveries(),
+                        row.getCompletionRate() },
+                outputStream);
+    }
+
+    public void writeCommissionReport(List<CommissionReportDto> reports, OutputStream outputStream)
             throws IOException {
+        writeExcel("Commission Report",
+                List.of("courier_name", "courier_email", "total_deliveries", "completed_deliveries",
+                        "total_commission", "completion_rate"),
+                reports,
+                report -> new Object[] {
+                        report.getCourierName(),
+                        report.getCourierEmail(),
+                        report.getTotalDeliveries(),
+                        report.getCompletedDeliveries(),
+                        report.getTotalCommission(),
+                        report.getCompletionRate() },
+                outputStream);
+    }
+
+    public void writeRankingReport(String title, List<RankingReportDto> reports, OutputStream outputStream)
+            throws IOException {
+        writeExcel(title,
+                List.of("rank_position", "business_name", "business_email", "loyalty_level",
+                        "total_deliveries", "completed_deliveries", "cancelled_deliveries", "total_revenue",
+                        "completion_rate", "average_delivery_value"),
+                reports,
+                report -> new Object[] {
+                        report.getRankPosition(),
+                        report.getBusinessName(),
+                        report.getBusinessEmail(),
+                        report.getLoyaltyLevel(),
+                        report.getTotalDeliveries(),
+                        report.getCompletedDeliveries(),
+                        report.getCancelledDeliveries(),
+                        report.getTotalRevenue(),
+                        report.getCompletionRate(),
+                        report.getAverageDeliveryValue() },
+                outputStream);
+    }
+
+    public void writeDiscountReport(List<DiscountReportDto> reports, OutputStream outputStream)
+            throws IOException {
+        writeExcel("Discount Report",
+                List.of("business_name", "loyalty_level", "period_start", "period_end",
+                        "total_deliveries", "completed_deliveries", "cancelled_deliveries", "total_amount",
+                        "discount_percentage", "discount_amount", "final_amount"),
+                reports,
+                report -> new Object[] {
+                        report.getBusinessName(),
+                        report.getLoyaltyLevel(),
+                        report.getPeriodStart(),
+                        report.getPeriodEnd(),
+                        report.getTotalDeliveries(),
+                        report.getCompletedDeliveries(),
+                        report.getCancelledDeliveries(),
+                        report.getTotalAmount(),
+                        report.getDiscountPercentage(),
+                        report.getDiscountAmount(),
+                        report.getFinalAmount() },
+                outputStream);
+    }
+
+    /**
+     * Stream the given rows as an XLSX workbook into the output stream.
+     *
+     * @param sheetName    Sheet name
+     * @param headers      Column headers, in output order
+     * @param rows         Rows to write
+     * @param rowMapper    Maps a row to its cell values, in header order
+     * @param outputStream Destination stream, not closed by this method
+     * @throws IOException if the workbook cannot be written
+     */
+    public <T> void writeExcel(String sheetName, List<String> headers, Iterable<T> rows,
+            Function<T, Object[]> rowMapper, OutputStream outputStream) throws IOException {
         log.info("Exporting report to Excel: {}", sheetName);
 
+        SXSSFWorkbook workbook = new SXSSFWorkbook(rowAccessWindow);
+        workbook.setCompressTempFiles(true);
+
         try {
-            // For this implementation, we'll create a simple CSV-like content
-            // In a real application, you would use Apache POI library
-            String excelContent = createSimpleExcelContent(sheetName, headers, data);
+            SXSSFSheet sheet = workbook.createSheet(sanitizeSheetName(sheetName));
+            // Column widths are fixed up-front; auto-sizing would need every row in memory
+            for (int i = 0; i < headers.size(); i++) {
+                sheet.setColumnWidth(i, 20 * 256);
+            }
+
+            CellStyles styles = new CellStyles(workbook);
+            writeHeaderRow(sheet, headers, styles.header);
 
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            baos.write(excelContent.getBytes());
+            int rowIndex = 1;
+            for (T item : rows) {
+                Row row = sheet.createRow(rowIndex++);
+                Object[] values = rowMapper.apply(item);
+                for (int i = 0; i < values.length; i++) {
+                    writeCell(row.createCell(i), values[i], styles);
+                }
+            }
 
-            log.info("Excel export completed successfully");
-            return baos.toByteArray();
+            workbook.write(outputStream);
+            outputStream.flush();
+
+            log.info("Excel export completed successfully: {} rows", rowIndex - 1);
 
         } catch (Exception e) {
             log.error("Error exporting to Excel: {}", e.getMessage(), e);
             throw new IOException("Failed to export to Excel", e);
+        } finally {
+            // Removes the temp files backing the flushed rows
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    private void writeHeaderRow(Sheet sheet, List<String> headers, CellStyle headerStyle) {
+        Row headerRow = sheet.createRow(0);
+        for (int i = 0; i < headers.size(); i++) {
+            Cell cell = headerRow.createCell(i);
+            cell.setCellValue(headers.get(i));
+            cell.setCellStyle(headerStyle);
+        }
+    }
+
+    private void writeCell(Cell cell, Object value, CellStyles styles) {
+        if (value == null) {
+            cell.setBlank();
+        } else if (value instanceof BigDecimal decimal) {
+            cell.setCellValue(decimal.doubleValue());
+            cell.setCellStyle(styles.decimal);
+        } else if (value instanceof Double || value instanceof Float) {
+            cell.setCellValue(((Number) value).doubleValue());
+            cell.setCellStyle(styles.decimal);
+        } else if (value instanceof Number number) {
+            cell.setCellValue(number.doubleValue());
+        } else if (value instanceof Boolean bool) {
+            cell.setCellValue(bool);
+        } else if (value instanceof LocalDateTime dateTime) {
+            cell.setCellValue(dateTime);
+            cell.setCellStyle(styles.dateTime);
+        } else if (value instanceof LocalDate date) {
+            cell.setCellValue(date);
+            cell.setCellStyle(styles.date);
+        } else {
+            cell.setCellValue(value.toString());
         }
     }
 
-    private String createSimpleExcelContent(String sheetName, List<String> headers, List<Map<String, Object>> data) {
-        StringBuilder content = new StringBuilder();
+    private String sanitizeSheetName(String sheetName) {
+        // Excel sheet names are limited to 31 chars and cannot contain []:*?/\
+        String sanitized = sheetName.replaceAll("[\\[\\]:*?/\\\\]", " ");
+        return sanitized.length() > 31 ? sanitized.substring(0, 31) : sanitized;
+    }
 
-        // Add metadata
-        content.append("Sheet: ").append(sheetName).append("\\n");
-        content.append("Generated: ").append(LocalDateTime.now()).append("\\n");
-        content.append("\\n");
+    /**
+     * Styles are workbook-scoped, so they are created once per export instead of
+     * once per cell.
+     */
+    private static class CellStyles {
+        final CellStyle header;
+        final CellStyle decimal;
+        final CellStyle date;
+        final CellStyle dateTime;
 
-        // Add headers
-        content.append(String.join(",", headers)).append("\\n");
+        CellStyles(SXSSFWorkbook workbook) {
+            Font boldFont = workbook.createFont();
+            boldFont.setBold(true);
 
-        // Add data rows
-        for (Map<String, Object> row : data) {
-            List<String> values = headers.stream()
-                    .map(header -> {
-                        Object value = row.get(header);
-                        return value != null ? value.toString() : "";
-                    })
-                    .toList();
-            content.append(String.join(",", values)).append("\\n");
-        }
+            header = workbook.createCellStyle();
+            header.setFont(boldFont);
 
-        return content.toString();
+            decimal = workbook.createCellStyle();
+            decimal.setDataFormat(workbook.createDataFormat().getFormat("#,##0.00"));
+
+            date = workbook.createCellStyle();
+            date.setDataFormat(workbook.createDataFormat().getFormat("yyyy-mm-dd"));
+
+            dateTime = workbook.createCellStyle();
+            dateTime.setDataFormat(workbook.createDataFormat().getFormat("yyyy-mm-dd hh:mm:ss"));
+        }
     }
-}
\ No newline at end of file
+}
@@ -3,49 +3,164 @@ package com.ayd.sie.reports.infrastructure.export;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import javax.imageio.ImageIO;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.List;
 
+/**
+ * Renders report charts with headless Java2D and encodes them as PNG or JPEG.
+ * Charts carry no generation time, since the same rendered image is served
+ * from {@code ReportImageCache} for as long as its data does not change.
+ */
 @Service
 @Slf4j
 public class ImageExporter {
 
-    public byte[] exportToImage(String title, String content, String format) throws IOException {
-        log.info("Exporting report to image format: {} - {}", format, title);
+    private static final int WIDTH = 1200;
+    private static final int MIN_HEIGHT = 400;
+    private static final int BAR_HEIGHT = 26;
+    private static final int BAR_GAP = 10;
+    private static final int MARGIN = 40;
+    private static final int HEADER_HEIGHT = 90;
+    private static final int LABEL_WIDTH = 300;
+
+    private static final Color BACKGROUND = Color.WHITE;
+    private static final Color TEXT = new Color(33, 37, 41);
+    private static final Color MUTED_TEXT = new Color(108, 117, 125);
+    private static final Color GRID = new Color(222, 226, 230);
+    private static final Color[] PALETTE = {
+            new Color(52, 152, 219), new Color(46, 204, 113), new Color(231, 76, 60),
+            new Color(241, 196, 15), new Color(155, 89, 182), new Color(26, 188, 156) };
+
+    /**
+     * Render a horizontal bar chart, one bar per label.
+     *
+     * @param title      Chart title
+     * @param subtitle   Optional line printed under the title
+     * @param labels     Bar labels
+     * @param values     Bar values, same order as labels
+     * @param valueLabel Caption for the value axis
+     * @param format     Image format (png, jpg, jpeg)
+     * @return Encoded image
+     * @throws IOException if the image cannot be encoded
+     */
+    public byte[] renderBarChart(String title, String subtitle, List<String> labels, List<? extends Number> values,
+            String valueLabel, String format) throws IOException {
+        log.info("Rendering {} chart: {} ({} bars)", format, title, labels.size());
 
         try {
-            // For this implementation, we'll create a simple image representation
-            // In a real application, you would use libraries like Java BufferedImage,
-            // JFreeChart, or other image generation libraries
-            byte[] imageData = createSimpleImageData(title, content, format);
+            int chartTop = HEADER_HEIGHT + 20;
+            int height = Math.max(MIN_HEIGHT, chartTop + labels.size() * (BAR_HEIGHT + BAR_GAP) + MARGIN * 2);
+
+            BufferedImage image = new BufferedImage(WIDTH, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = createGraphics(image);
+            try {
+                drawHeader(g, title, subtitle);
+
+                double maxValue = values.stream().mapToDouble(Number::doubleValue).max().orElse(0);
+                int chartLeft = MARGIN + LABEL_WIDTH;
+                int chartWidth = WIDTH - chartLeft - MARGIN - 80;
+
+                drawValueAxis(g, chartLeft, chartTop, chartWidth,
+                        labels.size() * (BAR_HEIGHT + BAR_GAP), maxValue, valueLabel);
+
+                Font labelFont = new Font(Font.SANS_SERIF, Font.PLAIN, 13);
+                for (int i = 0; i < labels.size(); i++) {
+                    double value = values.get(i) != null ? values.get(i).doubleValue() : 0;
+                    int y = chartTop + i * (BAR_HEIGHT + BAR_GAP);
+                    int barWidth = maxValue > 0 ? (int) Math.round(chartWidth * value / maxValue) : 0;
 
-            log.info("Image export completed successfully");
-            return imageData;
+                    g.setFont(labelFont);
+                    g.setColor(TEXT);
+                    g.drawString(truncate(g.getFontMetrics(), labels.get(i), LABEL_WIDTH - 10),
+                            MARGIN, y + BAR_HEIGHT - 8);
+
+                    g.setColor(PALETTE[i % PALETTE.length]);
+                    g.fillRect(chartLeft, y, Math.max(barWidth, 1), BAR_HEIGHT);
+
+                    g.setColor(TEXT);
+                    g.drawString(formatValue(value), chartLeft + barWidth + 6, y + BAR_HEIGHT - 8);
+                }
+            } finally {
+                g.dispose();
+            }
+
+            return encode(image, format);
 
         } catch (Exception e) {
-            log.error("Error exporting to image: {}", e.getMessage(), e);
+            log.error("Error rendering chart image: {}", e.getMessage(), e);
             throw new IOException("Failed to export to image", e);
         }
     }
 
-    private byte[] createSimpleImageData(String title, String content, String format) throws IOException {
-        // This is a simplified image content representation
-        // In a real implementation, you would generate proper image format (PNG, JPEG,
-        // etc.)
-        String imageContent = String.format("""
-                Image Format: %s
-                Title: %s
-                Generated: %s
+    private Graphics2D createGraphics(BufferedImage image) {
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setColor(BACKGROUND);
+        g.fillRect(0, 0, image.getWidth(), image.getHeight());
+        return g;
+    }
+
+    private void drawHeader(Graphics2D g, String title, String subtitle) {
+        g.setColor(TEXT);
+        g.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 22));
+        g.drawString(title, MARGIN, 45);
+
+        if (subtitle != null) {
+            g.setColor(MUTED_TEXT);
+            g.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 13));
+            g.drawString(subtitle, MARGIN, 70);
+        }
+    }
+
+    private void drawValueAxis(Graphics2D g, int left, int top, int width, int height, double maxValue,
+            String valueLabel) {
+        g.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 11));
+        g.setStroke(new BasicStroke(1f));
+        for (int step = 0; step <= 4; step++) {
+            int x = left + width * step / 4;
+            g.setColor(GRID);
+            g.drawLine(x, top - 5, x, top + height);
+            g.setColor(MUTED_TEXT);
+            g.drawString(formatValue(maxValue * step / 4), x - 10, top + height + 15);
+        }
+        g.drawString(valueLabel, left, top - 10);
+    }
+
+    private String truncate(FontMetrics metrics, String text, int maxWidth) {
+        if (text == null) {
+            return "";
+        }
+        if (metrics.stringWidth(text) <= maxWidth) {
+            return text;
+        }
+        String truncated = text;
+        while (!truncated.isEmpty() && metrics.stringWidth(truncated + "...") > maxWidth) {
+            truncated = truncated.substring(0, truncated.length() - 1);
+        }
+        return truncated + "...";
+    }
 
-                Content Preview:
-                %s
+    private String formatValue(double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.format("%.2f", value);
+    }
 
-                [This would be an actual image in a real implementation]
-                """, format.toUpperCase(), title, java.time.LocalDateTime.now(),
-                content.length() > 200 ? content.substring(0, 200) + "..." : content);
+    private byte[] encode(BufferedImage image, String format) throws IOException {
+        String formatName = format.equalsIgnoreCase("jpeg") ? "jpg" : format.toLowerCase();
 
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        baos.write(imageContent.getBytes());
+        if (!ImageIO.write(image, formatName, baos)) {
+            throw new IOException("Unsupported image format: " + format);
+        }
         return baos.toByteArray();
     }
-}
\ No newline at end of file
+}
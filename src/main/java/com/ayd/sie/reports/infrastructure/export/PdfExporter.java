@@ -1,49 +1,255 @@
 package com.ayd.sie.reports.infrastructure.export;
 
+import com.ayd.sie.reports.application.dto.CommissionReportDto;
+import com.ayd.sie.reports.application.dto.DeliveryReportDto;
+import com.ayd.sie.reports.application.dto.DiscountReportDto;
+import com.ayd.sie.reports.application.dto.RankingReportDto;
+import com.itextpdf.text.BaseColor;
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Element;
+import com.itextpdf.text.Font;
+import com.itextpdf.text.FontFactory;
+import com.itextpdf.text.PageSize;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.Phrase;
+import com.itextpdf.text.Rectangle;
+import com.itextpdf.text.pdf.ColumnText;
+import com.itextpdf.text.pdf.PdfPCell;
+import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfPageEventHelper;
+import com.itextpdf.text.pdf.PdfWriter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.function.Function;
 
+/**
+ * Table based PDF renderer backed by iText. Table rows are handed to the
+ * document in small chunks so completed rows are laid out and released, and
+ * the writer is flushed every time a page is finished, so the document is
+ * never held in memory as a whole.
+ */
 @Service
 @Slf4j
 public class PdfExporter {
 
-    public byte[] exportToPdf(String title, String content) throws IOException {
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final Font TITLE_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 14);
+    private static final Font SUBTITLE_FONT = FontFactory.getFont(FontFactory.HELVETICA, 9, BaseColor.DARK_GRAY);
+    private static final Font HEADER_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 8, BaseColor.WHITE);
+    private static final Font CELL_FONT = FontFactory.getFont(FontFactory.HELVETICA, 8);
+    private static final Font FOOTER_FONT = FontFactory.getFont(FontFactory.HELVETICA, 7, BaseColor.GRAY);
+    private static final BaseColor HEADER_BACKGROUND = new BaseColor(52, 73, 94);
+
+    @Value("${app.reports.pdf.rows-per-chunk:200}")
+    private int rowsPerChunk;
+
+    public void writeDeliveryReport(DeliveryReportDto report, OutputStream outputStream) throws IOException {
+        List<Object[]> rows = List.of(
+                new Object[] { "Completed deliveries", report.getCompletedDeliveries() },
+                new Object[] { "Cancelled deliveries", report.getCancelledDeliveries() },
+                new Object[] { "Rejected deliveries", report.getRejectedDeliveries() },
+                new Object[] { "Total deliveries", report.getTotalDeliveries() },
+                new Object[] { "Completion rate (%)", report.getCompletionRate() },
+                new Object[] { "Cancellation rate (%)", report.getCancellationRate() },
+                new Object[] { "Rejection rate (%)", report.getRejectionRate() });
+
+        writePdf("Delivery Report", period(report.getPeriodStart(), report.getPeriodEnd()),
+                List.of("Metric", "Value"), rows, Function.identity(), outputStream);
+    }
+
+    public void writeCommissionReport(List<CommissionReportDto> reports, LocalDate startDate, LocalDate endDate,
+            OutputStream outputStream) throws IOException {
+        writePdf("Commission Report", period(startDate, endDate),
+                List.of("Courier", "Email", "Total", "Completed", "Cancelled", "Commission",
+                        "Avg. commission", "Completion rate (%)"),
+                reports,
+                report -> new Object[] {
+                        report.getCourierName(),
+                        report.getCourierEmail(),
+                        report.getTotalDeliveries(),
+                        report.getCompletedDeliveries(),
+                        report.getCancelledDeliveries(),
+                        report.getTotalCommission(),
+                        report.getAverageCommissionPerDelivery(),
+                        report.getCompletionRate() },
+                outputStream);
+    }
+
+    public void writeRankingReport(String title, List<RankingReportDto> reports, LocalDate startDate,
+            LocalDate endDate, OutputStream outputStream) throws IOException {
+        writePdf(title, period(startDate, endDate),
+                List.of("#", "Business", "Email", "Level", "Total", "Completed", "Cancelled", "Revenue",
+                        "Completion rate (%)", "Avg. value"),
+                reports,
+                report -> new Object[] {
+                        report.getRankPosition(),
+                        report.getBusinessName(),
+                        report.getBusinessEmail(),
+                        report.getLoyaltyLevel(),
+                        report.getTotalDeliveries(),
+                        report.getCompletedDeliveries(),
+                        report.getCancelledDeliveries(),
+                        report.getTotalRevenue(),
+                        report.getCompletionRate(),
+                        report.getAverageDeliveryValue() },
+                outputStream);
+    }
+
+    public void writeDiscountReport(List<DiscountReportDto> reports, LocalDate startDate, LocalDate endDate,
+            OutputStream outputStream) throws IOException {
+        writePdf("Discount Report", period(startDate, endDate),
+                List.of("Business", "Level", "Period start", "Period end", "Deliveries", "Total amount",
+                        "Discount (%)", "Discount", "Final amount"),
+                reports,
+                report -> new Object[] {
+                        report.getBusinessName(),
+                        report.getLoyaltyLevel(),
+                        report.getPeriodStart(),
+                        report.getPeriodEnd(),
+                        report.getTotalDeliveries(),
+                        report.getTotalAmount(),
+                        report.getDiscountPercentage(),
+                        report.getDiscountAmount(),
+                        report.getFinalAmount() },
+                outputStream);
+    }
+
+    /**
+     * Render the given rows as a single table document into the output stream.
+     *
+     * @param title        Document title
+     * @param subtitle     Optional line printed under the title
+     * @param headers      Column headers, repeated on every page
+     * @param rows         Rows to render
+     * @param rowMapper    Maps a row to its cell values, in header order
+     * @param outputStream Destination stream, not closed by this method
+     * @throws IOException if the document cannot be written
+     */
+    public <T> void writePdf(String title, String subtitle, List<String> headers, Iterable<T> rows,
+            Function<T, Object[]> rowMapper, OutputStream outputStream) throws IOException {
         log.info("Exporting report to PDF: {}", title);
 
+        Rectangle pageSize = headers.size() > 6 ? PageSize.A4.rotate() : PageSize.A4;
+        Document document = new Document(pageSize, 36, 36, 54, 36);
+
         try {
-            // For this implementation, we'll create a simple PDF content
-            // In a real application, you would use a library like iText or Flying Saucer
-            String pdfContent = createSimplePdfContent(title, content);
+            PdfWriter writer = PdfWriter.getInstance(document, outputStream);
+            writer.setCloseStream(false);
+            writer.setPageEvent(new PageFooter());
+            document.addTitle(title);
+            document.open();
+
+            addTitle(document, title, subtitle);
+
+            PdfPTable table = new PdfPTable(headers.size());
+            table.setWidthPercentage(100);
+            table.setHeaderRows(1);
+            // Incomplete tables are laid out and released every time they are added
+            table.setComplete(false);
+
+            for (String header : headers) {
+                PdfPCell cell = new PdfPCell(new Phrase(header, HEADER_FONT));
+                cell.setBackgroundColor(HEADER_BACKGROUND);
+                cell.setPadding(4);
+                table.addCell(cell);
+            }
 
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            baos.write(pdfContent.getBytes());
+            int rowCount = 0;
+            for (T item : rows) {
+                for (Object value : rowMapper.apply(item)) {
+                    table.addCell(createCell(value));
+                }
+                if (++rowCount % rowsPerChunk == 0) {
+                    document.add(table);
+                }
+            }
 
-            log.info("PDF export completed successfully");
-            return baos.toByteArray();
+            table.setComplete(true);
+            document.add(table);
+            document.close();
+            outputStream.flush();
 
-        } catch (Exception e) {
+            log.info("PDF export completed successfully: {} rows", rowCount);
+
+        } catch (DocumentException e) {
             log.error("Error exporting to PDF: {}", e.getMessage(), e);
             throw new IOException("Failed to export to PDF", e);
         }
     }
 
-    private String createSimplePdfContent(String title, String content) {
-        // This is a simplified PDF content representation
-        // In a real implementation, you would generate proper PDF format
-        return String.format("""
-                %%PDF-1.4
-                %%%%PDF Document
+    private void addTitle(Document document, String title, String subtitle) throws DocumentException {
+        Paragraph titleParagraph = new Paragraph(title, TITLE_FONT);
+        titleParagraph.setSpacingAfter(4);
+        document.add(titleParagraph);
+
+        Paragraph generated = new Paragraph(
+                (subtitle != null ? subtitle + " - " : "") + "Generated: "
+                        + LocalDateTime.now().format(DATE_TIME_FORMAT),
+                SUBTITLE_FONT);
+        generated.setSpacingAfter(12);
+        document.add(generated);
+    }
+
+    private PdfPCell createCell(Object value) {
+        PdfPCell cell = new PdfPCell(new Phrase(formatValue(value), CELL_FONT));
+        cell.setPadding(3);
+        if (value instanceof Number) {
+            cell.setHorizontalAlignment(Element.ALIGN_RIGHT);
+        }
+        return cell;
+    }
+
+    private String formatValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.setScale(2, RoundingMode.HALF_UP).toPlainString();
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return String.format("%.2f", ((Number) value).doubleValue());
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return dateTime.format(DATE_TIME_FORMAT);
+        }
+        return value.toString();
+    }
+
+    private String period(LocalDate startDate, LocalDate endDate) {
+        return "Period: " + startDate + " to " + endDate;
+    }
 
-                Title: %s
-                Generated: %s
+    /**
+     * Prints the page number on every page and flushes the writer once the
+     * previous page has been written out, so the client starts receiving bytes
+     * while later pages are still being laid out.
+     */
+    private static class PageFooter extends PdfPageEventHelper {
 
-                Content:
-                %s
+        @Override
+        public void onStartPage(PdfWriter writer, Document document) {
+            if (writer.getPageNumber() > 1) {
+                writer.flush();
+            }
+        }
 
-                End of Document
-                """, title, java.time.LocalDateTime.now(), content);
+        @Override
+        public void onEndPage(PdfWriter writer, Document document) {
+            ColumnText.showTextAligned(writer.getDirectContent(), Element.ALIGN_RIGHT,
+                    new Phrase("Page " + writer.getPageNumber(), FOOTER_FONT),
+                    document.right(), document.bottom() - 18, 0);
+        }
     }
-}
\ No newline at end of file
+}
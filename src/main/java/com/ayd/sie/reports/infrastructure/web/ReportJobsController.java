@@ -0,0 +1,93 @@
+package com.ayd.sie.reports.infrastructure.web;
+
+import com.ayd.sie.reports.application.dto.ReportJobDto;
+import com.ayd.sie.reports.application.dto.ReportJobRequestDto;
+import com.ayd.sie.reports.application.services.ReportJobService;
+import com.ayd.sie.shared.infrastructure.security.SecurityUtils;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.List;
+
+@RestController
+@RequestMapping("/reports/jobs")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Report Jobs", description = "Background report generation with downloadable artifacts")
+public class ReportJobsController {
+
+    private final ReportJobService reportJobService;
+
+    @PostMapping
+    @Operation(summary = "Queue report job", description = "Queue a report export to be generated in the background")
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Report job queued"),
+            @ApiResponse(responseCode = "400", description = "Invalid request or too many jobs in progress"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<ReportJobDto> submitJob(@Valid @RequestBody ReportJobRequestDto request) {
+
+        Integer userId = SecurityUtils.getCurrentUserId();
+        ReportJobDto job = reportJobService.submit(request, userId);
+
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{jobId}")
+                .buildAndExpand(job.getJobId())
+                .toUri();
+
+        return ResponseEntity.accepted().location(location).body(job);
+    }
+
+    @GetMapping
+    @Operation(summary = "List report jobs", description = "List the current user's report jobs, newest first")
+    @ApiResponse(responseCode = "200", description = "Report jobs retrieved")
+    public ResponseEntity<List<ReportJobDto>> getJobs() {
+        return ResponseEntity.ok(reportJobService.getJobs(SecurityUtils.getCurrentUserId()));
+    }
+
+    @GetMapping("/{jobId}")
+    @Operation(summary = "Get report job status", description = "Get the status of one of the current user's report jobs")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Report job retrieved"),
+            @ApiResponse(responseCode = "404", description = "Report job not found")
+    })
+    public ResponseEntity<ReportJobDto> getJob(
+            @Parameter(description = "Job ID", required = true) @PathVariable String jobId) {
+        return ResponseEntity.ok(reportJobService.getJob(jobId, SecurityUtils.getCurrentUserId()));
+    }
+
+    @GetMapping("/{jobId}/download")
+    @Operation(summary = "Download report artifact", description = "Download the file produced by a completed report job")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Report artifact downloaded"),
+            @ApiResponse(responseCode = "400", description = "Report job has not completed"),
+            @ApiResponse(responseCode = "404", description = "Report job not found or artifact expired")
+    })
+    public ResponseEntity<Resource> downloadArtifact(
+            @Parameter(description = "Job ID", required = true) @PathVariable String jobId) {
+
+        Integer userId = SecurityUtils.getCurrentUserId();
+        Path artifact = reportJobService.getArtifact(jobId, userId);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=" + reportJobService.getFileName(jobId, userId))
+                .contentType(MediaType.parseMediaType(reportJobService.getContentType(jobId, userId)))
+                .body(new FileSystemResource(artifact));
+    }
+}
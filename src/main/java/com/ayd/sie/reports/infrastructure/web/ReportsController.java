@@ -1,12 +1,12 @@
 package com.ayd.sie.reports.infrastructure.web;
 
 import com.ayd.sie.reports.application.dto.*;
-import com.ayd.sie.reports.application.services.ReportGeneratorService;
+import com.ayd.sie.reports.application.services.DeliveryRollupService;
+import com.ayd.sie.reports.application.services.DeliveryRowExportService;
+import com.ayd.sie.reports.application.services.ReportQueryService;
 import com.ayd.sie.reports.application.services.ReportExportService;
 import com.ayd.sie.reports.infrastructure.export.PdfExporter;
 import com.ayd.sie.reports.infrastructure.export.ExcelExporter;
-import com.ayd.sie.reports.infrastructure.export.ImageExporter;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -18,10 +18,11 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -32,12 +33,12 @@ import java.util.Map;
 @Tag(name = "Reports", description = "Report generation endpoints for administrators and coordinators")
 public class ReportsController {
 
-    private final ReportGeneratorService reportGeneratorService;
+    private final ReportQueryService reportQueryService;
     private final ReportExportService reportExportService;
     private final PdfExporter pdfExporter;
     private final ExcelExporter excelExporter;
-    private final ImageExporter imageExporter;
-    private final ObjectMapper objectMapper;
+    private final DeliveryRollupService deliveryRollupService;
+    private final DeliveryRowExportService deliveryRowExportService;
 
     @GetMapping("/deliveries")
     @Operation(summary = "Generate delivery status report", description = "Generate report showing completed, cancelled and rejected deliveries for a specific period")
@@ -58,7 +59,7 @@ public class ReportsController {
                 return ResponseEntity.badRequest().build();
             }
 
-            DeliveryReportDto report = reportGeneratorService.generateDeliveryReport(startDate, endDate);
+            DeliveryReportDto report = reportQueryService.generateDeliveryReport(startDate, endDate);
             return ResponseEntity.ok(report);
         } catch (Exception e) {
             log.error("Error generating delivery report: {}", e.getMessage(), e);
@@ -85,7 +86,7 @@ public class ReportsController {
                 return ResponseEntity.badRequest().build();
             }
 
-            List<CommissionReportDto> reports = reportGeneratorService.generateCommissionReport(startDate, endDate);
+            List<CommissionReportDto> reports = reportQueryService.generateCommissionReport(startDate, endDate);
             return ResponseEntity.ok(reports);
         } catch (Exception e) {
             log.error("Error generating commission report: {}", e.getMessage(), e);
@@ -112,7 +113,7 @@ public class ReportsController {
                 return ResponseEntity.badRequest().build();
             }
 
-            List<DiscountReportDto> reports = reportGeneratorService.generateDiscountReport(startDate, endDate);
+            List<DiscountReportDto> reports = reportQueryService.generateDiscountReport(startDate, endDate);
             return ResponseEntity.ok(reports);
         } catch (Exception e) {
             log.error("Error generating discount report: {}", e.getMessage(), e);
@@ -121,25 +122,29 @@ public class ReportsController {
     }
 
     @GetMapping("/business-ranking")
-    @Operation(summary = "Generate business ranking report", description = "Generate ranking report of businesses by monthly volume")
+    @Operation(summary = "Generate business ranking report", description = "Generate ranking report of businesses by monthly volume. With a limit only that slice of the ranking is returned, with tie-aware positions")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Business ranking report generated successfully"),
-            @ApiResponse(responseCode = "400", description = "Invalid date parameters"),
+            @ApiResponse(responseCode = "400", description = "Invalid date or paging parameters"),
             @ApiResponse(responseCode = "403", description = "Access denied"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<List<RankingReportDto>> generateBusinessRankingReport(
             @Parameter(description = "Start date for the report", example = "2025-01-01", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @Parameter(description = "End date for the report", example = "2025-01-31", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @Parameter(description = "End date for the report", example = "2025-01-31", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @Parameter(description = "Number of ranked businesses to return", example = "10") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Number of ranked businesses to skip", example = "0") @RequestParam(defaultValue = "0") int offset) {
 
         log.info("Generating business ranking report for period: {} to {}", startDate, endDate);
 
         try {
-            if (startDate.isAfter(endDate)) {
+            if (startDate.isAfter(endDate) || (limit != null && limit < 1) || offset < 0) {
                 return ResponseEntity.badRequest().build();
             }
 
-            List<RankingReportDto> reports = reportGeneratorService.generateBusinessRankingReport(startDate, endDate);
+            List<RankingReportDto> reports = limit != null
+                    ? reportQueryService.generateBusinessRankingSlice(startDate, endDate, limit, offset)
+                    : reportQueryService.generateBusinessRankingReport(startDate, endDate);
             return ResponseEntity.ok(reports);
         } catch (Exception e) {
             log.error("Error generating business ranking report: {}", e.getMessage(), e);
@@ -166,7 +171,7 @@ public class ReportsController {
                 return ResponseEntity.badRequest().build();
             }
 
-            List<RankingReportDto> reports = reportGeneratorService.generateCancellationsByBusinessReport(startDate,
+            List<RankingReportDto> reports = reportQueryService.generateCancellationsByBusinessReport(startDate,
                     endDate);
             return ResponseEntity.ok(reports);
         } catch (Exception e) {
@@ -175,23 +180,49 @@ public class ReportsController {
         }
     }
 
+    @GetMapping("/deliveries/rows")
+    @Operation(summary = "Export delivery rows", description = "Stream every guide matching the delivery history filters as CSV or NDJSON")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Delivery rows streamed successfully"),
+            @ApiResponse(responseCode = "400", description = "Unsupported format"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<StreamingResponseBody> exportDeliveryRows(
+            @Parameter(description = "Output format: csv or ndjson") @RequestParam(defaultValue = "csv") String format,
+            @Parameter(description = "Filter by status") @RequestParam(required = false) String status,
+            @Parameter(description = "Search term") @RequestParam(required = false) String search,
+            @Parameter(description = "Start date (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "End date (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        if (!deliveryRowExportService.isSupportedFormat(format)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        log.info("Streaming delivery rows as {} - status: {}, search: {}, period: {} to {}",
+                format, status, search, startDate, endDate);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(deliveryRowExportService.getContentType(format)));
+        headers.setContentDispositionFormData("attachment", "delivery-rows." + format.toLowerCase());
+
+        StreamingResponseBody body = outputStream -> deliveryRowExportService.writeRows(
+                status, search, startDate, endDate, format, outputStream);
+
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+
     // Export endpoints
     @GetMapping("/deliveries/export/pdf")
     @Operation(summary = "Export delivery report to PDF", description = "Export delivery status report to PDF format")
-    public ResponseEntity<byte[]> exportDeliveryReportToPdf(
+    public ResponseEntity<StreamingResponseBody> exportDeliveryReportToPdf(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
 
         try {
-            DeliveryReportDto report = reportGeneratorService.generateDeliveryReport(startDate, endDate);
-            String content = objectMapper.writeValueAsString(report);
-            byte[] pdfData = pdfExporter.exportToPdf("Delivery Report", content);
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_PDF);
-            headers.setContentDispositionFormData("attachment", "delivery-report.pdf");
+            DeliveryReportDto report = reportQueryService.generateDeliveryReport(startDate, endDate);
 
-            return ResponseEntity.ok().headers(headers).body(pdfData);
+            return pdfResponse("delivery-report",
+                    outputStream -> pdfExporter.writeDeliveryReport(report, outputStream));
         } catch (Exception e) {
             log.error("Error exporting delivery report to PDF: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
@@ -200,33 +231,15 @@ public class ReportsController {
 
     @GetMapping("/deliveries/export/excel")
     @Operation(summary = "Export delivery report to Excel", description = "Export delivery status report to Excel format")
-    public ResponseEntity<byte[]> exportDeliveryReportToExcel(
+    public ResponseEntity<StreamingResponseBody> exportDeliveryReportToExcel(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
 
         try {
-            DeliveryReportDto report = reportGeneratorService.generateDeliveryReport(startDate, endDate);
-
-            List<String> headers = List.of("report_date", "period_start", "period_end", "completed_deliveries",
-                    "cancelled_deliveries", "rejected_deliveries", "total_deliveries", "completion_rate");
-
-            List<Map<String, Object>> data = List.of(Map.of(
-                    "report_date", report.getReportDate(),
-                    "period_start", report.getPeriodStart(),
-                    "period_end", report.getPeriodEnd(),
-                    "completed_deliveries", report.getCompletedDeliveries(),
-                    "cancelled_deliveries", report.getCancelledDeliveries(),
-                    "rejected_deliveries", report.getRejectedDeliveries(),
-                    "total_deliveries", report.getTotalDeliveries(),
-                    "completion_rate", report.getCompletionRate()));
-
-            byte[] excelData = excelExporter.exportToExcel("Delivery Report", headers, data);
-
-            HttpHeaders httpHeaders = new HttpHeaders();
-            httpHeaders.setContentType(MediaType.APPLICATION_OCTET_STREAM);
-            httpHeaders.setContentDispositionFormData("attachment", "delivery-report.xlsx");
+            DeliveryReportDto report = reportQueryService.generateDeliveryReport(startDate, endDate);
 
-            return ResponseEntity.ok().headers(httpHeaders).body(excelData);
+            return excelResponse("delivery-report",
+                    outputStream -> excelExporter.writeDeliveryReport(report, outputStream));
         } catch (Exception e) {
             log.error("Error exporting delivery report to Excel: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
@@ -240,16 +253,14 @@ public class ReportsController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
             @RequestParam(defaultValue = "png") String format) {
 
-        try {
-            DeliveryReportDto report = reportGeneratorService.generateDeliveryReport(startDate, endDate);
-            String content = objectMapper.writeValueAsString(report);
-            byte[] imageData = imageExporter.exportToImage("Delivery Report", content, format);
+        if (!reportExportService.isSupportedImageFormat(format)) {
+            return ResponseEntity.badRequest().build();
+        }
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.IMAGE_PNG);
-            headers.setContentDispositionFormData("attachment", "delivery-report." + format);
+        try {
+            DeliveryReportDto report = reportQueryService.generateDeliveryReport(startDate, endDate);
 
-            return ResponseEntity.ok().headers(headers).body(imageData);
+            return imageResponse("delivery-report", format, reportExportService.exportDeliveryChart(report, format));
         } catch (Exception e) {
             log.error("Error exporting delivery report to image: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
@@ -258,20 +269,15 @@ public class ReportsController {
 
     @GetMapping("/commissions/export/pdf")
     @Operation(summary = "Export commission report to PDF", description = "Export commission report to PDF format")
-    public ResponseEntity<byte[]> exportCommissionReportToPdf(
+    public ResponseEntity<StreamingResponseBody> exportCommissionReportToPdf(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
 
         try {
-            List<CommissionReportDto> reports = reportGeneratorService.generateCommissionReport(startDate, endDate);
-            byte[] pdfData = reportExportService.exportToPdf("Commission Report", reports);
+            List<CommissionReportDto> reports = reportQueryService.generateCommissionReport(startDate, endDate);
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.valueOf(reportExportService.getContentType("pdf")));
-            headers.setContentDispositionFormData("attachment",
-                    reportExportService.getExportFilename("commission-report", "pdf"));
-
-            return ResponseEntity.ok().headers(headers).body(pdfData);
+            return pdfResponse("commission-report",
+                    outputStream -> pdfExporter.writeCommissionReport(reports, startDate, endDate, outputStream));
         } catch (Exception e) {
             log.error("Error exporting commission report to PDF: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
@@ -280,36 +286,15 @@ public class ReportsController {
 
     @GetMapping("/commissions/export/excel")
     @Operation(summary = "Export commission report to Excel", description = "Export commission report to Excel format")
-    public ResponseEntity<byte[]> exportCommissionReportToExcel(
+    public ResponseEntity<StreamingResponseBody> exportCommissionReportToExcel(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
 
         try {
-            List<CommissionReportDto> reports = reportGeneratorService.generateCommissionReport(startDate, endDate);
-
-            List<String> headers = List.of("courier_name", "courier_email", "total_deliveries",
-                    "completed_deliveries", "total_commission", "completion_rate");
-
-            List<Map<String, Object>> data = reports.stream()
-                    .map(report -> {
-                        Map<String, Object> row = new HashMap<>();
-                        row.put("courier_name", report.getCourierName());
-                        row.put("courier_email", report.getCourierEmail());
-                        row.put("total_deliveries", report.getTotalDeliveries());
-                        row.put("completed_deliveries", report.getCompletedDeliveries());
-                        row.put("total_commission", report.getTotalCommission());
-                        row.put("completion_rate", report.getCompletionRate());
-                        return row;
-                    })
-                    .toList();
-
-            byte[] excelData = excelExporter.exportToExcel("Commission Report", headers, data);
-
-            HttpHeaders httpHeaders = new HttpHeaders();
-            httpHeaders.setContentType(MediaType.APPLICATION_OCTET_STREAM);
-            httpHeaders.setContentDispositionFormData("attachment", "commission-report.xlsx");
-
-            return ResponseEntity.ok().headers(httpHeaders).body(excelData);
+            List<CommissionReportDto> reports = reportQueryService.generateCommissionReport(startDate, endDate);
+
+            return excelResponse("commission-report",
+                    outputStream -> excelExporter.writeCommissionReport(reports, outputStream));
         } catch (Exception e) {
             log.error("Error exporting commission report to Excel: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
@@ -323,16 +308,15 @@ public class ReportsController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
             @RequestParam(defaultValue = "png") String format) {
 
-        try {
-            List<CommissionReportDto> reports = reportGeneratorService.generateCommissionReport(startDate, endDate);
-            byte[] imageData = reportExportService.exportToImage("Commission Report", reports, format);
+        if (!reportExportService.isSupportedImageFormat(format)) {
+            return ResponseEntity.badRequest().build();
+        }
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.valueOf(reportExportService.getContentType(format)));
-            headers.setContentDispositionFormData("attachment",
-                    reportExportService.getExportFilename("commission-report", format));
+        try {
+            List<CommissionReportDto> reports = reportQueryService.generateCommissionReport(startDate, endDate);
 
-            return ResponseEntity.ok().headers(headers).body(imageData);
+            return imageResponse("commission-report", format,
+                    reportExportService.exportCommissionChart(reports, startDate, endDate, format));
         } catch (Exception e) {
             log.error("Error exporting commission report to image: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
@@ -341,20 +325,16 @@ public class ReportsController {
 
     @GetMapping("/business-ranking/export/pdf")
     @Operation(summary = "Export business ranking report to PDF", description = "Export business ranking report to PDF format")
-    public ResponseEntity<byte[]> exportBusinessRankingReportToPdf(
+    public ResponseEntity<StreamingResponseBody> exportBusinessRankingReportToPdf(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
 
         try {
-            List<RankingReportDto> reports = reportGeneratorService.generateBusinessRankingReport(startDate, endDate);
-            byte[] pdfData = reportExportService.exportToPdf("Business Ranking Report", reports);
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.valueOf(reportExportService.getContentType("pdf")));
-            headers.setContentDispositionFormData("attachment",
-                    reportExportService.getExportFilename("business-ranking-report", "pdf"));
+            List<RankingReportDto> reports = reportQueryService.generateBusinessRankingReport(startDate, endDate);
 
-            return ResponseEntity.ok().headers(headers).body(pdfData);
+            return pdfResponse("business-ranking-report",
+                    outputStream -> pdfExporter.writeRankingReport("Business Ranking Report", reports,
+                            startDate, endDate, outputStream));
         } catch (Exception e) {
             log.error("Error exporting business ranking report to PDF: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
@@ -363,42 +343,16 @@ public class ReportsController {
 
     @GetMapping("/business-ranking/export/excel")
     @Operation(summary = "Export business ranking report to Excel", description = "Export business ranking report to Excel format")
-    public ResponseEntity<byte[]> exportBusinessRankingReportToExcel(
+    public ResponseEntity<StreamingResponseBody> exportBusinessRankingReportToExcel(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
 
         try {
-            List<RankingReportDto> reports = reportGeneratorService.generateBusinessRankingReport(startDate, endDate);
-
-            List<String> headers = List.of("rank_position", "business_name", "business_email", "loyalty_level",
-                    "total_deliveries", "completed_deliveries", "cancelled_deliveries", "total_revenue",
-                    "completion_rate", "average_delivery_value");
-
-            List<Map<String, Object>> data = reports.stream()
-                    .map(report -> {
-                        Map<String, Object> row = new HashMap<>();
-                        row.put("rank_position", report.getRankPosition());
-                        row.put("business_name", report.getBusinessName());
-                        row.put("business_email", report.getBusinessEmail());
-                        row.put("loyalty_level", report.getLoyaltyLevel());
-                        row.put("total_deliveries", report.getTotalDeliveries());
-                        row.put("completed_deliveries", report.getCompletedDeliveries());
-                        row.put("cancelled_deliveries", report.getCancelledDeliveries());
-                        row.put("total_revenue", report.getTotalRevenue());
-                        row.put("completion_rate", report.getCompletionRate());
-                        row.put("average_delivery_value", report.getAverageDeliveryValue());
-                        return row;
-                    })
-                    .toList();
-
-            byte[] excelData = reportExportService.exportToExcel("Business Ranking Report", headers, data);
-
-            HttpHeaders httpHeaders = new HttpHeaders();
-            httpHeaders.setContentType(MediaType.valueOf(reportExportService.getContentType("excel")));
-            httpHeaders.setContentDispositionFormData("attachment",
-                    reportExportService.getExportFilename("business-ranking-report", "excel"));
-
-            return ResponseEntity.ok().headers(httpHeaders).body(excelData);
+            List<RankingReportDto> reports = reportQueryService.generateBusinessRankingReport(startDate, endDate);
+
+            return excelResponse("business-ranking-report",
+                    outputStream -> excelExporter.writeRankingReport("Business Ranking Report", reports,
+                            outputStream));
         } catch (Exception e) {
             log.error("Error exporting business ranking report to Excel: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
@@ -412,16 +366,15 @@ public class ReportsController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
             @RequestParam(defaultValue = "png") String format) {
 
-        try {
-            List<RankingReportDto> reports = reportGeneratorService.generateBusinessRankingReport(startDate, endDate);
-            String content = objectMapper.writeValueAsString(reports);
-            byte[] imageData = imageExporter.exportToImage("Business Ranking Report", content, format);
+        if (!reportExportService.isSupportedImageFormat(format)) {
+            return ResponseEntity.badRequest().build();
+        }
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.IMAGE_PNG);
-            headers.setContentDispositionFormData("attachment", "business-ranking." + format);
+        try {
+            List<RankingReportDto> reports = reportQueryService.generateBusinessRankingReport(startDate, endDate);
 
-            return ResponseEntity.ok().headers(headers).body(imageData);
+            return imageResponse("business-ranking", format,
+                    reportExportService.exportRankingChart(reports, startDate, endDate, format));
         } catch (Exception e) {
             log.error("Error exporting business ranking report to image: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
@@ -431,20 +384,15 @@ public class ReportsController {
     // Discount Report Export Endpoints
     @GetMapping("/discounts/export/pdf")
     @Operation(summary = "Export discount report to PDF", description = "Export discount report to PDF format")
-    public ResponseEntity<byte[]> exportDiscountReportToPdf(
+    public ResponseEntity<StreamingResponseBody> exportDiscountReportToPdf(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
 
         try {
-            List<DiscountReportDto> reports = reportGeneratorService.generateDiscountReport(startDate, endDate);
-            byte[] pdfData = reportExportService.exportToPdf("Discount Report", reports);
+            List<DiscountReportDto> reports = reportQueryService.generateDiscountReport(startDate, endDate);
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.valueOf(reportExportService.getContentType("pdf")));
-            headers.setContentDispositionFormData("attachment",
-                    reportExportService.getExportFilename("discount-report", "pdf"));
-
-            return ResponseEntity.ok().headers(headers).body(pdfData);
+            return pdfResponse("discount-report",
+                    outputStream -> pdfExporter.writeDiscountReport(reports, startDate, endDate, outputStream));
         } catch (Exception e) {
             log.error("Error exporting discount report to PDF: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
@@ -453,43 +401,15 @@ public class ReportsController {
 
     @GetMapping("/discounts/export/excel")
     @Operation(summary = "Export discount report to Excel", description = "Export discount report to Excel format")
-    public ResponseEntity<byte[]> exportDiscountReportToExcel(
+    public ResponseEntity<StreamingResponseBody> exportDiscountReportToExcel(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
 
         try {
-            List<DiscountReportDto> reports = reportGeneratorService.generateDiscountReport(startDate, endDate);
-
-            List<String> headers = List.of("business_name", "loyalty_level", "period_start", "period_end",
-                    "total_deliveries", "completed_deliveries", "cancelled_deliveries", "total_amount",
-                    "discount_percentage", "discount_amount", "final_amount");
-
-            List<Map<String, Object>> data = reports.stream()
-                    .map(report -> {
-                        Map<String, Object> row = new HashMap<>();
-                        row.put("business_name", report.getBusinessName());
-                        row.put("loyalty_level", report.getLoyaltyLevel());
-                        row.put("period_start", report.getPeriodStart());
-                        row.put("period_end", report.getPeriodEnd());
-                        row.put("total_deliveries", report.getTotalDeliveries());
-                        row.put("completed_deliveries", report.getCompletedDeliveries());
-                        row.put("cancelled_deliveries", report.getCancelledDeliveries());
-                        row.put("total_amount", report.getTotalAmount());
-                        row.put("discount_percentage", report.getDiscountPercentage());
-                        row.put("discount_amount", report.getDiscountAmount());
-                        row.put("final_amount", report.getFinalAmount());
-                        return row;
-                    })
-                    .toList();
-
-            byte[] excelData = reportExportService.exportToExcel("Discount Report", headers, data);
-
-            HttpHeaders httpHeaders = new HttpHeaders();
-            httpHeaders.setContentType(MediaType.valueOf(reportExportService.getContentType("excel")));
-            httpHeaders.setContentDispositionFormData("attachment",
-                    reportExportService.getExportFilename("discount-report", "excel"));
-
-            return ResponseEntity.ok().headers(httpHeaders).body(excelData);
+            List<DiscountReportDto> reports = reportQueryService.generateDiscountReport(startDate, endDate);
+
+            return excelResponse("discount-report",
+                    outputStream -> excelExporter.writeDiscountReport(reports, outputStream));
         } catch (Exception e) {
             log.error("Error exporting discount report to Excel: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
@@ -503,16 +423,15 @@ public class ReportsController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
             @RequestParam(defaultValue = "png") String format) {
 
-        try {
-            List<DiscountReportDto> reports = reportGeneratorService.generateDiscountReport(startDate, endDate);
-            byte[] imageData = reportExportService.exportToImage("Discount Report", reports, format);
+        if (!reportExportService.isSupportedImageFormat(format)) {
+            return ResponseEntity.badRequest().build();
+        }
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.valueOf(reportExportService.getContentType(format)));
-            headers.setContentDispositionFormData("attachment",
-                    reportExportService.getExportFilename("discount-report", format));
+        try {
+            List<DiscountReportDto> reports = reportQueryService.generateDiscountReport(startDate, endDate);
 
-            return ResponseEntity.ok().headers(headers).body(imageData);
+            return imageResponse("discount-report", format,
+                    reportExportService.exportDiscountChart(reports, startDate, endDate, format));
         } catch (Exception e) {
             log.error("Error exporting discount report to image: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
@@ -522,21 +441,17 @@ public class ReportsController {
     // Cancellations Report Export Endpoints
     @GetMapping("/cancellations/export/pdf")
     @Operation(summary = "Export cancellations report to PDF", description = "Export cancellations report to PDF format")
-    public ResponseEntity<byte[]> exportCancellationsReportToPdf(
+    public ResponseEntity<StreamingResponseBody> exportCancellationsReportToPdf(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
 
         try {
-            List<RankingReportDto> reports = reportGeneratorService.generateCancellationsByBusinessReport(startDate,
+            List<RankingReportDto> reports = reportQueryService.generateCancellationsByBusinessReport(startDate,
                     endDate);
-            byte[] pdfData = reportExportService.exportToPdf("Cancellations Report", reports);
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.valueOf(reportExportService.getContentType("pdf")));
-            headers.setContentDispositionFormData("attachment",
-                    reportExportService.getExportFilename("cancellations-report", "pdf"));
 
-            return ResponseEntity.ok().headers(headers).body(pdfData);
+            return pdfResponse("cancellations-report",
+                    outputStream -> pdfExporter.writeRankingReport("Cancellations Report", reports,
+                            startDate, endDate, outputStream));
         } catch (Exception e) {
             log.error("Error exporting cancellations report to PDF: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
@@ -545,43 +460,17 @@ public class ReportsController {
 
     @GetMapping("/cancellations/export/excel")
     @Operation(summary = "Export cancellations report to Excel", description = "Export cancellations report to Excel format")
-    public ResponseEntity<byte[]> exportCancellationsReportToExcel(
+    public ResponseEntity<StreamingResponseBody> exportCancellationsReportToExcel(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
 
         try {
-            List<RankingReportDto> reports = reportGeneratorService.generateCancellationsByBusinessReport(startDate,
+            List<RankingReportDto> reports = reportQueryService.generateCancellationsByBusinessReport(startDate,
                     endDate);
 
-            List<String> headers = List.of("rank_position", "business_name", "business_email", "loyalty_level",
-                    "total_deliveries", "completed_deliveries", "cancelled_deliveries", "total_revenue",
-                    "completion_rate", "average_delivery_value");
-
-            List<Map<String, Object>> data = reports.stream()
-                    .map(report -> {
-                        Map<String, Object> row = new HashMap<>();
-                        row.put("rank_position", report.getRankPosition());
-                        row.put("business_name", report.getBusinessName());
-                        row.put("business_email", report.getBusinessEmail());
-                        row.put("loyalty_level", report.getLoyaltyLevel());
-                        row.put("total_deliveries", report.getTotalDeliveries());
-                        row.put("completed_deliveries", report.getCompletedDeliveries());
-                        row.put("cancelled_deliveries", report.getCancelledDeliveries());
-                        row.put("total_revenue", report.getTotalRevenue());
-                        row.put("completion_rate", report.getCompletionRate());
-                        row.put("average_delivery_value", report.getAverageDeliveryValue());
-                        return row;
-                    })
-                    .toList();
-
-            byte[] excelData = reportExportService.exportToExcel("Cancellations Report", headers, data);
-
-            HttpHeaders httpHeaders = new HttpHeaders();
-            httpHeaders.setContentType(MediaType.valueOf(reportExportService.getContentType("excel")));
-            httpHeaders.setContentDispositionFormData("attachment",
-                    reportExportService.getExportFilename("cancellations-report", "excel"));
-
-            return ResponseEntity.ok().headers(httpHeaders).body(excelData);
+            return excelResponse("cancellations-report",
+                    outputStream -> excelExporter.writeRankingReport("Cancellations Report", reports,
+                            outputStream));
         } catch (Exception e) {
             log.error("Error exporting cancellations report to Excel: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
@@ -595,20 +484,85 @@ public class ReportsController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
             @RequestParam(defaultValue = "png") String format) {
 
+        if (!reportExportService.isSupportedImageFormat(format)) {
+            return ResponseEntity.badRequest().build();
+        }
+
         try {
-            List<RankingReportDto> reports = reportGeneratorService.generateCancellationsByBusinessReport(startDate,
+            List<RankingReportDto> reports = reportQueryService.generateCancellationsByBusinessReport(startDate,
                     endDate);
-            byte[] imageData = reportExportService.exportToImage("Cancellations Report", reports, format);
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.valueOf(reportExportService.getContentType(format)));
-            headers.setContentDispositionFormData("attachment",
-                    reportExportService.getExportFilename("cancellations-report", format));
 
-            return ResponseEntity.ok().headers(headers).body(imageData);
+            return imageResponse("cancellations-report", format,
+                    reportExportService.exportCancellationChart(reports, startDate, endDate, format));
         } catch (Exception e) {
             log.error("Error exporting cancellations report to image: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
         }
     }
-}
\ No newline at end of file
+
+    @PostMapping("/rollups/rebuild")
+    @PreAuthorize("hasRole('ADMINISTRADOR')")
+    @Operation(summary = "Rebuild report rollups", description = "Recompute the daily delivery rollups of a period from tracking guides, one day at a time")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Rollups rebuilt successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid period"),
+            @ApiResponse(responseCode = "403", description = "Access denied"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<Map<String, Object>> rebuildRollups(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        if (startDate.isAfter(endDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            int rows = deliveryRollupService.rebuild(startDate, endDate);
+            reportQueryService.invalidateAll();
+            return ResponseEntity.ok(Map.of("rollupRows", rows));
+        } catch (Exception e) {
+            log.error("Error rebuilding delivery rollups: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @DeleteMapping("/cache")
+    @PreAuthorize("hasRole('ADMINISTRADOR')")
+    @Operation(summary = "Clear report cache", description = "Drop every cached report result, including closed periods")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Report cache cleared"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<Void> clearReportCache() {
+        reportQueryService.invalidateAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    private ResponseEntity<StreamingResponseBody> pdfResponse(String reportName, StreamingResponseBody body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_PDF);
+        headers.setContentDispositionFormData("attachment",
+                reportExportService.getExportFilename(reportName, "pdf"));
+
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+
+    private ResponseEntity<byte[]> imageResponse(String reportName, String format, byte[] imageData) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.valueOf(reportExportService.getContentType(format)));
+        headers.setContentDispositionFormData("attachment",
+                reportExportService.getExportFilename(reportName, format));
+
+        return ResponseEntity.ok().headers(headers).body(imageData);
+    }
+
+    private ResponseEntity<StreamingResponseBody> excelResponse(String reportName, StreamingResponseBody body) {
+        HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.setContentType(MediaType.valueOf(reportExportService.getContentType("excel")));
+        httpHeaders.setContentDispositionFormData("attachment",
+                reportExportService.getExportFilename(reportName, "excel"));
+
+        return ResponseEntity.ok().headers(httpHeaders).body(body);
+    }
+}
@@ -0,0 +1,38 @@
+package com.ayd.sie.shared.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Page of a listing read with a cursor instead of a page number")
+public class CursorPageDto<T> {
+
+    @Schema(description = "Items of the page")
+    @JsonProperty("content")
+    private List<T> content;
+
+    @Schema(description = "Requested page size", example = "20")
+    @JsonProperty("size")
+    private Integer size;
+
+    @Schema(description = "Whether more items follow this page", example = "true")
+    @JsonProperty("has_next")
+    private Boolean hasNext;
+
+    @Schema(description = "Cursor to pass to get the next page, null on the last page")
+    @JsonProperty("next_cursor")
+    private String nextCursor;
+
+    @Schema(description = "Total items matching the filters, only when requested with withTotal", example = "1532")
+    @JsonProperty("total_elements")
+    private Long totalElements;
+}
@@ -0,0 +1,68 @@
+package com.ayd.sie.shared.domain.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Daily aggregate of tracking guides per state, business, courier and branch.
+ * Rows with basis CREATED are bucketed by the guide creation date; rows with
+ * basis CLOSED only hold guides in a final state and are bucketed by the
+ * delivery or cancellation date. A courier id of 0 means no courier assigned.
+ */
+@Entity
+@Table(name = "daily_delivery_rollups")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyDeliveryRollup {
+
+    public static final String BASIS_CREATED = "CREATED";
+    public static final String BASIS_CLOSED = "CLOSED";
+    public static final int NO_COURIER = 0;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "rollup_id")
+    private Long rollupId;
+
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    @Column(name = "date_basis", nullable = false, length = 10)
+    private String dateBasis;
+
+    @Column(name = "state_id", nullable = false)
+    private Integer stateId;
+
+    @Column(name = "business_id", nullable = false)
+    private Integer businessId;
+
+    @Column(name = "courier_id", nullable = false)
+    private Integer courierId;
+
+    @Column(name = "branch_id", nullable = false)
+    private Integer branchId;
+
+    @Column(name = "guide_count", nullable = false)
+    @Builder.Default
+    private Long guideCount = 0L;
+
+    @Column(name = "commission_total", nullable = false, precision = 14, scale = 2)
+    @Builder.Default
+    private BigDecimal commissionTotal = BigDecimal.ZERO;
+
+    @Column(name = "revenue_total", nullable = false, precision = 14, scale = 2)
+    @Builder.Default
+    private BigDecimal revenueTotal = BigDecimal.ZERO;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
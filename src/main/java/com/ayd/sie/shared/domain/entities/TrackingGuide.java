@@ -92,6 +92,13 @@ public class TrackingGuide {
     @Column(name = "cancellation_date")
     private LocalDateTime cancellationDate;
 
+    // Lease of a pending guide by a coordinator, written only by the claim queries
+    @Column(name = "claimed_by", insertable = false, updatable = false)
+    private Integer claimedById;
+
+    @Column(name = "claim_expires_at", insertable = false, updatable = false)
+    private LocalDateTime claimExpiresAt;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -100,8 +107,18 @@ public class TrackingGuide {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Checked and incremented by every update, concurrent writers fail instead
+    // of overwriting each other
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // Helper method
     public User getAssignedCourier() {
         return this.courier;
     }
+
+    public boolean isClaimActive(LocalDateTime now) {
+        return claimedById != null && claimExpiresAt != null && claimExpiresAt.isAfter(now);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.ayd.sie.shared.domain.events;
+
+import lombok.Getter;
+
+/**
+ * Published inside the use case transaction whenever a business is registered
+ * or its data is updated.
+ */
+@Getter
+public class BusinessChangedEvent {
+
+    private final Integer businessId;
+
+    public BusinessChangedEvent(Integer businessId) {
+        this.businessId = businessId;
+    }
+}
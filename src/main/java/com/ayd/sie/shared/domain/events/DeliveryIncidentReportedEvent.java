@@ -0,0 +1,33 @@
+package com.ayd.sie.shared.domain.events;
+
+import com.ayd.sie.shared.domain.entities.DeliveryIncident;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published inside the use case transaction whenever a new delivery incident
+ * is recorded.
+ */
+@Getter
+public class DeliveryIncidentReportedEvent {
+
+    private final Integer incidentId;
+    private final Integer guideId;
+    private final String guideNumber;
+    private final Integer incidentTypeId;
+    private final Integer reportedByUserId;
+    private final String reportedByName;
+    private final LocalDateTime createdAt;
+
+    public DeliveryIncidentReportedEvent(DeliveryIncident incident) {
+        this.incidentId = incident.getIncidentId();
+        this.guideId = incident.getGuide().getGuideId();
+        this.guideNumber = incident.getGuide().getGuideNumber();
+        this.incidentTypeId = incident.getIncidentTypeId();
+        this.reportedByUserId = incident.getReportedByUser().getUserId();
+        this.reportedByName = incident.getReportedByUser().getFirstName() + " "
+                + incident.getReportedByUser().getLastName();
+        this.createdAt = incident.getCreatedAt() != null ? incident.getCreatedAt() : LocalDateTime.now();
+    }
+}
@@ -0,0 +1,26 @@
+package com.ayd.sie.shared.domain.events;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Published inside the use case transaction when a coordinator claims pending
+ * guides or releases its claims.
+ */
+@Getter
+public class GuideClaimsChangedEvent {
+
+    // Null when every claim of the coordinator was released
+    private final List<Integer> guideIds;
+    private final Integer coordinatorId;
+    // Null when the claims were released
+    private final LocalDateTime expiresAt;
+
+    public GuideClaimsChangedEvent(List<Integer> guideIds, Integer coordinatorId, LocalDateTime expiresAt) {
+        this.guideIds = guideIds;
+        this.coordinatorId = coordinatorId;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,61 @@
+package com.ayd.sie.shared.domain.events;
+
+import com.ayd.sie.shared.domain.entities.TrackingGuide;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of the tracking guide fields that derived views (report
+ * rollups, counters, caches, the search index) are keyed on. Taken before and
+ * after a guide is modified so listeners can retract the old values and apply
+ * the new ones.
+ */
+@Value
+@Builder(toBuilder = true)
+public class GuideSnapshot {
+
+    Integer guideId;
+    String guideNumber;
+    Integer stateId;
+    String stateName;
+    Integer businessId;
+    Integer courierId;
+    Integer branchId;
+    BigDecimal basePrice;
+    BigDecimal courierCommission;
+    Boolean assignmentAccepted;
+    LocalDateTime createdAt;
+    LocalDateTime assignmentDate;
+    LocalDateTime deliveryDate;
+    LocalDateTime cancellationDate;
+    String recipientName;
+    String recipientAddress;
+
+    public static GuideSnapshot of(TrackingGuide guide) {
+        return GuideSnapshot.builder()
+                .guideId(guide.getGuideId())
+                .guideNumber(guide.getGuideNumber())
+                .stateId(guide.getCurrentState().getStateId())
+                .stateName(guide.getCurrentState().getStateName())
+                .businessId(guide.getBusiness().getBusinessId())
+                .courierId(guide.getCourier() != null ? guide.getCourier().getUserId() : null)
+                .branchId(guide.getOriginBranch().getBranchId())
+                .basePrice(guide.getBasePrice())
+                .courierCommission(guide.getCourierCommission())
+                .assignmentAccepted(guide.getAssignmentAccepted())
+                .createdAt(guide.getCreatedAt())
+                .assignmentDate(guide.getAssignmentDate())
+                .deliveryDate(guide.getDeliveryDate())
+                .cancellationDate(guide.getCancellationDate())
+                .recipientName(guide.getRecipientName())
+                .recipientAddress(guide.getRecipientAddress())
+                .build();
+    }
+
+    public boolean isFinalState() {
+        return "Entregada".equals(stateName) || "Cancelada".equals(stateName) || "Rechazada".equals(stateName);
+    }
+}
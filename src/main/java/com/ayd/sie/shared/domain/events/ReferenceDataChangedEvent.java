@@ -0,0 +1,18 @@
+package com.ayd.sie.shared.domain.events;
+
+import lombok.Getter;
+
+/**
+ * Published inside the use case transaction whenever a row of a reference
+ * table (roles, contract types, loyalty levels, ...) is created, updated,
+ * activated or deleted.
+ */
+@Getter
+public class ReferenceDataChangedEvent {
+
+    private final Class<?> entityType;
+
+    public ReferenceDataChangedEvent(Class<?> entityType) {
+        this.entityType = entityType;
+    }
+}
@@ -0,0 +1,36 @@
+package com.ayd.sie.shared.domain.events;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by every use case that creates or modifies a tracking guide, inside
+ * the use case transaction. {@code previous} is null when the guide was just
+ * created.
+ */
+@Getter
+public class TrackingGuideChangedEvent {
+
+    private final GuideSnapshot previous;
+    private final GuideSnapshot current;
+    private final LocalDateTime occurredAt;
+
+    public TrackingGuideChangedEvent(GuideSnapshot previous, GuideSnapshot current) {
+        this.previous = previous;
+        this.current = current;
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    public Integer getGuideId() {
+        return current.getGuideId();
+    }
+
+    public boolean isCreation() {
+        return previous == null;
+    }
+
+    public boolean isStateChange() {
+        return previous == null || !previous.getStateId().equals(current.getStateId());
+    }
+}
@@ -0,0 +1,266 @@
+package com.ayd.sie.shared.infrastructure.cache;
+
+import com.ayd.sie.shared.domain.entities.CancellationType;
+import com.ayd.sie.shared.domain.entities.ContractType;
+import com.ayd.sie.shared.domain.entities.EvidenceType;
+import com.ayd.sie.shared.domain.entities.IncidentType;
+import com.ayd.sie.shared.domain.entities.LoyaltyLevel;
+import com.ayd.sie.shared.domain.entities.NotificationType;
+import com.ayd.sie.shared.domain.entities.Role;
+import com.ayd.sie.shared.domain.entities.TrackingState;
+import com.ayd.sie.shared.domain.events.ReferenceDataChangedEvent;
+import com.ayd.sie.shared.infrastructure.persistence.CancellationTypeJpaRepository;
+import com.ayd.sie.shared.infrastructure.persistence.ContractTypeJpaRepository;
+import com.ayd.sie.shared.infrastructure.persistence.EvidenceTypeJpaRepository;
+import com.ayd.sie.shared.infrastructure.persistence.IncidentTypeJpaRepository;
+import com.ayd.sie.shared.infrastructure.persistence.LoyaltyLevelJpaRepository;
+import com.ayd.sie.shared.infrastructure.persistence.NotificationTypeJpaRepository;
+import com.ayd.sie.shared.infrastructure.persistence.RoleJpaRepository;
+import com.ayd.sie.shared.infrastructure.persistence.TrackingStateJpaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * In-memory copy of the small reference tables: tracking states, incident,
+ * evidence, cancellation, notification and contract types, roles and loyalty
+ * levels. Every table is loaded at startup into an immutable snapshot, so
+ * lookups by id or name never reach the database. Admin use cases publish a
+ * {@link ReferenceDataChangedEvent} and the affected table is reloaded once
+ * their transaction commits.
+ * <p>
+ * The returned entities are detached and shared by every caller. They can be
+ * assigned to associations of other entities but must never be modified.
+ */
+@Component
+@Slf4j
+public class ReferenceDataCatalog {
+
+    private final Map<Class<?>, Table<?>> tables = new HashMap<>();
+
+    private final Table<TrackingState> trackingStates;
+    private final Table<IncidentType> incidentTypes;
+    private final Table<EvidenceType> evidenceTypes;
+    private final Table<CancellationType> cancellationTypes;
+    private final Table<NotificationType> notificationTypes;
+    private final Table<Role> roles;
+    private final Table<ContractType> contractTypes;
+    private final Table<LoyaltyLevel> loyaltyLevels;
+
+    public ReferenceDataCatalog(TrackingStateJpaRepository trackingStateRepository,
+            IncidentTypeJpaRepository incidentTypeRepository,
+            EvidenceTypeJpaRepository evidenceTypeRepository,
+            CancellationTypeJpaRepository cancellationTypeRepository,
+            NotificationTypeJpaRepository notificationTypeRepository,
+            RoleJpaRepository roleRepository,
+            ContractTypeJpaRepository contractTypeRepository,
+            LoyaltyLevelJpaRepository loyaltyLevelRepository) {
+
+        trackingStates = register(TrackingState.class, "tracking-states",
+                () -> trackingStateRepository.findAll(Sort.by("stateOrder")),
+                TrackingState::getStateId, TrackingState::getStateName);
+        incidentTypes = register(IncidentType.class, "incident-types",
+                () -> incidentTypeRepository.findAll(Sort.by("typeName")),
+                IncidentType::getIncidentTypeId, IncidentType::getTypeName);
+        evidenceTypes = register(EvidenceType.class, "evidence-types",
+                () -> evidenceTypeRepository.findAll(Sort.by("typeName")),
+                EvidenceType::getEvidenceTypeId, EvidenceType::getTypeName);
+        cancellationTypes = register(CancellationType.class, "cancellation-types",
+                () -> cancellationTypeRepository.findAll(Sort.by("typeName")),
+                CancellationType::getCancellationTypeId, CancellationType::getTypeName);
+        notificationTypes = register(NotificationType.class, "notification-types",
+                () -> notificationTypeRepository.findAll(Sort.by("typeName")),
+                NotificationType::getNotificationTypeId, NotificationType::getTypeName);
+        roles = register(Role.class, "roles",
+                () -> roleRepository.findAll(Sort.by("roleName")),
+                Role::getRoleId, Role::getRoleName);
+        contractTypes = register(ContractType.class, "contract-types",
+                () -> contractTypeRepository.findAll(Sort.by("typeName")),
+                ContractType::getContractTypeId, ContractType::getTypeName);
+        loyaltyLevels = register(LoyaltyLevel.class, "loyalty-levels",
+                () -> loyaltyLevelRepository.findAll(Sort.by("minDeliveries")),
+                LoyaltyLevel::getLevelId, LoyaltyLevel::getLevelName);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        tables.values().forEach(Table::reload);
+        log.info("Reference data catalog loaded: {} tables", tables.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        invalidate(event.getEntityType());
+    }
+
+    /**
+     * Reload one table from the database.
+     */
+    public void invalidate(Class<?> entityType) {
+        Table<?> table = tables.get(entityType);
+        if (table == null) {
+            throw new IllegalArgumentException("Not a reference data type: " + entityType.getSimpleName());
+        }
+        table.reload();
+    }
+
+    /**
+     * Entity tag of a table's current contents. It changes whenever any row of
+     * the table changes and is the same on every instance holding the same
+     * data.
+     */
+    public String getETag(Class<?> entityType) {
+        Table<?> table = tables.get(entityType);
+        if (table == null) {
+            throw new IllegalArgumentException("Not a reference data type: " + entityType.getSimpleName());
+        }
+        return table.snapshot().eTag();
+    }
+
+    public List<TrackingState> getTrackingStates() {
+        return trackingStates.snapshot().all();
+    }
+
+    public Optional<TrackingState> findTrackingState(String stateName) {
+        return trackingStates.findByName(stateName);
+    }
+
+    public List<IncidentType> getIncidentTypes() {
+        return incidentTypes.snapshot().all();
+    }
+
+    public Optional<IncidentType> findIncidentType(Integer incidentTypeId) {
+        return incidentTypes.findById(incidentTypeId);
+    }
+
+    public List<EvidenceType> getEvidenceTypes() {
+        return evidenceTypes.snapshot().all();
+    }
+
+    public Optional<EvidenceType> findEvidenceType(Integer evidenceTypeId) {
+        return evidenceTypes.findById(evidenceTypeId);
+    }
+
+    public List<CancellationType> getCancellationTypes() {
+        return cancellationTypes.snapshot().all();
+    }
+
+    public Optional<CancellationType> findCancellationType(Integer cancellationTypeId) {
+        return cancellationTypes.findById(cancellationTypeId);
+    }
+
+    public Optional<CancellationType> findCancellationType(String typeName) {
+        return cancellationTypes.findByName(typeName);
+    }
+
+    public Optional<NotificationType> findNotificationType(String typeName) {
+        return notificationTypes.findByName(typeName);
+    }
+
+    public List<Role> getRoles() {
+        return roles.snapshot().all();
+    }
+
+    public Optional<Role> findRole(Integer roleId) {
+        return roles.findById(roleId);
+    }
+
+    public Optional<Role> findRole(String roleName) {
+        return roles.findByName(roleName);
+    }
+
+    public List<ContractType> getContractTypes() {
+        return contractTypes.snapshot().all();
+    }
+
+    public Optional<ContractType> findContractType(Integer contractTypeId) {
+        return contractTypes.findById(contractTypeId);
+    }
+
+    public List<LoyaltyLevel> getLoyaltyLevels() {
+        return loyaltyLevels.snapshot().all();
+    }
+
+    public Optional<LoyaltyLevel> findLoyaltyLevel(Integer levelId) {
+        return loyaltyLevels.findById(levelId);
+    }
+
+    private <T> Table<T> register(Class<T> entityType, String name, Supplier<List<T>> loader,
+            Function<T, Integer> idOf, Function<T, String> nameOf) {
+        Table<T> table = new Table<>(name, loader, idOf, nameOf);
+        tables.put(entityType, table);
+        return table;
+    }
+
+    private record Snapshot<T>(List<T> all, Map<Integer, T> byId, Map<String, T> byName, String eTag) {
+    }
+
+    private static final class Table<T> {
+        private final String name;
+        private final Supplier<List<T>> loader;
+        private final Function<T, Integer> idOf;
+        private final Function<T, String> nameOf;
+
+        private volatile Snapshot<T> snapshot;
+
+        private Table(String name, Supplier<List<T>> loader, Function<T, Integer> idOf,
+                Function<T, String> nameOf) {
+            this.name = name;
+            this.loader = loader;
+            this.idOf = idOf;
+            this.nameOf = nameOf;
+        }
+
+        Optional<T> findById(Integer id) {
+            return id != null ? Optional.ofNullable(snapshot().byId().get(id)) : Optional.empty();
+        }
+
+        Optional<T> findByName(String entryName) {
+            return entryName != null ? Optional.ofNullable(snapshot().byName().get(entryName)) : Optional.empty();
+        }
+
+        Snapshot<T> snapshot() {
+            Snapshot<T> current = snapshot;
+            if (current == null) {
+                // Used before the startup load finished
+                synchronized (this) {
+                    current = snapshot;
+                    if (current == null) {
+                        current = reload();
+                    }
+                }
+            }
+            return current;
+        }
+
+        synchronized Snapshot<T> reload() {
+            List<T> rows = List.copyOf(loader.get());
+
+            Map<Integer, T> byId = new HashMap<>();
+            Map<String, T> byName = new HashMap<>();
+            for (T row : rows) {
+                byId.put(idOf.apply(row), row);
+                byName.put(nameOf.apply(row), row);
+            }
+
+            // Entities are @Data, so the hash covers every column of every row
+            String eTag = "\"" + name + "-" + Integer.toHexString(rows.hashCode()) + "\"";
+            Snapshot<T> loaded = new Snapshot<>(rows, Map.copyOf(byId), Map.copyOf(byName), eTag);
+            snapshot = loaded;
+
+            log.debug("Reference data {} loaded: {} rows", name, rows.size());
+            return loaded;
+        }
+    }
+}
@@ -47,6 +47,9 @@ public interface BusinessJpaRepository extends JpaRepository<Business, Integer>
         boolean existsByBusinessEmailAndActiveTrue(String businessEmail);
 
         // Count businesses by loyalty level
+        @Query("SELECT b.businessId, b.businessName FROM Business b")
+        List<Object[]> findAllNames();
+
         @Query("SELECT COUNT(b) FROM Business b WHERE b.currentLevel.levelId = :levelId")
         long countByCurrentLevelLevelId(@Param("levelId") Integer levelId);
 
@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +27,12 @@ public interface ContractJpaRepository extends JpaRepository<Contract, Integer>,
                         "AND :date BETWEEN c.startDate AND COALESCE(c.endDate, '9999-12-31')")
         boolean hasActiveContractOnDate(@Param("userId") Integer userId, @Param("date") LocalDate date);
 
+        @Query("SELECT DISTINCT c.user.userId FROM Contract c WHERE c.user.userId IN :userIds " +
+                        "AND c.active = true " +
+                        "AND :date BETWEEN c.startDate AND COALESCE(c.endDate, '9999-12-31')")
+        List<Integer> findUserIdsWithActiveContractOnDate(@Param("userIds") Collection<Integer> userIds,
+                        @Param("date") LocalDate date);
+
         @Query("SELECT c FROM Contract c WHERE c.user.userId = :userId ORDER BY c.createdAt DESC")
         List<Contract> findByUserId(@Param("userId") Integer userId);
 
@@ -0,0 +1,169 @@
+package com.ayd.sie.shared.infrastructure.persistence;
+
+import com.ayd.sie.shared.domain.entities.DailyDeliveryRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DailyDeliveryRollupJpaRepository extends JpaRepository<DailyDeliveryRollup, Long> {
+
+        // Incremental maintenance, deltas are negative when a guide leaves a bucket
+        @Modifying
+        @Query(value = "INSERT INTO daily_delivery_rollups (stat_date, date_basis, state_id, business_id, courier_id, "
+                        + "branch_id, guide_count, commission_total, revenue_total, updated_at) "
+                        + "VALUES (:statDate, :dateBasis, :stateId, :businessId, :courierId, :branchId, "
+                        + ":countDelta, :commissionDelta, :revenueDelta, NOW()) "
+                        + "ON DUPLICATE KEY UPDATE guide_count = guide_count + VALUES(guide_count), "
+                        + "commission_total = commission_total + VALUES(commission_total), "
+                        + "revenue_total = revenue_total + VALUES(revenue_total), updated_at = NOW()", nativeQuery = true)
+        int applyDelta(@Param("statDate") LocalDate statDate, @Param("dateBasis") String dateBasis,
+                        @Param("stateId") Integer stateId, @Param("businessId") Integer businessId,
+                        @Param("courierId") Integer courierId, @Param("branchId") Integer branchId,
+                        @Param("countDelta") long countDelta, @Param("commissionDelta") BigDecimal commissionDelta,
+                        @Param("revenueDelta") BigDecimal revenueDelta);
+
+        // Per day locks, guide changes hold them shared and rebuilds exclusively
+        @Modifying
+        @Query(value = "INSERT IGNORE INTO daily_delivery_rollup_locks (stat_date) VALUES (:statDate)", nativeQuery = true)
+        int insertDateLock(@Param("statDate") LocalDate statDate);
+
+        @Query(value = "SELECT COUNT(*) FROM daily_delivery_rollup_locks WHERE stat_date = :statDate "
+                        + "LOCK IN SHARE MODE", nativeQuery = true)
+        long lockDateShared(@Param("statDate") LocalDate statDate);
+
+        @Query(value = "SELECT COUNT(*) FROM daily_delivery_rollup_locks WHERE stat_date = :statDate "
+                        + "FOR UPDATE", nativeQuery = true)
+        long lockDateExclusive(@Param("statDate") LocalDate statDate);
+
+        // Rebuild of one day from tracking_guides
+        @Modifying
+        @Query(value = "DELETE FROM daily_delivery_rollups WHERE date_basis IN ('CREATED', 'CLOSED') "
+                        + "AND stat_date = :statDate", nativeQuery = true)
+        int deleteRollupsOn(@Param("statDate") LocalDate statDate);
+
+        @Query(value = "SELECT tg.current_state_id, tg.business_id, COALESCE(tg.courier_id, 0), tg.origin_branch_id, "
+                        + "COUNT(*), COALESCE(SUM(tg.courier_commission), 0), COALESCE(SUM(tg.base_price), 0) "
+                        + "FROM tracking_guides tg "
+                        + "WHERE tg.created_at >= :from AND tg.created_at < :to "
+                        + "GROUP BY tg.current_state_id, tg.business_id, COALESCE(tg.courier_id, 0), "
+                        + "tg.origin_branch_id", nativeQuery = true)
+        List<Object[]> sumGuidesCreatedBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+        @Query(value = "SELECT tg.current_state_id, tg.business_id, COALESCE(tg.courier_id, 0), tg.origin_branch_id, "
+                        + "COUNT(*), COALESCE(SUM(tg.courier_commission), 0), COALESCE(SUM(tg.base_price), 0) "
+                        + "FROM tracking_guides tg JOIN tracking_states ts ON ts.state_id = tg.current_state_id "
+                        + "WHERE (ts.state_name = 'Entregada' AND tg.delivery_date >= :from AND tg.delivery_date < :to) "
+                        + "OR (ts.state_name IN ('Cancelada', 'Rechazada') "
+                        + "AND tg.cancellation_date >= :from AND tg.cancellation_date < :to) "
+                        + "GROUP BY tg.current_state_id, tg.business_id, COALESCE(tg.courier_id, 0), "
+                        + "tg.origin_branch_id", nativeQuery = true)
+        List<Object[]> sumGuidesClosedBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+        @Query("SELECT MIN(tg.createdAt) FROM TrackingGuide tg")
+        LocalDateTime findFirstGuideCreatedAt();
+
+        @Query("SELECT MIN(r.statDate) FROM DailyDeliveryRollup r")
+        LocalDate findFirstStatDate();
+
+        // Report queries
+        @Query("SELECT ts.stateName, COALESCE(SUM(r.guideCount), 0) FROM DailyDeliveryRollup r " +
+                        "JOIN TrackingState ts ON ts.stateId = r.stateId " +
+                        "WHERE r.dateBasis = 'CLOSED' AND r.statDate BETWEEN :startDate AND :endDate " +
+                        "GROUP BY ts.stateName")
+        List<Object[]> sumClosedByState(@Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate);
+
+        // One row per courier with guides created in the period
+        @Query("SELECT u.userId, u.firstName, u.lastName, u.email, " +
+                        "COALESCE(SUM(CASE WHEN r.dateBasis = 'CREATED' THEN r.guideCount ELSE 0L END), 0) as totalDeliveries, "
+                        +
+                        "COALESCE(SUM(CASE WHEN r.dateBasis = 'CLOSED' AND ts.stateName = 'Entregada' THEN r.guideCount ELSE 0L END), 0) as completedDeliveries, "
+                        +
+                        "COALESCE(SUM(CASE WHEN r.dateBasis = 'CLOSED' AND ts.stateName = 'Cancelada' THEN r.guideCount ELSE 0L END), 0) as cancelledDeliveries, "
+                        +
+                        "COALESCE(SUM(CASE WHEN r.dateBasis = 'CLOSED' AND ts.stateName = 'Entregada' THEN r.commissionTotal ELSE 0 END), 0) as totalCommission "
+                        +
+                        "FROM DailyDeliveryRollup r " +
+                        "JOIN User u ON u.userId = r.courierId " +
+                        "JOIN TrackingState ts ON ts.stateId = r.stateId " +
+                        "WHERE u.role.roleName = 'Repartidor' AND r.statDate BETWEEN :startDate AND :endDate " +
+                        "GROUP BY u.userId, u.firstName, u.lastName, u.email " +
+                        "HAVING SUM(CASE WHEN r.dateBasis = 'CREATED' THEN r.guideCount ELSE 0L END) > 0 " +
+                        "ORDER BY u.firstName, u.lastName")
+        List<Object[]> findCommissionStatisticsByCourier(@Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate);
+
+        @Query("SELECT b.businessId, b.businessName, b.businessEmail, " +
+                        "COALESCE(ll.levelName, 'None') as loyaltyLevel, " +
+                        "COALESCE(SUM(r.guideCount), 0) as totalDeliveries, " +
+                        "COALESCE(SUM(CASE WHEN ts.stateName = 'Entregada' THEN r.guideCount ELSE 0L END), 0) as completedDeliveries, "
+                        +
+                        "COALESCE(SUM(CASE WHEN ts.stateName IN ('Cancelada', 'Rechazada') THEN r.guideCount ELSE 0L END), 0) as cancelledDeliveries, "
+                        +
+                        "COALESCE(SUM(r.revenueTotal), 0) as totalRevenue " +
+                        "FROM Business b " +
+                        "LEFT JOIN b.currentLevel ll " +
+                        "LEFT JOIN DailyDeliveryRollup r ON r.businessId = b.businessId " +
+                        "AND r.dateBasis = 'CREATED' AND r.statDate BETWEEN :startDate AND :endDate " +
+                        "LEFT JOIN TrackingState ts ON ts.stateId = r.stateId " +
+                        "WHERE b.active = true " +
+                        "GROUP BY b.businessId, b.businessName, b.businessEmail, ll.levelName " +
+                        "ORDER BY totalDeliveries DESC")
+        List<Object[]> findBusinessStatisticsForPeriod(@Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate);
+
+        // Tie-aware slice of the business ranking, positions are computed before LIMIT/OFFSET
+        @Query(value = "WITH business_stats AS ("
+                        + "SELECT b.business_id, b.business_name, b.business_email, "
+                        + "COALESCE(ll.level_name, 'None') AS loyalty_level, "
+                        + "COALESCE(SUM(r.guide_count), 0) AS total_deliveries, "
+                        + "COALESCE(SUM(CASE WHEN ts.state_name = 'Entregada' THEN r.guide_count ELSE 0 END), 0) AS completed_deliveries, "
+                        + "COALESCE(SUM(CASE WHEN ts.state_name IN ('Cancelada', 'Rechazada') THEN r.guide_count ELSE 0 END), 0) AS cancelled_deliveries, "
+                        + "COALESCE(SUM(r.revenue_total), 0) AS total_revenue "
+                        + "FROM businesses b "
+                        + "LEFT JOIN loyalty_levels ll ON ll.level_id = b.current_level_id "
+                        + "LEFT JOIN daily_delivery_rollups r ON r.business_id = b.business_id "
+                        + "AND r.date_basis = 'CREATED' AND r.stat_date BETWEEN :startDate AND :endDate "
+                        + "LEFT JOIN tracking_states ts ON ts.state_id = r.state_id "
+                        + "WHERE b.active = TRUE "
+                        + "GROUP BY b.business_id, b.business_name, b.business_email, ll.level_name), "
+                        + "ranked AS ("
+                        + "SELECT bs.*, "
+                        + "RANK() OVER (ORDER BY bs.total_deliveries DESC) AS rank_position, "
+                        + "DENSE_RANK() OVER (ORDER BY bs.total_deliveries DESC) AS dense_rank_position "
+                        + "FROM business_stats bs) "
+                        + "SELECT business_id, business_name, business_email, loyalty_level, total_deliveries, "
+                        + "completed_deliveries, cancelled_deliveries, total_revenue, rank_position, dense_rank_position "
+                        + "FROM ranked "
+                        + "ORDER BY rank_position, business_name, business_id "
+                        + "LIMIT :limit OFFSET :offset", nativeQuery = true)
+        List<Object[]> findBusinessRankingSlice(@Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate, @Param("limit") int limit, @Param("offset") int offset);
+
+        @Query("SELECT b.businessId, b.businessName, b.businessEmail, " +
+                        "COALESCE(ll.levelName, 'None') as loyaltyLevel, " +
+                        "SUM(r.guideCount) as totalDeliveries, " +
+                        "SUM(CASE WHEN ts.stateName = 'Entregada' THEN r.guideCount ELSE 0L END) as completedDeliveries, "
+                        +
+                        "SUM(r.guideCount) as cancelledDeliveries " +
+                        "FROM Business b " +
+                        "LEFT JOIN b.currentLevel ll " +
+                        "JOIN DailyDeliveryRollup r ON r.businessId = b.businessId " +
+                        "JOIN TrackingState ts ON ts.stateId = r.stateId " +
+                        "WHERE b.active = true AND r.dateBasis = 'CLOSED' " +
+                        "AND ts.stateName IN ('Cancelada', 'Rechazada') " +
+                        "AND r.statDate BETWEEN :startDate AND :endDate " +
+                        "GROUP BY b.businessId, b.businessName, b.businessEmail, ll.levelName " +
+                        "HAVING SUM(r.guideCount) > 0 " +
+                        "ORDER BY cancelledDeliveries DESC")
+        List<Object[]> findCancellationStatisticsByBusiness(@Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate);
+}
@@ -19,4 +19,6 @@ public interface DeliveryIncidentJpaRepository
 
     @Query("SELECT CASE WHEN COUNT(di) > 0 THEN true ELSE false END FROM DeliveryIncident di WHERE di.guide.guideId = :guideId")
     boolean existsByGuideId(@Param("guideId") Integer guideId);
+
+    long countByResolved(Boolean resolved);
 }
\ No newline at end of file
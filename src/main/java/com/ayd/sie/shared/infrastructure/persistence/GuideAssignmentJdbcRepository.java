@@ -0,0 +1,60 @@
+package com.ayd.sie.shared.infrastructure.persistence;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Batched JDBC writes for assigning many guides at once. Runs on the
+ * connection of the surrounding JPA transaction; the guides written here must
+ * not also be modified through the entity manager.
+ */
+@Repository
+@RequiredArgsConstructor
+public class GuideAssignmentJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Assign each guide to its courier, provided it is still in the expected
+     * state.
+     *
+     * @return Update count per assignment, in order. Drivers that rewrite
+     *         batches may report {@link java.sql.Statement#SUCCESS_NO_INFO}
+     */
+    public int[] assignGuides(List<GuideAssignment> assignments, Integer coordinatorId, Integer fromStateId,
+            Integer toStateId, LocalDateTime assignedAt) {
+        Timestamp timestamp = Timestamp.valueOf(assignedAt);
+        return jdbcTemplate.batchUpdate(
+                "UPDATE tracking_guides SET courier_id = ?, coordinator_id = ?, current_state_id = ?, "
+                        + "courier_commission = ?, assignment_date = ?, assignment_accepted = FALSE, updated_at = ?, "
+                        + "claimed_by = NULL, claim_expires_at = NULL, version = version + 1 WHERE guide_id = ? AND current_state_id = ?",
+                assignments.stream()
+                        .map(assignment -> new Object[] { assignment.courierId(), coordinatorId, toStateId,
+                                assignment.courierCommission(), timestamp, timestamp, assignment.guideId(),
+                                fromStateId })
+                        .toList());
+    }
+
+    public void insertStateHistory(List<StateHistoryRow> rows) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO state_history (guide_id, state_id, user_id, observations, changed_at) "
+                        + "VALUES (?, ?, ?, ?, ?)",
+                rows.stream()
+                        .map(row -> new Object[] { row.guideId(), row.stateId(), row.userId(), row.observations(),
+                                Timestamp.valueOf(row.changedAt()) })
+                        .toList());
+    }
+
+    public record GuideAssignment(Integer guideId, Integer courierId, BigDecimal courierCommission) {
+    }
+
+    public record StateHistoryRow(Integer guideId, Integer stateId, Integer userId, String observations,
+            LocalDateTime changedAt) {
+    }
+}
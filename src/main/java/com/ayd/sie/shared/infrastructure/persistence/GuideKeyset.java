@@ -0,0 +1,138 @@
+package com.ayd.sie.shared.infrastructure.persistence;
+
+import com.ayd.sie.shared.application.dto.CursorPageDto;
+import com.ayd.sie.shared.domain.entities.TrackingGuide;
+import com.ayd.sie.shared.domain.exceptions.BusinessConstraintViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset (seek) pagination over tracking guides, newest first on a date
+ * column with the guide id as tie breaker. The next page starts right after
+ * the last row of the previous one, {@code WHERE (key, guide_id) < (?, ?)},
+ * so every page costs the same index range scan no matter how deep it is,
+ * and the total is only counted when asked for.
+ *
+ * <p>
+ * Guides without a value in the key column (unassigned guides for
+ * {@link #ASSIGNMENT_DATE}) come last, ordered by id. They are read in a
+ * second phase once the keyed rows run out, so the seek over the keyed rows
+ * stays a single index range. Cursors are opaque to clients and only valid for
+ * the keyset that issued them.
+ */
+public enum GuideKeyset {
+
+    ASSIGNMENT_DATE("assignmentDate", TrackingGuide::getAssignmentDate),
+    CREATED_AT("createdAt", TrackingGuide::getCreatedAt);
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String NULL_KEY = "-";
+
+    private final String attribute;
+    private final Function<TrackingGuide, LocalDateTime> key;
+
+    GuideKeyset(String attribute, Function<TrackingGuide, LocalDateTime> key) {
+        this.attribute = attribute;
+        this.key = key;
+    }
+
+    /**
+     * @param filter    Listing filters, also used for the total
+     * @param cursor    Cursor from the previous page, null for the first page
+     * @param withTotal Whether to run the COUNT over the filters
+     */
+    public <R> CursorPageDto<R> page(TrackingGuideJpaRepository repository, Specification<TrackingGuide> filter,
+            String cursor, int size, boolean withTotal, Function<TrackingGuide, R> mapper) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        String[] position = cursor != null && !cursor.isBlank() ? decode(cursor) : null;
+
+        // One extra row tells whether another page follows without counting
+        List<TrackingGuide> rows = new ArrayList<>(pageSize + 1);
+        if (position == null || !NULL_KEY.equals(position[1])) {
+            rows.addAll(repository.findBy(filter.and(keyBefore(position)), query -> query
+                    .sortBy(Sort.by(Sort.Order.desc(attribute), Sort.Order.desc("guideId")))
+                    .limit(pageSize + 1)
+                    .all()));
+        }
+        if (rows.size() <= pageSize) {
+            // The keyed rows ran out, the page goes on with the rows without a key
+            Integer afterId = position != null && NULL_KEY.equals(position[1]) ? Integer.valueOf(position[2]) : null;
+            rows.addAll(repository.findBy(filter.and(withoutKey(afterId)), query -> query
+                    .sortBy(Sort.by(Sort.Order.desc("guideId")))
+                    .limit(pageSize + 1 - rows.size())
+                    .all()));
+        }
+
+        boolean hasNext = rows.size() > pageSize;
+        List<TrackingGuide> content = hasNext ? rows.subList(0, pageSize) : rows;
+
+        return CursorPageDto.<R>builder()
+                .content(content.stream().map(mapper).toList())
+                .size(pageSize)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? encode(content.get(content.size() - 1)) : null)
+                .totalElements(withTotal ? repository.count(filter) : null)
+                .build();
+    }
+
+    /**
+     * Rows with a key, after the position when given. Written out as
+     * {@code key < ? OR (key = ? AND guide_id < ?)}, the same condition as
+     * {@code (key, guide_id) < (?, ?)} since criteria queries have no row
+     * value comparison; both are a single range on the
+     * {@code (key, guide_id)} index.
+     */
+    private Specification<TrackingGuide> keyBefore(String[] position) {
+        if (position == null) {
+            return (root, query, cb) -> cb.isNotNull(root.get(attribute));
+        }
+
+        LocalDateTime value = LocalDateTime.parse(position[1]);
+        Integer guideId = Integer.valueOf(position[2]);
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get(attribute), value),
+                cb.and(cb.equal(root.get(attribute), value), cb.lessThan(root.get("guideId"), guideId)));
+    }
+
+    /**
+     * Rows without a key, after the given guide id when not null.
+     */
+    private Specification<TrackingGuide> withoutKey(Integer afterId) {
+        if (afterId == null) {
+            return (root, query, cb) -> cb.isNull(root.get(attribute));
+        }
+        return (root, query, cb) -> cb.and(
+                cb.isNull(root.get(attribute)),
+                cb.lessThan(root.get("guideId"), afterId));
+    }
+
+    private String encode(TrackingGuide guide) {
+        LocalDateTime value = key.apply(guide);
+        String raw = name() + "|" + (value != null ? value.toString() : NULL_KEY) + "|" + guide.getGuideId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 3 || !parts[0].equals(name())) {
+                throw new IllegalArgumentException("Cursor of another listing");
+            }
+            if (!NULL_KEY.equals(parts[1])) {
+                LocalDateTime.parse(parts[1]);
+            }
+            Integer.parseInt(parts[2]);
+            return parts;
+        } catch (RuntimeException e) {
+            throw new BusinessConstraintViolationException("Invalid pagination cursor", e);
+        }
+    }
+}
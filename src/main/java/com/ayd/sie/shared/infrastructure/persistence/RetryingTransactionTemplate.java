@@ -0,0 +1,115 @@
+package com.ayd.sie.shared.infrastructure.persistence;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs read-modify-write work in its own transaction and runs it again in a
+ * fresh transaction when it loses a race: an optimistic lock failure on a
+ * versioned entity or a lock wait timeout or deadlock reported by the
+ * database. Attempts are bounded and separated by an exponential backoff with
+ * full jitter, so writers that collided do not collide again in lockstep.
+ * When the last attempt fails the exception is rethrown.
+ *
+ * <p>
+ * The work is repeated from scratch, so it must re-read what it modifies and
+ * must not have side effects outside the database; those go to
+ * {@link #afterCommit(Runnable)} and only run for the attempt that commits.
+ */
+@Component
+@Slf4j
+public class RetryingTransactionTemplate {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final Counter retries;
+    private final Counter exhausted;
+
+    public RetryingTransactionTemplate(PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.persistence.transaction-retry.max-attempts:4}") int maxAttempts,
+            @Value("${app.persistence.transaction-retry.initial-backoff:PT0.02S}") Duration initialBackoff,
+            @Value("${app.persistence.transaction-retry.max-backoff:PT0.5S}") Duration maxBackoff) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMs = Math.max(1, initialBackoff.toMillis());
+        this.maxBackoffMs = Math.max(initialBackoffMs, maxBackoff.toMillis());
+        this.retries = meterRegistry.counter("transaction.retries", "outcome", "retried");
+        this.exhausted = meterRegistry.counter("transaction.retries", "outcome", "exhausted");
+    }
+
+    /**
+     * @param operation Name of the work for the logs
+     */
+    public <T> T execute(String operation, Supplier<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Part of a larger transaction, only its owner can start it over
+            return action.get();
+        }
+
+        for (int attempt = 1;; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= maxAttempts) {
+                    exhausted.increment();
+                    log.warn("{} still conflicting after {} attempts: {}", operation, attempt, e.getMessage());
+                    throw e;
+                }
+
+                retries.increment();
+                long delay = backoff(attempt);
+                log.debug("{} conflicted on attempt {}, retrying in {} ms: {}", operation, attempt, delay,
+                        e.getMessage());
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Run a task once the current attempt has committed, such as sending an
+     * email. Tasks of attempts that roll back are dropped, so a retried
+     * attempt never repeats them.
+     */
+    public void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+
+    /**
+     * Delay before the attempt following the given one: uniform between zero
+     * and the exponential ceiling, capped at the maximum backoff.
+     */
+    long backoff(int attempt) {
+        long ceiling = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+}
@@ -1,18 +1,23 @@
 package com.ayd.sie.shared.infrastructure.persistence;
 
 import com.ayd.sie.shared.domain.entities.TrackingGuide;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * IMPORTANT: This is the complete TrackingGuideJpaRepository interface
@@ -50,20 +55,27 @@ public interface TrackingGuideJpaRepository
         @Query("SELECT tg FROM TrackingGuide tg WHERE tg.courier.userId = :courierId")
         Page<TrackingGuide> findByCourierId(@Param("courierId") Integer courierId, Pageable pageable);
 
-        @Query("SELECT COUNT(tg) FROM TrackingGuide tg WHERE tg.courier.userId = :courierId")
-        long countAssignedToCourier(@Param("courierId") Integer courierId);
-
-        @Query("SELECT COUNT(tg) FROM TrackingGuide tg WHERE tg.courier.userId = :courierId " +
-                        "AND tg.currentState.stateName = 'Entregada'")
-        long countCompletedByCourier(@Param("courierId") Integer courierId);
-
-        @Query("SELECT COUNT(tg) FROM TrackingGuide tg WHERE tg.courier.userId = :courierId " +
-                        "AND tg.currentState.stateName IN ('Asignada', 'Recogida', 'En Ruta')")
-        long countPendingByCourier(@Param("courierId") Integer courierId);
-
-        @Query("SELECT COUNT(tg) FROM TrackingGuide tg WHERE tg.courier.userId = :courierId " +
-                        "AND tg.currentState.stateName = 'Incidencia'")
-        long countIncidentsByCourier(@Param("courierId") Integer courierId);
+        // Workload of every active courier in one pass: assigned, completed, pending,
+        // incident counts and active contract flag, couriers with a contract first
+        // and then by fewest pending deliveries
+        @Query("SELECT u.userId, u.firstName, u.lastName, " +
+                        "COUNT(tg.guideId) as assignedCount, " +
+                        "COALESCE(SUM(CASE WHEN s.stateName = 'Entregada' THEN 1 ELSE 0 END), 0) as completedCount, " +
+                        "COALESCE(SUM(CASE WHEN s.stateName IN ('Asignada', 'Recogida', 'En Ruta') THEN 1 ELSE 0 END), 0) as pendingCount, "
+                        +
+                        "COALESCE(SUM(CASE WHEN s.stateName = 'Incidencia' THEN 1 ELSE 0 END), 0) as incidentsCount, " +
+                        "CASE WHEN EXISTS (SELECT 1 FROM Contract c WHERE c.user.userId = u.userId AND c.active = true " +
+                        "AND CURRENT_DATE BETWEEN c.startDate AND COALESCE(c.endDate, '9999-12-31')) " +
+                        "THEN 1 ELSE 0 END as hasActiveContract " +
+                        "FROM User u " +
+                        "LEFT JOIN TrackingGuide tg ON tg.courier.userId = u.userId " +
+                        "LEFT JOIN tg.currentState s " +
+                        "WHERE u.role.roleName = 'Repartidor' AND u.active = true " +
+                        "AND (:contractedOnly = false OR EXISTS (SELECT 1 FROM Contract ac WHERE ac.user.userId = u.userId " +
+                        "AND ac.active = true AND CURRENT_DATE BETWEEN ac.startDate AND COALESCE(ac.endDate, '9999-12-31'))) " +
+                        "GROUP BY u.userId, u.firstName, u.lastName " +
+                        "ORDER BY hasActiveContract DESC, pendingCount ASC, u.userId ASC")
+        List<Object[]> findCourierWorkloads(@Param("contractedOnly") boolean contractedOnly);
 
         // State-based counts
         @Query("SELECT COUNT(tg) FROM TrackingGuide tg WHERE tg.currentState.stateName = :stateName")
@@ -122,16 +134,71 @@ public interface TrackingGuideJpaRepository
         long countByBusinessAndStateNames(@Param("businessId") Integer businessId,
                         @Param("stateNames") List<String> stateNames);
 
-        // Pending assignments (created but not assigned)
+        // Pending assignments (created but not assigned), without a total; see countPendingAssignments
         @Query("SELECT tg FROM TrackingGuide tg WHERE tg.currentState.stateName = 'Creada' ORDER BY tg.createdAt ASC")
-        Page<TrackingGuide> findPendingAssignments(Pageable pageable);
+        Slice<TrackingGuide> findPendingAssignments(Pageable pageable);
 
         @Query("SELECT COUNT(tg) FROM TrackingGuide tg WHERE tg.currentState.stateName = 'Creada'")
         long countPendingAssignments();
 
-        // Guides by multiple states
+        // Same backlog as findPendingAssignments, reduced to what automatic assignment
+        // needs: guide ID and recipient city. Guides leased to other coordinators are left out
+        @Query("SELECT tg.guideId, tg.recipientCity FROM TrackingGuide tg " +
+                        "WHERE tg.currentState.stateName = 'Creada' " +
+                        "AND (tg.claimedById IS NULL OR tg.claimedById = :coordinatorId OR tg.claimExpiresAt <= :now) " +
+                        "ORDER BY tg.createdAt ASC, tg.guideId ASC")
+        List<Object[]> findPendingAssignmentRows(@Param("coordinatorId") Integer coordinatorId,
+                        @Param("now") LocalDateTime now, Pageable pageable);
+
+        // Row locks on the guides of a batch assignment that are still in the given state
+        @Query(value = "SELECT guide_id FROM tracking_guides WHERE guide_id IN (:guideIds) " +
+                        "AND current_state_id = :stateId FOR UPDATE", nativeQuery = true)
+        List<Integer> lockGuideIdsInState(@Param("guideIds") Collection<Integer> guideIds,
+                        @Param("stateId") Integer stateId);
+
+        // Row locks on the oldest pending guides the coordinator may claim: unclaimed,
+        // claimed by the coordinator itself or with an expired lease. Rows another
+        // coordinator is claiming at the same moment are skipped instead of waited for
+        @Query(value = "SELECT guide_id FROM tracking_guides WHERE current_state_id = :stateId " +
+                        "AND (claimed_by IS NULL OR claimed_by = :coordinatorId OR claim_expires_at <= :now) " +
+                        "ORDER BY created_at ASC, guide_id ASC LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+        List<Integer> lockClaimableGuideIds(@Param("stateId") Integer stateId,
+                        @Param("coordinatorId") Integer coordinatorId,
+                        @Param("now") LocalDateTime now,
+                        @Param("limit") int limit);
+
+        @Modifying
+        @Query(value = "UPDATE tracking_guides SET claimed_by = :coordinatorId, claim_expires_at = :expiresAt " +
+                        "WHERE guide_id IN (:guideIds)", nativeQuery = true)
+        int claimGuides(@Param("guideIds") Collection<Integer> guideIds,
+                        @Param("coordinatorId") Integer coordinatorId,
+                        @Param("expiresAt") LocalDateTime expiresAt);
+
+        @Modifying
+        @Query(value = "UPDATE tracking_guides SET claimed_by = NULL, claim_expires_at = NULL " +
+                        "WHERE guide_id IN (:guideIds) AND claimed_by = :coordinatorId", nativeQuery = true)
+        int releaseClaims(@Param("guideIds") Collection<Integer> guideIds,
+                        @Param("coordinatorId") Integer coordinatorId);
+
+        @Modifying
+        @Query(value = "UPDATE tracking_guides SET claimed_by = NULL, claim_expires_at = NULL " +
+                        "WHERE claimed_by = :coordinatorId", nativeQuery = true)
+        int releaseAllClaims(@Param("coordinatorId") Integer coordinatorId);
+
+        // Guides of a batch assignment with the associations the assignment reads
+        @Query("SELECT tg FROM TrackingGuide tg JOIN FETCH tg.business JOIN FETCH tg.currentState " +
+                        "WHERE tg.guideId IN :guideIds")
+        List<TrackingGuide> findAllForAssignment(@Param("guideIds") Collection<Integer> guideIds);
+
+        // Guides assigned to each courier per recipient city since a date
+        @Query("SELECT tg.courier.userId, LOWER(tg.recipientCity), COUNT(tg) FROM TrackingGuide tg " +
+                        "WHERE tg.courier IS NOT NULL AND tg.recipientCity IS NOT NULL AND tg.assignmentDate >= :since " +
+                        "GROUP BY tg.courier.userId, LOWER(tg.recipientCity)")
+        List<Object[]> countCourierAssignmentsByCity(@Param("since") LocalDateTime since);
+
+        // Guides by multiple states, without a total; see countByStateNames
         @Query("SELECT tg FROM TrackingGuide tg WHERE tg.currentState.stateName IN :stateNames ORDER BY tg.createdAt DESC")
-        Page<TrackingGuide> findByStateNames(@Param("stateNames") List<String> stateNames, Pageable pageable);
+        Slice<TrackingGuide> findByStateNames(@Param("stateNames") List<String> stateNames, Pageable pageable);
 
         // Recent guides by state
         @Query("SELECT tg FROM TrackingGuide tg WHERE tg.currentState.stateName = :stateName " +
@@ -163,13 +230,29 @@ public interface TrackingGuideJpaRepository
                         @Param("endDate") LocalDateTime endDate,
                         Pageable pageable);
 
-        // Search functionality
+        // Search functionality, restricted to the candidates of the guide search index
+        // by primary key and business; the LIKE only filters out false candidates
         @Query("SELECT tg FROM TrackingGuide tg WHERE " +
+                        "(tg.guideId IN :guideIds OR tg.business.businessId IN :businessIds) AND (" +
                         "LOWER(tg.guideNumber) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
                         "LOWER(tg.recipientName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
                         "LOWER(tg.recipientAddress) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-                        "LOWER(tg.business.businessName) LIKE LOWER(CONCAT('%', :search, '%'))")
-        Page<TrackingGuide> searchGuides(@Param("search") String search, Pageable pageable);
+                        "LOWER(tg.business.businessName) LIKE LOWER(CONCAT('%', :search, '%')))")
+        Page<TrackingGuide> searchGuides(@Param("search") String search,
+                        @Param("guideIds") Collection<Integer> guideIds,
+                        @Param("businessIds") Collection<Integer> businessIds,
+                        Pageable pageable);
+
+        // Text columns of the guide search index, read in guide id order
+        @Query("SELECT tg.guideId, tg.guideNumber, tg.recipientName, tg.recipientAddress FROM TrackingGuide tg " +
+                        "WHERE tg.guideId > :afterId ORDER BY tg.guideId")
+        List<Object[]> findSearchRowsAfter(@Param("afterId") Integer afterId, Pageable pageable);
+
+        // Pending guides as held by the pending queues, read in guide id order
+        @Query("SELECT tg.guideId, tg.originBranch.branchId, tg.createdAt, tg.claimedById, tg.claimExpiresAt " +
+                        "FROM TrackingGuide tg WHERE tg.currentState.stateName = 'Creada' AND tg.guideId > :afterId " +
+                        "ORDER BY tg.guideId")
+        List<Object[]> findPendingQueueRowsAfter(@Param("afterId") Integer afterId, Pageable pageable);
 
         // Efficiency metrics
         @Query("SELECT COUNT(tg) FROM TrackingGuide tg WHERE tg.currentState.isFinal = true")
@@ -197,6 +280,9 @@ public interface TrackingGuideJpaRepository
         // Additional methods for courier module
         Page<TrackingGuide> findByCourierUserId(Integer courierId, Pageable pageable);
 
+        // Same as findByCourierUserId without the count query
+        Slice<TrackingGuide> findSliceByCourierUserId(Integer courierId, Pageable pageable);
+
         @Query("SELECT tg FROM TrackingGuide tg WHERE tg.courier.userId = :courierId AND tg.currentState.stateName IN :stateNames ORDER BY tg.createdAt ASC")
         List<TrackingGuide> findByCourierUserIdAndCurrentStateStateNameInOrderByCreatedAtAsc(
                         @Param("courierId") Integer courierId, @Param("stateNames") List<String> stateNames);
@@ -263,7 +349,26 @@ public interface TrackingGuideJpaRepository
                         "WHERE tg.business.businessId = :businessId AND tg.currentState.isFinal = false")
         List<TrackingGuide> findActiveByBusinessIdWithFetch(@Param("businessId") Integer businessId);
 
+        // Current state totals used to reconcile the live delivery counters
+        @Query("SELECT s.stateId, s.stateName, COUNT(tg) FROM TrackingGuide tg JOIN tg.currentState s " +
+                        "GROUP BY s.stateId, s.stateName")
+        List<Object[]> countGuidesByState();
+
+        @Query("SELECT tg.courier.userId, tg.currentState.stateId, COUNT(tg) FROM TrackingGuide tg " +
+                        "WHERE tg.courier IS NOT NULL GROUP BY tg.courier.userId, tg.currentState.stateId")
+        List<Object[]> countGuidesByCourierAndState();
+
+        @Query("SELECT tg.business.businessId, tg.currentState.stateId, COUNT(tg) FROM TrackingGuide tg " +
+                        "GROUP BY tg.business.businessId, tg.currentState.stateId")
+        List<Object[]> countGuidesByBusinessAndState();
+
         // Additional methods for reporting
+        @Query("SELECT s.stateName, COUNT(tg) FROM TrackingGuide tg JOIN tg.currentState s " +
+                        "WHERE tg.createdAt BETWEEN :startDate AND :endDate " +
+                        "GROUP BY tg.currentState.stateId, s.stateName")
+        List<Object[]> countByStateCreatedBetween(@Param("startDate") LocalDateTime startDate,
+                        @Param("endDate") LocalDateTime endDate);
+
         @Query("SELECT COUNT(tg) FROM TrackingGuide tg WHERE tg.currentState.stateName = :stateName AND tg.deliveryDate BETWEEN :startDate AND :endDate")
         long countByCurrentStateStateNameAndDeliveryDateBetween(@Param("stateName") String stateName,
                         @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
@@ -272,22 +377,33 @@ public interface TrackingGuideJpaRepository
         long countByCurrentStateStateNameAndCancellationDateBetween(@Param("stateName") String stateName,
                         @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
 
-        @Query("SELECT COUNT(tg) FROM TrackingGuide tg WHERE tg.courier.userId = :courierId AND tg.createdAt BETWEEN :startDate AND :endDate")
-        long countByCourierUserIdAndCreatedAtBetween(@Param("courierId") Integer courierId,
-                        @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
-
-        @Query("SELECT COUNT(tg) FROM TrackingGuide tg WHERE tg.courier.userId = :courierId AND tg.currentState.stateName = :stateName AND tg.deliveryDate BETWEEN :startDate AND :endDate")
-        long countByCourierUserIdAndCurrentStateStateNameAndDeliveryDateBetween(@Param("courierId") Integer courierId,
-                        @Param("stateName") String stateName, @Param("startDate") LocalDateTime startDate,
-                        @Param("endDate") LocalDateTime endDate);
-
-        @Query("SELECT COUNT(tg) FROM TrackingGuide tg WHERE tg.courier.userId = :courierId AND tg.currentState.stateName = :stateName AND tg.cancellationDate BETWEEN :startDate AND :endDate")
-        long countByCourierUserIdAndCurrentStateStateNameAndCancellationDateBetween(
-                        @Param("courierId") Integer courierId,
-                        @Param("stateName") String stateName, @Param("startDate") LocalDateTime startDate,
-                        @Param("endDate") LocalDateTime endDate);
-
-        @Query("SELECT COALESCE(SUM(tg.courierCommission), 0) FROM TrackingGuide tg WHERE tg.courier.userId = :courierId AND tg.deliveryDate BETWEEN :startDate AND :endDate AND tg.currentState.stateName = 'Entregada'")
-        BigDecimal sumCommissionByCourierIdAndPeriod(@Param("courierId") Integer courierId,
-                        @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
-}
\ No newline at end of file
+        /**
+         * Forward-only cursor over flat guide rows for the row export. Filters
+         * match GetDeliveryHistoryUseCase; null parameters are ignored. Must be
+         * consumed inside a transaction and closed.
+         */
+        @Query("SELECT tg.guideId, tg.guideNumber, s.stateName, b.businessId, b.businessName, " +
+                        "tg.originBranch.branchId, c.userId, c.firstName, c.lastName, " +
+                        "tg.recipientName, tg.recipientAddress, tg.recipientCity, " +
+                        "tg.basePrice, tg.courierCommission, tg.createdAt, tg.assignmentDate, " +
+                        "tg.assignmentAccepted, tg.deliveryDate, tg.cancellationDate " +
+                        "FROM TrackingGuide tg " +
+                        "JOIN tg.currentState s " +
+                        "JOIN tg.business b " +
+                        "LEFT JOIN tg.courier c " +
+                        "WHERE (:stateName IS NULL OR s.stateName = :stateName) " +
+                        "AND (:from IS NULL OR tg.assignmentDate BETWEEN :from AND :to) " +
+                        "AND (:search IS NULL OR LOWER(tg.guideNumber) LIKE :search " +
+                        "OR LOWER(b.businessName) LIKE :search " +
+                        "OR LOWER(tg.recipientName) LIKE :search " +
+                        "OR LOWER(tg.recipientAddress) LIKE :search) " +
+                        "ORDER BY tg.guideId")
+        @QueryHints({
+                        @QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+                        @QueryHint(name = "org.hibernate.readOnly", value = "true")
+        })
+        Stream<Object[]> streamDeliveryRows(@Param("stateName") String stateName,
+                        @Param("search") String search,
+                        @Param("from") LocalDateTime from,
+                        @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,197 @@
+package com.ayd.sie.shared.infrastructure.search;
+
+import com.ayd.sie.shared.domain.events.BusinessChangedEvent;
+import com.ayd.sie.shared.domain.events.GuideSnapshot;
+import com.ayd.sie.shared.domain.events.TrackingGuideChangedEvent;
+import com.ayd.sie.shared.infrastructure.persistence.BusinessJpaRepository;
+import com.ayd.sie.shared.infrastructure.persistence.TrackingGuideJpaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-memory trigram index over the searchable text of tracking guides: guide
+ * number, recipient name and recipient address, plus the names of the
+ * businesses. A search term becomes a list of candidate guide ids and business
+ * ids that queries filter on by key instead of scanning every guide with
+ * {@code LIKE '%term%'}; the {@code LIKE} stays in the query to drop false
+ * candidates.
+ *
+ * <p>
+ * The index is rebuilt from the database in the background at startup and
+ * then follows every committed guide and business change. Until it is ready,
+ * or when a term is too short or too common to narrow the search, no
+ * candidates are returned and callers fall back to the plain scan.
+ */
+@Component
+@Slf4j
+public class GuideSearchIndex {
+
+    private final TrackingGuideJpaRepository trackingGuideRepository;
+    private final BusinessJpaRepository businessRepository;
+    private final int maxCandidates;
+    private final int rebuildBatchSize;
+
+    private final TrigramIndex guides = new TrigramIndex();
+    private final TrigramIndex businesses = new TrigramIndex();
+    private final Map<Integer, String> businessNames = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private volatile boolean ready;
+
+    public GuideSearchIndex(TrackingGuideJpaRepository trackingGuideRepository,
+            BusinessJpaRepository businessRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.search.guide-index.max-candidates:20000}") int maxCandidates,
+            @Value("${app.search.guide-index.rebuild-batch-size:5000}") int rebuildBatchSize) {
+        this.trackingGuideRepository = trackingGuideRepository;
+        this.businessRepository = businessRepository;
+        this.maxCandidates = maxCandidates;
+        this.rebuildBatchSize = rebuildBatchSize;
+        meterRegistry.gauge("guide.search.index.trigrams", guides, TrigramIndex::trigramCount);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        executor.execute(this::rebuild);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTrackingGuideChanged(TrackingGuideChangedEvent event) {
+        GuideSnapshot previous = event.getPrevious();
+        GuideSnapshot current = event.getCurrent();
+
+        if (previous == null) {
+            guides.add(current.getGuideId(), texts(current));
+        } else {
+            guides.update(current.getGuideId(), texts(previous), texts(current));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBusinessChanged(BusinessChangedEvent event) {
+        businessRepository.findById(event.getBusinessId()).ifPresent(business -> {
+            String previous = businessNames.put(business.getBusinessId(), business.getBusinessName());
+            businesses.update(business.getBusinessId(),
+                    previous != null ? List.of(previous) : List.of(),
+                    List.of(business.getBusinessName()));
+        });
+    }
+
+    /**
+     * Guides and businesses whose indexed text may contain the term.
+     *
+     * @return Empty when the index cannot narrow the search and the caller has
+     *         to scan
+     */
+    public Optional<Candidates> findCandidates(String term) {
+        if (!ready || term == null) {
+            return Optional.empty();
+        }
+
+        String trimmed = term.trim();
+        Optional<List<Integer>> guideIds = guides.search(trimmed, maxCandidates);
+        if (guideIds.isEmpty()) {
+            return Optional.empty();
+        }
+        Optional<List<Integer>> businessIds = businesses.search(trimmed, maxCandidates);
+        if (businessIds.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(new Candidates(guideIds.get(), businessIds.get()));
+    }
+
+    /**
+     * Load the whole index from the database. Changes committed meanwhile are
+     * applied as they come; at worst they leave extra candidates behind.
+     */
+    private void rebuild() {
+        long started = System.currentTimeMillis();
+        ready = false;
+        guides.clear();
+        businesses.clear();
+        businessNames.clear();
+
+        try {
+            for (Object[] row : businessRepository.findAllNames()) {
+                Integer businessId = (Integer) row[0];
+                String name = (String) row[1];
+                businessNames.put(businessId, name);
+                businesses.add(businessId, List.of(name));
+            }
+
+            int indexed = 0;
+            Integer afterId = 0;
+            List<Object[]> rows;
+            do {
+                rows = trackingGuideRepository.findSearchRowsAfter(afterId, PageRequest.of(0, rebuildBatchSize));
+                for (Object[] row : rows) {
+                    afterId = (Integer) row[0];
+                    guides.add(afterId, Arrays.asList((String) row[1], (String) row[2], (String) row[3]));
+                }
+                indexed += rows.size();
+            } while (rows.size() == rebuildBatchSize && !Thread.currentThread().isInterrupted());
+
+            ready = true;
+            log.info("Guide search index built: {} guides, {} businesses, {} trigrams in {} ms",
+                    indexed, businessNames.size(), guides.trigramCount(), System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            log.error("Could not build the guide search index, searches will scan: {}", e.getMessage(), e);
+        }
+    }
+
+    private List<String> texts(GuideSnapshot snapshot) {
+        List<String> texts = new ArrayList<>(3);
+        texts.add(snapshot.getGuideNumber());
+        texts.add(snapshot.getRecipientName());
+        texts.add(snapshot.getRecipientAddress());
+        return texts;
+    }
+
+    /**
+     * Candidate guides of a search: the guides whose own text may match and
+     * every guide of the businesses whose name may match.
+     */
+    public record Candidates(List<Integer> guideIds, List<Integer> businessIds) {
+
+        /**
+         * Restrict a criteria query to the candidates.
+         *
+         * @param guide Path of the tracking guide in the query
+         */
+        public Predicate toPredicate(Path<?> guide, CriteriaBuilder criteriaBuilder) {
+            List<Predicate> predicates = new ArrayList<>(2);
+            if (!guideIds.isEmpty()) {
+                predicates.add(guide.get("guideId").in(guideIds));
+            }
+            if (!businessIds.isEmpty()) {
+                predicates.add(guide.get("business").get("businessId").in(businessIds));
+            }
+            return criteriaBuilder.or(predicates.toArray(new Predicate[0]));
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.ayd.sie.shared.infrastructure.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index from every three character sequence of some texts to the
+ * sorted ids of the rows containing it. A substring of three or more
+ * characters can only occur in rows that contain all of its trigrams, so
+ * intersecting their posting lists gives a small superset of the rows a
+ * {@code LIKE '%term%'} would match without scanning them.
+ *
+ * <p>
+ * Texts are lower cased and stripped of accents, like the case and accent
+ * insensitive collation of the database, so the index never misses a row the
+ * database would match. Results are candidates only; the caller still applies
+ * the exact condition to them. Thread safe.
+ */
+public class TrigramIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void add(int id, Collection<String> texts) {
+        Set<Long> grams = trigrams(texts);
+        lock.writeLock().lock();
+        try {
+            for (Long gram : grams) {
+                postings.computeIfAbsent(gram, key -> new Postings()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int id, Collection<String> texts) {
+        Set<Long> grams = trigrams(texts);
+        lock.writeLock().lock();
+        try {
+            for (Long gram : grams) {
+                Postings list = postings.get(gram);
+                if (list != null && list.remove(id) && list.size == 0) {
+                    postings.remove(gram);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replace the indexed texts of a row, touching only the trigrams that
+     * changed.
+     */
+    public void update(int id, Collection<String> oldTexts, Collection<String> newTexts) {
+        Set<Long> oldGrams = trigrams(oldTexts);
+        Set<Long> newGrams = trigrams(newTexts);
+        if (oldGrams.equals(newGrams)) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Long gram : oldGrams) {
+                if (!newGrams.contains(gram)) {
+                    Postings list = postings.get(gram);
+                    if (list != null && list.remove(id) && list.size == 0) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+            for (Long gram : newGrams) {
+                if (!oldGrams.contains(gram)) {
+                    postings.computeIfAbsent(gram, key -> new Postings()).add(id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int trigramCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the rows that may contain the term.
+     *
+     * @return Empty when the index cannot narrow the search: the term is
+     *         shorter than three characters, contains {@code LIKE} wildcards,
+     *         or more than {@code maxCandidates} rows match
+     */
+    public Optional<List<Integer>> search(String term, int maxCandidates) {
+        if (term.indexOf('%') >= 0 || term.indexOf('_') >= 0) {
+            return Optional.empty();
+        }
+        Set<Long> grams = trigrams(List.of(term));
+        if (grams.isEmpty()) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Postings> lists = new ArrayList<>(grams.size());
+            for (Long gram : grams) {
+                Postings list = postings.get(gram);
+                if (list == null) {
+                    return Optional.of(List.of());
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+
+            // Walk the shortest list and probe the others
+            Postings shortest = lists.get(0);
+            List<Integer> candidates = new ArrayList<>();
+            for (int i = 0; i < shortest.size; i++) {
+                int id = shortest.ids[i];
+                boolean inAll = true;
+                for (int j = 1; j < lists.size() && inAll; j++) {
+                    inAll = lists.get(j).contains(id);
+                }
+                if (inAll) {
+                    if (candidates.size() == maxCandidates) {
+                        return Optional.empty();
+                    }
+                    candidates.add(id);
+                }
+            }
+            return Optional.of(candidates);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String normalize(String text) {
+        return MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<Long> trigrams(Collection<String> texts) {
+        Set<Long> grams = new HashSet<>();
+        for (String text : texts) {
+            if (text == null) {
+                continue;
+            }
+            String normalized = normalize(text);
+            for (int i = 0; i + 3 <= normalized.length(); i++) {
+                grams.add(((long) normalized.charAt(i) << 32)
+                        | ((long) normalized.charAt(i + 1) << 16)
+                        | normalized.charAt(i + 2));
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * Sorted ids without boxing. Ids mostly arrive in increasing order, which
+     * makes adding an append.
+     */
+    private static final class Postings {
+
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            if (size > 0 && ids[size - 1] < id) {
+                ensureCapacity();
+                ids[size++] = id;
+                return;
+            }
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            int insertAt = -index - 1;
+            ensureCapacity();
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        boolean remove(int id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(int id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        private void ensureCapacity() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+        }
+    }
+}
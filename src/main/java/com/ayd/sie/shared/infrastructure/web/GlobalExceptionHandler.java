@@ -2,6 +2,7 @@ package com.ayd.sie.shared.infrastructure.web;
 
 import com.ayd.sie.shared.domain.exceptions.*;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -130,6 +131,19 @@ public class GlobalExceptionHandler {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
         }
 
+        @ExceptionHandler(ConcurrencyFailureException.class)
+        public ResponseEntity<Map<String, Object>> handleConcurrencyFailure(
+                        ConcurrencyFailureException ex, WebRequest request) {
+                log.warn("Concurrent modification: {}", ex.getMessage());
+
+                Map<String, Object> errorResponse = createErrorResponse(
+                                "CONCURRENT_MODIFICATION",
+                                "The resource was modified by another request. Please try again.",
+                                request);
+
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+        }
+
         @ExceptionHandler(Exception.class)
         public ResponseEntity<Map<String, Object>> handleGenericException(
                         Exception ex, WebRequest request) {
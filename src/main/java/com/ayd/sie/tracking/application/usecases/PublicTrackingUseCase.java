@@ -2,30 +2,64 @@ package com.ayd.sie.tracking.application.usecases;
 
 import com.ayd.sie.shared.domain.entities.TrackingGuide;
 import com.ayd.sie.shared.domain.entities.StateHistory;
+import com.ayd.sie.shared.domain.events.GuideSnapshot;
+import com.ayd.sie.shared.domain.events.TrackingGuideChangedEvent;
 import com.ayd.sie.shared.infrastructure.persistence.TrackingGuideJpaRepository;
 import com.ayd.sie.shared.infrastructure.persistence.StateHistoryJpaRepository;
 import com.ayd.sie.tracking.application.dto.TrackingResponseDto;
 import com.ayd.sie.tracking.application.dto.TrackingHistoryDto;
-import lombok.RequiredArgsConstructor;
+import com.ayd.sie.tracking.infrastructure.cache.TrackingResponseCache;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
+/**
+ * Tracking information shown to recipients. Responses are served from
+ * {@link TrackingResponseCache}; only a miss opens a read-only transaction and
+ * loads the guide and its history. Every committed guide change drops the
+ * cached response of the guide.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
-@Transactional(readOnly = true)
 public class PublicTrackingUseCase {
 
     private final TrackingGuideJpaRepository trackingGuideRepository;
     private final StateHistoryJpaRepository stateHistoryRepository;
+    private final TrackingResponseCache trackingResponseCache;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public PublicTrackingUseCase(TrackingGuideJpaRepository trackingGuideRepository,
+            StateHistoryJpaRepository stateHistoryRepository,
+            TrackingResponseCache trackingResponseCache,
+            PlatformTransactionManager transactionManager) {
+        this.trackingGuideRepository = trackingGuideRepository;
+        this.stateHistoryRepository = stateHistoryRepository;
+        this.trackingResponseCache = trackingResponseCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
 
     public TrackingResponseDto getTrackingInfo(String guideNumber) {
         log.info("Getting tracking info for guide number: {}", guideNumber);
 
+        return trackingResponseCache.getOrLoad(guideNumber,
+                () -> readOnlyTransaction.execute(status -> loadTrackingInfo(guideNumber)));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTrackingGuideChanged(TrackingGuideChangedEvent event) {
+        GuideSnapshot previous = event.getPrevious();
+        trackingResponseCache.invalidate(event.getCurrent().getGuideNumber(),
+                previous != null ? previous.getGuideNumber() : null);
+    }
+
+    private TrackingResponseDto loadTrackingInfo(String guideNumber) {
         TrackingGuide guide = trackingGuideRepository.findByGuideNumber(guideNumber)
                 .orElseThrow(() -> new RuntimeException("Tracking guide not found: " + guideNumber));
 
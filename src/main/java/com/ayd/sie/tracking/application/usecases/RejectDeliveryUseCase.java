@@ -1,12 +1,16 @@
 package com.ayd.sie.tracking.application.usecases;
 
 import com.ayd.sie.shared.domain.entities.*;
+import com.ayd.sie.shared.domain.events.GuideSnapshot;
+import com.ayd.sie.shared.domain.events.TrackingGuideChangedEvent;
+import com.ayd.sie.shared.infrastructure.cache.ReferenceDataCatalog;
 import com.ayd.sie.shared.infrastructure.persistence.*;
 import com.ayd.sie.shared.infrastructure.notifications.EmailService;
 import com.ayd.sie.tracking.application.dto.RejectDeliveryDto;
 import com.ayd.sie.tracking.application.dto.RejectDeliveryResponseDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,12 +24,12 @@ import java.time.LocalDateTime;
 public class RejectDeliveryUseCase {
 
     private final TrackingGuideJpaRepository trackingGuideRepository;
-    private final TrackingStateJpaRepository trackingStateRepository;
+    private final ReferenceDataCatalog referenceDataCatalog;
     private final StateHistoryJpaRepository stateHistoryRepository;
     private final CancellationJpaRepository cancellationRepository;
-    private final CancellationTypeJpaRepository cancellationTypeRepository;
     private final UserJpaRepository userRepository;
     private final EmailService emailService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public RejectDeliveryResponseDto rejectDelivery(RejectDeliveryDto request) {
         log.info("Processing delivery rejection for guide: {}", request.getGuideNumber());
@@ -38,11 +42,12 @@ public class RejectDeliveryUseCase {
         validateCanRejectDelivery(guide);
 
         // Get rejected state
-        TrackingState rejectedState = trackingStateRepository.findByStateName("Rechazada")
+        TrackingState rejectedState = referenceDataCatalog.findTrackingState("Rechazada")
                 .orElseThrow(() -> new RuntimeException("Rejected state not found"));
 
         // Get customer cancellation type
-        CancellationType customerCancellation = cancellationTypeRepository.findByTypeNameAndActiveTrue("Cliente")
+        CancellationType customerCancellation = referenceDataCatalog.findCancellationType("Cliente")
+                .filter(CancellationType::getActive)
                 .orElseThrow(() -> new RuntimeException("Customer cancellation type not found"));
 
         // Find user by email
@@ -50,6 +55,7 @@ public class RejectDeliveryUseCase {
                 .orElseThrow(() -> new RuntimeException("User not found with email: " + request.getUserEmail()));
 
         // Update guide status to rejected
+        GuideSnapshot previous = GuideSnapshot.of(guide);
         guide.setCurrentState(rejectedState);
         guide.setCancellationDate(LocalDateTime.now());
         guide.setObservations(guide.getObservations() != null
@@ -57,6 +63,7 @@ public class RejectDeliveryUseCase {
                 : "Rechazado: " + request.getRejectionReason());
 
         trackingGuideRepository.save(guide);
+        eventPublisher.publishEvent(new TrackingGuideChangedEvent(previous, GuideSnapshot.of(guide)));
 
         // Record state change in history
         recordStateHistory(guide, rejectedState, request.getRejectionReason(), rejectionUser);
@@ -1,6 +1,7 @@
 package com.ayd.sie.tracking.application.usecases;
 
 import com.ayd.sie.shared.domain.entities.*;
+import com.ayd.sie.shared.infrastructure.cache.ReferenceDataCatalog;
 import com.ayd.sie.shared.infrastructure.persistence.*;
 import com.ayd.sie.shared.infrastructure.notifications.EmailService;
 import lombok.RequiredArgsConstructor;
@@ -18,7 +19,7 @@ public class TrackingNotificationUseCase {
 
     private final TrackingGuideJpaRepository trackingGuideRepository;
     private final NotificationJpaRepository notificationRepository;
-    private final NotificationTypeJpaRepository notificationTypeRepository;
+    private final ReferenceDataCatalog referenceDataCatalog;
     private final EmailService emailService;
 
     public void sendStateChangeNotification(Integer guideId, String stateName, Integer userId) {
@@ -97,7 +98,9 @@ public class TrackingNotificationUseCase {
             return null;
         }
 
-        return notificationTypeRepository.findByTypeNameAndActiveTrue(typeName).orElse(null);
+        return referenceDataCatalog.findNotificationType(typeName)
+                .filter(NotificationType::getActive)
+                .orElse(null);
     }
 
     private String generateNotificationMessage(String template, TrackingGuide guide) {
@@ -0,0 +1,162 @@
+package com.ayd.sie.tracking.infrastructure.cache;
+
+import com.ayd.sie.tracking.application.dto.TrackingResponseDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Cache of the public tracking responses keyed by guide number, bounded by
+ * size and least recently used first out.
+ * <p>
+ * Entries are dropped when their guide changes. The TTL only bounds how long
+ * data kept outside the guide, such as the courier's name or phone, can stay
+ * stale. Guides that do not exist are never cached. Hits, misses and evictions
+ * are published as {@code tracking.cache.*} meters.
+ */
+@Component
+@Slf4j
+public class TrackingResponseCache {
+
+    private final Duration ttl;
+    private final Map<String, Entry> entries;
+    // Loads in progress; the ones whose guide is invalidated are not cached
+    private final Set<Load> loads = new HashSet<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter expiredEvictions;
+    private final Counter sizeEvictions;
+    private final Counter invalidatedEvictions;
+
+    public TrackingResponseCache(MeterRegistry meterRegistry,
+            @Value("${app.tracking.cache.ttl:PT5M}") Duration ttl,
+            @Value("${app.tracking.cache.max-entries:10000}") int maxEntries) {
+        this.ttl = ttl;
+
+        this.hits = meterRegistry.counter("tracking.cache.gets", "result", "hit");
+        this.misses = meterRegistry.counter("tracking.cache.gets", "result", "miss");
+        this.expiredEvictions = meterRegistry.counter("tracking.cache.evictions", "cause", "expired");
+        this.sizeEvictions = meterRegistry.counter("tracking.cache.evictions", "cause", "size");
+        this.invalidatedEvictions = meterRegistry.counter("tracking.cache.evictions", "cause", "invalidated");
+
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > maxEntries) {
+                    sizeEvictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        Gauge.builder("tracking.cache.size", this, TrackingResponseCache::size)
+                .description("Number of cached tracking responses")
+                .register(meterRegistry);
+        Gauge.builder("tracking.cache.hit.ratio", this, TrackingResponseCache::hitRatio)
+                .description("Share of public tracking lookups answered from the cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Return the cached response for the guide, loading and caching it on a
+     * miss. A loader that throws caches nothing.
+     */
+    public TrackingResponseDto getOrLoad(String guideNumber, Supplier<TrackingResponseDto> loader) {
+        Instant now = Instant.now();
+        Load load = new Load(guideNumber);
+
+        synchronized (entries) {
+            Entry entry = entries.get(guideNumber);
+            if (entry != null) {
+                if (entry.expiresAt.isAfter(now)) {
+                    hits.increment();
+                    return entry.value;
+                }
+                entries.remove(guideNumber);
+                expiredEvictions.increment();
+            }
+            loads.add(load);
+        }
+
+        misses.increment();
+        log.debug("Tracking cache miss for guide {}", guideNumber);
+        TrackingResponseDto value = null;
+        boolean loaded = false;
+        try {
+            value = loader.get();
+            loaded = true;
+        } finally {
+            synchronized (entries) {
+                loads.remove(load);
+                if (loaded && !load.invalidated) {
+                    entries.put(guideNumber, new Entry(value, now.plus(ttl)));
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Drop the responses of the given guide numbers, including the ones still
+     * being loaded.
+     */
+    public void invalidate(String... guideNumbers) {
+        int removed = 0;
+        synchronized (entries) {
+            for (String guideNumber : guideNumbers) {
+                if (guideNumber == null) {
+                    continue;
+                }
+                for (Load load : loads) {
+                    if (load.guideNumber.equals(guideNumber)) {
+                        load.invalidated = true;
+                    }
+                }
+                if (entries.remove(guideNumber) != null) {
+                    removed++;
+                }
+            }
+        }
+        invalidatedEvictions.increment(removed);
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    @AllArgsConstructor
+    private static final class Entry {
+        private final TrackingResponseDto value;
+        private final Instant expiresAt;
+    }
+
+    private static final class Load {
+        private final String guideNumber;
+        private boolean invalidated;
+
+        Load(String guideNumber) {
+            this.guideNumber = guideNumber;
+        }
+    }
+}
@@ -293,16 +293,25 @@ CREATE TABLE tracking_guides (
     pickup_date DATETIME,
     delivery_date DATETIME,
     cancellation_date DATETIME,
+    claimed_by INT,
+    claim_expires_at DATETIME,
+    version BIGINT NOT NULL DEFAULT 0,
     FOREIGN KEY (business_id) REFERENCES businesses(business_id),
     FOREIGN KEY (origin_branch_id) REFERENCES branches(branch_id),
     FOREIGN KEY (courier_id) REFERENCES users(user_id),
     FOREIGN KEY (coordinator_id) REFERENCES users(user_id),
     FOREIGN KEY (current_state_id) REFERENCES tracking_states(state_id),
+    FOREIGN KEY (claimed_by) REFERENCES users(user_id),
     INDEX idx_guide_number (guide_number),
     INDEX idx_business (business_id),
     INDEX idx_courier (courier_id),
     INDEX idx_state (current_state_id),
-    INDEX idx_dates (created_at, delivery_date)
+    INDEX idx_dates (created_at, delivery_date),
+    INDEX idx_created_state (created_at, current_state_id),
+    INDEX idx_assignment_date (assignment_date, guide_id),
+    INDEX idx_courier_assignment (courier_id, assignment_date, guide_id),
+    INDEX idx_business_created (business_id, created_at, guide_id),
+    INDEX idx_state_created (current_state_id, created_at, guide_id)
 ) ENGINE=InnoDB;
 
 -- TABLE: state_history
@@ -484,6 +493,36 @@ CREATE TABLE system_config (
     INDEX idx_key (config_key)
 ) ENGINE=InnoDB;
 
+-- TABLE: daily_delivery_rollups
+-- Maintained by the application on every guide change. date_basis CREATED buckets
+-- guides by creation date, CLOSED buckets final-state guides by delivery or
+-- cancellation date. courier_id = 0 stands for guides without courier.
+CREATE TABLE daily_delivery_rollups (
+    rollup_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    stat_date DATE NOT NULL,
+    date_basis VARCHAR(10) NOT NULL,
+    state_id INT NOT NULL,
+    business_id INT NOT NULL,
+    courier_id INT NOT NULL DEFAULT 0,
+    branch_id INT NOT NULL,
+    guide_count BIGINT NOT NULL DEFAULT 0,
+    commission_total DECIMAL(14,2) NOT NULL DEFAULT 0,
+    revenue_total DECIMAL(14,2) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    UNIQUE KEY uk_rollup_bucket (date_basis, stat_date, state_id, business_id, courier_id, branch_id),
+    INDEX idx_rollup_business (business_id, date_basis, stat_date),
+    INDEX idx_rollup_courier (courier_id, date_basis, stat_date),
+    CHECK (date_basis IN ('CREATED', 'CLOSED'))
+) ENGINE=InnoDB;
+
+-- TABLE: daily_delivery_rollup_locks
+-- One row per rollup day. Guide changes hold the rows of the days they touch in
+-- share mode until they commit, a rollup rebuild holds the day it recomputes
+-- exclusively, so neither overwrites the other.
+CREATE TABLE daily_delivery_rollup_locks (
+    stat_date DATE PRIMARY KEY
+) ENGINE=InnoDB;
+
 -- =====================================================
 -- VIEWS FOR REPORTS
 -- =====================================================
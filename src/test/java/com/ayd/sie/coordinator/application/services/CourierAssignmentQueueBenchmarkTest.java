@@ -0,0 +1,98 @@
+package com.ayd.sie.coordinator.application.services;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Assignments per second of the courier queue draining a 10k guide backlog
+ * across a few hundred couriers, with the weights of the default
+ * configuration. Only the in-memory scoring and picking is measured, not the
+ * batched database assignment behind {@code /coordinator/assignments/auto}.
+ * Tagged as a benchmark, so it only runs when that tag is requested.
+ */
+@Tag("benchmark")
+class CourierAssignmentQueueBenchmarkTest {
+
+    private static final int GUIDES = 10_000;
+    private static final int COURIERS = 600;
+    private static final int CITIES = 40;
+    private static final int MAX_PENDING = 20;
+    private static final int RUNS = 5;
+
+    @Test
+    void drainsTenThousandGuideBacklog(TestReporter reporter) {
+        Random random = new Random(42);
+        List<String> cities = IntStream.range(0, CITIES).mapToObj(i -> "City " + i).toList();
+        List<CourierData> couriers = IntStream.rangeClosed(1, COURIERS)
+                .mapToObj(id -> courier(id, cities, random))
+                .toList();
+        List<String> guideCities = IntStream.range(0, GUIDES)
+                .mapToObj(i -> cities.get(random.nextInt(CITIES)))
+                .toList();
+
+        long bestNanos = Long.MAX_VALUE;
+        int assigned = 0;
+        Map<Integer, Integer> picksPerCourier = new HashMap<>();
+
+        for (int run = 0; run < RUNS; run++) {
+            long started = System.nanoTime();
+            CourierAssignmentQueue queue = new CourierAssignmentQueue(1.0, 5.0, 3.0, MAX_PENDING);
+            for (CourierData courier : couriers) {
+                queue.addCourier(courier.id, "Courier " + courier.id, courier.assigned, courier.completed,
+                        courier.pending, courier.cityAffinity);
+            }
+
+            assigned = 0;
+            picksPerCourier.clear();
+            for (String city : guideCities) {
+                Optional<CourierAssignmentQueue.Pick> pick = queue.poll(city);
+                if (pick.isEmpty()) {
+                    break;
+                }
+                assigned++;
+                picksPerCourier.merge(pick.get().courierId(), 1, Integer::sum);
+            }
+            bestNanos = Math.min(bestNanos, System.nanoTime() - started);
+        }
+
+        double seconds = bestNanos / 1_000_000_000.0;
+        reporter.publishEntry(Map.of(
+                "guides", String.valueOf(GUIDES),
+                "couriers", String.valueOf(COURIERS),
+                "assigned", String.valueOf(assigned),
+                "best_run_ms", String.format("%.1f", seconds * 1000),
+                "assignments_per_second", String.format("%.0f", assigned / seconds)));
+
+        assertEquals(GUIDES, assigned);
+        for (CourierData courier : couriers) {
+            int picks = picksPerCourier.getOrDefault(courier.id, 0);
+            assertTrue(courier.pending + picks <= MAX_PENDING,
+                    "Courier " + courier.id + " went over the pending limit");
+        }
+    }
+
+    private static CourierData courier(int id, List<String> cities, Random random) {
+        long assigned = random.nextInt(500);
+        long completed = assigned == 0 ? 0 : random.nextLong(assigned + 1);
+        Map<String, Double> affinity = new HashMap<>();
+        for (int i = 0; i < 3; i++) {
+            affinity.put(cities.get(random.nextInt(cities.size())), random.nextDouble());
+        }
+        return new CourierData(id, assigned, completed, random.nextInt(3), affinity);
+    }
+
+    private record CourierData(int id, long assigned, long completed, long pending,
+            Map<String, Double> cityAffinity) {
+    }
+}
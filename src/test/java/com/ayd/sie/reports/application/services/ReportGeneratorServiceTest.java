@@ -0,0 +1,70 @@
+package com.ayd.sie.reports.application.services;
+
+import com.ayd.sie.reports.application.dto.CommissionReportDto;
+import com.ayd.sie.shared.infrastructure.persistence.DailyDeliveryRollupJpaRepository;
+import com.ayd.sie.shared.infrastructure.persistence.MonthlyDiscountJpaRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReportGeneratorServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+    private static final LocalDate END = LocalDate.of(2025, 1, 31);
+
+    @Mock
+    private MonthlyDiscountJpaRepository monthlyDiscountRepository;
+
+    @Mock
+    private DailyDeliveryRollupJpaRepository rollupRepository;
+
+    @InjectMocks
+    private ReportGeneratorService reportGeneratorService;
+
+    @Test
+    void commissionReportRunsOneQueryRegardlessOfCourierCount() {
+        List<Object[]> rows = IntStream.rangeClosed(1, 300)
+                .mapToObj(id -> new Object[] { id, "Courier", String.valueOf(id), "courier" + id + "@sie.com",
+                        10L, 7L, 2L, new BigDecimal("105.00") })
+                .toList();
+        when(rollupRepository.findCommissionStatisticsByCourier(START, END)).thenReturn(rows);
+
+        List<CommissionReportDto> reports = reportGeneratorService.generateCommissionReport(START, END);
+
+        assertEquals(300, reports.size());
+        verify(rollupRepository, times(1)).findCommissionStatisticsByCourier(START, END);
+        verifyNoMoreInteractions(rollupRepository);
+        verifyNoInteractions(monthlyDiscountRepository);
+    }
+
+    @Test
+    void commissionReportMapsAggregatedRow() {
+        List<Object[]> rows = List.<Object[]>of(
+                new Object[] { 7, "Ana", "Lopez", "ana@sie.com", 10L, 8L, 1L, new BigDecimal("120.00") });
+        when(rollupRepository.findCommissionStatisticsByCourier(START, END)).thenReturn(rows);
+
+        CommissionReportDto report = reportGeneratorService.generateCommissionReport(START, END).get(0);
+
+        assertEquals(7, report.getCourierId());
+        assertEquals("Ana Lopez", report.getCourierName());
+        assertEquals(10L, report.getTotalDeliveries());
+        assertEquals(8L, report.getCompletedDeliveries());
+        assertEquals(1L, report.getCancelledDeliveries());
+        assertEquals(new BigDecimal("120.00"), report.getTotalCommission());
+    }
+}
@@ -0,0 +1,133 @@
+package com.ayd.sie.reports.infrastructure.export;
+
+import com.ayd.sie.reports.application.dto.CommissionReportDto;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Time to first byte and peak heap of a 50k row commission report written to
+ * a stream that only counts bytes, so nothing but the renderer is measured.
+ * Tagged as a benchmark, so it only runs when that tag is requested.
+ */
+@Tag("benchmark")
+class PdfExporterBenchmarkTest {
+
+    private static final int ROWS = 50_000;
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+    private static final LocalDate END = LocalDate.of(2025, 1, 31);
+    // Well above what page by page rendering needs, well below holding every row's layout
+    private static final long MAX_PEAK_HEAP_MB = 128;
+
+    @Test
+    void commissionReportStreamsPagesWhileRendering(TestReporter reporter) throws Exception {
+        PdfExporter pdfExporter = new PdfExporter();
+        ReflectionTestUtils.setField(pdfExporter, "rowsPerChunk", 200);
+
+        List<CommissionReportDto> reports = IntStream.rangeClosed(1, ROWS)
+                .mapToObj(PdfExporterBenchmarkTest::commission)
+                .toList();
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long baselineHeap = memory.getHeapMemoryUsage().getUsed();
+
+        CountingOutputStream output = new CountingOutputStream(memory);
+        long started = System.nanoTime();
+        output.started = started;
+        pdfExporter.writeCommissionReport(reports, START, END, output);
+        long totalMs = (System.nanoTime() - started) / 1_000_000;
+        long ttfbMs = (output.firstFlushAt - started) / 1_000_000;
+        long peakHeapMb = Math.max(0, output.peakHeap - baselineHeap) / (1024 * 1024);
+
+        reporter.publishEntry(Map.of(
+                "rows", String.valueOf(ROWS),
+                "bytes", String.valueOf(output.count),
+                "time_to_first_byte_ms", String.valueOf(ttfbMs),
+                "total_ms", String.valueOf(totalMs),
+                "peak_heap_over_baseline_mb", String.valueOf(peakHeapMb)));
+
+        assertTrue(output.firstFlushAt > 0, "Nothing was flushed while rendering");
+        assertTrue(output.bytesAtFirstFlush < output.count,
+                "The first flush should happen before the last page is rendered");
+        assertTrue(ttfbMs * 4 < totalMs,
+                "First byte after " + ttfbMs + " ms of " + totalMs + " ms, pages are not streamed");
+        assertTrue(peakHeapMb < MAX_PEAK_HEAP_MB,
+                "Peak heap grew by " + peakHeapMb + " MB while rendering");
+    }
+
+    private static CommissionReportDto commission(int id) {
+        CommissionReportDto report = CommissionReportDto.builder()
+                .courierId(id)
+                .courierName("Courier " + id)
+                .courierEmail("courier" + id + "@sie.com")
+                .periodStart(START)
+                .periodEnd(END)
+                .totalDeliveries(40L)
+                .completedDeliveries(36L)
+                .cancelledDeliveries(2L)
+                .totalCommission(new BigDecimal("540.00"))
+                .build();
+        report.calculateDerivedFields();
+        return report;
+    }
+
+    /**
+     * Discards what is written, counting bytes, noting when the first written
+     * bytes are flushed and sampling heap usage every few writes.
+     */
+    private static final class CountingOutputStream extends OutputStream {
+
+        private static final int SAMPLE_EVERY = 64;
+
+        private final MemoryMXBean memory;
+        private long started;
+        private long count;
+        private long writes;
+        private long firstFlushAt;
+        private long bytesAtFirstFlush;
+        private long peakHeap;
+
+        CountingOutputStream(MemoryMXBean memory) {
+            this.memory = memory;
+        }
+
+        @Override
+        public void write(int b) {
+            count++;
+            sample();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+            sample();
+        }
+
+        @Override
+        public void flush() {
+            if (firstFlushAt == 0 && count > 0) {
+                firstFlushAt = Math.max(System.nanoTime(), started + 1);
+                bytesAtFirstFlush = count;
+            }
+            peakHeap = Math.max(peakHeap, memory.getHeapMemoryUsage().getUsed());
+        }
+
+        private void sample() {
+            if (++writes % SAMPLE_EVERY == 0) {
+                peakHeap = Math.max(peakHeap, memory.getHeapMemoryUsage().getUsed());
+            }
+        }
+    }
+}
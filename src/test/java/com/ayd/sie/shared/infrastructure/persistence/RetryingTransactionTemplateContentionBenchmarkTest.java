@@ -0,0 +1,162 @@
+package com.ayd.sie.shared.infrastructure.persistence;
+
+import com.ayd.sie.shared.domain.entities.TrackingGuide;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Throughput of many writers updating a handful of versioned guides through
+ * the retrying template, with the retry settings of the default
+ * configuration. The guides live in memory and a write whose version is stale
+ * fails as Hibernate would, so only the retry loop and its backoff are
+ * measured. Tagged as a benchmark, so it only runs when that tag is requested.
+ */
+@Tag("benchmark")
+class RetryingTransactionTemplateContentionBenchmarkTest {
+
+    private static final int THREADS = 16;
+    private static final int GUIDES = 4;
+    private static final int UPDATES_PER_THREAD = 200;
+    // Time between reading a guide and writing it back
+    private static final long WORK_NANOS = 50_000;
+
+    @Test
+    void keepsEveryCommittedUpdateUnderContention(TestReporter reporter) throws Exception {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RetryingTransactionTemplate template = new RetryingTransactionTemplate(new NoOpTransactionManager(),
+                meterRegistry, 4, Duration.ofMillis(20), Duration.ofMillis(500));
+        VersionedGuideStore store = new VersionedGuideStore(GUIDES);
+
+        AtomicInteger committed = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> writers = new ArrayList<>();
+
+        for (int thread = 0; thread < THREADS; thread++) {
+            writers.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                    int guideId = ThreadLocalRandom.current().nextInt(GUIDES);
+                    try {
+                        template.execute("Guide update", () -> {
+                            VersionedGuide guide = store.read(guideId);
+                            LockSupport.parkNanos(WORK_NANOS);
+                            store.write(guideId, guide.version(), guide.updates() + 1);
+                            return null;
+                        });
+                        committed.incrementAndGet();
+                    } catch (ObjectOptimisticLockingFailureException e) {
+                        failed.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long started = System.nanoTime();
+        start.countDown();
+        for (Future<?> writer : writers) {
+            writer.get();
+        }
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        int attempted = THREADS * UPDATES_PER_THREAD;
+        double retried = meterRegistry.counter("transaction.retries", "outcome", "retried").count();
+        double exhausted = meterRegistry.counter("transaction.retries", "outcome", "exhausted").count();
+
+        reporter.publishEntry(Map.of(
+                "threads", String.valueOf(THREADS),
+                "guides", String.valueOf(GUIDES),
+                "updates_attempted", String.valueOf(attempted),
+                "updates_committed", String.valueOf(committed.get()),
+                "committed_per_second", String.format("%.0f", committed.get() / seconds),
+                "retried", String.format("%.0f", retried),
+                "exhausted", String.format("%.0f", exhausted),
+                "exhaustion_rate", String.format("%.4f", exhausted / attempted)));
+
+        assertEquals(attempted, committed.get() + failed.get());
+        assertEquals(failed.get(), exhausted);
+        assertEquals(committed.get(), store.totalUpdates(), "A committed update was lost");
+        assertTrue(retried > 0, "The writers never conflicted");
+    }
+
+    private record VersionedGuide(long version, long updates) {
+    }
+
+    /**
+     * Guides with a version that every write must match, bumped on success.
+     */
+    private static final class VersionedGuideStore {
+
+        private final VersionedGuide[] guides;
+
+        VersionedGuideStore(int size) {
+            guides = new VersionedGuide[size];
+            for (int i = 0; i < size; i++) {
+                guides[i] = new VersionedGuide(0, 0);
+            }
+        }
+
+        synchronized VersionedGuide read(int guideId) {
+            return guides[guideId];
+        }
+
+        synchronized void write(int guideId, long expectedVersion, long updates) {
+            if (guides[guideId].version() != expectedVersion) {
+                throw new ObjectOptimisticLockingFailureException(TrackingGuide.class, guideId);
+            }
+            guides[guideId] = new VersionedGuide(expectedVersion + 1, updates);
+        }
+
+        synchronized long totalUpdates() {
+            long total = 0;
+            for (VersionedGuide guide : guides) {
+                total += guide.updates();
+            }
+            return total;
+        }
+    }
+
+    private static final class NoOpTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
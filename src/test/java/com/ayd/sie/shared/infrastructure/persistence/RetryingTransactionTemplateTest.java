@@ -0,0 +1,145 @@
+package com.ayd.sie.shared.infrastructure.persistence;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RetryingTransactionTemplateTest {
+
+    private static final int MAX_ATTEMPTS = 4;
+
+    private final CountingTransactionManager transactionManager = new CountingTransactionManager();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RetryingTransactionTemplate template = new RetryingTransactionTemplate(transactionManager,
+            meterRegistry, MAX_ATTEMPTS, Duration.ofMillis(1), Duration.ofMillis(4));
+
+    @Test
+    void retriesConflictsInFreshTransactionsUntilOneCommits() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = template.execute("test", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new OptimisticLockingFailureException("stale");
+            }
+            return "done";
+        });
+
+        assertEquals("done", result);
+        assertEquals(3, attempts.get());
+        assertEquals(3, transactionManager.begun.get());
+        assertEquals(2, transactionManager.rolledBack.get());
+        assertEquals(1, transactionManager.committed.get());
+        assertEquals(2.0, retries("retried"));
+        assertEquals(0.0, retries("exhausted"));
+    }
+
+    @Test
+    void rethrowsConflictAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+        OptimisticLockingFailureException conflict = new OptimisticLockingFailureException("stale");
+
+        OptimisticLockingFailureException thrown = assertThrows(OptimisticLockingFailureException.class,
+                () -> template.execute("test", () -> {
+                    attempts.incrementAndGet();
+                    throw conflict;
+                }));
+
+        assertSame(conflict, thrown);
+        assertEquals(MAX_ATTEMPTS, attempts.get());
+        assertEquals(MAX_ATTEMPTS, transactionManager.rolledBack.get());
+        assertEquals(0, transactionManager.committed.get());
+        assertEquals(MAX_ATTEMPTS - 1.0, retries("retried"));
+        assertEquals(1.0, retries("exhausted"));
+    }
+
+    @Test
+    void doesNotRetryOtherFailures() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> template.execute("test", () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("not a conflict");
+        }));
+
+        assertEquals(1, attempts.get());
+        assertEquals(0.0, retries("retried"));
+    }
+
+    @Test
+    void runsInlineWithoutRetryingInsideActiveTransaction() {
+        AtomicInteger attempts = new AtomicInteger();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThrows(OptimisticLockingFailureException.class, () -> template.execute("test", () -> {
+                attempts.incrementAndGet();
+                throw new OptimisticLockingFailureException("stale");
+            }));
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        assertEquals(1, attempts.get());
+        assertEquals(0, transactionManager.begun.get());
+        assertEquals(0.0, retries("retried"));
+    }
+
+    @Test
+    void backoffStaysWithinJitteredExponentialBounds() {
+        RetryingTransactionTemplate backoffTemplate = new RetryingTransactionTemplate(transactionManager,
+                meterRegistry, MAX_ATTEMPTS, Duration.ofMillis(20), Duration.ofMillis(500));
+
+        for (int attempt = 1; attempt <= 10; attempt++) {
+            long ceiling = Math.min(500, 20L << (attempt - 1));
+            long max = 0;
+            for (int sample = 0; sample < 2_000; sample++) {
+                long delay = backoffTemplate.backoff(attempt);
+                assertTrue(delay >= 0 && delay <= ceiling,
+                        "Backoff " + delay + " ms outside [0, " + ceiling + "] for attempt " + attempt);
+                max = Math.max(max, delay);
+            }
+            // Full jitter spreads delays over the whole range
+            assertTrue(max > ceiling / 2, "Backoff for attempt " + attempt + " never got near its ceiling");
+        }
+    }
+
+    private double retries(String outcome) {
+        return meterRegistry.counter("transaction.retries", "outcome", outcome).count();
+    }
+
+    private static final class CountingTransactionManager implements PlatformTransactionManager {
+
+        private final AtomicInteger begun = new AtomicInteger();
+        private final AtomicInteger committed = new AtomicInteger();
+        private final AtomicInteger rolledBack = new AtomicInteger();
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            begun.incrementAndGet();
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            committed.incrementAndGet();
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+            rolledBack.incrementAndGet();
+        }
+    }
+}